@@ -0,0 +1,124 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Kernels Benchmark                                 +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the scan-heavy {@link Strman} operations backed by the {@link Kernels}.
+ * <p>
+ *   Each benchmark runs in two forks, one with the vectorized kernels enabled and one with the scalar kernels forced
+ *   through the {@code icecore.strman.vector} system property.
+ *   The vectorized kernels are only picked up from the packaged multi-release JAR on JDK 17 or later:
+ *   <pre>
+ *   mvn -P benchmark package exec:exec -DskipTests -Dbenchmark.args=KernelsBenchmark
+ *   </pre>
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class KernelsBenchmark {
+
+  @Param({"64", "4096", "1048576"})
+  public int length;
+
+  private String text;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder(length);
+    while (builder.length() < length) {
+      int wordLength = 2 + random.nextInt(8);
+      for (int i = 0; i < wordLength; i++) {
+        builder.append((char) ('a' + random.nextInt(26)));
+      }
+      builder.append(random.nextInt(8) == 0 ? '\n' : ' ');
+    }
+    builder.setLength(length - 6);
+    text = builder.append("yogurt").toString();
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public int indexOfVector() {
+    return Strman.indexOf(text, "yogurt", 0, true);
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dicecore.strman.vector=false")
+  public int indexOfScalar() {
+    return Strman.indexOf(text, "yogurt", 0, true);
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public long countSubstrVector() {
+    return Strman.countSubstr(text, " ");
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dicecore.strman.vector=false")
+  public long countSubstrScalar() {
+    return Strman.countSubstr(text, " ");
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public boolean isLowerCaseVector() {
+    return Strman.isLowerCase(text);
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dicecore.strman.vector=false")
+  public boolean isLowerCaseScalar() {
+    return Strman.isLowerCase(text);
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String removeSpacesVector() {
+    return Strman.removeSpaces(text);
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dicecore.strman.vector=false")
+  public String removeSpacesScalar() {
+    return Strman.removeSpaces(text);
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String encodeHexVector() {
+    return Strman.encodeHex(text);
+  }
+
+  @Benchmark
+  @Fork(value = 1, jvmArgsAppend = "-Dicecore.strman.vector=false")
+  public String encodeHexScalar() {
+    return Strman.encodeHex(text);
+  }
+}
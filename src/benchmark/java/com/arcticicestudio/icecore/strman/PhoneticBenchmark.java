@@ -0,0 +1,86 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Phonetic Benchmark                                +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the encoding of a column of names with {@link Strman#phoneticKeys(String[], StrmanPhonetic)} and
+ * {@link StrmanParallel#phoneticKeys(String[], StrmanPhonetic)}.
+ * <p>
+ *   The names are built from syllables of English, German, Slavic and Spanish names, a few contain an accented letter
+ *   which is folded before the encoding:
+ *   <pre>
+ *   mvn -P benchmark package exec:exec -DskipTests -Dbenchmark.args=PhoneticBenchmark
+ *   </pre>
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PhoneticBenchmark {
+
+  private static final String[] SYLLABLES = {
+    "mar", "tin", "son", "schm", "idt", "ko", "wal", "ski", "chr", "is", "te", "ph", "gh", "ough", "ber", "ger", "mc",
+    "do", "nald", "van", "der", "berg", "ja", "cque", "line", "ez", "czy", "witz", "ll", "ü"
+  };
+
+  @Param({"SOUNDEX", "METAPHONE", "DOUBLE_METAPHONE"})
+  public StrmanPhonetic algorithm;
+
+  @Param({"1000000"})
+  public int size;
+
+  private String[] values;
+  private StrmanParallel parallel;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    values = new String[size];
+    for (int i = 0; i < size; i++) {
+      StringBuilder name = new StringBuilder();
+      for (int syllables = 2 + random.nextInt(3); syllables > 0; syllables--) {
+        String syllable = SYLLABLES[random.nextInt(SYLLABLES.length)];
+        name.append("ü".equals(syllable) && random.nextInt(100) > 0 ? "u" : syllable);
+      }
+      name.setCharAt(0, Character.toUpperCase(name.charAt(0)));
+      values[i] = name.toString();
+    }
+    parallel = Strman.parallel().withThreshold(1);
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String[] strmanPhoneticKeys() {
+    return Strman.phoneticKeys(values, algorithm);
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String[] strmanParallelPhoneticKeys() {
+    return parallel.phoneticKeys(values, algorithm);
+  }
+}
@@ -0,0 +1,114 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Sort Benchmark                                    +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the sorting of {@link Strman#sort(String[])} and {@link StrmanParallel#sort(String[])} against
+ * {@link Arrays#sort(Object[])} and {@link Arrays#parallelSort(Comparable[])}.
+ * <p>
+ *   Every operation sorts a fresh copy of the data set, the copy is included in all measurements.
+ *   The {@code keys} data set consists of random alphanumeric keys, the {@code urls} data set of URLs sharing long
+ *   prefixes:
+ *   <pre>
+ *   mvn -P benchmark package exec:exec -DskipTests -Dbenchmark.args=SortBenchmark
+ *   </pre>
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SortBenchmark {
+
+  @Param({"keys", "urls"})
+  public String data;
+
+  @Param({"100000", "1000000"})
+  public int size;
+
+  private String[] values;
+  private StrmanParallel parallel;
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    values = new String[size];
+    for (int i = 0; i < size; i++) {
+      values[i] = "urls".equals(data) ? url(random) : Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+    }
+    parallel = Strman.parallel().withThreshold(1);
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String[] arraysSort() {
+    String[] copy = values.clone();
+    Arrays.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String[] arraysParallelSort() {
+    String[] copy = values.clone();
+    Arrays.parallelSort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String[] strmanSort() {
+    String[] copy = values.clone();
+    Strman.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String[] strmanParallelSort() {
+    String[] copy = values.clone();
+    parallel.sort(copy);
+    return copy;
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public String[] naturalOrderSort() {
+    String[] copy = values.clone();
+    Arrays.sort(copy, Strman.naturalOrder(true));
+    return copy;
+  }
+
+  private static String url(final Random random) {
+    String[] segments = {"users", "repos", "issues", "pulls", "icecore", "strman"};
+    StringBuilder url = new StringBuilder("https://api.arcticicestudio.com/v1");
+    for (int i = random.nextInt(3); i >= 0; i--) {
+      url.append('/').append(segments[random.nextInt(segments.length)]);
+    }
+    return url.append('/').append(random.nextInt(1000000)).toString();
+  }
+}
@@ -0,0 +1,147 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Symbol Table Benchmark                            +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the compression, decompression and compressed prefix matching of {@link StrmanSymbolTable} on short
+ * strings of a common domain.
+ * <p>
+ *   Every operation processes all strings of the data set, the compression ratio of the data set is reported as the
+ *   {@code ratio} counter of the {@code compress} benchmark:
+ *   <pre>
+ *   mvn -P benchmark package exec:exec -DskipTests -Dbenchmark.args=SymbolTableBenchmark
+ *   </pre>
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SymbolTableBenchmark {
+
+  @Param({"urls", "words"})
+  public String data;
+
+  private String[] values;
+  private byte[][] compressed;
+  private StrmanSymbolTable table;
+
+  /**
+   * Reports the compression ratio of the data set.
+   */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class Ratio {
+    public double ratio;
+  }
+
+  @Setup
+  public void setup() {
+    Random random = new Random(42);
+    values = new String[10000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = "urls".equals(data) ? url(random) : words(random);
+    }
+    List<String> sample = new ArrayList<>();
+    for (int i = 0; i < values.length; i += 10) {
+      sample.add(values[i]);
+    }
+    table = Strman.symbolTable(sample);
+    compressed = new byte[values.length][];
+    for (int i = 0; i < values.length; i++) {
+      compressed[i] = table.compress(values[i]);
+    }
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public long compress(final Ratio ratio) {
+    long raw = 0;
+    long bytes = 0;
+    for (String value : values) {
+      raw += value.length();
+      bytes += table.compress(value).length;
+    }
+    ratio.ratio = (double) raw / bytes;
+    return bytes;
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public long decompress() {
+    long length = 0;
+    for (byte[] value : compressed) {
+      length += table.decompress(value).length();
+    }
+    return length;
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public int startsWith() {
+    int matches = 0;
+    for (byte[] value : compressed) {
+      if (table.startsWith(value, "https://api.")) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  @Fork(value = 1)
+  public int startsWithDecompressed() {
+    int matches = 0;
+    for (byte[] value : compressed) {
+      if (table.decompress(value).startsWith("https://api.")) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  private static String url(final Random random) {
+    String[] hosts = {"www.example.com", "api.arcticicestudio.com", "github.com", "cdn.jsdelivr.net"};
+    String[] segments = {"users", "repos", "issues", "pulls", "v1", "v2", "search", "items", "icecore", "strman"};
+    StringBuilder url = new StringBuilder("https://").append(hosts[random.nextInt(hosts.length)]);
+    for (int i = random.nextInt(4); i >= 0; i--) {
+      url.append('/').append(segments[random.nextInt(segments.length)]);
+    }
+    return url.append("?id=").append(random.nextInt(100000)).toString();
+  }
+
+  private static String words(final Random random) {
+    String[] words = {"frozen", "yogurt", "vanilla", "coconut", "strawberry", "chocolate", "with", "and", "the"};
+    StringBuilder text = new StringBuilder();
+    for (int i = 2 + random.nextInt(6); i > 0; i--) {
+      text.append(words[random.nextInt(words.length)]).append(' ');
+    }
+    return text.toString().trim();
+  }
+}
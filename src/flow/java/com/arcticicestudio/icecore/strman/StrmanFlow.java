@@ -0,0 +1,574 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Flow                                       +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Creates {@link Flow.Processor} stages that run {@link Strman} transformations and predicates.
+ * <p>
+ *   Items are collected into micro-batches which are processed as tasks of an {@link Executor}.
+ *   A batch is dispatched as soon as a task slot is free or the batch is full, so items are processed immediately
+ *   while the stage is idle and batched under load.
+ *   At most the buffer size of items are requested from the upstream publisher that haven't been delivered to the
+ *   downstream subscriber yet, so no queue of a stage grows beyond that bound.
+ *   The output is delivered in the order of the input unless unordered output is configured, which delivers every
+ *   batch as soon as it's processed.
+ * </p>
+ * <p>
+ *   Instances are immutable and can be shared, every call of {@link #processor()} creates a new stage.
+ *   A stage accepts a single subscriber.
+ *   Exceptions thrown by the transformation or predicate cancel the upstream subscription and are signaled to the
+ *   subscriber immediately, errors of the upstream publisher are signaled after all buffered items.
+ * </p>
+ * <p>
+ *   This class requires Java 9 or later and is therefore not part of the main JAR, whose public API is the same on
+ *   every JDK, but of the separate artifact with the {@code flow} classifier.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.4.0
+ */
+public final class StrmanFlow {
+
+  /**
+   * The default maximum number of items per batch.
+   */
+  public static final int DEFAULT_BATCH_SIZE = 64;
+
+  /**
+   * The default maximum number of items that are requested but not yet delivered.
+   */
+  public static final int DEFAULT_BUFFER_SIZE = Flow.defaultBufferSize();
+
+  private static final ThreadFactory VIRTUAL_THREAD_FACTORY = virtualThreadFactory();
+
+  private final Function<? super String, String> operator;
+  private final int batchSize;
+  private final int bufferSize;
+  private final int concurrency;
+  private final Executor executor;
+  private final boolean ordered;
+
+  private StrmanFlow(final Function<? super String, String> operator, final int batchSize, final int bufferSize,
+                     final int concurrency, final Executor executor, final boolean ordered) {
+    this.operator = operator;
+    this.batchSize = batchSize;
+    this.bufferSize = bufferSize;
+    this.concurrency = concurrency;
+    this.executor = executor;
+    this.ordered = ordered;
+  }
+
+  /**
+   * Creates stages that pass only the items matching the predicate, e.g. {@code StrmanFlow.filter(Strman::isLowerCase)}.
+   *
+   * @param predicate the predicate to test the items with
+   * @return the factory for the stages with the default configuration
+   * @throws IllegalArgumentException if the predicate is {@code null}
+   */
+  public static StrmanFlow filter(final Predicate<? super String> predicate) throws IllegalArgumentException {
+    if (predicate == null) {
+      throw new IllegalArgumentException("predicate can't be null");
+    }
+    return of(value -> predicate.test(value) ? value : null);
+  }
+
+  /**
+   * Creates stages that transform every item, e.g. {@code StrmanFlow.map(Strman::slugify)}.
+   * <p>
+   *   Transformations returning {@code null} fail the stage with a {@link NullPointerException}.
+   * </p>
+   *
+   * @param transform the transformation to apply to the items
+   * @return the factory for the stages with the default configuration
+   * @throws IllegalArgumentException if the transformation is {@code null}
+   */
+  public static StrmanFlow map(final Function<? super String, String> transform) throws IllegalArgumentException {
+    if (transform == null) {
+      throw new IllegalArgumentException("transform can't be null");
+    }
+    return of(value -> {
+      String result = transform.apply(value);
+      if (result == null) {
+        throw new NullPointerException("transform returned null for item " + value);
+      }
+      return result;
+    });
+  }
+
+  /**
+   * Checks whether virtual threads are available on the running JVM.
+   *
+   * @return {@code true} if virtual threads are available, {@code false} otherwise
+   * @see #withVirtualThreads()
+   */
+  public static boolean isVirtualThreadsAvailable() {
+    return VIRTUAL_THREAD_FACTORY != null;
+  }
+
+  /**
+   * Creates a new stage.
+   *
+   * @return the new stage
+   */
+  public Flow.Processor<String, String> processor() {
+    return new Stage(this);
+  }
+
+  /**
+   * Creates a copy with the specified maximum number of items per batch.
+   *
+   * @param batchSize the maximum number of items per batch
+   * @return the copy with the specified batch size
+   * @throws IllegalArgumentException if the batch size is not positive or greater than the buffer size
+   */
+  public StrmanFlow withBatchSize(final int batchSize) throws IllegalArgumentException {
+    if (batchSize < 1 || batchSize > bufferSize) {
+      throw new IllegalArgumentException("batchSize must be positive and not greater than the buffer size");
+    }
+    return new StrmanFlow(operator, batchSize, bufferSize, concurrency, executor, ordered);
+  }
+
+  /**
+   * Creates a copy with the specified maximum number of items that are requested but not yet delivered.
+   *
+   * @param bufferSize the maximum number of buffered items
+   * @return the copy with the specified buffer size
+   * @throws IllegalArgumentException if the buffer size is less than the batch size
+   */
+  public StrmanFlow withBufferSize(final int bufferSize) throws IllegalArgumentException {
+    if (bufferSize < batchSize) {
+      throw new IllegalArgumentException("bufferSize must not be less than the batch size");
+    }
+    return new StrmanFlow(operator, batchSize, bufferSize, concurrency, executor, ordered);
+  }
+
+  /**
+   * Creates a copy with the specified maximum number of batches that are processed concurrently.
+   *
+   * @param concurrency the maximum number of concurrent batches
+   * @return the copy with the specified concurrency
+   * @throws IllegalArgumentException if the concurrency is not positive
+   */
+  public StrmanFlow withConcurrency(final int concurrency) throws IllegalArgumentException {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("concurrency must be positive");
+    }
+    return new StrmanFlow(operator, batchSize, bufferSize, concurrency, executor, ordered);
+  }
+
+  /**
+   * Creates a copy that processes the batches on the specified executor instead of the common pool.
+   *
+   * @param executor the executor to process the batches on
+   * @return the copy with the specified executor
+   * @throws IllegalArgumentException if the executor is {@code null}
+   */
+  public StrmanFlow withExecutor(final Executor executor) throws IllegalArgumentException {
+    if (executor == null) {
+      throw new IllegalArgumentException("executor can't be null");
+    }
+    return new StrmanFlow(operator, batchSize, bufferSize, concurrency, executor, ordered);
+  }
+
+  /**
+   * Creates a copy with the specified output order.
+   *
+   * @param ordered {@code true} to deliver the items in the order of the input, {@code false} to deliver every batch
+   *   as soon as it's processed
+   * @return the copy with the specified output order
+   */
+  public StrmanFlow withOrdered(final boolean ordered) {
+    return new StrmanFlow(operator, batchSize, bufferSize, concurrency, executor, ordered);
+  }
+
+  /**
+   * Creates a copy that processes every batch on a new virtual thread if they are available on the running JVM.
+   *
+   * @return the copy using virtual threads, this instance if they are not available
+   * @see #isVirtualThreadsAvailable()
+   */
+  public StrmanFlow withVirtualThreads() {
+    if (VIRTUAL_THREAD_FACTORY == null) {
+      return this;
+    }
+    return withExecutor(command -> VIRTUAL_THREAD_FACTORY.newThread(command).start());
+  }
+
+  private static StrmanFlow of(final Function<? super String, String> operator) {
+    return new StrmanFlow(operator, DEFAULT_BATCH_SIZE, DEFAULT_BUFFER_SIZE, Runtime.getRuntime().availableProcessors(),
+      ForkJoinPool.commonPool(), true);
+  }
+
+  /*
+   * Virtual threads are a final feature of Java 21, so the factory is looked up reflectively.
+   */
+  private static ThreadFactory virtualThreadFactory() {
+    try {
+      Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+      return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  /*
+   * A batch of items whose results replace the items in place, dropped items are removed by compaction.
+   */
+  private static final class Batch {
+    private final String[] items;
+    private int count;
+    private boolean done;
+
+    Batch(final String[] items, final int count) {
+      this.items = items;
+      this.count = count;
+    }
+  }
+
+  /*
+   * The state is guarded by the stage itself, the subscriber is only signaled by the drain loop that is entered by
+   * a single thread at a time without holding the lock.
+   */
+  private static final class Stage implements Flow.Processor<String, String>, Flow.Subscription {
+    private final StrmanFlow config;
+    private final AtomicInteger wip = new AtomicInteger();
+    private final ArrayDeque<Batch> waiting = new ArrayDeque<>();
+    private final ArrayDeque<Batch> sequence = new ArrayDeque<>();
+    private final ArrayDeque<Batch> ready = new ArrayDeque<>();
+    private Flow.Subscription upstream;
+    private Flow.Subscriber<? super String> downstream;
+    private String[] pending;
+    private int pendingCount;
+    private int readyIndex;
+    private int running;
+    private int buffered;
+    private long outstanding;
+    private long demand;
+    private boolean upstreamDone;
+    private Throwable upstreamError;
+    private Throwable error;
+    private boolean subscribed;
+    private boolean cancelled;
+    private boolean terminated;
+
+    Stage(final StrmanFlow config) {
+      this.config = config;
+      this.pending = new String[config.batchSize];
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super String> subscriber) {
+      if (subscriber == null) {
+        throw new NullPointerException("subscriber can't be null");
+      }
+      boolean accepted;
+      synchronized (this) {
+        accepted = downstream == null;
+        if (accepted) {
+          downstream = subscriber;
+        }
+      }
+      if (accepted) {
+        subscriber.onSubscribe(this);
+        synchronized (this) {
+          subscribed = true;
+        }
+        drain();
+        return;
+      }
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(final long n) {}
+
+        @Override
+        public void cancel() {}
+      });
+      subscriber.onError(new IllegalStateException("stage accepts only a single subscriber"));
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      Objects.requireNonNull(subscription, "subscription can't be null");
+      boolean accepted;
+      synchronized (this) {
+        accepted = upstream == null && !cancelled;
+        if (accepted) {
+          upstream = subscription;
+        }
+      }
+      if (!accepted) {
+        subscription.cancel();
+        return;
+      }
+      drain();
+    }
+
+    @Override
+    public void onNext(final String item) {
+      Objects.requireNonNull(item, "item can't be null");
+      List<Batch> dispatched;
+      synchronized (this) {
+        if (upstreamDone || cancelled || error != null) {
+          return;
+        }
+        outstanding--;
+        buffered++;
+        pending[pendingCount++] = item;
+        if (pendingCount == config.batchSize || (running < config.concurrency && waiting.isEmpty())) {
+          seal();
+        }
+        dispatched = dispatch();
+      }
+      execute(dispatched);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      Objects.requireNonNull(throwable, "throwable can't be null");
+      synchronized (this) {
+        if (upstreamDone) {
+          return;
+        }
+        upstreamDone = true;
+        upstreamError = throwable;
+      }
+      complete();
+    }
+
+    @Override
+    public void onComplete() {
+      synchronized (this) {
+        if (upstreamDone) {
+          return;
+        }
+        upstreamDone = true;
+      }
+      complete();
+    }
+
+    @Override
+    public void request(final long n) {
+      synchronized (this) {
+        if (n <= 0) {
+          fail(new IllegalArgumentException("non-positive request of " + n + " items"));
+        } else {
+          demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+        }
+      }
+      drain();
+    }
+
+    @Override
+    public void cancel() {
+      Flow.Subscription subscription;
+      synchronized (this) {
+        cancelled = true;
+        subscription = upstream;
+        clear();
+      }
+      if (subscription != null) {
+        subscription.cancel();
+      }
+    }
+
+    private void complete() {
+      List<Batch> dispatched;
+      synchronized (this) {
+        if (pendingCount > 0) {
+          seal();
+        }
+        dispatched = dispatch();
+      }
+      execute(dispatched);
+      drain();
+    }
+
+    private void process(final Batch batch) {
+      int count = 0;
+      try {
+        for (int i = 0; i < batch.count; i++) {
+          String result = config.operator.apply(batch.items[i]);
+          if (result != null) {
+            batch.items[count++] = result;
+          }
+        }
+      } catch (Throwable t) {
+        synchronized (this) {
+          fail(t);
+        }
+        drain();
+        return;
+      }
+      List<Batch> dispatched;
+      synchronized (this) {
+        running--;
+        buffered -= batch.count - count;
+        batch.count = count;
+        batch.done = true;
+        if (config.ordered) {
+          while (!sequence.isEmpty() && sequence.peekFirst().done) {
+            ready.addLast(sequence.pollFirst());
+          }
+        } else {
+          ready.addLast(batch);
+        }
+        if (pendingCount > 0 && waiting.isEmpty()) {
+          seal();
+        }
+        dispatched = dispatch();
+      }
+      execute(dispatched);
+      drain();
+    }
+
+    private void drain() {
+      if (wip.getAndIncrement() != 0) {
+        return;
+      }
+      int missed = 1;
+      do {
+        while (true) {
+          Flow.Subscriber<? super String> subscriber;
+          Flow.Subscription subscription = null;
+          long request = 0;
+          String item = null;
+          Throwable failure = null;
+          boolean completed = false;
+          synchronized (this) {
+            subscriber = downstream;
+            if (!subscribed || cancelled || terminated) {
+              break;
+            }
+            if (error != null) {
+              terminated = true;
+              failure = error;
+              subscription = upstream;
+              clear();
+            } else if (demand > 0 && (item = poll()) != null) {
+              demand--;
+              buffered--;
+            } else if (upstreamDone && buffered == 0) {
+              terminated = true;
+              failure = upstreamError;
+              completed = failure == null;
+            }
+            if (!terminated && !upstreamDone && upstream != null) {
+              long free = config.bufferSize - buffered - outstanding;
+              if (free >= config.batchSize || (outstanding == 0 && free > 0)) {
+                request = free;
+                outstanding += free;
+                subscription = upstream;
+              }
+            }
+          }
+          if (failure != null) {
+            if (subscription != null && error != null) {
+              subscription.cancel();
+            }
+            subscriber.onError(failure);
+            break;
+          }
+          if (completed) {
+            subscriber.onComplete();
+            break;
+          }
+          if (request > 0) {
+            subscription.request(request);
+          }
+          if (item == null) {
+            break;
+          }
+          subscriber.onNext(item);
+        }
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    private void execute(final List<Batch> batches) {
+      for (Batch batch : batches) {
+        try {
+          config.executor.execute(() -> process(batch));
+        } catch (RuntimeException e) {
+          synchronized (this) {
+            fail(e);
+          }
+          drain();
+          return;
+        }
+      }
+    }
+
+    /* Must be called while holding the lock. */
+    private void clear() {
+      waiting.clear();
+      sequence.clear();
+      ready.clear();
+      pending = new String[0];
+      pendingCount = 0;
+    }
+
+    /* Must be called while holding the lock. */
+    private List<Batch> dispatch() {
+      List<Batch> dispatched = new ArrayList<>(1);
+      while (running < config.concurrency && !waiting.isEmpty() && error == null && !cancelled) {
+        running++;
+        dispatched.add(waiting.pollFirst());
+      }
+      return dispatched;
+    }
+
+    /* Must be called while holding the lock. */
+    private void fail(final Throwable throwable) {
+      if (error == null) {
+        error = throwable;
+      }
+    }
+
+    /* Must be called while holding the lock. */
+    private String poll() {
+      while (!ready.isEmpty()) {
+        Batch batch = ready.peekFirst();
+        if (readyIndex < batch.count) {
+          String item = batch.items[readyIndex];
+          batch.items[readyIndex++] = null;
+          return item;
+        }
+        ready.pollFirst();
+        readyIndex = 0;
+      }
+      return null;
+    }
+
+    /* Must be called while holding the lock. */
+    private void seal() {
+      Batch batch = new Batch(pending, pendingCount);
+      pending = new String[config.batchSize];
+      pendingCount = 0;
+      waiting.addLast(batch);
+      if (config.ordered) {
+        sequence.addLast(batch);
+      }
+    }
+  }
+}
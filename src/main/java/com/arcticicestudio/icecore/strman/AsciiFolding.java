@@ -0,0 +1,226 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      ASCII Folding                                     +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.text.Normalizer;
+
+/**
+ * Folds Latin characters into their ASCII equivalents and builds URL slugs.
+ * <p>
+ *   The foldings of the Latin-1 Supplement, Latin Extended-A and -B blocks, the common punctuation and the Latin
+ *   ligatures are looked up in tables computed once when the class is loaded, so the {@link Normalizer} never runs
+ *   per call.
+ *   The combining diacritical marks of decomposed (NFD) strings are dropped, so they fold like the precomposed letters.
+ *   Strings that are already ASCII are detected in a single pass and returned without any table lookup.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.4.0
+ */
+final class AsciiFolding {
+
+  private static final char LATIN_START = '\u00A0';
+  private static final char LATIN_END = '\u0250';
+  private static final char COMBINING_MARKS_START = '\u0300';
+  private static final char COMBINING_MARKS_END = '\u0370';
+  private static final char PUNCTUATION_START = '\u2010';
+  private static final char PUNCTUATION_END = '\u2027';
+  private static final char LIGATURES_START = '\uFB00';
+  private static final char LIGATURES_END = '\uFB07';
+  private static final char SLUG_SEPARATOR = '-';
+
+  private static final String[] LATIN = new String[LATIN_END - LATIN_START];
+  private static final String[] PUNCTUATION = new String[PUNCTUATION_END - PUNCTUATION_START];
+  private static final String[] LIGATURES = {"ff", "fi", "fl", "ffi", "ffl", "st", "st"};
+
+  static {
+    /* Characters without a canonical decomposition into an ASCII base character. */
+    String[][] latin = {
+      {"\u00A0", " "}, {"ª", "a"}, {"«", "\""}, {"\u00AD", ""}, {"²", "2"}, {"³", "3"},
+      {"¹", "1"}, {"º", "o"}, {"»", "\""}, {"¼", "1/4"}, {"½", "1/2"}, {"¾", "3/4"},
+      {"Æ", "AE"}, {"Ð", "D"}, {"Ø", "O"}, {"Þ", "TH"}, {"ß", "ss"}, {"æ", "ae"}, {"ð", "d"}, {"ø", "o"}, {"þ", "th"},
+      {"Đ", "D"}, {"đ", "d"}, {"Ħ", "H"}, {"ħ", "h"}, {"ı", "i"}, {"Ĳ", "IJ"}, {"ĳ", "ij"}, {"ĸ", "k"}, {"Ŀ", "L"},
+      {"ŀ", "l"}, {"Ł", "L"}, {"ł", "l"}, {"ŉ", "n"}, {"Ŋ", "N"}, {"ŋ", "n"}, {"Œ", "OE"}, {"œ", "oe"}, {"Ŧ", "T"},
+      {"ŧ", "t"}, {"ſ", "s"}, {"ƀ", "b"}, {"Ɓ", "B"}, {"Ƈ", "C"}, {"ƈ", "c"}, {"Ɗ", "D"}, {"Ƒ", "F"}, {"ƒ", "f"},
+      {"Ɠ", "G"}, {"Ɨ", "I"}, {"Ƙ", "K"}, {"ƙ", "k"}, {"ƚ", "l"}, {"Ɲ", "N"}, {"ƞ", "n"}, {"Ƥ", "P"}, {"ƥ", "p"},
+      {"ƫ", "t"}, {"Ƭ", "T"}, {"ƭ", "t"}, {"Ʈ", "T"}, {"Ʋ", "V"}, {"Ƴ", "Y"}, {"ƴ", "y"}, {"Ƶ", "Z"}, {"ƶ", "z"},
+      {"Ǆ", "DZ"}, {"ǅ", "Dz"}, {"ǆ", "dz"}, {"Ǉ", "LJ"}, {"ǈ", "Lj"}, {"ǉ", "lj"}, {"Ǌ", "NJ"}, {"ǋ", "Nj"},
+      {"ǌ", "nj"}, {"Ǥ", "G"}, {"ǥ", "g"}, {"Ǳ", "DZ"}, {"ǲ", "Dz"}, {"ǳ", "dz"}, {"Ȥ", "Z"}, {"ȥ", "z"}, {"ȴ", "l"},
+      {"ȵ", "n"}, {"ȶ", "t"}, {"ȷ", "j"}, {"Ⱥ", "A"}, {"Ȼ", "C"}, {"ȼ", "c"}, {"Ƚ", "L"}, {"Ⱦ", "T"}, {"ȿ", "s"},
+      {"ɀ", "z"}, {"Ƀ", "B"}, {"Ʉ", "U"}, {"Ɇ", "E"}, {"ɇ", "e"}, {"Ɉ", "J"}, {"ɉ", "j"}, {"Ɋ", "Q"}, {"ɋ", "q"},
+      {"Ɍ", "R"}, {"ɍ", "r"}, {"Ɏ", "Y"}, {"ɏ", "y"}
+    };
+    for (String[] folding : latin) {
+      LATIN[folding[0].charAt(0) - LATIN_START] = folding[1];
+    }
+    /* All other letters fold to their canonical decomposition without the combining marks, e.g. "é" to "e". */
+    for (char ch = LATIN_START; ch < LATIN_END; ch++) {
+      if (LATIN[ch - LATIN_START] == null) {
+        LATIN[ch - LATIN_START] = foldDecomposition(ch);
+      }
+    }
+    String[][] punctuation = {
+      {"\u2010", "-"}, {"\u2011", "-"}, {"\u2012", "-"}, {"\u2013", "-"}, {"\u2014", "-"}, {"\u2015", "-"},
+      {"\u2018", "'"}, {"\u2019", "'"}, {"\u201A", "'"}, {"\u201C", "\""}, {"\u201D", "\""}, {"\u201E", "\""},
+      {"\u2026", "..."}
+    };
+    for (String[] folding : punctuation) {
+      PUNCTUATION[folding[0].charAt(0) - PUNCTUATION_START] = folding[1];
+    }
+  }
+
+  /*
+   * Avoid class instantiation.
+   */
+  private AsciiFolding() {}
+
+  /**
+   * Folds all characters with a known ASCII equivalent and drops combining marks, all other characters are kept.
+   *
+   * @param value the string to fold
+   * @return the folded string, the same instance if the string is ASCII
+   */
+  static String fold(final String value) {
+    int first = indexOfNonAscii(value);
+    if (first < 0) {
+      return value;
+    }
+    int length = value.length();
+    int foldedLength = first;
+    for (int i = first; i < length; i++) {
+      char ch = value.charAt(i);
+      String folded = ch < 0x80 ? null : fold(ch);
+      foldedLength += folded == null ? 1 : folded.length();
+    }
+    char[] target = new char[foldedLength];
+    value.getChars(0, first, target, 0);
+    int position = first;
+    for (int i = first; i < length; i++) {
+      char ch = value.charAt(i);
+      String folded = ch < 0x80 ? null : fold(ch);
+      if (folded == null) {
+        target[position++] = ch;
+      } else {
+        folded.getChars(0, folded.length(), target, position);
+        position += folded.length();
+      }
+    }
+    return new String(target);
+  }
+
+  /**
+   * Builds a URL slug of lower case ASCII letters and digits separated by single hyphens.
+   * <p>
+   *   Characters are folded first, combining marks are dropped and so don't split a word, all remaining characters are
+   *   separators.
+   * </p>
+   *
+   * @param value the string to slugify
+   * @return the slug
+   */
+  static String slugify(final String value) {
+    int length = value.length();
+    int first = indexOfNonAscii(value);
+    int bound = length;
+    if (first >= 0) {
+      for (int i = first; i < length; i++) {
+        char ch = value.charAt(i);
+        String folded = ch < 0x80 ? null : fold(ch);
+        bound += folded == null ? 0 : folded.length() - 1;
+      }
+    }
+    char[] target = new char[bound];
+    int position = 0;
+    int asciiEnd = first < 0 ? length : first;
+    for (int i = 0; i < asciiEnd; i++) {
+      position = appendSlug(target, position, value.charAt(i));
+    }
+    for (int i = asciiEnd; i < length; i++) {
+      char ch = value.charAt(i);
+      String folded = ch < 0x80 ? null : fold(ch);
+      if (folded == null) {
+        position = appendSlug(target, position, ch);
+      } else {
+        for (int k = 0; k < folded.length(); k++) {
+          position = appendSlug(target, position, folded.charAt(k));
+        }
+      }
+    }
+    if (position > 0 && target[position - 1] == SLUG_SEPARATOR) {
+      position--;
+    }
+    return new String(target, 0, position);
+  }
+
+  /*
+   * Appends a lower case letter or digit, or a separator unless it would lead the slug or follow another separator.
+   */
+  private static int appendSlug(final char[] target, final int position, final char ch) {
+    if ((ch >= 'a' && ch <= 'z') || (ch >= '0' && ch <= '9')) {
+      target[position] = ch;
+      return position + 1;
+    }
+    if (ch >= 'A' && ch <= 'Z') {
+      target[position] = (char) (ch | 0x20);
+      return position + 1;
+    }
+    if (position > 0 && target[position - 1] != SLUG_SEPARATOR) {
+      target[position] = SLUG_SEPARATOR;
+      return position + 1;
+    }
+    return position;
+  }
+
+  private static String fold(final char ch) {
+    if (ch >= LATIN_START && ch < LATIN_END) {
+      return LATIN[ch - LATIN_START];
+    }
+    if (ch >= COMBINING_MARKS_START && ch < COMBINING_MARKS_END) {
+      return "";
+    }
+    if (ch >= PUNCTUATION_START && ch < PUNCTUATION_END) {
+      return PUNCTUATION[ch - PUNCTUATION_START];
+    }
+    if (ch >= LIGATURES_START && ch < LIGATURES_END) {
+      return LIGATURES[ch - LIGATURES_START];
+    }
+    return null;
+  }
+
+  private static String foldDecomposition(final char ch) {
+    String decomposed = Normalizer.normalize(String.valueOf(ch), Normalizer.Form.NFD);
+    StringBuilder folded = new StringBuilder(decomposed.length());
+    for (int i = 0; i < decomposed.length(); i++) {
+      char base = decomposed.charAt(i);
+      if (Character.getType(base) == Character.NON_SPACING_MARK) {
+        continue;
+      }
+      if (base < 0x80) {
+        folded.append(base);
+      } else if (base != ch && base >= LATIN_START && base < LATIN_END && LATIN[base - LATIN_START] != null) {
+        folded.append(LATIN[base - LATIN_START]);
+      } else {
+        return null;
+      }
+    }
+    return folded.length() == 0 ? null : folded.toString();
+  }
+
+  private static int indexOfNonAscii(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (value.charAt(i) >= 0x80) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
@@ -0,0 +1,330 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Display Width                                     +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.Arrays;
+
+/**
+ * Implements the display width aware padding and truncation of {@link Strman}.
+ * <p>
+ *   The width of a code point is the number of columns it occupies in a fixed-width terminal like {@code wcwidth(3)}:
+ *   wide and fullwidth characters of the East Asian Width property and emoji presentation characters take two
+ *   columns, combining and enclosing marks, format and control characters take none, all others one.
+ *   The widths are precomputed into a two-level table of 256 code point blocks, identical blocks are shared, so a
+ *   lookup takes two array accesses.
+ *   Printable ASCII characters are counted without any lookup.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://www.unicode.org/reports/tr11">Unicode Standard Annex #11, East Asian Width</a>
+ * @since 0.4.0
+ */
+final class DisplayWidth {
+
+  /*
+   * The inclusive ranges of the code points with the East Asian Width W or F.
+   */
+  private static final int[] WIDE_RANGES = {
+    0x1100, 0x115F, 0x231A, 0x231B, 0x2329, 0x232A, 0x23E9, 0x23EC, 0x23F0, 0x23F0, 0x23F3, 0x23F3, 0x25FD, 0x25FE,
+    0x2614, 0x2615, 0x2648, 0x2653, 0x267F, 0x267F, 0x2693, 0x2693, 0x26A1, 0x26A1, 0x26AA, 0x26AB, 0x26BD, 0x26BE,
+    0x26C4, 0x26C5, 0x26CE, 0x26CE, 0x26D4, 0x26D4, 0x26EA, 0x26EA, 0x26F2, 0x26F3, 0x26F5, 0x26F5, 0x26FA, 0x26FA,
+    0x26FD, 0x26FD, 0x2705, 0x2705, 0x270A, 0x270B, 0x2728, 0x2728, 0x274C, 0x274C, 0x274E, 0x274E, 0x2753, 0x2755,
+    0x2757, 0x2757, 0x2795, 0x2797, 0x27B0, 0x27B0, 0x27BF, 0x27BF, 0x2B1B, 0x2B1C, 0x2B50, 0x2B50, 0x2B55, 0x2B55,
+    0x2E80, 0x2E99, 0x2E9B, 0x2EF3, 0x2F00, 0x2FD5, 0x2FF0, 0x2FFF, 0x3000, 0x303E, 0x3041, 0x3096, 0x3099, 0x30FF,
+    0x3105, 0x312F, 0x3131, 0x318E, 0x3190, 0x31E3, 0x31EF, 0x321E, 0x3220, 0x3247, 0x3250, 0x4DBF, 0x4E00, 0xA48C,
+    0xA490, 0xA4C6, 0xA960, 0xA97C, 0xAC00, 0xD7A3, 0xF900, 0xFAFF, 0xFE10, 0xFE19, 0xFE30, 0xFE52, 0xFE54, 0xFE66,
+    0xFE68, 0xFE6B, 0xFF01, 0xFF60, 0xFFE0, 0xFFE6, 0x16FE0, 0x16FE4, 0x16FF0, 0x16FF1, 0x17000, 0x187F7,
+    0x18800, 0x18CD5, 0x18D00, 0x18D08, 0x1AFF0, 0x1AFF3, 0x1AFF5, 0x1AFFB, 0x1AFFD, 0x1AFFE, 0x1B000, 0x1B122,
+    0x1B132, 0x1B132, 0x1B150, 0x1B152, 0x1B155, 0x1B155, 0x1B164, 0x1B167, 0x1B170, 0x1B2FB, 0x1F004, 0x1F004,
+    0x1F0CF, 0x1F0CF, 0x1F18E, 0x1F18E, 0x1F191, 0x1F19A, 0x1F200, 0x1F202, 0x1F210, 0x1F23B, 0x1F240, 0x1F248,
+    0x1F250, 0x1F251, 0x1F260, 0x1F265, 0x1F300, 0x1F320, 0x1F32D, 0x1F335, 0x1F337, 0x1F37C, 0x1F37E, 0x1F393,
+    0x1F3A0, 0x1F3CA, 0x1F3CF, 0x1F3D3, 0x1F3E0, 0x1F3F0, 0x1F3F4, 0x1F3F4, 0x1F3F8, 0x1F43E, 0x1F440, 0x1F440,
+    0x1F442, 0x1F4FC, 0x1F4FF, 0x1F53D, 0x1F54B, 0x1F54E, 0x1F550, 0x1F567, 0x1F57A, 0x1F57A, 0x1F595, 0x1F596,
+    0x1F5A4, 0x1F5A4, 0x1F5FB, 0x1F64F, 0x1F680, 0x1F6C5, 0x1F6CC, 0x1F6CC, 0x1F6D0, 0x1F6D2, 0x1F6D5, 0x1F6D7,
+    0x1F6DC, 0x1F6DF, 0x1F6EB, 0x1F6EC, 0x1F6F4, 0x1F6FC, 0x1F7E0, 0x1F7EB, 0x1F7F0, 0x1F7F0, 0x1F90C, 0x1F93A,
+    0x1F93C, 0x1F945, 0x1F947, 0x1F9FF, 0x1FA70, 0x1FA7C, 0x1FA80, 0x1FA88, 0x1FA90, 0x1FABD, 0x1FABF, 0x1FAC5,
+    0x1FACE, 0x1FADB, 0x1FAE0, 0x1FAE8, 0x1FAF0, 0x1FAF8, 0x20000, 0x2FFFD, 0x30000, 0x3FFFD
+  };
+
+  /*
+   * The inclusive ranges of the conjoining Hangul vowels and final consonants which are not marks but have no width
+   * of their own.
+   */
+  private static final int[] ZERO_WIDTH_RANGES = {0x1160, 0x11FF, 0xD7B0, 0xD7FF};
+
+  private static final int BLOCK_SHIFT = 8;
+  private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+  private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+  private static final int LAST_CLASSIFIED = 0x1FFFF;
+  private static final int SPECIAL_PURPOSE_PLANE = 0xE0000;
+  private static final char[] BLOCKS;
+  private static final byte[] WIDTHS;
+
+  static {
+    int blocks = (Character.MAX_CODE_POINT + 1) >>> BLOCK_SHIFT;
+    BLOCKS = new char[blocks];
+    byte[] table = new byte[BLOCK_SIZE * 64];
+    byte[] block = new byte[BLOCK_SIZE];
+    /* Blocks of a single width are shared, all others are stored on their own. */
+    int[] uniform = {-1, -1, -1};
+    int distinct = 0;
+    int range = 0;
+    for (int index = 0; index < blocks; index++) {
+      int start = index << BLOCK_SHIFT;
+      int end = start + BLOCK_MASK;
+      while (range < WIDE_RANGES.length && WIDE_RANGES[range + 1] < start) {
+        range += 2;
+      }
+      /* Marks and format characters only occur in the first two planes and the supplementary special-purpose plane. */
+      boolean classified = start <= LAST_CLASSIFIED || start >> 16 == SPECIAL_PURPOSE_PLANE >> 16;
+      int width;
+      if (!classified && (range == WIDE_RANGES.length || WIDE_RANGES[range] > end)) {
+        width = 1;
+      } else if (!classified && WIDE_RANGES[range] <= start && WIDE_RANGES[range + 1] >= end) {
+        width = 2;
+      } else {
+        fill(block, start, range, classified);
+        width = block[0];
+        for (int i = 1; i < BLOCK_SIZE && width >= 0; i++) {
+          if (block[i] != width) {
+            width = -1;
+          }
+        }
+      }
+      if (width >= 0 && uniform[width] >= 0) {
+        BLOCKS[index] = (char) uniform[width];
+        continue;
+      }
+      if (width >= 0) {
+        Arrays.fill(block, (byte) width);
+        uniform[width] = distinct;
+      }
+      if ((distinct + 1) * BLOCK_SIZE > table.length) {
+        table = Arrays.copyOf(table, table.length * 2);
+      }
+      System.arraycopy(block, 0, table, distinct * BLOCK_SIZE, BLOCK_SIZE);
+      BLOCKS[index] = (char) distinct++;
+    }
+    WIDTHS = Arrays.copyOf(table, distinct * BLOCK_SIZE);
+  }
+
+  /*
+   * Avoid class instantiation.
+   */
+  private DisplayWidth() {}
+
+  /**
+   * Pads the string with repetitions of the pad to the display width.
+   * <p>
+   *   Columns a wide character of the pad doesn't fit into are filled with spaces.
+   * </p>
+   *
+   * @param value the string to pad
+   * @param pad the pad to repeat
+   * @param width the display width of the result
+   * @param left {@code true} to pad on the left, {@code false} to pad on the right
+   * @return the padded string, the string itself if it is already at least as wide
+   */
+  static String pad(final String value, final String pad, final int width, final boolean left) {
+    int missing = width - width(value);
+    if (missing <= 0) {
+      return value;
+    }
+    StringBuilder result = new StringBuilder(value.length() + missing);
+    if (!left) {
+      result.append(value);
+    }
+    int i = 0;
+    while (missing > 0) {
+      int codePoint = pad.codePointAt(i);
+      int columns = width(codePoint);
+      if (columns <= missing) {
+        result.appendCodePoint(codePoint);
+        missing -= columns;
+      } else {
+        result.append(' ');
+        missing--;
+      }
+      i += Character.charCount(codePoint);
+      if (i == pad.length()) {
+        i = 0;
+      }
+    }
+    if (left) {
+      result.append(value);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Truncates the string to the display width.
+   * <p>
+   *   Zero width characters are kept with the preceding character, so combining marks are never separated from it.
+   * </p>
+   *
+   * @param value the string to truncate
+   * @param width the maximum display width of the result
+   * @param filler the filler appended to a truncated string
+   * @return the truncated string, the string itself if it fits
+   */
+  static String truncate(final String value, final int width, final String filler) {
+    if (fits(value, width)) {
+      return value;
+    }
+    int end = prefix(value, width - width(filler));
+    return value.substring(0, end) + filler;
+  }
+
+  /**
+   * Truncates the string to the display width without cutting a word.
+   * <p>
+   *   Words are separated by whitespace, the kept words are joined by a single space.
+   * </p>
+   *
+   * @param value the string to truncate
+   * @param width the maximum display width of the result
+   * @param filler the filler appended to a truncated string
+   * @return the truncated string, the string itself if it fits
+   */
+  static String truncateWords(final String value, final int width, final String filler) {
+    if (fits(value, width)) {
+      return value;
+    }
+    int available = width - width(filler);
+    StringBuilder result = new StringBuilder();
+    int used = 0;
+    int i = 0;
+    int length = value.length();
+    while (i < length) {
+      while (i < length && ScalarKernels.isWhitespace(value.charAt(i))) {
+        i++;
+      }
+      int start = i;
+      while (i < length && !ScalarKernels.isWhitespace(value.charAt(i))) {
+        i++;
+      }
+      if (start == i) {
+        break;
+      }
+      int columns = width(value, start, i) + (result.length() > 0 ? 1 : 0);
+      if (used + columns > available) {
+        break;
+      }
+      if (result.length() > 0) {
+        result.append(' ');
+      }
+      result.append(value, start, i);
+      used += columns;
+    }
+    return result.append(filler).toString();
+  }
+
+  /**
+   * Returns the display width of the code point.
+   *
+   * @param codePoint the code point
+   * @return the number of columns between {@code 0} and {@code 2}
+   */
+  static int width(final int codePoint) {
+    return WIDTHS[BLOCKS[codePoint >>> BLOCK_SHIFT] << BLOCK_SHIFT | codePoint & BLOCK_MASK];
+  }
+
+  /**
+   * Returns the display width of the characters.
+   *
+   * @param value the characters
+   * @return the number of columns
+   */
+  static int width(final CharSequence value) {
+    return width(value, 0, value.length());
+  }
+
+  private static int width(final CharSequence value, final int from, final int to) {
+    int width = 0;
+    int i = from;
+    while (i < to) {
+      char ch = value.charAt(i);
+      if (ch >= ' ' && ch < 0x7F) {
+        width++;
+        i++;
+      } else {
+        int codePoint = Character.codePointAt(value, i);
+        width += width(codePoint);
+        i += Character.charCount(codePoint);
+      }
+    }
+    return width;
+  }
+
+  /*
+   * Checks cheaply whether the string fits into the width, no character is wider than two columns.
+   */
+  private static boolean fits(final String value, final int width) {
+    return value.length() * 2L <= width || width(value) <= width;
+  }
+
+  /*
+   * Computes the widths of the block starting at the code point, the range is the first wide range that doesn't end
+   * before the block.
+   */
+  private static void fill(final byte[] block, final int start, int range, final boolean classified) {
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      block[i] = (byte) (classified && isZeroWidth(start + i) ? 0 : 1);
+    }
+    for (; range < WIDE_RANGES.length && WIDE_RANGES[range] < start + BLOCK_SIZE; range += 2) {
+      for (int codePoint = Math.max(start, WIDE_RANGES[range]); codePoint <= Math.min(start + BLOCK_MASK,
+        WIDE_RANGES[range + 1]); codePoint++) {
+        /* Wide ranges contain a few combining marks like the kana voicing marks which keep their zero width. */
+        if (block[codePoint - start] != 0) {
+          block[codePoint - start] = 2;
+        }
+      }
+    }
+    for (int i = 0; i < ZERO_WIDTH_RANGES.length; i += 2) {
+      for (int codePoint = Math.max(start, ZERO_WIDTH_RANGES[i]); codePoint <= Math.min(start + BLOCK_MASK,
+        ZERO_WIDTH_RANGES[i + 1]); codePoint++) {
+        block[codePoint - start] = 0;
+      }
+    }
+  }
+
+  private static boolean isZeroWidth(final int codePoint) {
+    switch (Character.getType(codePoint)) {
+      case Character.NON_SPACING_MARK:
+      case Character.ENCLOSING_MARK:
+      case Character.CONTROL:
+        return true;
+      case Character.FORMAT:
+        /* The soft hyphen is shown as a hyphen where a line is broken. */
+        return codePoint != 0x00AD;
+      default:
+        return false;
+    }
+  }
+
+  /*
+   * Returns the end of the longest prefix whose display width doesn't exceed the width.
+   */
+  private static int prefix(final String value, final int width) {
+    int used = 0;
+    int i = 0;
+    while (i < value.length()) {
+      int codePoint = value.codePointAt(i);
+      used += width(codePoint);
+      if (used > width) {
+        break;
+      }
+      i += Character.charCount(codePoint);
+    }
+    return i;
+  }
+}
@@ -0,0 +1,359 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Edit Distance                                     +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Implements the string distance- and similarity metrics of {@link Strman}.
+ * <p>
+ *   Levenshtein distance and longest common subsequence are computed with bit-parallel algorithms which process
+ *   64 characters of the shorter string per machine word, so both run in {@code O(⌈m/64⌉·n)} time.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://doi.org/10.1145/316542.316550">Myers, A fast bit-vector algorithm for approximate string
+ * matching based on dynamic programming</a>
+ * @see <a href="https://doi.org/10.1007/3-540-48194-X_3">Hyyrö, Bit-parallel LCS-length computation revisited</a>
+ * @since 0.4.0
+ */
+final class EditDistance {
+
+  private static final int JARO_WINKLER_PREFIX = 4;
+  private static final double JARO_WINKLER_SCALING = 0.1;
+  private static final double JARO_WINKLER_THRESHOLD = 0.7;
+
+  /*
+   * Avoid class instantiation.
+   */
+  private EditDistance() {}
+
+  /**
+   * Computes the Damerau-Levenshtein distance allowing any number of transpositions of adjacent characters.
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the distance
+   */
+  static int damerauLevenshtein(final String first, final String second) {
+    int n = first.length();
+    int m = second.length();
+    if (n == 0 || m == 0) {
+      return Math.max(n, m);
+    }
+    int infinity = n + m;
+    int width = m + 2;
+    int[] d = new int[(n + 2) * width];
+    d[0] = infinity;
+    for (int i = 0; i <= n; i++) {
+      d[(i + 1) * width] = infinity;
+      d[(i + 1) * width + 1] = i;
+    }
+    for (int j = 0; j <= m; j++) {
+      d[j + 1] = infinity;
+      d[width + j + 1] = j;
+    }
+    LastRows lastRow = new LastRows(n);
+    for (int i = 1; i <= n; i++) {
+      char ch = first.charAt(i - 1);
+      int lastMatchColumn = 0;
+      for (int j = 1; j <= m; j++) {
+        int k = lastRow.get(second.charAt(j - 1));
+        int l = lastMatchColumn;
+        int cost = 1;
+        if (ch == second.charAt(j - 1)) {
+          cost = 0;
+          lastMatchColumn = j;
+        }
+        int substitution = d[i * width + j] + cost;
+        int insertion = d[(i + 1) * width + j] + 1;
+        int deletion = d[i * width + j + 1] + 1;
+        int transposition = d[k * width + l] + (i - k - 1) + 1 + (j - l - 1);
+        d[(i + 1) * width + j + 1] = Math.min(Math.min(substitution, insertion), Math.min(deletion, transposition));
+      }
+      lastRow.put(ch, i);
+    }
+    return d[(n + 1) * width + m + 1];
+  }
+
+  /**
+   * Computes the Jaro-Winkler similarity.
+   * <p>
+   *   The common prefix of up to four characters is weighted with a scaling factor of {@code 0.1} when the Jaro
+   *   similarity exceeds {@code 0.7}.
+   * </p>
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the similarity between {@code 0.0} and {@code 1.0}
+   */
+  static double jaroWinkler(final String first, final String second) {
+    int n = first.length();
+    int m = second.length();
+    if (n == 0 && m == 0) {
+      return 1.0;
+    }
+    if (n == 0 || m == 0) {
+      return 0.0;
+    }
+    int window = Math.max(0, Math.max(n, m) / 2 - 1);
+    boolean[] firstMatched = new boolean[n];
+    boolean[] secondMatched = new boolean[m];
+    int matches = 0;
+    for (int i = 0; i < n; i++) {
+      int end = Math.min(m, i + window + 1);
+      for (int j = Math.max(0, i - window); j < end; j++) {
+        if (!secondMatched[j] && first.charAt(i) == second.charAt(j)) {
+          firstMatched[i] = true;
+          secondMatched[j] = true;
+          matches++;
+          break;
+        }
+      }
+    }
+    if (matches == 0) {
+      return 0.0;
+    }
+    int halfTranspositions = 0;
+    for (int i = 0, j = 0; i < n; i++) {
+      if (firstMatched[i]) {
+        while (!secondMatched[j]) {
+          j++;
+        }
+        if (first.charAt(i) != second.charAt(j)) {
+          halfTranspositions++;
+        }
+        j++;
+      }
+    }
+    double jaro = ((double) matches / n + (double) matches / m + (matches - halfTranspositions / 2.0) / matches) / 3.0;
+    if (jaro <= JARO_WINKLER_THRESHOLD) {
+      return jaro;
+    }
+    int prefix = 0;
+    int maxPrefix = Math.min(JARO_WINKLER_PREFIX, Math.min(n, m));
+    while (prefix < maxPrefix && first.charAt(prefix) == second.charAt(prefix)) {
+      prefix++;
+    }
+    return jaro + prefix * JARO_WINKLER_SCALING * (1.0 - jaro);
+  }
+
+  /**
+   * Computes the Levenshtein distance with Myers' bit-parallel algorithm.
+   * <p>
+   *   The computation stops as soon as the distance is known to exceed the maximum distance.
+   * </p>
+   *
+   * @param first the first string
+   * @param second the second string
+   * @param maxDistance the maximum distance of interest
+   * @return the distance, {@code -1} if it exceeds the maximum distance
+   */
+  static int levenshtein(final String first, final String second, final int maxDistance) {
+    String pattern = first.length() <= second.length() ? first : second;
+    String text = pattern == first ? second : first;
+    int m = pattern.length();
+    int n = text.length();
+    if (n - m > maxDistance) {
+      return -1;
+    }
+    if (m == 0) {
+      return n;
+    }
+    int blocks = (m + 63) >>> 6;
+    PatternMasks masks = new PatternMasks(pattern, blocks);
+    long[] positive = new long[blocks];
+    long[] negative = new long[blocks];
+    Arrays.fill(positive, -1L);
+    long lastBit = 1L << ((m - 1) & 63);
+    int last = blocks - 1;
+    int score = m;
+    for (int j = 0; j < n; j++) {
+      long[] eqs = masks.get(text.charAt(j));
+      int offset = masks.offset(text.charAt(j));
+      int carry = 1;
+      for (int b = 0; b < blocks; b++) {
+        long pv = positive[b];
+        long mv = negative[b];
+        long eq = eqs[offset + b];
+        long xv = eq | mv;
+        if (carry < 0) {
+          eq |= 1L;
+        }
+        long xh = (((eq & pv) + pv) ^ pv) | eq;
+        long ph = mv | ~(xh | pv);
+        long mh = pv & xh;
+        long high = b == last ? lastBit : Long.MIN_VALUE;
+        int carryOut = (ph & high) != 0 ? 1 : (mh & high) != 0 ? -1 : 0;
+        ph <<= 1;
+        mh <<= 1;
+        if (carry < 0) {
+          mh |= 1L;
+        } else if (carry > 0) {
+          ph |= 1L;
+        }
+        positive[b] = mh | ~(xv | ph);
+        negative[b] = ph & xv;
+        carry = carryOut;
+      }
+      score += carry;
+      if (score - (n - j - 1) > maxDistance) {
+        return -1;
+      }
+    }
+    return score <= maxDistance ? score : -1;
+  }
+
+  /**
+   * Computes the length of the longest common subsequence with a bit-parallel algorithm.
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the length of the longest common subsequence
+   */
+  static int longestCommonSubsequence(final String first, final String second) {
+    String pattern = first.length() <= second.length() ? first : second;
+    String text = pattern == first ? second : first;
+    int m = pattern.length();
+    if (m == 0) {
+      return 0;
+    }
+    int blocks = (m + 63) >>> 6;
+    PatternMasks masks = new PatternMasks(pattern, blocks);
+    long[] v = new long[blocks];
+    Arrays.fill(v, -1L);
+    for (int j = 0; j < text.length(); j++) {
+      long[] eqs = masks.get(text.charAt(j));
+      int offset = masks.offset(text.charAt(j));
+      long carry = 0L;
+      for (int b = 0; b < blocks; b++) {
+        long eq = eqs[offset + b];
+        long u = v[b] & eq;
+        long sum = v[b] + u;
+        long overflow = Long.compareUnsigned(sum, v[b]) < 0 ? 1L : 0L;
+        long total = sum + carry;
+        if (carry == 1L && total == 0L) {
+          overflow = 1L;
+        }
+        v[b] = total | (v[b] & ~eq);
+        carry = overflow;
+      }
+    }
+    int ones = 0;
+    for (int b = 0; b < blocks - 1; b++) {
+      ones += Long.bitCount(v[b]);
+    }
+    int tail = m - ((blocks - 1) << 6);
+    ones += Long.bitCount(tail == 64 ? v[blocks - 1] : v[blocks - 1] & ((1L << tail) - 1));
+    return m - ones;
+  }
+
+  /*
+   * Maps the characters of a string to the last row they occur in, 0 if they don't occur.
+   * Latin-1 characters are looked up in a flat table, all others in an open addressing table with linear probing that
+   * is allocated on the first of them.
+   */
+  private static final class LastRows {
+    private static final int TABLE_SIZE = 256;
+
+    private final int capacity;
+    private final int[] table = new int[TABLE_SIZE];
+    private char[] keys;
+    private int[] rows;
+
+    LastRows(final int capacity) {
+      this.capacity = capacity;
+    }
+
+    int get(final char ch) {
+      if (ch < TABLE_SIZE) {
+        return table[ch];
+      }
+      if (keys == null) {
+        return 0;
+      }
+      int mask = keys.length - 1;
+      for (int slot = ch & mask; keys[slot] != 0; slot = (slot + 1) & mask) {
+        if (keys[slot] == ch) {
+          return rows[slot];
+        }
+      }
+      return 0;
+    }
+
+    void put(final char ch, final int row) {
+      if (ch < TABLE_SIZE) {
+        table[ch] = row;
+        return;
+      }
+      if (keys == null) {
+        /* At most half of the slots are used since there are no more distinct characters than the capacity. */
+        int size = Integer.highestOneBit(2 * capacity - 1) << 1;
+        keys = new char[size];
+        rows = new int[size];
+      }
+      int mask = keys.length - 1;
+      int slot = ch & mask;
+      while (keys[slot] != 0 && keys[slot] != ch) {
+        slot = (slot + 1) & mask;
+      }
+      keys[slot] = ch;
+      rows[slot] = row;
+    }
+  }
+
+  /*
+   * Holds a bitmask per pattern block and character with the bits set at the positions where the character occurs.
+   * Latin-1 characters are looked up in a flat table, all others in a map of the distinct pattern characters.
+   */
+  private static final class PatternMasks {
+    private static final int TABLE_SIZE = 256;
+
+    private final int blocks;
+    private final long[] table;
+    private final long[] absent;
+    private Map<Character, long[]> others;
+
+    PatternMasks(final String pattern, final int blocks) {
+      this.blocks = blocks;
+      this.table = new long[TABLE_SIZE * blocks];
+      this.absent = new long[blocks];
+      for (int i = 0; i < pattern.length(); i++) {
+        char ch = pattern.charAt(i);
+        long bit = 1L << (i & 63);
+        int block = i >>> 6;
+        if (ch < TABLE_SIZE) {
+          table[ch * blocks + block] |= bit;
+        } else {
+          if (others == null) {
+            others = new HashMap<>();
+          }
+          others.computeIfAbsent(ch, key -> new long[blocks])[block] |= bit;
+        }
+      }
+    }
+
+    long[] get(final char ch) {
+      if (ch < TABLE_SIZE) {
+        return table;
+      }
+      long[] masks = others == null ? null : others.get(ch);
+      return masks == null ? absent : masks;
+    }
+
+    int offset(final char ch) {
+      return ch < TABLE_SIZE ? ch * blocks : 0;
+    }
+  }
+}
@@ -0,0 +1,65 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Kernels                                           +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Dispatches the scan-heavy operations of {@link Strman} to the best implementation available at runtime.
+ * <p>
+ *   This is the baseline variant which always uses the {@link ScalarKernels}.
+ *   The multi-release JAR replaces this class on newer JDKs with a variant that switches to vectorized kernels when
+ *   the platform supports them.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see ScalarKernels
+ * @since 0.4.0
+ */
+final class Kernels {
+
+  /*
+   * Avoid class instantiation.
+   */
+  private Kernels() {}
+
+  /**
+   * Checks whether the vectorized kernels are in use.
+   *
+   * @return always {@code false} for the baseline variant
+   */
+  static boolean isVectorized() {
+    return false;
+  }
+
+  static long countSubstr(final String value, final String subStr, final boolean allowOverlapping) {
+    return ScalarKernels.countSubstr(value, subStr, allowOverlapping);
+  }
+
+  static String encodeHex(final String value) {
+    return ScalarKernels.encodeHex(value);
+  }
+
+  static int indexOf(final String value, final String needle, final int fromIndex) {
+    return ScalarKernels.indexOf(value, needle, fromIndex);
+  }
+
+  static boolean isLowerCase(final String value) {
+    return ScalarKernels.isLowerCase(value);
+  }
+
+  static boolean isUpperCase(final String value) {
+    return ScalarKernels.isUpperCase(value);
+  }
+
+  static String removeWhitespace(final String value) {
+    return ScalarKernels.removeWhitespace(value);
+  }
+}
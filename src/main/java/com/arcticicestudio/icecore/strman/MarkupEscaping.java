@@ -0,0 +1,350 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Markup Escaping                                   +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Escapes and unescapes HTML and XML in a single pass.
+ * <p>
+ *   Escaping looks up every ASCII character in a table of replacements, characters without a replacement are copied
+ *   in runs.
+ *   Unescaping resolves named character references by walking a trie of all names of the HTML Living Standard, which
+ *   finds the longest matching name in a single pass just like the HTML tokenizer.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://html.spec.whatwg.org/multipage/named-characters.html">HTML Living Standard, named character
+ * references</a>
+ * @since 0.4.0
+ */
+final class MarkupEscaping {
+
+  private static final int TABLE_SIZE = 128;
+  private static final char REPLACEMENT_CHARACTER = '\uFFFD';
+
+  static final String[] HTML = new String[TABLE_SIZE];
+  static final String[] XML = new String[TABLE_SIZE];
+
+  /*
+   * The characters of the code points 0x80 to 0x9F in windows-1252, numeric references to them are remapped.
+   */
+  private static final char[] WINDOWS_1252 = {
+    '\u20AC', '\u0081', '\u201A', '\u0192', '\u201E', '\u2026', '\u2020', '\u2021',
+    '\u02C6', '\u2030', '\u0160', '\u2039', '\u0152', '\u008D', '\u017D', '\u008F',
+    '\u0090', '\u2018', '\u2019', '\u201C', '\u201D', '\u2022', '\u2013', '\u2014',
+    '\u02DC', '\u2122', '\u0161', '\u203A', '\u0153', '\u009D', '\u017E', '\u0178'
+  };
+
+  static {
+    HTML['&'] = "&amp;";
+    HTML['<'] = "&lt;";
+    HTML['>'] = "&gt;";
+    HTML['"'] = "&quot;";
+    HTML['\''] = "&#39;";
+    XML['&'] = "&amp;";
+    XML['<'] = "&lt;";
+    XML['>'] = "&gt;";
+    XML['"'] = "&quot;";
+    XML['\''] = "&apos;";
+  }
+
+  /*
+   * Avoid class instantiation.
+   */
+  private MarkupEscaping() {}
+
+  /**
+   * Escapes all characters that have a replacement in the table.
+   *
+   * @param value the string to escape
+   * @param table the replacements indexed by ASCII character
+   * @return the escaped string, the same instance if nothing needs to be escaped
+   */
+  static String escape(final String value, final String[] table) {
+    int first = indexOfEscape(value, 0, table);
+    if (first < 0) {
+      return value;
+    }
+    StringBuilder target = new StringBuilder(value.length() + 16);
+    try {
+      target.append(value, 0, first);
+      escape(value, first, table, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Escapes all characters that have a replacement in the table into the target.
+   *
+   * @param value the characters to escape
+   * @param from the index of the first character to escape
+   * @param table the replacements indexed by ASCII character
+   * @param target the target to write to
+   * @throws IOException if the target can't be written
+   */
+  static void escape(final CharSequence value, final int from, final String[] table, final Appendable target) throws IOException {
+    int length = value.length();
+    int start = from;
+    for (int i = from; i < length; i++) {
+      char ch = value.charAt(i);
+      if (ch < TABLE_SIZE && table[ch] != null) {
+        target.append(value, start, i).append(table[ch]);
+        start = i + 1;
+      }
+    }
+    target.append(value, start, length);
+  }
+
+  /**
+   * Resolves all named- and numeric character references.
+   *
+   * @param value the string to unescape
+   * @return the unescaped string, the same instance if it contains no reference
+   */
+  static String unescape(final String value) {
+    if (value.indexOf('&') < 0) {
+      return value;
+    }
+    StringBuilder target = new StringBuilder(value.length());
+    try {
+      unescape(value, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Resolves all named- and numeric character references into the target.
+   * <p>
+   *   Numeric references to invalid code points are replaced with {@code U+FFFD}, references to the C1 controls are
+   *   remapped to windows-1252 like browsers do.
+   *   Ampersands that don't start a known reference are kept.
+   * </p>
+   *
+   * @param value the characters to unescape
+   * @param target the target to write to
+   * @throws IOException if the target can't be written
+   */
+  static void unescape(final CharSequence value, final Appendable target) throws IOException {
+    int length = value.length();
+    int start = 0;
+    for (int i = 0; i < length; i++) {
+      if (value.charAt(i) != '&') {
+        continue;
+      }
+      int end = i + 1 < length && value.charAt(i + 1) == '#'
+        ? unescapeNumeric(value, i + 2, target, start, i)
+        : unescapeNamed(value, i + 1, target, start, i);
+      if (end > 0) {
+        start = end;
+        i = end - 1;
+      }
+    }
+    target.append(value, start, length);
+  }
+
+  private static int indexOfEscape(final CharSequence value, final int from, final String[] table) {
+    for (int i = from; i < value.length(); i++) {
+      char ch = value.charAt(i);
+      if (ch < TABLE_SIZE && table[ch] != null) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Returns the index after the reference if a name matched, 0 otherwise.
+   */
+  private static int unescapeNamed(final CharSequence value, final int from, final Appendable target, final int start,
+                                   final int ampersand) throws IOException {
+    int node = 0;
+    int matchedNode = -1;
+    int matchedEnd = -1;
+    for (int i = from; i < value.length(); i++) {
+      node = Entities.child(node, value.charAt(i));
+      if (node < 0) {
+        break;
+      }
+      if (Entities.VALUES[node] != null) {
+        matchedNode = node;
+        matchedEnd = i + 1;
+      }
+    }
+    if (matchedNode < 0) {
+      return 0;
+    }
+    target.append(value, start, ampersand).append(Entities.VALUES[matchedNode]);
+    return matchedEnd;
+  }
+
+  /*
+   * Returns the index after the reference if it has at least one digit, 0 otherwise.
+   */
+  private static int unescapeNumeric(final CharSequence value, final int from, final Appendable target, final int start,
+                                     final int ampersand) throws IOException {
+    int length = value.length();
+    int i = from;
+    int radix = 10;
+    if (i < length && (value.charAt(i) == 'x' || value.charAt(i) == 'X')) {
+      radix = 16;
+      i++;
+    }
+    int digitsStart = i;
+    int codePoint = 0;
+    while (i < length) {
+      int digit = Character.digit(value.charAt(i), radix);
+      if (digit < 0 || value.charAt(i) >= TABLE_SIZE) {
+        break;
+      }
+      /* Saturate beyond the code point range, the reference is invalid anyway. */
+      codePoint = codePoint > Character.MAX_CODE_POINT ? codePoint : codePoint * radix + digit;
+      i++;
+    }
+    if (i == digitsStart) {
+      return 0;
+    }
+    if (i < length && value.charAt(i) == ';') {
+      i++;
+    }
+    target.append(value, start, ampersand);
+    if (codePoint == 0 || codePoint > Character.MAX_CODE_POINT
+      || (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE)) {
+      target.append(REPLACEMENT_CHARACTER);
+    } else if (codePoint >= 0x80 && codePoint <= 0x9F) {
+      target.append(WINDOWS_1252[codePoint - 0x80]);
+    } else if (Character.isBmpCodePoint(codePoint)) {
+      target.append((char) codePoint);
+    } else {
+      target.append(Character.highSurrogate(codePoint)).append(Character.lowSurrogate(codePoint));
+    }
+    return i;
+  }
+
+  /*
+   * Holds the trie of the named character references, loaded on first use.
+   * The nodes are stored in flat arrays, the children of a node are linked through their next sibling, the children of
+   * the root are looked up directly by their ASCII character.
+   */
+  private static final class Entities {
+    private static final String RESOURCE = "html-entities.txt";
+
+    static final String[] VALUES;
+    private static final char[] LABELS;
+    private static final int[] FIRST_CHILD;
+    private static final int[] NEXT_SIBLING;
+    private static final int[] ROOT = new int[TABLE_SIZE];
+
+    static {
+      TrieBuilder builder = new TrieBuilder();
+      try (InputStream input = MarkupEscaping.class.getResourceAsStream(RESOURCE)) {
+        if (input == null) {
+          throw new IllegalStateException("missing resource " + RESOURCE);
+        }
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+          if (!line.isEmpty() && line.charAt(0) != '#') {
+            String[] fields = line.split(" ");
+            StringBuilder codePoints = new StringBuilder(2);
+            for (int i = 1; i < fields.length; i++) {
+              codePoints.appendCodePoint(Integer.parseInt(fields[i], 16));
+            }
+            builder.insert(fields[0], codePoints.toString());
+          }
+        }
+      } catch (IOException e) {
+        throw new IllegalStateException("can't load resource " + RESOURCE, e);
+      }
+      LABELS = Arrays.copyOf(builder.labels, builder.size);
+      FIRST_CHILD = Arrays.copyOf(builder.firstChild, builder.size);
+      NEXT_SIBLING = Arrays.copyOf(builder.nextSibling, builder.size);
+      VALUES = Arrays.copyOf(builder.values, builder.size);
+      Arrays.fill(ROOT, -1);
+      for (int child = FIRST_CHILD[0]; child != -1; child = NEXT_SIBLING[child]) {
+        ROOT[LABELS[child]] = child;
+      }
+    }
+
+    /* Avoid class instantiation. */
+    private Entities() {}
+
+    static int child(final int node, final char label) {
+      if (node == 0) {
+        return label < TABLE_SIZE ? ROOT[label] : -1;
+      }
+      for (int child = FIRST_CHILD[node]; child != -1; child = NEXT_SIBLING[child]) {
+        if (LABELS[child] == label) {
+          return child;
+        }
+      }
+      return -1;
+    }
+  }
+
+  private static final class TrieBuilder {
+    private char[] labels = new char[8192];
+    private int[] firstChild = new int[8192];
+    private int[] nextSibling = new int[8192];
+    private String[] values = new String[8192];
+    private int size = 1;
+
+    TrieBuilder() {
+      Arrays.fill(firstChild, -1);
+      Arrays.fill(nextSibling, -1);
+    }
+
+    void insert(final String name, final String value) {
+      int node = 0;
+      for (int i = 0; i < name.length(); i++) {
+        char label = name.charAt(i);
+        int child = firstChild[node];
+        while (child != -1 && labels[child] != label) {
+          child = nextSibling[child];
+        }
+        if (child == -1) {
+          if (size == labels.length) {
+            grow();
+          }
+          child = size++;
+          labels[child] = label;
+          nextSibling[child] = firstChild[node];
+          firstChild[node] = child;
+        }
+        node = child;
+      }
+      values[node] = value;
+    }
+
+    private void grow() {
+      int capacity = labels.length << 1;
+      labels = Arrays.copyOf(labels, capacity);
+      values = Arrays.copyOf(values, capacity);
+      int previous = firstChild.length;
+      firstChild = Arrays.copyOf(firstChild, capacity);
+      nextSibling = Arrays.copyOf(nextSibling, capacity);
+      Arrays.fill(firstChild, previous, capacity, -1);
+      Arrays.fill(nextSibling, previous, capacity, -1);
+    }
+  }
+}
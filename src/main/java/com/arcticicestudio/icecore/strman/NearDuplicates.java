@@ -0,0 +1,227 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Near Duplicates                                   +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.Arrays;
+
+/**
+ * Computes word shingles, MinHash signatures and SimHash fingerprints for near-duplicate detection.
+ * <p>
+ *   Words are scanned in place without creating substrings and hashed with xxHash64, so a shingle is a 64-bit hash of
+ *   a run of consecutive words.
+ *   All hash functions use fixed seeds, so the results are identical on every run and JVM and all methods can be
+ *   called concurrently.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://en.wikipedia.org/wiki/MinHash">MinHash</a>
+ * @see <a href="https://en.wikipedia.org/wiki/SimHash">SimHash</a>
+ * @since 0.4.0
+ */
+final class NearDuplicates {
+
+  private static final long PRIME = 0x9E3779B185EBCA87L;
+  private static final long MIN_HASH_SEED = 0x5DEECE66DL;
+
+  /*
+   * Avoid class instantiation.
+   */
+  private NearDuplicates() {}
+
+  /**
+   * Hashes the rows of a band of a signature into a 64-bit key.
+   *
+   * @param signature the signature
+   * @param from the index of the first row of the band, inclusive
+   * @param to the index of the last row of the band, exclusive
+   * @return the key of the band
+   */
+  static long bandHash(final long[] signature, final int from, final int to) {
+    long hash = to - from;
+    for (int i = from; i < to; i++) {
+      hash = (hash ^ mix(signature[i])) * PRIME;
+    }
+    return mix(hash);
+  }
+
+  /**
+   * Checks whether a MinHash signature was computed of no shingles at all.
+   *
+   * @param signature the signature
+   * @return {@code true} if every position is {@link Long#MAX_VALUE}, {@code false} otherwise
+   */
+  static boolean isEmpty(final long[] signature) {
+    for (long hash : signature) {
+      if (hash != Long.MAX_VALUE) {
+        return false;
+      }
+    }
+    return signature.length > 0;
+  }
+
+  /**
+   * Finalizes a 64-bit value with the avalanche function of MurmurHash3.
+   *
+   * @param value the value to mix
+   * @return the mixed value
+   */
+  static long mix(long value) {
+    value ^= value >>> 33;
+    value *= 0xFF51AFD7ED558CCDL;
+    value ^= value >>> 33;
+    value *= 0xC4CEB9FE1A85EC53L;
+    value ^= value >>> 33;
+    return value;
+  }
+
+  /**
+   * Computes the MinHash signature of the shingles.
+   * <p>
+   *   Every position of the signature is the minimum of an independent hash function over all shingles, the signature
+   *   of no shingles consists only of {@link Long#MAX_VALUE}.
+   * </p>
+   *
+   * @param shingles the shingle hashes
+   * @param numHashes the number of hash functions
+   * @return the signature
+   */
+  static long[] minHash(final long[] shingles, final int numHashes) {
+    long[] seeds = new long[numHashes];
+    long state = MIN_HASH_SEED;
+    for (int i = 0; i < numHashes; i++) {
+      state += PRIME;
+      seeds[i] = mix(state);
+    }
+    long[] signature = new long[numHashes];
+    Arrays.fill(signature, Long.MAX_VALUE);
+    for (long shingle : shingles) {
+      for (int i = 0; i < numHashes; i++) {
+        long hash = mix(shingle ^ seeds[i]);
+        if (hash < signature[i]) {
+          signature[i] = hash;
+        }
+      }
+    }
+    return signature;
+  }
+
+  /**
+   * Computes the hashes of all runs of consecutive words.
+   * <p>
+   *   Words are the runs of letters, digits, combining marks and underscores of any script.
+   *   Values with fewer words than the shingle size result in a single shingle of all words.
+   * </p>
+   *
+   * @param value the characters to scan
+   * @param size the number of words per shingle
+   * @param caseSensitive the case sensitivity
+   * @return the shingle hashes in the order of their occurrence
+   */
+  static long[] shingles(final CharSequence value, final int size, final boolean caseSensitive) {
+    int words = countWords(value);
+    if (words == 0) {
+      return new long[0];
+    }
+    long[] shingles = new long[Math.max(1, words - size + 1)];
+    long[] window = new long[size];
+    StrmanHasher hasher = StrmanHasher.xxHash64(0, caseSensitive);
+    int length = value.length();
+    int word = 0;
+    int i = 0;
+    while (i < length) {
+      int codePoint = Character.codePointAt(value, i);
+      if (!isWordChar(codePoint)) {
+        i += Character.charCount(codePoint);
+        continue;
+      }
+      int start = i;
+      while (i < length) {
+        codePoint = Character.codePointAt(value, i);
+        if (!isWordChar(codePoint)) {
+          break;
+        }
+        i += Character.charCount(codePoint);
+      }
+      window[word % size] = hasher.reset().append(value, start, i).hash64();
+      word++;
+      if (word >= size) {
+        shingles[word - size] = shingleHash(window, word - size, size);
+      }
+    }
+    if (words < size) {
+      shingles[0] = shingleHash(window, 0, words);
+    }
+    return shingles;
+  }
+
+  /**
+   * Computes the SimHash fingerprint of the shingles.
+   * <p>
+   *   Every bit of the fingerprint is set if it's set in the majority of the mixed shingle hashes.
+   * </p>
+   *
+   * @param shingles the shingle hashes
+   * @return the fingerprint
+   */
+  static long simHash(final long[] shingles) {
+    int[] votes = new int[64];
+    for (long shingle : shingles) {
+      long hash = mix(shingle);
+      for (int bit = 0; bit < 64; bit++) {
+        votes[bit] += (int) ((hash >>> bit) & 1L) * 2 - 1;
+      }
+    }
+    long fingerprint = 0;
+    for (int bit = 0; bit < 64; bit++) {
+      if (votes[bit] > 0) {
+        fingerprint |= 1L << bit;
+      }
+    }
+    return fingerprint;
+  }
+
+  private static int countWords(final CharSequence value) {
+    int words = 0;
+    boolean inWord = false;
+    for (int i = 0; i < value.length(); ) {
+      int codePoint = Character.codePointAt(value, i);
+      boolean wordChar = isWordChar(codePoint);
+      if (wordChar && !inWord) {
+        words++;
+      }
+      inWord = wordChar;
+      i += Character.charCount(codePoint);
+    }
+    return words;
+  }
+
+  private static boolean isWordChar(final int codePoint) {
+    if (codePoint < 0x80) {
+      return (codePoint >= 'a' && codePoint <= 'z') || (codePoint >= 'A' && codePoint <= 'Z')
+        || (codePoint >= '0' && codePoint <= '9') || codePoint == '_';
+    }
+    int type = Character.getType(codePoint);
+    return Character.isLetterOrDigit(codePoint) || type == Character.NON_SPACING_MARK
+      || type == Character.COMBINING_SPACING_MARK;
+  }
+
+  /*
+   * Combines the word hashes of the ring buffer in their order, starting with the word with the specified number.
+   */
+  private static long shingleHash(final long[] window, final int first, final int count) {
+    long hash = count;
+    for (int j = 0; j < count; j++) {
+      hash = (hash ^ window[(first + j) % window.length]) * PRIME;
+    }
+    return mix(hash);
+  }
+}
@@ -0,0 +1,347 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Numbers                                           +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.IOException;
+
+/**
+ * Parses and formats decimal numbers on character ranges without intermediate strings.
+ * <p>
+ *   Integers are accumulated as negative values like {@link Long#parseLong(String)} does, so the minimum values are
+ *   parsed without a special case and an overflow is detected before it happens.
+ *   Formatted digits are written one by one from the most significant digit on, so nothing is allocated besides what
+ *   the target allocates itself.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.4.0
+ */
+final class Numbers {
+
+  private static final long[] POWERS_OF_TEN = {
+    1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+    10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+    1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+  };
+  private static final double[] EXACT_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+    1e20, 1e21, 1e22
+  };
+  private static final long MAX_EXACT_SIGNIFICAND = 1L << 53;
+  private static final int MAX_SIGNIFICANT_DIGITS = 18;
+  private static final int MAX_EXPONENT = 100_000;
+  private static final String[] DECIMAL_UNITS = {"B", "kB", "MB", "GB", "TB", "PB", "EB"};
+  private static final String[] BINARY_UNITS = {"B", "KiB", "MiB", "GiB", "TiB", "PiB", "EiB"};
+
+  /*
+   * Avoid class instantiation.
+   */
+  private Numbers() {}
+
+  /**
+   * Formats the number of bytes with one fractional digit in the largest unit the number reaches.
+   *
+   * @param bytes the non-negative number of bytes
+   * @param binary {@code true} for units of 1024 bytes, {@code false} for units of 1000 bytes
+   * @return the formatted size
+   */
+  static String byteSize(final long bytes, final boolean binary) {
+    StringBuilder target = new StringBuilder(24);
+    try {
+      byteSize(bytes, binary, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Formats the number of bytes with one fractional digit in the largest unit the number reaches.
+   * <p>
+   *   The fraction is rounded half up, a value that rounds up to the next unit is formatted in that unit.
+   * </p>
+   *
+   * @param bytes the non-negative number of bytes
+   * @param binary {@code true} for units of 1024 bytes, {@code false} for units of 1000 bytes
+   * @param target the target to write to
+   * @throws IOException if the target can't be written
+   */
+  static void byteSize(final long bytes, final boolean binary, final Appendable target) throws IOException {
+    int unit = binary ? 1024 : 1000;
+    String[] units = binary ? BINARY_UNITS : DECIMAL_UNITS;
+    if (bytes < unit) {
+      digits(-bytes, target);
+      target.append(' ').append(units[0]);
+      return;
+    }
+    int exponent = 1;
+    long divisor = unit;
+    while (bytes / divisor >= unit) {
+      divisor *= unit;
+      exponent++;
+    }
+    long tenths = tenths(bytes, divisor);
+    if (tenths >= unit * 10L && exponent < units.length - 1) {
+      divisor *= unit;
+      exponent++;
+      tenths = tenths(bytes, divisor);
+    }
+    digits(-(tenths / 10), target);
+    target.append('.').append((char) ('0' + tenths % 10)).append(' ').append(units[exponent]);
+  }
+
+  /**
+   * Formats the digits of the value with the separator between every group of three digits.
+   *
+   * @param value the value to format
+   * @param separator the separator of the groups
+   * @return the formatted value
+   */
+  static String groupDigits(final long value, final char separator) {
+    StringBuilder target = new StringBuilder(24);
+    try {
+      groupDigits(value, separator, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Writes the digits of the value with the separator between every group of three digits.
+   *
+   * @param value the value to format
+   * @param separator the separator of the groups
+   * @param target the target to write to
+   * @throws IOException if the target can't be written
+   */
+  static void groupDigits(final long value, final char separator, final Appendable target) throws IOException {
+    long magnitude = value < 0 ? value : -value;
+    if (value < 0) {
+      target.append('-');
+    }
+    for (int digit = length(magnitude) - 1; digit >= 0; digit--) {
+      target.append((char) ('0' - magnitude / POWERS_OF_TEN[digit] % 10));
+      if (digit > 0 && digit % 3 == 0) {
+        target.append(separator);
+      }
+    }
+  }
+
+  /**
+   * Parses the decimal floating-point number of the range.
+   * <p>
+   *   Numbers of at most 18 significant digits whose significand and power of ten are exactly representable as
+   *   {@code double} are computed with a single correctly rounded multiplication or division, all other numbers are
+   *   delegated to {@link Double#parseDouble(String)}.
+   * </p>
+   *
+   * @param value the characters to parse
+   * @param start the index of the first character, inclusive
+   * @param end the index of the last character, exclusive
+   * @return the parsed number
+   * @throws NumberFormatException if the range doesn't match {@link StrmanFormat#DECIMAL}
+   */
+  static double parseDouble(final CharSequence value, final int start, final int end) throws NumberFormatException {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+      negative = value.charAt(i++) == '-';
+    }
+    long significand = 0;
+    int digits = 0;
+    int exponent = 0;
+    boolean truncated = false;
+    int integer = i;
+    for (; i < end && isDigit(value.charAt(i)); i++) {
+      if (digits < MAX_SIGNIFICANT_DIGITS) {
+        significand = significand * 10 + value.charAt(i) - '0';
+        digits += significand == 0 ? 0 : 1;
+      } else {
+        exponent++;
+        truncated |= value.charAt(i) != '0';
+      }
+    }
+    boolean integerDigits = i > integer;
+    if (i < end && value.charAt(i) == '.') {
+      int fraction = ++i;
+      for (; i < end && isDigit(value.charAt(i)); i++) {
+        if (digits < MAX_SIGNIFICANT_DIGITS) {
+          significand = significand * 10 + value.charAt(i) - '0';
+          digits += significand == 0 ? 0 : 1;
+          exponent--;
+        } else {
+          truncated |= value.charAt(i) != '0';
+        }
+      }
+      if (!integerDigits && i == fraction) {
+        throw invalid(value, start, end, i, "double");
+      }
+    } else if (!integerDigits) {
+      throw invalid(value, start, end, i, "double");
+    }
+    if (i < end && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+      boolean negativeExponent = false;
+      if (++i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+        negativeExponent = value.charAt(i++) == '-';
+      }
+      int exponentStart = i;
+      int explicit = 0;
+      for (; i < end && isDigit(value.charAt(i)); i++) {
+        explicit = Math.min(MAX_EXPONENT, explicit * 10 + value.charAt(i) - '0');
+      }
+      if (i == exponentStart) {
+        throw invalid(value, start, end, i, "double");
+      }
+      exponent += negativeExponent ? -explicit : explicit;
+    }
+    if (i < end) {
+      throw invalid(value, start, end, i, "double");
+    }
+    if (significand == 0) {
+      return negative ? -0.0 : 0.0;
+    }
+    if (!truncated && significand <= MAX_EXACT_SIGNIFICAND) {
+      int maxExponent = EXACT_POWERS_OF_TEN.length - 1;
+      if (exponent > maxExponent && exponent - maxExponent < POWERS_OF_TEN.length
+        && significand <= MAX_EXACT_SIGNIFICAND / POWERS_OF_TEN[exponent - maxExponent]) {
+        significand *= POWERS_OF_TEN[exponent - maxExponent];
+        exponent = maxExponent;
+      }
+      if (exponent >= 0 && exponent <= maxExponent) {
+        double result = significand * EXACT_POWERS_OF_TEN[exponent];
+        return negative ? -result : result;
+      }
+      if (exponent < 0 && exponent >= -maxExponent) {
+        double result = significand / EXACT_POWERS_OF_TEN[-exponent];
+        return negative ? -result : result;
+      }
+    }
+    return Double.parseDouble(value.subSequence(start, end).toString());
+  }
+
+  /**
+   * Parses the decimal integer of the range.
+   *
+   * @param value the characters to parse
+   * @param start the index of the first character, inclusive
+   * @param end the index of the last character, exclusive
+   * @param min the minimum value
+   * @param max the maximum value
+   * @param type the name of the type for error messages
+   * @return the parsed number
+   * @throws NumberFormatException if the range doesn't match {@link StrmanFormat#INTEGER} or the number overflows
+   */
+  static long parseLong(final CharSequence value, final int start, final int end, final long min, final long max,
+                        final String type) throws NumberFormatException {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+      negative = value.charAt(i++) == '-';
+    }
+    if (i == end) {
+      throw invalid(value, start, end, i, type);
+    }
+    long limit = negative ? min : -max;
+    long multiplicationLimit = limit / 10;
+    long result = 0;
+    for (; i < end; i++) {
+      char ch = value.charAt(i);
+      if (!isDigit(ch)) {
+        throw invalid(value, start, end, i, type);
+      }
+      if (result < multiplicationLimit || result * 10 < limit + (ch - '0')) {
+        throw new NumberFormatException("\"" + value.subSequence(start, end) + "\" overflows " + type + " at index " + i);
+      }
+      result = result * 10 - (ch - '0');
+    }
+    return negative ? result : -result;
+  }
+
+  /**
+   * Formats the value with leading zeros to reach the width, a minus sign counts toward the width.
+   *
+   * @param value the value to format
+   * @param width the minimum number of characters
+   * @return the formatted value
+   */
+  static String zeroPad(final long value, final int width) {
+    StringBuilder target = new StringBuilder(24);
+    try {
+      zeroPad(value, width, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Writes the value with leading zeros to reach the width, a minus sign counts toward the width.
+   *
+   * @param value the value to format
+   * @param width the minimum number of characters
+   * @param target the target to write to
+   * @throws IOException if the target can't be written
+   */
+  static void zeroPad(final long value, final int width, final Appendable target) throws IOException {
+    long magnitude = value < 0 ? value : -value;
+    int padding = width - length(magnitude);
+    if (value < 0) {
+      target.append('-');
+      padding--;
+    }
+    for (; padding > 0; padding--) {
+      target.append('0');
+    }
+    digits(magnitude, target);
+  }
+
+  /*
+   * Writes the digits of the negated magnitude, which covers Long.MIN_VALUE.
+   */
+  private static void digits(final long magnitude, final Appendable target) throws IOException {
+    for (int digit = length(magnitude) - 1; digit >= 0; digit--) {
+      target.append((char) ('0' - magnitude / POWERS_OF_TEN[digit] % 10));
+    }
+  }
+
+  private static NumberFormatException invalid(final CharSequence value, final int start, final int end,
+                                               final int index, final String type) {
+    return new NumberFormatException("\"" + value.subSequence(start, end) + "\" is not a valid " + type
+      + ", invalid character at index " + index);
+  }
+
+  private static boolean isDigit(final char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+
+  /*
+   * Counts the digits of the negated magnitude.
+   */
+  private static int length(final long magnitude) {
+    int length = 1;
+    while (length < POWERS_OF_TEN.length && magnitude <= -POWERS_OF_TEN[length]) {
+      length++;
+    }
+    return length;
+  }
+
+  /*
+   * Divides the bytes by the divisor in tenths, rounding half up.
+   */
+  private static long tenths(final long bytes, final long divisor) {
+    return bytes / divisor * 10 + Math.round(bytes % divisor * 10.0 / divisor);
+  }
+}
@@ -0,0 +1,195 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Percent-Encoding                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Percent-encodes and -decodes URL components.
+ * <p>
+ *   Characters are encoded as UTF-8 directly while scanning, without a charset encoder or intermediate buffers.
+ *   Strings that need no encoding or decoding are detected in a single pass and returned as they are.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://tools.ietf.org/html/rfc3986#section-2.1">RFC 3986, Percent-Encoding</a>
+ * @since 0.4.0
+ */
+final class PercentEncoding {
+
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  /*
+   * Avoid class instantiation.
+   */
+  private PercentEncoding() {}
+
+  /**
+   * Decodes all percent-encoded UTF-8 sequences.
+   *
+   * @param value the string to decode
+   * @return the decoded string, the same instance if it contains no percent-encoded sequence
+   * @throws IllegalArgumentException if a sequence is incomplete or doesn't encode valid UTF-8
+   */
+  static String decode(final String value) throws IllegalArgumentException {
+    int first = value.indexOf('%');
+    if (first < 0) {
+      return value;
+    }
+    StringBuilder target = new StringBuilder(value.length());
+    try {
+      target.append(value, 0, first);
+      decode(value, first, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Decodes all percent-encoded UTF-8 sequences into the target.
+   * <p>
+   *   Consecutive sequences are collected and decoded together, so characters encoded as multiple bytes are restored.
+   * </p>
+   *
+   * @param value the characters to decode
+   * @param from the index of the first character to decode
+   * @param target the target to write to
+   * @throws IOException if the target can't be written
+   * @throws IllegalArgumentException if a sequence is incomplete or doesn't encode valid UTF-8
+   */
+  static void decode(final CharSequence value, final int from, final Appendable target) throws IOException {
+    int length = value.length();
+    int start = from;
+    byte[] bytes = null;
+    int i = from;
+    while (i < length) {
+      if (value.charAt(i) != '%') {
+        i++;
+        continue;
+      }
+      target.append(value, start, i);
+      int runStart = i;
+      int count = 0;
+      while (i < length && value.charAt(i) == '%') {
+        if (i + 2 >= length) {
+          throw new IllegalArgumentException("incomplete percent-encoding at index " + i);
+        }
+        int high = hexDigit(value.charAt(i + 1));
+        int low = hexDigit(value.charAt(i + 2));
+        if (high < 0 || low < 0) {
+          throw new IllegalArgumentException("invalid percent-encoding at index " + i);
+        }
+        if (bytes == null || count == bytes.length) {
+          bytes = bytes == null ? new byte[Math.max(16, (length - i) / 3)] : Arrays.copyOf(bytes, count << 1);
+        }
+        bytes[count++] = (byte) ((high << 4) | low);
+        i += 3;
+      }
+      try {
+        target.append(Utf8.decode(ByteBuffer.wrap(bytes, 0, count), 0, count));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("percent-encoded bytes at index " + runStart + " are not valid UTF-8", e);
+      }
+      start = i;
+    }
+    target.append(value, start, length);
+  }
+
+  /**
+   * Percent-encodes all characters that are not safe in the component as UTF-8.
+   *
+   * @param value the string to encode
+   * @param component the URL component that defines the safe characters
+   * @return the encoded string, the same instance if all characters are safe
+   * @throws IllegalArgumentException if the string contains an unpaired surrogate
+   */
+  static String encode(final String value, final StrmanUrlComponent component) throws IllegalArgumentException {
+    int first = indexOfUnsafe(value, component);
+    if (first < 0) {
+      return value;
+    }
+    StringBuilder target = new StringBuilder(value.length() + 16);
+    try {
+      target.append(value, 0, first);
+      encode(value, first, component, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Percent-encodes all characters that are not safe in the component as UTF-8 into the target.
+   *
+   * @param value the characters to encode
+   * @param from the index of the first character to encode
+   * @param component the URL component that defines the safe characters
+   * @param target the target to write to
+   * @throws IOException if the target can't be written
+   * @throws IllegalArgumentException if the characters contain an unpaired surrogate
+   */
+  static void encode(final CharSequence value, final int from, final StrmanUrlComponent component,
+                     final Appendable target) throws IOException {
+    int length = value.length();
+    int start = from;
+    for (int i = from; i < length; i++) {
+      char ch = value.charAt(i);
+      if (component.isSafe(ch)) {
+        continue;
+      }
+      target.append(value, start, i);
+      if (ch < 0x80) {
+        appendByte(ch, target);
+      } else if (ch < 0x800) {
+        appendByte(0xC0 | (ch >>> 6), target);
+        appendByte(0x80 | (ch & 0x3F), target);
+      } else if (!Character.isSurrogate(ch)) {
+        appendByte(0xE0 | (ch >>> 12), target);
+        appendByte(0x80 | ((ch >>> 6) & 0x3F), target);
+        appendByte(0x80 | (ch & 0x3F), target);
+      } else {
+        if (!Character.isHighSurrogate(ch) || i + 1 == length || !Character.isLowSurrogate(value.charAt(i + 1))) {
+          throw new IllegalArgumentException("malformed input at index " + i);
+        }
+        int codePoint = Character.toCodePoint(ch, value.charAt(++i));
+        appendByte(0xF0 | (codePoint >>> 18), target);
+        appendByte(0x80 | ((codePoint >>> 12) & 0x3F), target);
+        appendByte(0x80 | ((codePoint >>> 6) & 0x3F), target);
+        appendByte(0x80 | (codePoint & 0x3F), target);
+      }
+      start = i + 1;
+    }
+    target.append(value, start, length);
+  }
+
+  private static void appendByte(final int b, final Appendable target) throws IOException {
+    target.append('%').append(HEX_DIGITS[b >>> 4]).append(HEX_DIGITS[b & 0x0F]);
+  }
+
+  private static int hexDigit(final char ch) {
+    return ch < 0x80 ? Character.digit(ch, 16) : -1;
+  }
+
+  private static int indexOfUnsafe(final CharSequence value, final StrmanUrlComponent component) {
+    for (int i = 0; i < value.length(); i++) {
+      if (!component.isSafe(value.charAt(i))) {
+        return i;
+      }
+    }
+    return -1;
+  }
+}
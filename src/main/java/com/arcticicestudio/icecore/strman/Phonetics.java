@@ -0,0 +1,859 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Phonetics                                         +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Implements the phonetic encoders of {@link StrmanPhonetic}.
+ * <p>
+ *   An encoder copies the upper cased letters into a reusable buffer and writes the keys into two buffers of the fixed
+ *   key length, so apart from the key itself it only allocates for strings with non-ASCII characters which are folded
+ *   before.
+ *   Encoders are reused for all strings of an array and are not safe for concurrent use.
+ * </p>
+ * <p>
+ *   The Double Metaphone rules follow the original C++ implementation of Lawrence Philips with the refinements of
+ *   Apache Commons Codec, except of the alternate key which doesn't get a space for a final {@code J}.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://www.drdobbs.com/the-double-metaphone-search-algorithm/184401251">Philips, The Double
+ * Metaphone Search Algorithm</a>
+ * @since 0.4.0
+ */
+final class Phonetics {
+
+  /**
+   * The maximal length of the keys.
+   */
+  static final int KEY_LENGTH = 4;
+
+  /*
+   * The Soundex digits of the letters A to Z, vowels are coded as 0 and separate equal digits.
+   */
+  private static final String SOUNDEX_DIGITS = "01230120022455012623010202";
+
+  private final char[] primary = new char[KEY_LENGTH];
+  private final char[] alternate = new char[KEY_LENGTH];
+  private int primaryLength;
+  private int alternateLength;
+  private char[] letters = new char[64];
+  private int length;
+
+  /**
+   * Encodes the strings of the range into their keys.
+   *
+   * @param values the strings to encode
+   * @param keys the array to store the keys at the same indices, {@code null} for {@code null} strings
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @param algorithm the algorithm to encode with
+   */
+  void encode(final String[] values, final String[] keys, final int from, final int to,
+    final StrmanPhonetic algorithm) {
+    for (int i = from; i < to; i++) {
+      keys[i] = values[i] == null ? null : encode(values[i], algorithm);
+    }
+  }
+
+  /**
+   * Encodes the string into its key.
+   *
+   * @param value the string to encode
+   * @param algorithm the algorithm to encode with
+   * @return the key, empty if the string contains no letters
+   */
+  String encode(final String value, final StrmanPhonetic algorithm) {
+    load(AsciiFolding.fold(value));
+    primaryLength = 0;
+    alternateLength = 0;
+    switch (algorithm) {
+      case SOUNDEX:
+        soundex();
+        break;
+      case METAPHONE:
+        metaphone();
+        break;
+      default:
+        doubleMetaphone();
+    }
+    return algorithm == StrmanPhonetic.DOUBLE_METAPHONE_ALTERNATE ? new String(alternate, 0, alternateLength)
+      : new String(primary, 0, primaryLength);
+  }
+
+  private void soundex() {
+    int i = 0;
+    while (i < length && !isLetter(at(i))) {
+      i++;
+    }
+    if (i == length) {
+      return;
+    }
+    char first = at(i);
+    primary[primaryLength++] = first;
+    char last = SOUNDEX_DIGITS.charAt(first - 'A');
+    for (i++; i < length && primaryLength < KEY_LENGTH; i++) {
+      char ch = at(i);
+      if (!isLetter(ch) || ch == 'H' || ch == 'W') {
+        continue;
+      }
+      char digit = SOUNDEX_DIGITS.charAt(ch - 'A');
+      if (digit != '0' && digit != last) {
+        primary[primaryLength++] = digit;
+      }
+      last = digit;
+    }
+    while (primaryLength < KEY_LENGTH) {
+      primary[primaryLength++] = '0';
+    }
+  }
+
+  /*
+   * Initial letter groups are rewritten before the letters are encoded: AE, GN, KN, PN and WR drop the first
+   * letter, WH becomes W and X becomes S.
+   */
+  private void metaphone() {
+    int offset = 0;
+    char first = at(0);
+    char second = at(1);
+    if (second == 'N' && (first == 'G' || first == 'K' || first == 'P') || first == 'A' && second == 'E'
+      || first == 'W' && second == 'R') {
+      offset = 1;
+      first = second;
+    } else if (first == 'W' && second == 'H') {
+      offset = 1;
+      first = 'W';
+    } else if (first == 'X') {
+      first = 'S';
+    }
+    int size = length - offset;
+    for (int n = 0; n < size && primaryLength < KEY_LENGTH; n++) {
+      char ch = n == 0 ? first : at(offset + n);
+      if (ch != 'C' && n > 0 && local(offset, first, n - 1) == ch) {
+        continue;
+      }
+      char previous = n > 0 ? local(offset, first, n - 1) : 0;
+      char next = n + 1 < size ? at(offset + n + 1) : 0;
+      switch (ch) {
+        case 'A':
+        case 'E':
+        case 'I':
+        case 'O':
+        case 'U':
+          if (n == 0) {
+            addPrimary(ch);
+          }
+          break;
+        case 'B':
+          /* A final B after M is silent. */
+          if (previous != 'M' || n + 1 < size) {
+            addPrimary('B');
+          }
+          break;
+        case 'C':
+          if (previous == 'S' && isFrontVowel(next)) {
+            break;
+          }
+          if (next == 'I' && at(offset + n + 2) == 'A' && n + 2 < size) {
+            addPrimary('X');
+          } else if (isFrontVowel(next)) {
+            addPrimary('S');
+          } else if (previous == 'S' && next == 'H') {
+            addPrimary('K');
+          } else if (next == 'H') {
+            /* Like Apache Commons Codec an initial CH is a K before a vowel, so Charles is KRLS and Christ XRST. */
+            addPrimary(n == 0 && size >= 3 && isMetaphoneVowel(at(offset + 2)) ? 'K' : 'X');
+          } else {
+            addPrimary('K');
+          }
+          break;
+        case 'D':
+          if (next == 'G' && n + 2 < size && isFrontVowel(at(offset + n + 2))) {
+            addPrimary('J');
+            n += 2;
+          } else {
+            addPrimary('T');
+          }
+          break;
+        case 'G':
+          /* GH is silent at the end and before consonants, GN is silent except at the start. */
+          if (next == 'H' && (n + 2 == size || n + 2 < size && !isMetaphoneVowel(at(offset + n + 2)))
+            || n > 0 && next == 'N') {
+            break;
+          }
+          addPrimary(isFrontVowel(next) ? 'J' : 'K');
+          break;
+        case 'H':
+          if (n + 1 < size && (n == 0 || "CSPTG".indexOf(previous) < 0) && isMetaphoneVowel(next)) {
+            addPrimary('H');
+          }
+          break;
+        case 'F':
+        case 'J':
+        case 'L':
+        case 'M':
+        case 'N':
+        case 'R':
+          addPrimary(ch);
+          break;
+        case 'K':
+          if (previous != 'C') {
+            addPrimary('K');
+          }
+          break;
+        case 'P':
+          addPrimary(next == 'H' ? 'F' : 'P');
+          break;
+        case 'Q':
+          addPrimary('K');
+          break;
+        case 'S':
+          addPrimary(next == 'H' || next == 'I' && n + 2 < size && isSioOrSia(at(offset + n + 2)) ? 'X' : 'S');
+          break;
+        case 'T':
+          if (next == 'I' && n + 2 < size && (at(offset + n + 2) == 'A' || at(offset + n + 2) == 'O')) {
+            addPrimary('X');
+          } else if (next == 'H') {
+            /* Zero resembles theta. */
+            addPrimary('0');
+          } else if (next != 'C' || n + 2 >= size || at(offset + n + 2) != 'H') {
+            addPrimary('T');
+          }
+          break;
+        case 'V':
+          addPrimary('F');
+          break;
+        case 'W':
+        case 'Y':
+          if (isMetaphoneVowel(next)) {
+            addPrimary(ch);
+          }
+          break;
+        case 'X':
+          addPrimary('K');
+          addPrimary('S');
+          break;
+        case 'Z':
+          addPrimary('S');
+          break;
+        default:
+          break;
+      }
+    }
+  }
+
+  private char local(final int offset, final char first, final int n) {
+    return n == 0 ? first : at(offset + n);
+  }
+
+  private void doubleMetaphone() {
+    boolean slavoGermanic = isSlavoGermanic();
+    int index = matches(0, "GN|KN|PN|WR|PS") ? 1 : 0;
+    while ((primaryLength < KEY_LENGTH || alternateLength < KEY_LENGTH) && index < length) {
+      char ch = at(index);
+      switch (ch) {
+        case 'A':
+        case 'E':
+        case 'I':
+        case 'O':
+        case 'U':
+        case 'Y':
+          if (index == 0) {
+            add('A');
+          }
+          index++;
+          break;
+        case 'B':
+          add('P');
+          index = skip(index, 'B');
+          break;
+        case 'C':
+          index = handleC(index);
+          break;
+        case 'D':
+          index = handleD(index);
+          break;
+        case 'F':
+        case 'K':
+        case 'N':
+          add(ch);
+          index = skip(index, ch);
+          break;
+        case 'G':
+          index = handleG(index, slavoGermanic);
+          break;
+        case 'H':
+          /* H is only kept at the start or between vowels before a vowel. */
+          if ((index == 0 || isVowel(at(index - 1))) && isVowel(at(index + 1))) {
+            add('H');
+            index += 2;
+          } else {
+            index++;
+          }
+          break;
+        case 'J':
+          index = handleJ(index, slavoGermanic);
+          break;
+        case 'L':
+          if (at(index + 1) == 'L') {
+            if (isSpanishLl(index)) {
+              addPrimary('L');
+            } else {
+              add('L');
+            }
+            index += 2;
+          } else {
+            add('L');
+            index++;
+          }
+          break;
+        case 'M':
+          add('M');
+          index = at(index + 1) == 'M' || matches(index - 1, "UMB") && (index + 1 == length - 1
+            || matches(index + 2, "ER")) ? index + 2 : index + 1;
+          break;
+        case 'P':
+          if (at(index + 1) == 'H') {
+            add('F');
+            index += 2;
+          } else {
+            add('P');
+            index = at(index + 1) == 'P' || at(index + 1) == 'B' ? index + 2 : index + 1;
+          }
+          break;
+        case 'Q':
+          add('K');
+          index = skip(index, 'Q');
+          break;
+        case 'R':
+          /* A final R is silent in French names like Rogier. */
+          if (index == length - 1 && !slavoGermanic && matches(index - 2, "IE") && !matches(index - 4, "ME|MA")) {
+            addAlternate('R');
+          } else {
+            add('R');
+          }
+          index = skip(index, 'R');
+          break;
+        case 'S':
+          index = handleS(index, slavoGermanic);
+          break;
+        case 'T':
+          index = handleT(index);
+          break;
+        case 'V':
+          add('F');
+          index = skip(index, 'V');
+          break;
+        case 'W':
+          index = handleW(index);
+          break;
+        case 'X':
+          index = handleX(index);
+          break;
+        case 'Z':
+          index = handleZ(index, slavoGermanic);
+          break;
+        default:
+          index++;
+      }
+    }
+  }
+
+  private int handleC(final int index) {
+    if (isGermanicC(index)) {
+      add('K');
+      return index + 2;
+    }
+    if (index == 0 && matches(index, "CAESAR")) {
+      add('S');
+      return index + 2;
+    }
+    if (matches(index, "CH")) {
+      return handleCh(index);
+    }
+    if (matches(index, "CZ") && !matches(index - 2, "WICZ")) {
+      /* Czerny */
+      add('S', 'X');
+      return index + 2;
+    }
+    if (matches(index + 1, "CIA")) {
+      /* Focaccia */
+      add('X');
+      return index + 3;
+    }
+    if (matches(index, "CC") && !(index == 1 && at(0) == 'M')) {
+      /* Double C, but not McClelland. */
+      if (matches(index + 2, "I|E|H") && !matches(index + 2, "HU")) {
+        if (index == 1 && at(0) == 'A' || matches(index - 1, "UCCEE|UCCES")) {
+          /* Accident, accede, succeed */
+          add("KS");
+        } else {
+          /* Bacci, Bertucci */
+          add('X');
+        }
+        return index + 3;
+      }
+      add('K');
+      return index + 2;
+    }
+    if (matches(index, "CK|CG|CQ")) {
+      add('K');
+      return index + 2;
+    }
+    if (matches(index, "CI|CE|CY")) {
+      /* Italian versus English */
+      if (matches(index, "CIO|CIE|CIA")) {
+        add('S', 'X');
+      } else {
+        add('S');
+      }
+      return index + 2;
+    }
+    add('K');
+    if (matches(index + 1, " C| Q| G")) {
+      /* Mac Caffrey, Mac Gregor */
+      return index + 3;
+    }
+    if (matches(index + 1, "C|K|Q") && !matches(index + 1, "CE|CI")) {
+      return index + 2;
+    }
+    return index + 1;
+  }
+
+  private int handleCh(final int index) {
+    if (index > 0 && matches(index, "CHAE")) {
+      /* Michael */
+      add('K', 'X');
+    } else if (isGreekCh(index) || isKhCh(index)) {
+      /* Chemistry, chorus, Bach */
+      add('K');
+    } else if (index > 0) {
+      if (matches(0, "MC")) {
+        add('K');
+      } else {
+        add('X', 'K');
+      }
+    } else {
+      add('X');
+    }
+    return index + 2;
+  }
+
+  private int handleD(final int index) {
+    if (matches(index, "DG")) {
+      if (matches(index + 2, "I|E|Y")) {
+        /* Edge */
+        add('J');
+        return index + 3;
+      }
+      /* Edgar */
+      add("TK");
+      return index + 2;
+    }
+    add('T');
+    return matches(index, "DT|DD") ? index + 2 : index + 1;
+  }
+
+  private int handleG(final int index, final boolean slavoGermanic) {
+    char next = at(index + 1);
+    if (next == 'H') {
+      return handleGh(index);
+    }
+    if (next == 'N') {
+      if (index == 1 && isVowel(at(0)) && !slavoGermanic) {
+        add("KN", "N");
+      } else if (!matches(index + 2, "EY") && !slavoGermanic) {
+        add("N", "KN");
+      } else {
+        add("KN");
+      }
+      return index + 2;
+    }
+    if (matches(index + 1, "LI") && !slavoGermanic) {
+      /* Cagliari */
+      add("KL", "L");
+      return index + 2;
+    }
+    if (index == 0 && (next == 'Y' || matches(index + 1, "ES|EP|EB|EL|EY|IB|IL|IN|IE|EI|ER"))) {
+      /* Ges-, gep-, gel-, gie- at the start */
+      add('K', 'J');
+      return index + 2;
+    }
+    if ((matches(index + 1, "ER") || next == 'Y') && !matches(0, "DANGER|RANGER|MANGER")
+      && !matches(index - 1, "E|I") && !matches(index - 1, "RGY|OGY")) {
+      /* -ger-, -gy- */
+      add('K', 'J');
+      return index + 2;
+    }
+    if (matches(index + 1, "E|I|Y") || matches(index - 1, "AGGI|OGGI")) {
+      /* Italian Biaggi */
+      if (isGermanic() || matches(index + 1, "ET")) {
+        add('K');
+      } else if (matches(index + 1, "IER")) {
+        add('J');
+      } else {
+        add('J', 'K');
+      }
+      return index + 2;
+    }
+    add('K');
+    return next == 'G' ? index + 2 : index + 1;
+  }
+
+  private int handleGh(final int index) {
+    if (index > 0 && !isVowel(at(index - 1))) {
+      add('K');
+    } else if (index == 0) {
+      add(at(index + 2) == 'I' ? 'J' : 'K');
+    } else if (index > 1 && matches(index - 2, "B|H|D") || index > 2 && matches(index - 3, "B|H|D")
+      || index > 3 && matches(index - 4, "B|H")) {
+      /* Parker's rule, Hugh */
+      return index + 2;
+    } else if (index > 2 && at(index - 1) == 'U' && matches(index - 3, "C|G|L|R|T")) {
+      /* Laugh, McLaughlin, cough, Gough, rough, tough */
+      add('F');
+    } else if (at(index - 1) != 'I') {
+      add('K');
+    }
+    return index + 2;
+  }
+
+  private int handleJ(final int index, final boolean slavoGermanic) {
+    if (matches(index, "JOSE") || matches(0, "SAN ")) {
+      /* Spanish Jose, San Jacinto */
+      if (index == 0 && at(index + 4) == ' ' || length == 4 || matches(0, "SAN ")) {
+        add('H');
+      } else {
+        add('J', 'H');
+      }
+      return index + 1;
+    }
+    if (index == 0) {
+      /* Yankelovich, Jankelowicz */
+      add('J', 'A');
+    } else if (isVowel(at(index - 1)) && !slavoGermanic && (at(index + 1) == 'A' || at(index + 1) == 'O')) {
+      /* Spanish pronunciation of Bajador */
+      add('J', 'H');
+    } else if (index == length - 1) {
+      addPrimary('J');
+    } else if (!matches(index + 1, "L|T|K|S|N|M|B|Z") && !matches(index - 1, "S|K|L")) {
+      add('J');
+    }
+    return skip(index, 'J');
+  }
+
+  private int handleS(final int index, final boolean slavoGermanic) {
+    if (matches(index - 1, "ISL|YSL")) {
+      /* Island, isle, Carlisle, Carlysle */
+      return index + 1;
+    }
+    if (index == 0 && matches(index, "SUGAR")) {
+      add('X', 'S');
+      return index + 1;
+    }
+    if (matches(index, "SH")) {
+      /* Germanic -sheim, -shoek, -sholm, -sholz */
+      add(matches(index + 1, "HEIM|HOEK|HOLM|HOLZ") ? 'S' : 'X');
+      return index + 2;
+    }
+    if (matches(index, "SIO|SIA")) {
+      /* Italian and Armenian */
+      if (slavoGermanic) {
+        add('S');
+      } else {
+        add('S', 'X');
+      }
+      return index + 3;
+    }
+    if (index == 0 && matches(index + 1, "M|N|L|W") || matches(index + 1, "Z")) {
+      /* Germanic anglicisations like Smith for Schmidt and Snider for Schneider, Slavic -sz- */
+      add('S', 'X');
+      return matches(index + 1, "Z") ? index + 2 : index + 1;
+    }
+    if (matches(index, "SC")) {
+      return handleSc(index);
+    }
+    if (index == length - 1 && matches(index - 2, "AI|OI")) {
+      /* French Resnais, Artois */
+      addAlternate('S');
+    } else {
+      add('S');
+    }
+    return matches(index + 1, "S|Z") ? index + 2 : index + 1;
+  }
+
+  private int handleSc(final int index) {
+    if (at(index + 2) == 'H') {
+      /* Schlesinger's rule */
+      if (matches(index + 3, "OO|ER|EN|UY|ED|EM")) {
+        if (matches(index + 3, "ER|EN")) {
+          /* Schermerhorn, Schenker */
+          add("X", "SK");
+        } else {
+          /* Dutch school, schooner */
+          add("SK");
+        }
+      } else if (index == 0 && !isVowel(at(3)) && at(3) != 'W') {
+        add('X', 'S');
+      } else {
+        add('X');
+      }
+    } else if (matches(index + 2, "I|E|Y")) {
+      add('S');
+    } else {
+      add("SK");
+    }
+    return index + 3;
+  }
+
+  private int handleT(final int index) {
+    if (matches(index, "TION")) {
+      add('X');
+      return index + 3;
+    }
+    if (matches(index, "TIA|TCH")) {
+      add('X');
+      return index + 3;
+    }
+    if (matches(index, "TH") || matches(index, "TTH")) {
+      /* Thomas, Thames or Germanic */
+      if (matches(index + 2, "OM|AM") || isGermanic()) {
+        add('T');
+      } else {
+        add('0', 'T');
+      }
+      return index + 2;
+    }
+    add('T');
+    return matches(index + 1, "T|D") ? index + 2 : index + 1;
+  }
+
+  private int handleW(final int index) {
+    if (matches(index, "WR")) {
+      add('R');
+      return index + 2;
+    }
+    if (index == 0 && (isVowel(at(index + 1)) || matches(index, "WH"))) {
+      if (isVowel(at(index + 1))) {
+        /* Wasserman should match Vasserman. */
+        add('A', 'F');
+      } else {
+        /* Uomo should match Womo. */
+        add('A');
+      }
+      return index + 1;
+    }
+    if (index == length - 1 && isVowel(at(index - 1)) || matches(index - 1, "EWSKI|EWSKY|OWSKI|OWSKY")
+      || matches(0, "SCH")) {
+      /* Arnow should match Arnoff. */
+      addAlternate('F');
+      return index + 1;
+    }
+    if (matches(index, "WICZ|WITZ")) {
+      /* Polish Filipowicz */
+      add("TS", "FX");
+      return index + 4;
+    }
+    return index + 1;
+  }
+
+  private int handleX(final int index) {
+    if (index == 0) {
+      add('S');
+      return index + 1;
+    }
+    if (!(index == length - 1 && (matches(index - 3, "IAU|EAU") || matches(index - 2, "AU|OU")))) {
+      /* Not French like Breaux. */
+      add("KS");
+    }
+    return matches(index + 1, "C|X") ? index + 2 : index + 1;
+  }
+
+  private int handleZ(final int index, final boolean slavoGermanic) {
+    if (at(index + 1) == 'H') {
+      /* Chinese pinyin Zhao */
+      add('J');
+      return index + 2;
+    }
+    if (matches(index + 1, "ZO|ZI|ZA") || slavoGermanic && index > 0 && at(index - 1) != 'T') {
+      add("S", "TS");
+    } else {
+      add('S');
+    }
+    return skip(index, 'Z');
+  }
+
+  /*
+   * Verifies that the C is part of a Germanic -ach- like in Bacher and Macher, but not of -achi- or -ache-.
+   */
+  private boolean isGermanicC(final int index) {
+    if (matches(index, "CHIA")) {
+      return true;
+    }
+    if (index <= 1 || isVowel(at(index - 2)) || !matches(index - 1, "ACH")) {
+      return false;
+    }
+    char ch = at(index + 2);
+    return ch != 'I' && ch != 'E' || matches(index - 2, "BACHER|MACHER");
+  }
+
+  private boolean isGermanic() {
+    return matches(0, "VAN |VON ") || matches(0, "SCH");
+  }
+
+  /*
+   * Verifies that a CH at the start has a Greek root like in character, charisma, chorus or chemistry.
+   */
+  private boolean isGreekCh(final int index) {
+    return index == 0 && (matches(index + 1, "HARAC|HARIS") || matches(index + 1, "HOR|HYM|HIA|HEM"))
+      && !matches(0, "CHORE");
+  }
+
+  /*
+   * Verifies that a CH is pronounced as KH like in Germanic names, orchestra, architect or orchid.
+   */
+  private boolean isKhCh(final int index) {
+    return isGermanic() || matches(index - 2, "ORCHES|ARCHIT|ORCHID") || matches(index + 2, "T|S")
+      || (matches(index - 1, "A|O|U|E") || index == 0) && (matches(index + 2, "L|R|N|M|B|H|F|V|W| ")
+      || index + 1 == length - 1);
+  }
+
+  private boolean isSlavoGermanic() {
+    for (int i = 0; i < length; i++) {
+      char ch = at(i);
+      if (ch == 'W' || ch == 'K' || ch == 'C' && at(i + 1) == 'Z') {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /*
+   * Verifies that the LL is pronounced as Y like in Cabrillo and Gallegos.
+   */
+  private boolean isSpanishLl(final int index) {
+    if (index == length - 3 && matches(index - 1, "ILLO|ILLA|ALLE")) {
+      return true;
+    }
+    return (matches(length - 2, "AS|OS") || matches(length - 1, "A|O")) && matches(index - 1, "ALLE");
+  }
+
+  private int skip(final int index, final char ch) {
+    return at(index + 1) == ch ? index + 2 : index + 1;
+  }
+
+  /*
+   * Verifies that one of the candidates separated by '|' starts at the index.
+   * The candidates are compared in a single pass, a mismatch skips the rest of the candidate.
+   */
+  private boolean matches(final int index, final String candidates) {
+    int position = index;
+    for (int i = 0, end = candidates.length(); i < end; i++) {
+      char ch = candidates.charAt(i);
+      if (ch == '|') {
+        return true;
+      }
+      if (at(position++) != ch) {
+        i = candidates.indexOf('|', i);
+        if (i < 0) {
+          return false;
+        }
+        position = index;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * Returns the character at the index, '\0' outside of the string.
+   */
+  private char at(final int index) {
+    return index >= 0 && index < length ? letters[index] : 0;
+  }
+
+  /*
+   * Copies the trimmed string with upper case ASCII letters into the buffer, which only grows for unusually long
+   * strings.
+   */
+  private void load(final String value) {
+    int start = 0;
+    int end = value.length();
+    while (start < end && value.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && value.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    length = end - start;
+    if (length > letters.length) {
+      letters = new char[Math.max(length, letters.length * 2)];
+    }
+    for (int i = 0; i < length; i++) {
+      char ch = value.charAt(start + i);
+      letters[i] = ch >= 'a' && ch <= 'z' ? (char) (ch - ('a' - 'A')) : ch;
+    }
+  }
+
+  private void add(final char ch) {
+    addPrimary(ch);
+    addAlternate(ch);
+  }
+
+  private void add(final char primaryCh, final char alternateCh) {
+    addPrimary(primaryCh);
+    addAlternate(alternateCh);
+  }
+
+  private void add(final String code) {
+    add(code, code);
+  }
+
+  private void add(final String primaryCode, final String alternateCode) {
+    for (int i = 0; i < primaryCode.length(); i++) {
+      addPrimary(primaryCode.charAt(i));
+    }
+    for (int i = 0; i < alternateCode.length(); i++) {
+      addAlternate(alternateCode.charAt(i));
+    }
+  }
+
+  private void addPrimary(final char ch) {
+    if (primaryLength < KEY_LENGTH) {
+      primary[primaryLength++] = ch;
+    }
+  }
+
+  private void addAlternate(final char ch) {
+    if (alternateLength < KEY_LENGTH) {
+      alternate[alternateLength++] = ch;
+    }
+  }
+
+  private static boolean isLetter(final char ch) {
+    return ch >= 'A' && ch <= 'Z';
+  }
+
+  private static boolean isVowel(final char ch) {
+    return ch == 'A' || ch == 'E' || ch == 'I' || ch == 'O' || ch == 'U' || ch == 'Y';
+  }
+
+  private static boolean isMetaphoneVowel(final char ch) {
+    return ch == 'A' || ch == 'E' || ch == 'I' || ch == 'O' || ch == 'U';
+  }
+
+  private static boolean isFrontVowel(final char ch) {
+    return ch == 'E' || ch == 'I' || ch == 'Y';
+  }
+
+  private static boolean isSioOrSia(final char ch) {
+    return ch == 'O' || ch == 'A';
+  }
+}
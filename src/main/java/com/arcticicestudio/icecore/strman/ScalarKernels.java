@@ -0,0 +1,197 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Scalar Kernels                                    +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Implements the scan-heavy operations of {@link Strman} with plain loops over the UTF-16 characters.
+ * <p>
+ *   These kernels are the reference implementation every other variant must be equivalent to and are used as fallback
+ *   for inputs or platforms a specialized variant can't handle.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Kernels
+ * @since 0.4.0
+ */
+final class ScalarKernels {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  /*
+   * Avoid class instantiation.
+   */
+  private ScalarKernels() {}
+
+  /**
+   * Counts the occurrences of a substring.
+   *
+   * @param value the string to search
+   * @param subStr the substring to find
+   * @param allowOverlapping the overlapping behavior
+   * @return the count of times the substring exists, {@code 0} for an empty substring
+   */
+  static long countSubstr(final String value, final String subStr, final boolean allowOverlapping) {
+    if (subStr.isEmpty()) {
+      return 0L;
+    }
+    int step = allowOverlapping ? 1 : subStr.length();
+    long count = 0L;
+    int position = value.indexOf(subStr);
+    while (position > -1) {
+      count++;
+      position = value.indexOf(subStr, position + step);
+    }
+    return count;
+  }
+
+  /**
+   * Encodes every UTF-16 character into four lower case hexadecimal digits.
+   *
+   * @param value the string to encode
+   * @return the encoded string
+   */
+  static String encodeHex(final String value) {
+    int length = value.length();
+    char[] encoded = new char[length * 4];
+    for (int i = 0, j = 0; i < length; i++, j += 4) {
+      encodeHex(value.charAt(i), encoded, j);
+    }
+    return new String(encoded);
+  }
+
+  /**
+   * Encodes a single UTF-16 character into four lower case hexadecimal digits.
+   *
+   * @param ch the character to encode
+   * @param target the array to write into
+   * @param offset the index of the first digit
+   */
+  static void encodeHex(final char ch, final char[] target, final int offset) {
+    target[offset] = HEX_DIGITS[(ch >>> 12) & 0xF];
+    target[offset + 1] = HEX_DIGITS[(ch >>> 8) & 0xF];
+    target[offset + 2] = HEX_DIGITS[(ch >>> 4) & 0xF];
+    target[offset + 3] = HEX_DIGITS[ch & 0xF];
+  }
+
+  /**
+   * Returns the index of the first occurrence of the needle.
+   *
+   * @param value the string to search
+   * @param needle the needle to find
+   * @param fromIndex the index to start searching from
+   * @return the index of the first occurrence, {@code -1} if not found
+   */
+  static int indexOf(final String value, final String needle, final int fromIndex) {
+    return value.indexOf(needle, fromIndex);
+  }
+
+  /**
+   * Verifies that a string contains no upper case characters.
+   *
+   * @param value the string to verify
+   * @return {@code true} if no upper case character is found, {@code false} otherwise
+   */
+  static boolean isLowerCase(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (Character.isUpperCase(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Verifies that a range of characters contains no upper case characters.
+   *
+   * @param chars the characters to verify
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return {@code true} if no upper case character is found, {@code false} otherwise
+   */
+  static boolean isLowerCase(final char[] chars, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      if (Character.isUpperCase(chars[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Verifies that a string contains no lower case characters.
+   *
+   * @param value the string to verify
+   * @return {@code true} if no lower case character is found, {@code false} otherwise
+   */
+  static boolean isUpperCase(final String value) {
+    for (int i = 0; i < value.length(); i++) {
+      if (Character.isLowerCase(value.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Verifies that a range of characters contains no lower case characters.
+   *
+   * @param chars the characters to verify
+   * @param from the first index, inclusive
+   * @param to the last index, exclusive
+   * @return {@code true} if no lower case character is found, {@code false} otherwise
+   */
+  static boolean isUpperCase(final char[] chars, final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      if (Character.isLowerCase(chars[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether the character is matched by the {@code \s} regular expression character class.
+   *
+   * @param ch the character to check
+   * @return {@code true} for one of {@code [ \t\n\x0B\f\r]}, {@code false} otherwise
+   */
+  static boolean isWhitespace(final char ch) {
+    return ch == ' ' || (ch >= '\t' && ch <= '\r');
+  }
+
+  /**
+   * Removes all characters matched by the {@code \s} regular expression character class.
+   *
+   * @param value the initial string
+   * @return the string without whitespace, the same instance if there was nothing to remove
+   */
+  static String removeWhitespace(final String value) {
+    int length = value.length();
+    int first = 0;
+    while (first < length && !isWhitespace(value.charAt(first))) {
+      first++;
+    }
+    if (first == length) {
+      return value;
+    }
+    char[] result = new char[length - 1];
+    value.getChars(0, first, result, 0);
+    int size = first;
+    for (int i = first + 1; i < length; i++) {
+      char ch = value.charAt(i);
+      if (!isWhitespace(ch)) {
+        result[size++] = ch;
+      }
+    }
+    return new String(result, 0, size);
+  }
+}
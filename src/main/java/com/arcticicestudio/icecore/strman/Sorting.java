@@ -0,0 +1,361 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Sorting                                           +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.Comparator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Implements the string comparators and the sorting of string arrays of {@link Strman}.
+ * <p>
+ *   Arrays are sorted with the multikey quicksort of Bentley and Sedgewick, which partitions the strings by the
+ *   character at the current depth into three parts and only descends into the equal part with the next character.
+ *   Every character of a common prefix is therefore inspected once per partitioning step instead of once per
+ *   comparison, which makes it considerably faster than a comparison sort for keys sharing long prefixes.
+ *   The comparators walk both sequences in place without creating substrings or case converted copies.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://doi.org/10.5555/314161.314321">Bentley and Sedgewick, Fast algorithms for sorting and
+ * searching strings</a>
+ * @since 0.4.0
+ */
+final class Sorting {
+
+  static final Comparator<CharSequence> CASE_INSENSITIVE = Sorting::compareIgnoreCase;
+  static final Comparator<CharSequence> NATURAL = (first, second) -> compareNatural(first, second, true);
+  static final Comparator<CharSequence> NATURAL_CASE_INSENSITIVE = (first, second) -> compareNatural(first, second,
+    false);
+
+  /*
+   * Ranges of at most this many strings are sorted by insertion.
+   */
+  private static final int INSERTION_SORT_THRESHOLD = 12;
+
+  /*
+   * Ranges of at most this many strings are not split into further parallel tasks.
+   */
+  private static final int PARALLEL_GRANULARITY = 1 << 13;
+
+  private static final int ASCII = 128;
+
+  /*
+   * Avoid class instantiation.
+   */
+  private Sorting() {}
+
+  /**
+   * Sorts the strings into the order of {@link String#compareTo(String)}.
+   *
+   * @param values the strings to sort
+   */
+  static void sort(final String[] values) {
+    sort(values, 0, values.length, 0);
+  }
+
+  /**
+   * Sorts the strings into the order of {@link String#compareTo(String)} in parallel.
+   *
+   * @param values the strings to sort
+   * @param pool the pool to run the tasks on
+   */
+  static void sort(final String[] values, final ForkJoinPool pool) {
+    pool.invoke(new SortTask(values, 0, values.length, 0));
+  }
+
+  /*
+   * Compares like String.CASE_INSENSITIVE_ORDER of Java 16 and later, characters that differ are compared again as the
+   * supplementary code points of the surrogate pairs they belong to.
+   */
+  private static int compareIgnoreCase(final CharSequence first, final CharSequence second) {
+    int firstLength = first.length();
+    int secondLength = second.length();
+    for (int i = 0, j = 0; i < firstLength && j < secondLength; i++, j++) {
+      char a = first.charAt(i);
+      char b = second.charAt(j);
+      if (a == b || compareIgnoreCase(a, b) == 0) {
+        continue;
+      }
+      int x = codePointIncluding(first, i);
+      if (x < 0) {
+        i++;
+        x = -x;
+      }
+      int y = codePointIncluding(second, j);
+      if (y < 0) {
+        j++;
+        y = -y;
+      }
+      int difference = compareIgnoreCase(x, y);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return firstLength - secondLength;
+  }
+
+  /*
+   * Compares two code points ignoring the case, ASCII characters are folded without a table lookup.
+   */
+  private static int compareIgnoreCase(int first, int second) {
+    if (first == second) {
+      return 0;
+    }
+    if (first < ASCII && second < ASCII) {
+      if (first >= 'A' && first <= 'Z') {
+        first += 'a' - 'A';
+      }
+      if (second >= 'A' && second <= 'Z') {
+        second += 'a' - 'A';
+      }
+      return first - second;
+    }
+    first = Character.toUpperCase(first);
+    second = Character.toUpperCase(second);
+    if (first != second) {
+      first = Character.toLowerCase(first);
+      second = Character.toLowerCase(second);
+      if (first != second) {
+        return first - second;
+      }
+    }
+    return 0;
+  }
+
+  private static int compareNatural(final CharSequence first, final CharSequence second, final boolean caseSensitive) {
+    int firstLength = first.length();
+    int secondLength = second.length();
+    int i = 0;
+    int j = 0;
+    /* Numbers only differing in leading zeros are ordered by the first such difference if all else is equal. */
+    int zeros = 0;
+    while (i < firstLength && j < secondLength) {
+      char a = first.charAt(i);
+      char b = second.charAt(j);
+      if (isDigit(a) && isDigit(b)) {
+        int firstStart = i;
+        int secondStart = j;
+        while (i < firstLength && first.charAt(i) == '0') {
+          i++;
+        }
+        while (j < secondLength && second.charAt(j) == '0') {
+          j++;
+        }
+        int firstDigits = i;
+        int secondDigits = j;
+        while (i < firstLength && isDigit(first.charAt(i))) {
+          i++;
+        }
+        while (j < secondLength && isDigit(second.charAt(j))) {
+          j++;
+        }
+        int magnitude = (i - firstDigits) - (j - secondDigits);
+        if (magnitude != 0) {
+          return magnitude;
+        }
+        for (int k = 0; k < i - firstDigits; k++) {
+          int difference = first.charAt(firstDigits + k) - second.charAt(secondDigits + k);
+          if (difference != 0) {
+            return difference;
+          }
+        }
+        if (zeros == 0) {
+          zeros = (firstDigits - firstStart) - (secondDigits - secondStart);
+        }
+      } else {
+        int difference = caseSensitive ? a - b : compareIgnoreCase(a, b);
+        if (difference != 0 && !caseSensitive) {
+          int x = codePointIncluding(first, i);
+          if (x < 0) {
+            i++;
+            x = -x;
+          }
+          int y = codePointIncluding(second, j);
+          if (y < 0) {
+            j++;
+            y = -y;
+          }
+          difference = compareIgnoreCase(x, y);
+        }
+        if (difference != 0) {
+          return difference;
+        }
+        i++;
+        j++;
+      }
+    }
+    int remaining = (firstLength - i) - (secondLength - j);
+    return remaining != 0 ? remaining : zeros;
+  }
+
+  /*
+   * Returns the code point of the surrogate pair the character at the index belongs to, negated if the pair starts at
+   * the index and the next character has to be skipped, or the character itself.
+   */
+  private static int codePointIncluding(final CharSequence value, final int index) {
+    char ch = value.charAt(index);
+    if (Character.isHighSurrogate(ch)) {
+      if (index + 1 < value.length() && Character.isLowSurrogate(value.charAt(index + 1))) {
+        return -Character.toCodePoint(ch, value.charAt(index + 1));
+      }
+    } else if (Character.isLowSurrogate(ch) && index > 0 && Character.isHighSurrogate(value.charAt(index - 1))) {
+      return Character.toCodePoint(value.charAt(index - 1), ch);
+    }
+    return ch;
+  }
+
+  private static boolean isDigit(final char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+
+  private static int charAt(final String value, final int depth) {
+    return depth < value.length() ? value.charAt(depth) : -1;
+  }
+
+  /*
+   * Sorts the range of strings which share the first depth characters.
+   * The two smallest of the three parts are sorted recursively and the largest one in the loop, which bounds the
+   * recursion depth to the logarithm of the number of strings.
+   */
+  private static void sort(final String[] values, int from, int to, int depth) {
+    while (to - from > INSERTION_SORT_THRESHOLD) {
+      long bounds = partition(values, from, to, depth);
+      int less = (int) (bounds >>> 32);
+      int greater = (int) bounds;
+      boolean exhausted = charAt(values[less], depth) < 0;
+      int lessSize = less - from;
+      int equalSize = exhausted ? 0 : greater - less;
+      int greaterSize = to - greater;
+      if (lessSize >= equalSize && lessSize >= greaterSize) {
+        sort(values, less, greater, depth + 1, exhausted);
+        sort(values, greater, to, depth);
+        to = less;
+      } else if (greaterSize >= equalSize) {
+        sort(values, from, less, depth);
+        sort(values, less, greater, depth + 1, exhausted);
+        from = greater;
+      } else {
+        sort(values, from, less, depth);
+        sort(values, greater, to, depth);
+        from = less;
+        to = greater;
+        depth++;
+      }
+    }
+    insertionSort(values, from, to, depth);
+  }
+
+  private static void sort(final String[] values, final int from, final int to, final int depth,
+    final boolean exhausted) {
+    /* Strings that end at the depth are equal. */
+    if (!exhausted) {
+      sort(values, from, to, depth);
+    }
+  }
+
+  /*
+   * Partitions the range by the character at the depth into the strings with a smaller, an equal and a greater
+   * character. Returns the start of the equal part in the upper and the start of the greater part in the lower half.
+   */
+  private static long partition(final String[] values, final int from, final int to, final int depth) {
+    int middle = (from + to) >>> 1;
+    int last = to - 1;
+    int a = charAt(values[from], depth);
+    int b = charAt(values[middle], depth);
+    int c = charAt(values[last], depth);
+    int median = a < b ? (b < c ? middle : a < c ? last : from) : (a < c ? from : b < c ? last : middle);
+    swap(values, from, median);
+    int pivot = charAt(values[from], depth);
+    int less = from;
+    int greater = last;
+    int i = from + 1;
+    while (i <= greater) {
+      int ch = charAt(values[i], depth);
+      if (ch < pivot) {
+        swap(values, less++, i++);
+      } else if (ch > pivot) {
+        swap(values, i, greater--);
+      } else {
+        i++;
+      }
+    }
+    return (long) less << 32 | (greater + 1);
+  }
+
+  private static void insertionSort(final String[] values, final int from, final int to, final int depth) {
+    for (int i = from + 1; i < to; i++) {
+      String value = values[i];
+      int j = i;
+      while (j > from && less(value, values[j - 1], depth)) {
+        values[j] = values[j - 1];
+        j--;
+      }
+      values[j] = value;
+    }
+  }
+
+  private static boolean less(final String first, final String second, final int depth) {
+    int length = Math.min(first.length(), second.length());
+    for (int i = depth; i < length; i++) {
+      char a = first.charAt(i);
+      char b = second.charAt(i);
+      if (a != b) {
+        return a < b;
+      }
+    }
+    return first.length() < second.length();
+  }
+
+  private static void swap(final String[] values, final int first, final int second) {
+    String value = values[first];
+    values[first] = values[second];
+    values[second] = value;
+  }
+
+  /*
+   * Partitions a range and sorts the three parts as independent tasks until the ranges are small enough to be sorted
+   * sequentially.
+   */
+  private static final class SortTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient String[] values;
+    private final int from;
+    private final int to;
+    private final int depth;
+
+    SortTask(final String[] values, final int from, final int to, final int depth) {
+      this.values = values;
+      this.from = from;
+      this.to = to;
+      this.depth = depth;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= PARALLEL_GRANULARITY) {
+        sort(values, from, to, depth);
+        return;
+      }
+      long bounds = partition(values, from, to, depth);
+      int less = (int) (bounds >>> 32);
+      int greater = (int) bounds;
+      if (charAt(values[less], depth) < 0) {
+        invokeAll(new SortTask(values, from, less, depth), new SortTask(values, greater, to, depth));
+      } else {
+        invokeAll(new SortTask(values, from, less, depth), new SortTask(values, less, greater, depth + 1),
+          new SortTask(values, greater, to, depth));
+      }
+    }
+  }
+}
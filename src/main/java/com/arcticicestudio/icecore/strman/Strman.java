@@ -11,8 +11,14 @@ copyright  Copyright (C) 2016                                +
 */
 package com.arcticicestudio.icecore.strman;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Random;
@@ -83,6 +89,25 @@ public abstract class Strman {
     return value + joiner.toString();
   }
 
+  /**
+   * Folds Latin letters, ligatures and typographic punctuation into their ASCII equivalents.
+   *
+   * <p>
+   *   Letters with diacritics lose them, e.g. "Crème Brûlée" becomes "Creme Brulee", ligatures and letters like "ß"
+   *   are expanded, e.g. "Straße" becomes "Strasse".
+   *   Characters without a known equivalent are kept.
+   *   ASCII strings are returned as they are without normalizing them.
+   * </p>
+   *
+   * @param value the string to fold
+   * @return the folded string
+   * @since 0.4.0
+   */
+  public static String asciiFold(final String value) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return AsciiFolding.fold(value);
+  }
+
   /**
    * Gets the character at the specified index.
    *
@@ -110,23 +135,32 @@ public abstract class Strman {
   /**
    * Decodes a MIME base64 encoded string.
    *
+   * <p>
+   *   The decoded bytes are interpreted as UTF-8, malformed sequences are replaced with U+FFFD.
+   * </p>
+   *
    * @param value the string to decode
    * @return the decoded string
    */
   public static String base64Decode(final String value) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    return new String(Base64.getDecoder().decode(value));
+    return new String(Base64.getDecoder().decode(value), StandardCharsets.UTF_8);
   }
 
   /**
    * Encodes a string with MIME base64.
    *
+   * <p>
+   *   The string is encoded as UTF-8, independent of the platform charset, unpaired surrogates are replaced with
+   *   {@code '?'}.
+   * </p>
+   *
    * @param value the string to encode
    * @return the encoded string
    */
   public static String base64Encode(final String value) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    return Base64.getEncoder().encodeToString(value.getBytes());
+    return Base64.getEncoder().encodeToString(value.getBytes(StandardCharsets.UTF_8));
   }
 
   /**
@@ -146,6 +180,61 @@ public abstract class Strman {
     return Arrays.stream(parts).map(subPart -> subPart.substring(subPart.indexOf(start) + start.length())).toArray(String[]::new);
   }
 
+  /**
+   * Formats the number of bytes as human-readable size with one fractional digit, like {@code 1.5 MiB}.
+   *
+   * <p>
+   *   The largest unit the number reaches is used, the fraction is rounded half up.
+   *   Decimal units are multiples of 1000 bytes ({@code kB}, {@code MB}, …), binary units are multiples of 1024 bytes
+   *   ({@code KiB}, {@code MiB}, …).
+   *   Numbers below one unit are formatted without fraction, like {@code 42 B}.
+   * </p>
+   *
+   * @param bytes the number of bytes
+   * @param binary {@code true} for binary units, {@code false} for decimal units
+   * @return the formatted size
+   * @throws IllegalArgumentException if the number of bytes is negative
+   * @since 0.4.0
+   */
+  public static String byteSize(final long bytes, final boolean binary) throws IllegalArgumentException {
+    validateBytes(bytes);
+    return Numbers.byteSize(bytes, binary);
+  }
+
+  /**
+   * Formats the number of bytes as human-readable size with one fractional digit into the target.
+   *
+   * @param bytes the number of bytes
+   * @param binary {@code true} for binary units, {@code false} for decimal units
+   * @param target the target to write the formatted size to
+   * @throws IOException if the target can't be written
+   * @throws IllegalArgumentException if the number of bytes is negative or the target is {@code null}
+   * @see #byteSize(long, boolean)
+   * @since 0.4.0
+   */
+  public static void byteSize(final long bytes, final boolean binary, final Appendable target) throws IOException {
+    validateBytes(bytes);
+    validateTarget(target);
+    Numbers.byteSize(bytes, binary, target);
+  }
+
+  /**
+   * Returns a comparator that ignores the case without converting the compared values.
+   *
+   * <p>
+   *   The order is the same as of {@link String#CASE_INSENSITIVE_ORDER} of Java 16 and later, characters are folded
+   *   one at a time while comparing, ASCII characters without any table lookup.
+   *   Surrogate pairs are folded as their supplementary code point, so {@code "\uD801\uDC28"} and
+   *   {@code "\uD801\uDC00"} are equal, unlike in the per-character order of Java 15 and earlier.
+   * </p>
+   *
+   * @return the comparator
+   * @since 0.4.0
+   */
+  public static Comparator<CharSequence> caseInsensitiveOrder() {
+    return Sorting.CASE_INSENSITIVE;
+  }
+
   /**
    * Converts the first character of a string to upper case and the remaining to lower case.
    *
@@ -186,7 +275,62 @@ public abstract class Strman {
    */
   public static String collapseWhitespace(final String value) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    return value.trim().replaceAll("\\s\\s+", " ");
+    return collapseWhitespace(value, new StringBuilder(value.length())).toString();
+  }
+
+  /**
+   * Replaces consecutive whitespace characters with a single space and returns the canonical instance of the result.
+   *
+   * @param value the initial string
+   * @param interner the interner providing the canonical instance
+   * @return the interned collapsed string
+   * @since 0.4.0
+   */
+  public static String collapseWhitespace(final String value, final StrmanInterner interner) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    validateInterner(interner);
+    return interner.intern(collapseWhitespace(value, new StringBuilder(value.length())));
+  }
+
+  /**
+   * Compiles a glob pattern into a reusable matcher.
+   *
+   * <p>
+   *   Patterns consist of {@code *}, {@code ?}, character classes like {@code [a-z]} and {@code [!0-9]} and literal
+   *   characters, {@code \} escapes the following character.
+   *   Matching runs in linear time without backtracking, the literal prefix and suffix of the pattern are compared
+   *   before anything else.
+   * </p>
+   *
+   * @param pattern the pattern to compile
+   * @param caseSensitive the case sensitivity
+   * @return the compiled pattern
+   * @throws IllegalArgumentException if the pattern is {@code null} or invalid
+   * @see StrmanGlob
+   * @since 0.4.0
+   */
+  public static StrmanGlob compileGlob(final String pattern, final boolean caseSensitive)
+    throws IllegalArgumentException {
+    return StrmanGlob.compile(pattern, caseSensitive);
+  }
+
+  /**
+   * Compiles glob patterns into a set that matches a value against all of them in a single pass.
+   *
+   * <p>
+   *   The syntax of the patterns is the same as of {@link #compileGlob(String, boolean)}.
+   * </p>
+   *
+   * @param patterns the patterns to compile
+   * @param caseSensitive the case sensitivity
+   * @return the compiled set
+   * @throws IllegalArgumentException if the patterns or one of them is {@code null} or a pattern is invalid
+   * @see StrmanGlobSet
+   * @since 0.4.0
+   */
+  public static StrmanGlobSet compileGlobs(final Collection<String> patterns, final boolean caseSensitive)
+    throws IllegalArgumentException {
+    return StrmanGlobSet.compile(patterns, caseSensitive);
   }
 
   /**
@@ -215,9 +359,9 @@ public abstract class Strman {
   public static boolean contains(final String value, final String needle, final boolean caseSensitive) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
     if (caseSensitive) {
-      return value.contains(needle);
+      return Kernels.indexOf(value, needle, 0) > -1;
     }
-    return value.toLowerCase().contains(needle.toLowerCase());
+    return Kernels.indexOf(value.toLowerCase(), needle.toLowerCase(), 0) > -1;
   }
 
   /**
@@ -299,7 +443,26 @@ public abstract class Strman {
    */
   public static long countSubstr(final String value, final String subStr, final boolean caseSensitive, boolean allowOverlapping) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    return countSubstr(caseSensitive ? value : value.toLowerCase(), caseSensitive ? subStr : subStr.toLowerCase(), allowOverlapping, 0L);
+    return Kernels.countSubstr(caseSensitive ? value : value.toLowerCase(), caseSensitive ? subStr : subStr.toLowerCase(), allowOverlapping);
+  }
+
+  /**
+   * Computes the Damerau-Levenshtein distance between two strings.
+   *
+   * <p>
+   *   Counts the minimum number of single character insertions, deletions, substitutions and transpositions of
+   *   adjacent characters to change one string into the other.
+   * </p>
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the Damerau-Levenshtein distance
+   * @since 0.4.0
+   */
+  public static int damerauLevenshteinDistance(final String first, final String second) {
+    validate(first, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    validate(second, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return EditDistance.damerauLevenshtein(first, second);
   }
 
   /**
@@ -332,6 +495,72 @@ public abstract class Strman {
     return decode(value, 4, 16);
   }
 
+  /**
+   * Computes the shortest edit script that turns the first text into the second one.
+   *
+   * <p>
+   *   The script is computed with Myers' algorithm in {@code O((N+M)·D)} time and {@code O(N+M)} space, where
+   *   {@code D} is the number of inserted and deleted units.
+   *   Use {@link StrmanDiff#unified(String, String, int, Appendable)} to render it in the unified diff format.
+   * </p>
+   *
+   * @param first the original text
+   * @param second the changed text
+   * @param unit the units to compare
+   * @return the edit script
+   * @throws IllegalArgumentException if a text or the unit is {@code null}
+   * @since 0.4.0
+   */
+  public static StrmanDiff diff(final String first, final String second, final StrmanDiffUnit unit)
+    throws IllegalArgumentException {
+    return StrmanDiff.of(first, second, unit, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Computes the shortest edit script that turns the first text into the second one, but gives up when the texts
+   * differ in more units than the maximum distance.
+   *
+   * <p>
+   *   The search stops after {@code O((N+M)·maxDistance)} steps, texts that differ in more units are reported as a
+   *   single replacement of everything between their common prefix and suffix and {@link StrmanDiff#isMinimal()}
+   *   returns {@code false}.
+   * </p>
+   *
+   * @param first the original text
+   * @param second the changed text
+   * @param unit the units to compare
+   * @param maxDistance the maximum number of inserted and deleted units
+   * @return the edit script
+   * @throws IllegalArgumentException if a text or the unit is {@code null} or the maximum distance is negative
+   * @see #diff(String, String, StrmanDiffUnit)
+   * @since 0.4.0
+   */
+  public static StrmanDiff diff(final String first, final String second, final StrmanDiffUnit unit,
+    final int maxDistance) throws IllegalArgumentException {
+    return StrmanDiff.of(first, second, unit, maxDistance);
+  }
+
+  /**
+   * Returns the number of columns the string occupies in a fixed-width terminal.
+   *
+   * <p>
+   *   Wide and fullwidth East Asian characters and emoji take two columns, combining marks, format and control
+   *   characters none and all other characters one, widths are looked up in a precomputed table.
+   *   Printable ASCII characters are counted without any lookup.
+   * </p>
+   *
+   * @param value the string to measure
+   * @return the display width
+   * @throws IllegalArgumentException if the value is {@code null}
+   * @since 0.4.0
+   */
+  public static int displayWidth(final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return DisplayWidth.width(value);
+  }
+
   /**
    * Encodes a string into the binary unicode (16 digits) format.
    *
@@ -359,7 +588,8 @@ public abstract class Strman {
    * @return the encoded string in hexadecimal format
    */
   public static String encodeHex(final String value) {
-    return encode(value, 4, 16);
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return Kernels.encodeHex(value);
   }
 
   /**
@@ -480,6 +710,64 @@ public abstract class Strman {
     return endsWith(value, suffix, caseSensitive) ? value : append(value, suffix);
   }
 
+  /**
+   * Escapes the HTML special characters {@code & < > " '} of the string.
+   *
+   * <p>
+   *   The string is scanned once against a lookup table, strings without special characters are returned as they are.
+   * </p>
+   *
+   * @param value the string to escape
+   * @return the escaped string
+   * @since 0.4.0
+   */
+  public static String escapeHtml(final String value) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return MarkupEscaping.escape(value, MarkupEscaping.HTML);
+  }
+
+  /**
+   * Escapes the HTML special characters {@code & < > " '} of the characters into the target.
+   *
+   * @param value the characters to escape
+   * @param target the target to write the escaped characters to
+   * @throws IOException if the target can't be written
+   * @since 0.4.0
+   */
+  public static void escapeHtml(final CharSequence value, final Appendable target) throws IOException {
+    validateEscaping(value, target);
+    MarkupEscaping.escape(value, 0, MarkupEscaping.HTML, target);
+  }
+
+  /**
+   * Escapes the XML special characters {@code & < > " '} of the string with the predefined XML entities.
+   *
+   * <p>
+   *   The string is scanned once against a lookup table, strings without special characters are returned as they are.
+   * </p>
+   *
+   * @param value the string to escape
+   * @return the escaped string
+   * @since 0.4.0
+   */
+  public static String escapeXml(final String value) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return MarkupEscaping.escape(value, MarkupEscaping.XML);
+  }
+
+  /**
+   * Escapes the XML special characters {@code & < > " '} of the characters into the target.
+   *
+   * @param value the characters to escape
+   * @param target the target to write the escaped characters to
+   * @throws IOException if the target can't be written
+   * @since 0.4.0
+   */
+  public static void escapeXml(final CharSequence value, final Appendable target) throws IOException {
+    validateEscaping(value, target);
+    MarkupEscaping.escape(value, 0, MarkupEscaping.XML, target);
+  }
+
   /**
    * Returns the first specified number of characters of the string.
    *
@@ -515,6 +803,114 @@ public abstract class Strman {
     return result;
   }
 
+  /**
+   * Formats the digits of the value with the separator between every group of three digits, like {@code 1,234,567}.
+   *
+   * @param value the value to format
+   * @param separator the separator of the groups
+   * @return the formatted value
+   * @since 0.4.0
+   */
+  public static String groupDigits(final long value, final char separator) {
+    return Numbers.groupDigits(value, separator);
+  }
+
+  /**
+   * Formats the digits of the value with the separator between every group of three digits into the target.
+   *
+   * @param value the value to format
+   * @param separator the separator of the groups
+   * @param target the target to write the formatted value to
+   * @throws IOException if the target can't be written
+   * @throws IllegalArgumentException if the target is {@code null}
+   * @see #groupDigits(long, char)
+   * @since 0.4.0
+   */
+  public static void groupDigits(final long value, final char separator, final Appendable target) throws IOException {
+    validateTarget(target);
+    Numbers.groupDigits(value, separator, target);
+  }
+
+  /**
+   * Computes the 128-bit Murmur3 x64 hash of the UTF-8 encoding of the characters with a seed of {@code 0}.
+   *
+   * <p>
+   *   The characters are encoded on the fly without an intermediate byte array.
+   *   The result is identical to hashing {@code value.toString().getBytes(StandardCharsets.UTF_8)}.
+   * </p>
+   *
+   * @param value the characters to hash
+   * @return the hash as array of the first and second 64 bits
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+   * @see StrmanHasher#murmur3(int, boolean)
+   * @since 0.4.0
+   */
+  public static long[] hash128(final CharSequence value) throws IllegalArgumentException {
+    return hash128(value, true);
+  }
+
+  /**
+   * Computes the 128-bit Murmur3 x64 hash of the UTF-8 encoding of the characters with a seed of {@code 0}.
+   *
+   * <p>
+   *   Case insensitive hashes fold every code point to lower case, so strings that only differ in case have the
+   *   same hash.
+   * </p>
+   *
+   * @param value the characters to hash
+   * @param caseSensitive the case sensitivity
+   * @return the hash as array of the first and second 64 bits
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+   * @see StrmanHasher#murmur3(int, boolean)
+   * @since 0.4.0
+   */
+  public static long[] hash128(final CharSequence value, final boolean caseSensitive) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return StrmanHasher.murmur3(0, caseSensitive).append(value).hash128();
+  }
+
+  /**
+   * Computes the 64-bit xxHash64 hash of the UTF-8 encoding of the characters with a seed of {@code 0}.
+   *
+   * <p>
+   *   The characters are encoded on the fly without an intermediate byte array.
+   *   The result is identical to hashing {@code value.toString().getBytes(StandardCharsets.UTF_8)}.
+   * </p>
+   *
+   * @param value the characters to hash
+   * @return the hash
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+   * @see StrmanHasher#xxHash64(long, boolean)
+   * @since 0.4.0
+   */
+  public static long hash64(final CharSequence value) throws IllegalArgumentException {
+    return hash64(value, true);
+  }
+
+  /**
+   * Computes the 64-bit xxHash64 hash of the UTF-8 encoding of the characters with a seed of {@code 0}.
+   *
+   * <p>
+   *   Case insensitive hashes fold every code point to lower case, so strings that only differ in case have the
+   *   same hash.
+   * </p>
+   *
+   * @param value the characters to hash
+   * @param caseSensitive the case sensitivity
+   * @return the hash
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+   * @see StrmanHasher#xxHash64(long, boolean)
+   * @since 0.4.0
+   */
+  public static long hash64(final CharSequence value, final boolean caseSensitive) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return StrmanHasher.xxHash64(0, caseSensitive).append(value).hash64();
+  }
+
   /**
    * Returns the first character of the string.
    *
@@ -525,6 +921,24 @@ public abstract class Strman {
     return first(value, 1);
   }
 
+  /**
+   * Builds an index of the text for repeated substring queries.
+   *
+   * <p>
+   *   Building the index takes {@code O(n log n)}, afterwards every {@code contains}, {@code indexOf} and overlapping
+   *   {@code countSubstr} query takes {@code O(m log n)} for a needle of length {@code m} instead of rescanning the
+   *   text.
+   * </p>
+   *
+   * @param text the text to index
+   * @return the index of the text
+   * @since 0.4.0
+   */
+  public static StrmanIndex index(final String text) {
+    validate(text, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return StrmanIndex.build(text);
+  }
+
   /**
    * Returns the index of the first occurrence of the specified needle.
    *
@@ -541,9 +955,30 @@ public abstract class Strman {
   public static int indexOf(final String value, final String needle, int offset, boolean caseSensitive) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
     if (caseSensitive) {
-      return value.indexOf(needle, offset);
+      return Kernels.indexOf(value, needle, offset);
     }
-    return value.toLowerCase().indexOf(needle.toLowerCase(), offset);
+    return Kernels.indexOf(value.toLowerCase(), needle.toLowerCase(), offset);
+  }
+
+  /**
+   * Finds the index of the first character that violates the format.
+   *
+   * <p>
+   *   The value is scanned once from left to right without backtracking or allocating, so the index can be reported
+   *   to the sender of invalid input at no extra cost.
+   * </p>
+   *
+   * @param value the characters to validate
+   * @param format the format the characters must match
+   * @return the index of the first invalid character, the length of the value if it ends prematurely or {@code -1}
+   *   if valid
+   * @throws IllegalArgumentException if the value or format is {@code null}
+   * @see #isValid(CharSequence, StrmanFormat)
+   * @since 0.4.0
+   */
+  public static int indexOfInvalid(final CharSequence value, final StrmanFormat format) throws IllegalArgumentException {
+    validateFormat(value, format);
+    return format.indexOfInvalid(value);
   }
 
   /**
@@ -604,12 +1039,7 @@ public abstract class Strman {
    */
   public static boolean isLowerCase(final String value) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    for (int i = 0; i < value.length(); i++) {
-      if (Character.isUpperCase(value.charAt(i))) {
-        return false;
-      }
-    }
-    return true;
+    return Kernels.isLowerCase(value);
   }
 
   /**
@@ -633,12 +1063,52 @@ public abstract class Strman {
    */
   public static boolean isUpperCase(final String value) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    for (int i = 0; i < value.length(); i++) {
-      if (Character.isLowerCase(value.charAt(i))) {
-        return false;
-      }
-    }
-    return true;
+    return Kernels.isUpperCase(value);
+  }
+
+  /**
+   * Verifies that the remaining bytes of the buffer are valid UTF-8.
+   *
+   * <p>
+   *   The position of the buffer is not changed.
+   * </p>
+   *
+   * @param value the buffer to verify
+   * @return {@code true} if the bytes are valid UTF-8, {@code false} otherwise
+   * @see #utf8IndexOfMalformed(ByteBuffer)
+   * @since 0.4.0
+   */
+  public static boolean isUtf8(final ByteBuffer value) {
+    return utf8IndexOfMalformed(value) < 0;
+  }
+
+  /**
+   * Verifies that the characters match the format.
+   *
+   * @param value the characters to validate
+   * @param format the format the characters must match
+   * @return {@code true} if valid, {@code false} otherwise
+   * @throws IllegalArgumentException if the value or format is {@code null}
+   * @see #indexOfInvalid(CharSequence, StrmanFormat)
+   * @since 0.4.0
+   */
+  public static boolean isValid(final CharSequence value, final StrmanFormat format) throws IllegalArgumentException {
+    validateFormat(value, format);
+    return format.indexOfInvalid(value) < 0;
+  }
+
+  /**
+   * Computes the Jaro-Winkler similarity between two strings.
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the similarity between {@code 0.0} for no similarity and {@code 1.0} for equal strings
+   * @since 0.4.0
+   */
+  public static double jaroWinklerSimilarity(final String first, final String second) {
+    validate(first, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    validate(second, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return EditDistance.jaroWinkler(first, second);
   }
 
   /**
@@ -756,6 +1226,28 @@ public abstract class Strman {
     return append(repeat(pad, length - value.length()), value);
   }
 
+  /**
+   * Returns a left-padded string of a given display width.
+   *
+   * <p>
+   *   Unlike {@link #leftPad(String, String, int)} the width is measured in terminal columns like
+   *   {@link #displayWidth(CharSequence)}, the pad is repeated until the width is reached and columns a wide
+   *   character of the pad doesn't fit into are filled with spaces.
+   * </p>
+   *
+   * @param value the initial string
+   * @param pad the padding value
+   * @param width the display width of the padded string
+   * @return the left-padded string
+   * @throws IllegalArgumentException if the value or the pad is {@code null} or the pad has no display width
+   * @since 0.4.0
+   */
+  public static String leftPadDisplay(final String value, final String pad, final int width)
+    throws IllegalArgumentException {
+    validatePad(value, pad);
+    return DisplayWidth.pad(value, pad, width, true);
+  }
+
   /**
    * Removes all spaces on left of the specified string.
    *
@@ -779,15 +1271,90 @@ public abstract class Strman {
   }
 
   /**
-   * Converts the first character of a string to lower case.
+   * Computes the Levenshtein distance between two strings.
    *
-   * @param input the string to convert
-   * @return the converted string
-   * @throws IllegalArgumentException if the input is null
-   * @since 0.3.0
-   */
-  public static String lowerFirst(final String input) throws IllegalArgumentException {
-    if (input == null) {
+   * <p>
+   *   Counts the minimum number of single character insertions, deletions and substitutions to change one string into
+   *   the other.
+   * </p>
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the Levenshtein distance
+   * @since 0.4.0
+   */
+  public static int levenshteinDistance(final String first, final String second) {
+    return levenshteinDistance(first, second, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Computes the Levenshtein distance between two strings up to a maximum distance.
+   *
+   * <p>
+   *   The computation stops as soon as the distance is known to exceed the maximum distance, which makes it
+   *   considerably faster to reject dissimilar strings.
+   * </p>
+   *
+   * @param first the first string
+   * @param second the second string
+   * @param maxDistance the maximum distance of interest
+   * @return the Levenshtein distance, {@code -1} if it exceeds the maximum distance
+   * @throws IllegalArgumentException if the maximum distance is negative
+   * @since 0.4.0
+   */
+  public static int levenshteinDistance(final String first, final String second, final int maxDistance) throws IllegalArgumentException {
+    validate(first, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    validate(second, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("maxDistance can't be negative");
+    }
+    return EditDistance.levenshtein(first, second, maxDistance);
+  }
+
+  /**
+   * Computes the length of the longest common subsequence of two strings.
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the length of the longest common subsequence
+   * @since 0.4.0
+   */
+  public static int longestCommonSubsequenceLength(final String first, final String second) {
+    validate(first, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    validate(second, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return EditDistance.longestCommonSubsequence(first, second);
+  }
+
+  /**
+   * Computes the similarity of two strings based on their longest common subsequence.
+   *
+   * <p>
+   *   The similarity is the length of the longest common subsequence divided by the length of the longer string.
+   * </p>
+   *
+   * @param first the first string
+   * @param second the second string
+   * @return the similarity between {@code 0.0} for no similarity and {@code 1.0} for equal strings
+   * @since 0.4.0
+   */
+  public static double longestCommonSubsequenceSimilarity(final String first, final String second) {
+    int longest = Math.max(length(first), length(second));
+    if (longest == 0) {
+      return 1.0;
+    }
+    return (double) longestCommonSubsequenceLength(first, second) / longest;
+  }
+
+  /**
+   * Converts the first character of a string to lower case.
+   *
+   * @param input the string to convert
+   * @return the converted string
+   * @throws IllegalArgumentException if the input is null
+   * @since 0.3.0
+   */
+  public static String lowerFirst(final String input) throws IllegalArgumentException {
+    if (input == null) {
       throw new IllegalArgumentException("input can't be null");
     }
     if (input.length() == 0) {
@@ -799,6 +1366,243 @@ public abstract class Strman {
       .get();
   }
 
+  /**
+   * Computes the MinHash signature of shingle hashes.
+   *
+   * <p>
+   *   Every position of the signature is the minimum of an independent, deterministically seeded hash function over
+   *   all shingles, so the fraction of equal positions of two signatures estimates the Jaccard similarity of their
+   *   shingle sets.
+   *   The signature of no shingles consists only of {@link Long#MAX_VALUE} and isn't similar to any signature.
+   *   Signatures can be computed concurrently and indexed with a {@link StrmanLshIndex}.
+   * </p>
+   *
+   * @param shingles the shingle hashes, e.g. of {@link #shingles(CharSequence, int)}
+   * @param numHashes the number of hash functions and length of the signature
+   * @return the signature
+   * @throws IllegalArgumentException if the shingles are {@code null} or the number of hash functions is not positive
+   * @since 0.4.0
+   */
+  public static long[] minHash(final long[] shingles, final int numHashes) throws IllegalArgumentException {
+    if (shingles == null) {
+      throw new IllegalArgumentException("shingles can't be null");
+    }
+    if (numHashes < 1) {
+      throw new IllegalArgumentException("numHashes must be positive");
+    }
+    return NearDuplicates.minHash(shingles, numHashes);
+  }
+
+  /**
+   * Estimates the Jaccard similarity of the shingle sets of two MinHash signatures.
+   *
+   * @param first the first signature
+   * @param second the second signature
+   * @return the fraction of equal positions between {@code 0.0} and {@code 1.0}, {@code 0.0} if a signature is of no
+   *   shingles
+   * @throws IllegalArgumentException if a signature is {@code null} or their lengths differ
+   * @since 0.4.0
+   */
+  public static double minHashSimilarity(final long[] first, final long[] second) throws IllegalArgumentException {
+    if (first == null || second == null) {
+      throw new IllegalArgumentException("signatures can't be null");
+    }
+    if (first.length != second.length) {
+      throw new IllegalArgumentException("signatures must have the same length");
+    }
+    if (NearDuplicates.isEmpty(first) || NearDuplicates.isEmpty(second)) {
+      return 0.0;
+    }
+    int equal = 0;
+    for (int i = 0; i < first.length; i++) {
+      if (first[i] == second[i]) {
+        equal++;
+      }
+    }
+    return first.length == 0 ? 1.0 : (double) equal / first.length;
+  }
+
+  /**
+   * Returns a comparator that orders embedded numbers by their value.
+   *
+   * <p>
+   *   Runs of the ASCII digits {@code 0-9} are compared by their numeric value, so {@code "file2"} is ordered before
+   *   {@code "file10"}, all other characters are compared one by one.
+   *   Numbers of the same value are ordered by the count of their leading zeros if the values are equal otherwise.
+   *   Numbers of any length are compared without parsing them and nothing is allocated.
+   * </p>
+   *
+   * @param caseSensitive the case sensitivity
+   * @return the comparator
+   * @since 0.4.0
+   */
+  public static Comparator<CharSequence> naturalOrder(final boolean caseSensitive) {
+    return caseSensitive ? Sorting.NATURAL : Sorting.NATURAL_CASE_INSENSITIVE;
+  }
+
+  /**
+   * Returns the facade that runs operations on large strings in parallel.
+   *
+   * <p>
+   *   Strings of at least {@link StrmanParallel#DEFAULT_THRESHOLD} characters are split into chunks processed on the
+   *   common {@link java.util.concurrent.ForkJoinPool}, the results are identical to the sequential methods.
+   *   Use {@link StrmanParallel#withThreshold(int)} and {@link StrmanParallel#withPool(java.util.concurrent.ForkJoinPool)}
+   *   to configure it.
+   * </p>
+   *
+   * @return the parallel facade
+   * @since 0.4.0
+   */
+  public static StrmanParallel parallel() {
+    return StrmanParallel.DEFAULT;
+  }
+
+  /**
+   * Parses the decimal floating-point number of the range of characters without creating a substring.
+   *
+   * <p>
+   *   The range must match {@link StrmanFormat#DECIMAL} completely.
+   *   The result is the same as of {@link Double#parseDouble(String)}, only numbers with more than 18 significant
+   *   digits or exponents beyond the exactly representable powers of ten are delegated to it.
+   * </p>
+   *
+   * @param value the characters to parse
+   * @param start the index of the first character, inclusive
+   * @param end the index of the last character, exclusive
+   * @return the parsed number
+   * @throws IllegalArgumentException if the value is {@code null}
+   * @throws IndexOutOfBoundsException if the range is out of the bounds of the value
+   * @throws NumberFormatException if the range is not a decimal number, with the index of the invalid character
+   * @since 0.4.0
+   */
+  public static double parseDouble(final CharSequence value, final int start, final int end)
+    throws IllegalArgumentException {
+    validateRange(value, start, end);
+    return Numbers.parseDouble(value, start, end);
+  }
+
+  /**
+   * Parses the decimal integer of the range of characters without creating a substring.
+   *
+   * <p>
+   *   The range must match {@link StrmanFormat#INTEGER} completely.
+   * </p>
+   *
+   * @param value the characters to parse
+   * @param start the index of the first character, inclusive
+   * @param end the index of the last character, exclusive
+   * @return the parsed number
+   * @throws IllegalArgumentException if the value is {@code null}
+   * @throws IndexOutOfBoundsException if the range is out of the bounds of the value
+   * @throws NumberFormatException if the range is not an integer or overflows an {@code int}, with the index of the
+   *   invalid character
+   * @since 0.4.0
+   */
+  public static int parseInt(final CharSequence value, final int start, final int end) throws IllegalArgumentException {
+    validateRange(value, start, end);
+    return (int) Numbers.parseLong(value, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE, "int");
+  }
+
+  /**
+   * Parses the decimal integer of the range of characters without creating a substring.
+   *
+   * <p>
+   *   The range must match {@link StrmanFormat#INTEGER} completely.
+   * </p>
+   *
+   * @param value the characters to parse
+   * @param start the index of the first character, inclusive
+   * @param end the index of the last character, exclusive
+   * @return the parsed number
+   * @throws IllegalArgumentException if the value is {@code null}
+   * @throws IndexOutOfBoundsException if the range is out of the bounds of the value
+   * @throws NumberFormatException if the range is not an integer or overflows a {@code long}, with the index of the
+   *   invalid character
+   * @since 0.4.0
+   */
+  public static long parseLong(final CharSequence value, final int start, final int end) throws IllegalArgumentException {
+    validateRange(value, start, end);
+    return Numbers.parseLong(value, start, end, Long.MIN_VALUE, Long.MAX_VALUE, "long");
+  }
+
+  /**
+   * Encodes the string into a key of how it sounds in English.
+   *
+   * <p>
+   *   Names that are spelled differently but sound alike get the same key, which makes keys suitable to group
+   *   candidates for the record linkage before comparing them in full, see {@link StrmanPhonetic} for the algorithms.
+   * </p>
+   *
+   * @param value the string to encode
+   * @param algorithm the algorithm to encode with
+   * @return the key, empty if the string contains no letters
+   * @throws IllegalArgumentException if the value or the algorithm is {@code null}
+   * @since 0.4.0
+   */
+  public static String phoneticKey(final String value, final StrmanPhonetic algorithm)
+    throws IllegalArgumentException {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    validateAlgorithm(algorithm);
+    return new Phonetics().encode(value, algorithm);
+  }
+
+  /**
+   * Encodes all strings into keys of how they sound in English.
+   *
+   * <p>
+   *   Like {@link #phoneticKey(String, StrmanPhonetic)} for each string, but with the same buffers for all of them.
+   *   {@code null} strings are encoded to {@code null} keys, so columns with missing values can be encoded as they are.
+   *   Use {@link StrmanParallel#phoneticKeys(String[], StrmanPhonetic)} to encode large arrays in parallel.
+   * </p>
+   *
+   * @param values the strings to encode
+   * @param algorithm the algorithm to encode with
+   * @return the keys at the indices of their strings
+   * @throws IllegalArgumentException if the values or the algorithm is {@code null}
+   * @since 0.4.0
+   */
+  public static String[] phoneticKeys(final String[] values, final StrmanPhonetic algorithm)
+    throws IllegalArgumentException {
+    if (values == null) {
+      throw new IllegalArgumentException("values can't be null");
+    }
+    validateAlgorithm(algorithm);
+    String[] keys = new String[values.length];
+    new Phonetics().encode(values, keys, 0, values.length, algorithm);
+    return keys;
+  }
+
+  /**
+   * Builds a prefix index of the weighted terms for autocompletion.
+   *
+   * <p>
+   *   The index finds the terms starting with a prefix, the heaviest completions of a prefix and the longest term
+   *   that is a prefix of a value in logarithmic time, use {@link StrmanPrefixIndex#builder(boolean)} to add the terms
+   *   one at a time.
+   * </p>
+   *
+   * @param terms the terms to index mapped to their weight
+   * @param caseSensitive the case sensitivity of the queries
+   * @return the new index
+   * @throws IllegalArgumentException if the terms, one of them or one of the weights is {@code null}
+   * @see StrmanPrefixIndex
+   * @since 0.4.0
+   */
+  public static StrmanPrefixIndex prefixIndex(final Map<String, Long> terms, final boolean caseSensitive)
+    throws IllegalArgumentException {
+    if (terms == null) {
+      throw new IllegalArgumentException("terms can't be null");
+    }
+    StrmanPrefixIndex.Builder builder = StrmanPrefixIndex.builder(caseSensitive);
+    terms.forEach((term, weight) -> {
+      if (weight == null) {
+        throw new IllegalArgumentException("weights can't be null");
+      }
+      builder.add(term, weight);
+    });
+    return builder.build();
+  }
+
   /**
    * Prepends the specified strings to the string.
    *
@@ -922,7 +1726,7 @@ public abstract class Strman {
    */
   public static String removeSpaces(final String value) {
     validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
-    return value.replaceAll("\\s", "");
+    return Kernels.removeWhitespace(value);
   }
 
   /**
@@ -982,6 +1786,28 @@ public abstract class Strman {
     return append(value, repeat(pad, length - value.length()));
   }
 
+  /**
+   * Returns a right-padded string of a given display width.
+   *
+   * <p>
+   *   Unlike {@link #rightPad(String, String, int)} the width is measured in terminal columns like
+   *   {@link #displayWidth(CharSequence)}, the pad is repeated until the width is reached and columns a wide
+   *   character of the pad doesn't fit into are filled with spaces.
+   * </p>
+   *
+   * @param value the initial string
+   * @param pad the padding value
+   * @param width the display width of the padded string
+   * @return the right-padded string
+   * @throws IllegalArgumentException if the value or the pad is {@code null} or the pad has no display width
+   * @since 0.4.0
+   */
+  public static String rightPadDisplay(final String value, final String pad, final int width)
+    throws IllegalArgumentException {
+    validatePad(value, pad);
+    return DisplayWidth.pad(value, pad, width, false);
+  }
+
   /**
    * Removes all spaces on the right of a string.
    *
@@ -993,6 +1819,70 @@ public abstract class Strman {
     return value.replaceAll("\\s+$", "");
   }
 
+  /**
+   * Creates a rope of the string for repeated edits.
+   *
+   * <p>
+   *   The {@link StrmanRope} counterparts of {@code append}, {@code insert}, {@code prepend}, {@code removeLeft},
+   *   {@code removeRight} and {@code surround} take {@code O(log n)} instead of copying the whole string per edit.
+   * </p>
+   *
+   * @param value the initial string
+   * @return the rope of the string
+   * @since 0.4.0
+   */
+  public static StrmanRope rope(final String value) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return StrmanRope.of(value);
+  }
+
+  /**
+   * Computes the hashes of all runs of consecutive words.
+   *
+   * <p>
+   *   Words are the runs of letters, digits, combining marks and underscores of any script, they are scanned in place
+   *   without creating substrings and hashed with xxHash64.
+   *   Scripts without spaces between words like Chinese form a single word up to the next punctuation.
+   *   Values with fewer words than the shingle size result in a single shingle of all words, values without any word
+   *   in no shingle.
+   * </p>
+   *
+   * @param value the characters to scan
+   * @param size the number of words per shingle
+   * @return the shingle hashes in the order of their occurrence
+   * @throws IllegalArgumentException if the value is {@code null} or the size is not positive
+   * @since 0.4.0
+   */
+  public static long[] shingles(final CharSequence value, final int size) throws IllegalArgumentException {
+    return shingles(value, size, true);
+  }
+
+  /**
+   * Computes the hashes of all runs of consecutive words.
+   *
+   * <p>
+   *   Case insensitive shingles fold every code point to lower case before it's hashed.
+   * </p>
+   *
+   * @param value the characters to scan
+   * @param size the number of words per shingle
+   * @param caseSensitive the case sensitivity
+   * @return the shingle hashes in the order of their occurrence
+   * @throws IllegalArgumentException if the value is {@code null} or the size is not positive
+   * @see #shingles(CharSequence, int)
+   * @since 0.4.0
+   */
+  public static long[] shingles(final CharSequence value, final int size, final boolean caseSensitive)
+    throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    if (size < 1) {
+      throw new IllegalArgumentException("size must be positive");
+    }
+    return NearDuplicates.shingles(value, size, caseSensitive);
+  }
+
   /**
    * Randomly orders the characters of a string.
    *
@@ -1012,6 +1902,117 @@ public abstract class Strman {
     return Arrays.stream(chars).collect(joining());
   }
 
+  /**
+   * Computes the 64-bit SimHash fingerprint of shingle hashes.
+   *
+   * <p>
+   *   Every bit of the fingerprint is set if it's set in the majority of the mixed shingle hashes, so the fingerprints
+   *   of similar documents differ only in few bits.
+   * </p>
+   *
+   * @param shingles the shingle hashes, e.g. of {@link #shingles(CharSequence, int)}
+   * @return the fingerprint
+   * @throws IllegalArgumentException if the shingles are {@code null}
+   * @since 0.4.0
+   */
+  public static long simHash(final long[] shingles) throws IllegalArgumentException {
+    if (shingles == null) {
+      throw new IllegalArgumentException("shingles can't be null");
+    }
+    return NearDuplicates.simHash(shingles);
+  }
+
+  /**
+   * Computes the number of different bits of two SimHash fingerprints.
+   *
+   * @param first the first fingerprint
+   * @param second the second fingerprint
+   * @return the Hamming distance between {@code 0} and {@code 64}
+   * @since 0.4.0
+   */
+  public static int simHashDistance(final long first, final long second) {
+    return Long.bitCount(first ^ second);
+  }
+
+  /**
+   * Transforms a string into a URL slug.
+   *
+   * <p>
+   *   The string is folded to ASCII like {@link #asciiFold(String)} and converted to lower case, runs of all other
+   *   characters are replaced with a single hyphen, e.g. "Crème Brûlée – 250 g" becomes "creme-brulee-250-g".
+   *   The slug is written into a buffer sized for the folded string, ASCII strings are never normalized.
+   * </p>
+   *
+   * @param value the string to slugify
+   * @return the slug
+   * @since 0.4.0
+   */
+  public static String slugify(final String value) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return AsciiFolding.slugify(value);
+  }
+
+  /**
+   * Sorts the strings in place into the order of {@link String#compareTo(String)}.
+   *
+   * <p>
+   *   The strings are sorted with a multikey quicksort that compares each character of a shared prefix once per
+   *   partitioning step instead of once per comparison, which is faster than {@link Arrays#sort(Object[])} for large
+   *   arrays of keys sharing long prefixes.
+   *   Use {@link StrmanParallel#sort(String[])} to sort large arrays in parallel.
+   * </p>
+   *
+   * @param values the strings to sort
+   * @throws IllegalArgumentException if the strings or one of them is {@code null}
+   * @since 0.4.0
+   */
+  public static void sort(final String[] values) throws IllegalArgumentException {
+    validateSortable(values);
+    Sorting.sort(values);
+  }
+
+  /**
+   * Splits the string lazily at the literal delimiter.
+   *
+   * <p>
+   *   The delimiter is not interpreted as a regular expression and all fields are kept, a string with {@code n}
+   *   delimiters has {@code n + 1} fields.
+   *   Empty fields are dropped while splitting if requested, there is no need for {@link #removeEmptyStrings(String[])}
+   *   as a second pass.
+   * </p>
+   *
+   * @param value the string to split
+   * @param delimiter the delimiter to split at
+   * @param omitEmpty {@code true} to omit empty fields, {@code false} to keep them
+   * @return the fields
+   * @throws IllegalArgumentException if the value or the delimiter is {@code null} or the delimiter is empty
+   * @see StrmanSplitter
+   * @since 0.4.0
+   */
+  public static Iterable<String> split(final String value, final String delimiter, final boolean omitEmpty)
+    throws IllegalArgumentException {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return StrmanSplitter.of(delimiter).withOmitEmpty(omitEmpty).split(value);
+  }
+
+  /**
+   * Creates a splitter at the literal delimiter.
+   *
+   * <p>
+   *   The splitter keeps empty fields and doesn't quote fields, {@link StrmanSplitter#csv()} and
+   *   {@link StrmanSplitter#tsv()} create splitters that understand quoted fields.
+   * </p>
+   *
+   * @param delimiter the delimiter to split at
+   * @return the new splitter
+   * @throws IllegalArgumentException if the delimiter is {@code null} or empty
+   * @see StrmanSplitter
+   * @since 0.4.0
+   */
+  public static StrmanSplitter splitter(final String delimiter) throws IllegalArgumentException {
+    return StrmanSplitter.of(delimiter);
+  }
+
   /**
    * Surrounds a string with the a prefix and suffix.
    *
@@ -1030,6 +2031,30 @@ public abstract class Strman {
     return append(optPrefix, value, Optional.ofNullable(suffix).orElse(optPrefix));
   }
 
+  /**
+   * Trains a symbol table for compressing many short strings on a sample of them.
+   *
+   * <p>
+   *   The table replaces frequent sequences of up to eight UTF-8 bytes with single byte codes in the style of FSST.
+   *   Every string is compressed independently, use a {@link StrmanCompressedStrings} store to keep large numbers of
+   *   them with random access.
+   *   Only the first 256 KiB of the sample are used for the training.
+   * </p>
+   *
+   * @param sample the sample strings
+   * @return the trained table
+   * @throws IllegalArgumentException if the sample or one of its strings is {@code null} or contains an unpaired
+   *   surrogate
+   * @since 0.4.0
+   */
+  public static StrmanSymbolTable symbolTable(final Collection<? extends CharSequence> sample)
+    throws IllegalArgumentException {
+    if (sample == null) {
+      throw new IllegalArgumentException("sample can't be null");
+    }
+    return StrmanSymbolTable.train(sample);
+  }
+
   /**
    * Returns the tail of a string.
    *
@@ -1054,6 +2079,19 @@ public abstract class Strman {
     return str.substring(0, 1).toLowerCase() + str.substring(1);
   }
 
+  /**
+   * Transforms a string into the "camelCase" spelling and returns the canonical instance of the result.
+   *
+   * @param value the string to be transformed
+   * @param interner the interner providing the canonical instance
+   * @return the interned "camelCase"-transformed string
+   * @since 0.4.0
+   */
+  public static String toCamelCase(final String value, final StrmanInterner interner) {
+    validateInterner(interner);
+    return interner.intern(toCamelCase(value));
+  }
+
   /**
    * Transforms a string into the decamelized form.
    *
@@ -1067,6 +2105,20 @@ public abstract class Strman {
     return Arrays.stream(words).map(String::toLowerCase).collect(joining(Optional.ofNullable(chr).orElse(" ")));
   }
 
+  /**
+   * Transforms a string into the decamelized form and returns the canonical instance of the result.
+   *
+   * @param value the string to be transformed
+   * @param chr the string to replace with
+   * @param interner the interner providing the canonical instance
+   * @return the interned decamelized string
+   * @since 0.4.0
+   */
+  public static String toDecamelize(final String value, final String chr, final StrmanInterner interner) {
+    validateInterner(interner);
+    return interner.intern(toDecamelize(value, chr));
+  }
+
   /**
    * Transforms a string into the "kebab-case" spelling.
    *
@@ -1077,6 +2129,18 @@ public abstract class Strman {
     return toDecamelize(value, "-");
   }
 
+  /**
+   * Transforms a string into the "kebab-case" spelling and returns the canonical instance of the result.
+   *
+   * @param value the string to be transformed
+   * @param interner the interner providing the canonical instance
+   * @return the interned "kebab-case"-transformed string
+   * @since 0.4.0
+   */
+  public static String toKebabCase(final String value, final StrmanInterner interner) {
+    return toDecamelize(value, "-", interner);
+  }
+
   /**
    * Transforms a string into the "snake_case" spelling.
    *
@@ -1087,6 +2151,18 @@ public abstract class Strman {
     return toDecamelize(value, "_");
   }
 
+  /**
+   * Transforms a string into the "snake_case" spelling and returns the canonical instance of the result.
+   *
+   * @param value the string to be transformed
+   * @param interner the interner providing the canonical instance
+   * @return the interned "snake_case"-transformed string
+   * @since 0.4.0
+   */
+  public static String toSnakeCase(final String value, final StrmanInterner interner) {
+    return toDecamelize(value, "_", interner);
+  }
+
   /**
    * Transforms a string into the "StudlyCaps" spelling.
    *
@@ -1103,6 +2179,19 @@ public abstract class Strman {
 
   }
 
+  /**
+   * Transforms a string into the "StudlyCaps" spelling and returns the canonical instance of the result.
+   *
+   * @param value the string to be transformed
+   * @param interner the interner providing the canonical instance
+   * @return the interned "StudlyCaps"-transformed string
+   * @since 0.4.0
+   */
+  public static String toStudlyCase(final String value, final StrmanInterner interner) {
+    validateInterner(interner);
+    return interner.intern(toStudlyCase(value));
+  }
+
   /**
    * Removes trailing whitespaces from a string.
    *
@@ -1181,6 +2270,29 @@ public abstract class Strman {
     return append(value.substring(0, length - filler.length()), filler);
   }
 
+  /**
+   * Truncates the string to a display width, cutting it at any character.
+   *
+   * <p>
+   *   Unlike {@link #truncate(String, int, String)} the width is measured in terminal columns like
+   *   {@link #displayWidth(CharSequence)} and includes the filler.
+   *   Surrogate pairs are never split and combining marks are kept with the preceding character.
+   * </p>
+   *
+   * @param value the initial string
+   * @param width the maximal display width of the truncated string
+   * @param filler the string that will be added to the end
+   * @return the truncated string
+   * @throws IllegalArgumentException if the value or the filler is {@code null}, the width is negative or the filler
+   *   is wider than the width
+   * @since 0.4.0
+   */
+  public static String truncateDisplay(final String value, final int width, final String filler)
+    throws IllegalArgumentException {
+    validateTruncation(value, width, filler);
+    return width == 0 ? "" : DisplayWidth.truncate(value, width, filler);
+  }
+
   /**
    * Securely truncates the string, not cutting a word in half.
    *
@@ -1216,6 +2328,60 @@ public abstract class Strman {
     return append(result.toString(), filler);
   }
 
+  /**
+   * Truncates the string to a display width, not cutting a word in half.
+   *
+   * <p>
+   *   Unlike {@link #truncateSafe(String, int, String)} the width is measured in terminal columns like
+   *   {@link #displayWidth(CharSequence)} and includes the filler, the kept words are joined by a single space.
+   * </p>
+   *
+   * @param value the initial string
+   * @param width the maximal display width of the truncated string
+   * @param filler the string that will be added to the end
+   * @return the truncated string
+   * @throws IllegalArgumentException if the value or the filler is {@code null}, the width is negative or the filler
+   *   is wider than the width
+   * @since 0.4.0
+   */
+  public static String truncateSafeDisplay(final String value, final int width, final String filler)
+    throws IllegalArgumentException {
+    validateTruncation(value, width, filler);
+    return width == 0 ? "" : DisplayWidth.truncateWords(value, width, filler);
+  }
+
+  /**
+   * Resolves all HTML character references of the string.
+   *
+   * <p>
+   *   All named character references of the HTML Living Standard and decimal- and hexadecimal numeric references are
+   *   resolved, ampersands that don't start a reference are kept.
+   *   Strings without an ampersand are returned as they are.
+   * </p>
+   *
+   * @param value the string to unescape
+   * @return the unescaped string
+   * @since 0.4.0
+   */
+  public static String unescapeHtml(final String value) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return MarkupEscaping.unescape(value);
+  }
+
+  /**
+   * Resolves all HTML character references of the characters into the target.
+   *
+   * @param value the characters to unescape
+   * @param target the target to write the unescaped characters to
+   * @throws IOException if the target can't be written
+   * @see #unescapeHtml(String)
+   * @since 0.4.0
+   */
+  public static void unescapeHtml(final CharSequence value, final Appendable target) throws IOException {
+    validateEscaping(value, target);
+    MarkupEscaping.unescape(value, target);
+  }
+
   /**
    * Converts the first character of a string to upper case.
    *
@@ -1233,6 +2399,173 @@ public abstract class Strman {
       .get();
   }
 
+  /**
+   * Decodes all percent-encoded UTF-8 sequences of the string.
+   *
+   * <p>
+   *   Only percent-encoded sequences are decoded, a {@code +} is kept as it is.
+   *   Strings without a {@code %} are returned as they are.
+   * </p>
+   *
+   * @param value the string to decode
+   * @return the decoded string
+   * @throws IllegalArgumentException if a sequence is incomplete or doesn't encode valid UTF-8
+   * @since 0.4.0
+   */
+  public static String urlDecode(final String value) throws IllegalArgumentException {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return PercentEncoding.decode(value);
+  }
+
+  /**
+   * Decodes all percent-encoded UTF-8 sequences of the characters into the target.
+   *
+   * @param value the characters to decode
+   * @param target the target to write the decoded characters to
+   * @throws IOException if the target can't be written
+   * @throws IllegalArgumentException if a sequence is incomplete or doesn't encode valid UTF-8
+   * @see #urlDecode(String)
+   * @since 0.4.0
+   */
+  public static void urlDecode(final CharSequence value, final Appendable target) throws IOException {
+    validateEscaping(value, target);
+    PercentEncoding.decode(value, 0, target);
+  }
+
+  /**
+   * Percent-encodes all characters of the string that are not safe in the URL component.
+   *
+   * <p>
+   *   Characters are encoded as UTF-8, a space is encoded as {@code %20}.
+   *   Strings that only contain safe characters are returned as they are.
+   * </p>
+   *
+   * @param value the string to encode
+   * @param component the URL component the string is used in
+   * @return the encoded string
+   * @throws IllegalArgumentException if the string contains an unpaired surrogate
+   * @since 0.4.0
+   */
+  public static String urlEncode(final String value, final StrmanUrlComponent component) throws IllegalArgumentException {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    validateComponent(component);
+    return PercentEncoding.encode(value, component);
+  }
+
+  /**
+   * Percent-encodes all characters that are not safe in the URL component into the target.
+   *
+   * @param value the characters to encode
+   * @param component the URL component the characters are used in
+   * @param target the target to write the encoded characters to
+   * @throws IOException if the target can't be written
+   * @throws IllegalArgumentException if the characters contain an unpaired surrogate
+   * @see #urlEncode(String, StrmanUrlComponent)
+   * @since 0.4.0
+   */
+  public static void urlEncode(final CharSequence value, final StrmanUrlComponent component, final Appendable target)
+    throws IOException {
+    validateEscaping(value, target);
+    validateComponent(component);
+    PercentEncoding.encode(value, 0, component, target);
+  }
+
+  /**
+   * Decodes the remaining UTF-8 bytes of the buffer into a string.
+   *
+   * <p>
+   *   The position of the buffer is not changed.
+   *   The decoded length is computed in a validating pass first, so the string is built without resizing.
+   * </p>
+   *
+   * @param value the buffer to decode
+   * @return the decoded string
+   * @throws IllegalArgumentException if the buffer is {@code null} or the bytes are not valid UTF-8, the message
+   *   names the index of the malformed input relative to the position
+   * @since 0.4.0
+   */
+  public static String utf8Decode(final ByteBuffer value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return Utf8.decode(value, value.position(), value.limit());
+  }
+
+  /**
+   * Encodes the characters as UTF-8 into a new buffer of the exact encoded length.
+   *
+   * @param value the characters to encode
+   * @return the buffer with the encoded bytes, ready to be read
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate, the message names
+   *   its index
+   * @since 0.4.0
+   */
+  public static ByteBuffer utf8Encode(final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return Utf8.encode(value);
+  }
+
+  /**
+   * Encodes the characters as UTF-8 into the target buffer, starting at its position.
+   *
+   * <p>
+   *   The position of the target is advanced by the number of written bytes.
+   *   Use {@link #utf8Length(CharSequence)} to size the target.
+   * </p>
+   *
+   * @param value the characters to encode
+   * @param target the buffer to write to, heap or direct
+   * @return the number of written bytes
+   * @throws IllegalArgumentException if the value or target is {@code null} or the value contains an unpaired surrogate
+   * @throws java.nio.BufferOverflowException if the remaining space of the target is insufficient
+   * @since 0.4.0
+   */
+  public static int utf8Encode(final CharSequence value, final ByteBuffer target) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    if (target == null) {
+      throw new IllegalArgumentException("target can't be null");
+    }
+    return Utf8.encode(value, target);
+  }
+
+  /**
+   * Finds the first malformed UTF-8 sequence in the remaining bytes of the buffer.
+   *
+   * <p>
+   *   Overlong encodings, encoded surrogates, code points beyond {@code U+10FFFF} and truncated sequences are malformed.
+   *   The position of the buffer is not changed.
+   * </p>
+   *
+   * @param value the buffer to verify
+   * @return the index relative to the position where the first malformed sequence starts, {@code -1} if valid
+   * @since 0.4.0
+   */
+  public static int utf8IndexOfMalformed(final ByteBuffer value) {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return Utf8.indexOfMalformed(value, value.position(), value.limit());
+  }
+
+  /**
+   * Computes the number of bytes of the UTF-8 encoding of the characters.
+   *
+   * @param value the characters to measure
+   * @return the number of bytes
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+   * @since 0.4.0
+   */
+  public static int utf8Length(final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return Utf8.encodedLength(value);
+  }
+
   /**
    * Splits a string to words.
    *
@@ -1244,18 +2577,97 @@ public abstract class Strman {
     return value.split("\\W+");
   }
 
-  private static long countSubstr(String value, String subStr, boolean allowOverlapping, long count) {
-    int position = value.indexOf(subStr);
-    if (position == -1) {
-      return count;
-    }
-    int offset;
-    if (!allowOverlapping) {
-      offset = position + subStr.length();
-    } else {
-      offset = position + 1;
+  /**
+   * Reflows a string into lines of a maximum width.
+   *
+   * <p>
+   *   Lines are filled greedily, lines consisting only of whitespace separate paragraphs.
+   *   Use {@link #wrapper(int)} for indentation, justification, minimum raggedness and streaming.
+   * </p>
+   *
+   * @param value the string to reflow
+   * @param width the maximum number of characters per line
+   * @return the reflowed string
+   * @throws IllegalArgumentException if the value is {@code null} or the width is not positive
+   * @since 0.4.0
+   */
+  public static String wrap(final String value, final int width) throws IllegalArgumentException {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    return StrmanWrapper.of(width).wrap(value);
+  }
+
+  /**
+   * Creates a wrapper that reflows text into lines of a maximum width.
+   *
+   * <p>
+   *   The wrapper fills lines greedily without indentation and justification, use the {@code with} methods of
+   *   {@link StrmanWrapper} to configure it.
+   *   {@link StrmanWrapper#wrap(java.io.Reader, java.io.Writer)} reflows a stream with memory independent of its size.
+   * </p>
+   *
+   * @param width the maximum number of characters per line
+   * @return the new wrapper
+   * @throws IllegalArgumentException if the width is not positive
+   * @since 0.4.0
+   */
+  public static StrmanWrapper wrapper(final int width) throws IllegalArgumentException {
+    return StrmanWrapper.of(width);
+  }
+
+  /**
+   * Formats the value with leading zeros to reach the width, like {@code 007}.
+   *
+   * <p>
+   *   A minus sign counts toward the width and precedes the zeros, values longer than the width are not truncated.
+   * </p>
+   *
+   * @param value the value to format
+   * @param width the minimum number of characters
+   * @return the formatted value
+   * @since 0.4.0
+   */
+  public static String zeroPad(final long value, final int width) {
+    return Numbers.zeroPad(value, width);
+  }
+
+  /**
+   * Formats the value with leading zeros to reach the width into the target.
+   *
+   * @param value the value to format
+   * @param width the minimum number of characters
+   * @param target the target to write the formatted value to
+   * @throws IOException if the target can't be written
+   * @throws IllegalArgumentException if the target is {@code null}
+   * @see #zeroPad(long, int)
+   * @since 0.4.0
+   */
+  public static void zeroPad(final long value, final int width, final Appendable target) throws IOException {
+    validateTarget(target);
+    Numbers.zeroPad(value, width, target);
+  }
+
+  /*
+   * Keeps single whitespace characters as they are, but replaces runs of them with a single space.
+   */
+  private static StringBuilder collapseWhitespace(final String value, final StringBuilder target) {
+    String trimmed = value.trim();
+    int length = trimmed.length();
+    int i = 0;
+    while (i < length) {
+      char ch = trimmed.charAt(i);
+      if (ScalarKernels.isWhitespace(ch)) {
+        int end = i + 1;
+        while (end < length && ScalarKernels.isWhitespace(trimmed.charAt(end))) {
+          end++;
+        }
+        target.append(end - i > 1 ? ' ' : ch);
+        i = end;
+      } else {
+        target.append(ch);
+        i++;
+      }
     }
-    return countSubstr(value.substring(offset), subStr, allowOverlapping, ++count);
+    return target;
   }
 
   private static String decode(final String value, final int digits, final int radix) {
@@ -1277,6 +2689,98 @@ public abstract class Strman {
     }
   }
 
+  private static void validateAlgorithm(final StrmanPhonetic algorithm) {
+    if (algorithm == null) {
+      throw new IllegalArgumentException("algorithm can't be null");
+    }
+  }
+
+  private static void validateBytes(final long bytes) {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("bytes can't be negative");
+    }
+  }
+
+  private static void validateComponent(final StrmanUrlComponent component) {
+    if (component == null) {
+      throw new IllegalArgumentException("component can't be null");
+    }
+  }
+
+  private static void validateEscaping(final CharSequence value, final Appendable target) {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    if (target == null) {
+      throw new IllegalArgumentException("target can't be null");
+    }
+  }
+
+  private static void validateFormat(final CharSequence value, final StrmanFormat format) {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    if (format == null) {
+      throw new IllegalArgumentException("format can't be null");
+    }
+  }
+
+  private static void validateInterner(final StrmanInterner interner) {
+    if (interner == null) {
+      throw new IllegalArgumentException("interner can't be null");
+    }
+  }
+
+  private static void validatePad(final String value, final String pad) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    if (pad == null) {
+      throw new IllegalArgumentException("pad can't be null");
+    }
+    if (DisplayWidth.width(pad) == 0) {
+      throw new IllegalArgumentException("pad must have a display width");
+    }
+  }
+
+  private static void validateRange(final CharSequence value, final int start, final int end) {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    if (start < 0 || start > end || end > value.length()) {
+      throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") is out of bounds for length "
+        + value.length());
+    }
+  }
+
+  private static void validateSortable(final String[] values) {
+    if (values == null) {
+      throw new IllegalArgumentException("values can't be null");
+    }
+    for (String value : values) {
+      if (value == null) {
+        throw new IllegalArgumentException("values can't contain null");
+      }
+    }
+  }
+
+  private static void validateTarget(final Appendable target) {
+    if (target == null) {
+      throw new IllegalArgumentException("target can't be null");
+    }
+  }
+
+  private static void validateTruncation(final String value, final int width, final String filler) {
+    validate(value, NULL_STRING_PREDICATE, NULL_STRING_MSG_SUPPLIER);
+    if (filler == null) {
+      throw new IllegalArgumentException("filler can't be null");
+    }
+    if (width < 0) {
+      throw new IllegalArgumentException("width can't be negative");
+    }
+    if (width > 0 && DisplayWidth.width(filler) > width) {
+      throw new IllegalArgumentException("filler can't be wider than the width");
+    }
+  }
+
   /**
    * Returns the ArcVer / SemVer version of the public API.
    *
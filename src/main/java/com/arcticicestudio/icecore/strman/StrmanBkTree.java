@@ -0,0 +1,200 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman BK-Tree                                    +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Indexes a dictionary of strings for lookups of all entries within a maximum Levenshtein distance.
+ * <p>
+ *   The entries are organized as a <a href="https://en.wikipedia.org/wiki/BK-tree">BK-tree</a>, so a lookup only
+ *   computes the distance to the entries the triangle inequality can't rule out.
+ *   Nodes are stored in flat arrays instead of objects to keep dictionaries with millions of entries compact.
+ * </p>
+ * <p>
+ *   The tree is immutable after its creation and can be searched concurrently.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#levenshteinDistance(String, String, int)
+ * @since 0.4.0
+ */
+public final class StrmanBkTree {
+
+  private final String[] entries;
+  private final int[] firstChild;
+  private final int[] nextSibling;
+  private final int[] edge;
+  private final int size;
+
+  private StrmanBkTree(final Collection<String> dictionary) {
+    int capacity = dictionary.size();
+    entries = new String[capacity];
+    firstChild = new int[capacity];
+    nextSibling = new int[capacity];
+    edge = new int[capacity];
+    Arrays.fill(firstChild, -1);
+    Arrays.fill(nextSibling, -1);
+    int count = 0;
+    for (String entry : dictionary) {
+      if (entry == null) {
+        throw new IllegalArgumentException("dictionary can't contain null");
+      }
+      if (count == 0 || insert(entry, count)) {
+        entries[count++] = entry;
+      }
+    }
+    size = count;
+  }
+
+  /**
+   * Creates an index of the dictionary.
+   * <p>
+   *   Duplicate entries are only indexed once.
+   * </p>
+   *
+   * @param dictionary the strings to index
+   * @return the new index
+   * @throws IllegalArgumentException if the dictionary or one of its entries is {@code null}
+   */
+  public static StrmanBkTree of(final Collection<String> dictionary) throws IllegalArgumentException {
+    if (dictionary == null) {
+      throw new IllegalArgumentException("dictionary can't be null");
+    }
+    return new StrmanBkTree(dictionary);
+  }
+
+  /**
+   * Finds the closest entry within the maximum distance.
+   * <p>
+   *   Ties are resolved in favor of the entry that has been added to the dictionary first.
+   * </p>
+   *
+   * @param query the string to look up
+   * @param maxDistance the maximum Levenshtein distance
+   * @return an {@link Optional} entry if found, empty otherwise
+   * @throws IllegalArgumentException if the query is {@code null} or the maximum distance is negative
+   */
+  public Optional<String> nearest(final String query, final int maxDistance) throws IllegalArgumentException {
+    List<Match> matches = searchMatches(query, maxDistance);
+    return matches.isEmpty() ? Optional.empty() : Optional.of(matches.get(0).entry);
+  }
+
+  /**
+   * Finds all entries within the maximum distance.
+   *
+   * @param query the string to look up
+   * @param maxDistance the maximum Levenshtein distance
+   * @return all entries ordered by their distance and the order they have been added to the dictionary
+   * @throws IllegalArgumentException if the query is {@code null} or the maximum distance is negative
+   */
+  public List<String> search(final String query, final int maxDistance) throws IllegalArgumentException {
+    List<Match> matches = searchMatches(query, maxDistance);
+    List<String> result = new ArrayList<>(matches.size());
+    for (Match match : matches) {
+      result.add(match.entry);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of indexed entries.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return size;
+  }
+
+  private boolean insert(final String entry, final int node) {
+    int current = 0;
+    while (true) {
+      int distance = EditDistance.levenshtein(entries[current], entry, Integer.MAX_VALUE);
+      if (distance == 0) {
+        return false;
+      }
+      int child = firstChild[current];
+      while (child != -1 && edge[child] != distance) {
+        child = nextSibling[child];
+      }
+      if (child == -1) {
+        edge[node] = distance;
+        nextSibling[node] = firstChild[current];
+        firstChild[current] = node;
+        return true;
+      }
+      current = child;
+    }
+  }
+
+  private List<Match> searchMatches(final String query, final int maxDistance) {
+    if (query == null) {
+      throw new IllegalArgumentException("query can't be null");
+    }
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("maxDistance can't be negative");
+    }
+    if (size == 0) {
+      return Collections.emptyList();
+    }
+    List<Match> matches = new ArrayList<>();
+    int[] stack = new int[16];
+    int top = 0;
+    stack[top++] = 0;
+    while (top > 0) {
+      int node = stack[--top];
+      /* The exact distance is required to prune the children, the bound only skips needless work beyond it. */
+      int distance = EditDistance.levenshtein(entries[node], query, maxDistance + longestEdge(node));
+      if (distance < 0) {
+        continue;
+      }
+      if (distance <= maxDistance) {
+        matches.add(new Match(entries[node], distance, node));
+      }
+      for (int child = firstChild[node]; child != -1; child = nextSibling[child]) {
+        if (Math.abs(edge[child] - distance) <= maxDistance) {
+          if (top == stack.length) {
+            stack = Arrays.copyOf(stack, top << 1);
+          }
+          stack[top++] = child;
+        }
+      }
+    }
+    matches.sort((a, b) -> a.distance != b.distance ? Integer.compare(a.distance, b.distance) : Integer.compare(a.node, b.node));
+    return matches;
+  }
+
+  private int longestEdge(final int node) {
+    int longest = 0;
+    for (int child = firstChild[node]; child != -1; child = nextSibling[child]) {
+      longest = Math.max(longest, edge[child]);
+    }
+    return longest;
+  }
+
+  private static final class Match {
+    private final String entry;
+    private final int distance;
+    private final int node;
+
+    Match(final String entry, final int distance, final int node) {
+      this.entry = entry;
+      this.distance = distance;
+      this.node = node;
+    }
+  }
+}
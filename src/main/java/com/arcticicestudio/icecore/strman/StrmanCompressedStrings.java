@@ -0,0 +1,249 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Compressed Strings                         +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Stores many short strings compressed with a {@link StrmanSymbolTable} for random access by their index.
+ * <p>
+ *   The compressed forms are packed back to back into pages of up to 16 MiB, a string never spans two pages.
+ *   Besides the compressed bytes every string only takes four bytes for its offset within the page, so hundreds of
+ *   millions of strings don't need more memory than their compressed forms and don't create any objects.
+ * </p>
+ * <p>
+ *   The store is immutable after its creation and can be read concurrently.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see StrmanSymbolTable
+ * @since 0.4.0
+ */
+public final class StrmanCompressedStrings {
+
+  private static final int PAGE_BYTES = 1 << 24;
+  private static final int MIN_PAGE_BYTES = 1 << 12;
+
+  private final StrmanSymbolTable table;
+  private final byte[][] pages;
+  private final int[] pageFirst;
+  private final int[] offsets;
+  private final int size;
+
+  private StrmanCompressedStrings(final StrmanSymbolTable table, final byte[][] pages, final int[] pageFirst,
+                                  final int[] offsets, final int size) {
+    this.table = table;
+    this.pages = pages;
+    this.pageFirst = pageFirst;
+    this.offsets = offsets;
+    this.size = size;
+  }
+
+  /**
+   * Creates a builder of a store compressing the strings with the table.
+   *
+   * @param table the table to compress the strings with
+   * @return the new builder
+   * @throws IllegalArgumentException if the table is {@code null}
+   */
+  public static Builder builder(final StrmanSymbolTable table) throws IllegalArgumentException {
+    if (table == null) {
+      throw new IllegalArgumentException("table can't be null");
+    }
+    return new Builder(table);
+  }
+
+  /**
+   * Returns the number of compressed bytes of all strings.
+   *
+   * @return the number of bytes
+   */
+  public long compressedBytes() {
+    long bytes = 0;
+    for (byte[] page : pages) {
+      bytes += page.length;
+    }
+    return bytes;
+  }
+
+  /**
+   * Verifies that the string at the index is equal to the value without decompressing it.
+   *
+   * @param index the index of the string
+   * @param value the value to compare to
+   * @return {@code true} if equal, {@code false} otherwise
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean equals(final int index, final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    int page = page(index);
+    return table.compare(pages[page], offsets[index], end(page, index), Utf8.encode(value), true);
+  }
+
+  /**
+   * Decompresses the string at the index.
+   *
+   * @param index the index of the string
+   * @return the decompressed string
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public String get(final int index) {
+    int page = page(index);
+    return table.decompress(pages[page], offsets[index], end(page, index));
+  }
+
+  /**
+   * Returns the number of strings.
+   *
+   * @return the number of strings
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Verifies that the string at the index starts with the prefix, decoding only the symbols covering the prefix.
+   *
+   * @param index the index of the string
+   * @param prefix the prefix to find
+   * @return {@code true} if the string starts with the prefix, {@code false} otherwise
+   * @throws IllegalArgumentException if the prefix is {@code null} or contains an unpaired surrogate
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public boolean startsWith(final int index, final CharSequence prefix) throws IllegalArgumentException {
+    if (prefix == null) {
+      throw new IllegalArgumentException("prefix can't be null");
+    }
+    int page = page(index);
+    return table.compare(pages[page], offsets[index], end(page, index), Utf8.encode(prefix), false);
+  }
+
+  /**
+   * Returns the table the strings are compressed with.
+   *
+   * @return the symbol table
+   */
+  public StrmanSymbolTable table() {
+    return table;
+  }
+
+  private int end(final int page, final int index) {
+    return index + 1 < size && (page + 1 == pageFirst.length || pageFirst[page + 1] > index + 1)
+      ? offsets[index + 1] : pages[page].length;
+  }
+
+  /*
+   * Finds the page of the string by binary searching the index of the first string of every page.
+   */
+  private int page(final int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("index " + index + " is out of range for " + size + " strings");
+    }
+    int page = Arrays.binarySearch(pageFirst, index);
+    return page < 0 ? -page - 2 : page;
+  }
+
+  /**
+   * Collects the strings of a {@link StrmanCompressedStrings} store.
+   * <p>
+   *   Strings are numbered in the order they are added, starting with {@code 0}.
+   *   Builders are not thread-safe.
+   * </p>
+   *
+   * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+   * @since 0.4.0
+   */
+  public static final class Builder {
+    private final StrmanSymbolTable table;
+    private byte[][] pages = new byte[0][];
+    private int[] pageFirst = new int[0];
+    private byte[] page;
+    private int used;
+    private int[] offsets = new int[16];
+    private int size;
+    private boolean built;
+
+    private Builder(final StrmanSymbolTable table) {
+      this.table = table;
+    }
+
+    /**
+     * Compresses and adds a string.
+     *
+     * @param value the string to add
+     * @return the index of the string
+     * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+     * @throws IllegalStateException if the store has already been built
+     */
+    public int add(final CharSequence value) throws IllegalArgumentException, IllegalStateException {
+      if (built) {
+        throw new IllegalStateException("store has already been built");
+      }
+      if (value == null) {
+        throw new IllegalArgumentException("value can't be null");
+      }
+      if (size == Integer.MAX_VALUE) {
+        throw new IllegalStateException("store can't contain more than " + Integer.MAX_VALUE + " strings");
+      }
+      ByteBuffer bytes = Utf8.encode(value);
+      int maxLength = bytes.remaining() << 1;
+      if (page == null || used + maxLength > page.length) {
+        if (page != null && used + maxLength <= PAGE_BYTES) {
+          page = Arrays.copyOf(page, Math.min(PAGE_BYTES, Math.max(used + maxLength, page.length << 1)));
+        } else {
+          newPage(maxLength);
+        }
+      }
+      if (size == offsets.length) {
+        offsets = Arrays.copyOf(offsets, (int) Math.min(Integer.MAX_VALUE - 8, size * 3L / 2));
+      }
+      offsets[size] = used;
+      used += table.compress(bytes.array(), 0, bytes.remaining(), page, used);
+      return size++;
+    }
+
+    /**
+     * Builds the store of all added strings.
+     *
+     * @return the new store
+     * @throws IllegalStateException if the store has already been built
+     */
+    public StrmanCompressedStrings build() throws IllegalStateException {
+      if (built) {
+        throw new IllegalStateException("store has already been built");
+      }
+      built = true;
+      trimPage();
+      return new StrmanCompressedStrings(table, pages, pageFirst, Arrays.copyOf(offsets, size), size);
+    }
+
+    private void newPage(final int minLength) {
+      trimPage();
+      page = new byte[Math.max(MIN_PAGE_BYTES, minLength)];
+      used = 0;
+      pages = Arrays.copyOf(pages, pages.length + 1);
+      pageFirst = Arrays.copyOf(pageFirst, pageFirst.length + 1);
+      pageFirst[pageFirst.length - 1] = size;
+    }
+
+    private void trimPage() {
+      if (page != null) {
+        pages[pages.length - 1] = Arrays.copyOf(page, used);
+        page = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,681 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Diff                                       +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents the edit script that turns a text into another one.
+ * <p>
+ *   The script is computed with Myers' {@code O(ND)} algorithm in its linear space variant: the middle snake of the
+ *   shortest edit path is searched from both ends at once and both halves are solved recursively, so only two
+ *   vectors of {@code O(D)} entries are kept besides the texts.
+ *   Common prefixes and suffixes are stripped before, words and lines are mapped to integers so that each comparison
+ *   of the algorithm is a single {@code int} comparison.
+ * </p>
+ * <p>
+ *   A maximum distance bounds the time to {@code O((N+M)·max)}, texts that differ in more units are reported as a
+ *   single replacement of everything between their common prefix and suffix.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://doi.org/10.1007/BF01840446">Myers, An O(ND) difference algorithm and its variations</a>
+ * @see Strman#diff(String, String, StrmanDiffUnit, int)
+ * @since 0.4.0
+ */
+public final class StrmanDiff {
+
+  private final String first;
+  private final String second;
+  private final StrmanDiffUnit unit;
+  private final int[] firstBounds;
+  private final int[] secondBounds;
+  private final List<Edit> edits;
+  private final int distance;
+  private final boolean minimal;
+
+  private StrmanDiff(final String first, final String second, final StrmanDiffUnit unit, final int maxDistance) {
+    this.first = first;
+    this.second = second;
+    this.unit = unit;
+    int[] a;
+    int[] b;
+    if (unit == StrmanDiffUnit.CHARACTER) {
+      firstBounds = null;
+      secondBounds = null;
+      a = chars(first);
+      b = chars(second);
+    } else {
+      firstBounds = bounds(first, unit);
+      secondBounds = bounds(second, unit);
+      a = new int[firstBounds.length - 1];
+      b = new int[secondBounds.length - 1];
+      new Symbols(first, firstBounds, second, secondBounds).map(a, b);
+    }
+    Myers myers = new Myers(a, b, maxDistance);
+    this.edits = Collections.unmodifiableList(myers.edits);
+    this.distance = myers.distance;
+    this.minimal = myers.minimal;
+  }
+
+  /**
+   * Computes the shortest edit script between the texts.
+   *
+   * @param first the original text
+   * @param second the changed text
+   * @param unit the units to compare
+   * @param maxDistance the maximum number of inserted and deleted units to search a shortest script for
+   * @return the edit script
+   * @throws IllegalArgumentException if a text or the unit is {@code null} or the maximum distance is negative
+   */
+  static StrmanDiff of(final String first, final String second, final StrmanDiffUnit unit, final int maxDistance)
+    throws IllegalArgumentException {
+    if (first == null || second == null) {
+      throw new IllegalArgumentException("texts can't be null");
+    }
+    if (unit == null) {
+      throw new IllegalArgumentException("unit can't be null");
+    }
+    if (maxDistance < 0) {
+      throw new IllegalArgumentException("maxDistance can't be negative");
+    }
+    return new StrmanDiff(first, second, unit, maxDistance);
+  }
+
+  /**
+   * Returns the number of inserted and deleted units.
+   *
+   * @return the distance
+   */
+  public int distance() {
+    return distance;
+  }
+
+  /**
+   * Returns the edits in the order of the texts.
+   * <p>
+   *   Equal runs alternate with changes, a change consists of a {@link Operation#DELETE} followed by an
+   *   {@link Operation#INSERT} when both texts differ at the same position.
+   * </p>
+   *
+   * @return the unmodifiable list of edits
+   */
+  public List<Edit> edits() {
+    return edits;
+  }
+
+  /**
+   * Verifies that the texts are equal.
+   *
+   * @return {@code true} if equal, {@code false} otherwise
+   */
+  public boolean isEqual() {
+    return distance == 0;
+  }
+
+  /**
+   * Verifies that the script is a shortest one.
+   * <p>
+   *   A script can only be longer than necessary when the texts differ in more units than the maximum distance allows.
+   * </p>
+   *
+   * @return {@code true} if minimal, {@code false} otherwise
+   */
+  public boolean isMinimal() {
+    return minimal;
+  }
+
+  /**
+   * Returns the units the texts have been compared in.
+   *
+   * @return the units
+   */
+  public StrmanDiffUnit unit() {
+    return unit;
+  }
+
+  /**
+   * Renders the script in the unified diff format.
+   *
+   * @param firstName the name of the original text
+   * @param secondName the name of the changed text
+   * @param context the number of equal units around each change
+   * @return the rendered script, empty if the texts are equal
+   * @throws IllegalArgumentException if a name is {@code null} or the context is negative
+   */
+  public String unified(final String firstName, final String secondName, final int context)
+    throws IllegalArgumentException {
+    StringBuilder target = new StringBuilder();
+    try {
+      unified(firstName, secondName, context, target);
+    } catch (IOException e) {
+      /* Appending to a StringBuilder can't fail. */
+      throw new IllegalStateException(e);
+    }
+    return target.toString();
+  }
+
+  /**
+   * Writes the script in the unified diff format.
+   * <p>
+   *   Hunks are numbered in units, so the output matches {@code diff -u} for {@link StrmanDiffUnit#LINE}.
+   *   Every unit is written on its own line, an unterminated last line is marked with
+   *   {@code \ No newline at end of file}.
+   *   Changes separated by at most twice the context are merged into one hunk.
+   * </p>
+   *
+   * @param firstName the name of the original text
+   * @param secondName the name of the changed text
+   * @param context the number of equal units around each change
+   * @param target the target to write to
+   * @throws IllegalArgumentException if a name or the target is {@code null} or the context is negative
+   * @throws IOException if the target can't be written
+   */
+  public void unified(final String firstName, final String secondName, final int context, final Appendable target)
+    throws IOException {
+    if (firstName == null || secondName == null) {
+      throw new IllegalArgumentException("names can't be null");
+    }
+    if (context < 0) {
+      throw new IllegalArgumentException("context can't be negative");
+    }
+    if (target == null) {
+      throw new IllegalArgumentException("target can't be null");
+    }
+    if (distance == 0) {
+      return;
+    }
+    target.append("--- ").append(firstName).append('\n');
+    target.append("+++ ").append(secondName).append('\n');
+    int firstCount = count(firstBounds, first);
+    int last = edits.size() - 1;
+    int from = edits.get(0).operation == Operation.EQUAL ? 1 : 0;
+    while (from <= last) {
+      int to = from;
+      while (to < last && (edits.get(to + 1).operation != Operation.EQUAL
+        || to + 2 <= last && edits.get(to + 1).length() <= 2 * context)) {
+        to++;
+      }
+      Edit head = edits.get(from);
+      Edit tail = edits.get(to);
+      int firstFrom = Math.max(0, head.firstStart - context);
+      int secondFrom = head.secondStart - (head.firstStart - firstFrom);
+      int firstTo = Math.min(firstCount, tail.firstEnd + context);
+      int secondTo = tail.secondEnd + (firstTo - tail.firstEnd);
+      target.append("@@ -");
+      writeRange(firstFrom, firstTo - firstFrom, target);
+      target.append(" +");
+      writeRange(secondFrom, secondTo - secondFrom, target);
+      target.append(" @@\n");
+      writeUnits(' ', first, firstBounds, firstFrom, head.firstStart, target);
+      for (int i = from; i <= to; i++) {
+        Edit edit = edits.get(i);
+        if (edit.operation == Operation.INSERT) {
+          writeUnits('+', second, secondBounds, edit.secondStart, edit.secondEnd, target);
+        } else {
+          writeUnits(edit.operation == Operation.DELETE ? '-' : ' ', first, firstBounds, edit.firstStart,
+            edit.firstEnd, target);
+        }
+      }
+      writeUnits(' ', first, firstBounds, tail.firstEnd, firstTo, target);
+      from = to + 2;
+    }
+  }
+
+  private static int[] bounds(final String text, final StrmanDiffUnit unit) {
+    int length = text.length();
+    int[] bounds = new int[Math.min(length, 64) + 1];
+    int count = 0;
+    int i = 0;
+    while (i < length) {
+      int end;
+      if (unit == StrmanDiffUnit.LINE) {
+        end = text.indexOf('\n', i);
+        end = end < 0 ? length : end + 1;
+      } else {
+        end = wordEnd(text, i);
+      }
+      if (++count == bounds.length) {
+        bounds = Arrays.copyOf(bounds, bounds.length << 1);
+      }
+      bounds[count] = end;
+      i = end;
+    }
+    return Arrays.copyOf(bounds, count + 1);
+  }
+
+  private static int[] chars(final String text) {
+    int[] chars = new int[text.length()];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = text.charAt(i);
+    }
+    return chars;
+  }
+
+  private static boolean isWordChar(final int codePoint) {
+    return Character.isLetterOrDigit(codePoint) || codePoint == '_';
+  }
+
+  private static int wordEnd(final String text, final int start) {
+    int codePoint = text.codePointAt(start);
+    int end = start + Character.charCount(codePoint);
+    if (isWordChar(codePoint)) {
+      while (end < text.length() && isWordChar(codePoint = text.codePointAt(end))) {
+        end += Character.charCount(codePoint);
+      }
+    } else if (Character.isWhitespace(codePoint)) {
+      while (end < text.length() && Character.isWhitespace(codePoint = text.codePointAt(end))) {
+        end += Character.charCount(codePoint);
+      }
+    }
+    return end;
+  }
+
+  private static int count(final int[] bounds, final String text) {
+    return bounds == null ? text.length() : bounds.length - 1;
+  }
+
+  private static int offset(final int[] bounds, final int index) {
+    return bounds == null ? index : bounds[index];
+  }
+
+  private static void writeRange(final int start, final int length, final Appendable target) throws IOException {
+    /* An empty range is numbered by the line before it, like diff does. */
+    target.append(Integer.toString(length == 0 ? start : start + 1));
+    if (length != 1) {
+      target.append(',').append(Integer.toString(length));
+    }
+  }
+
+  private void writeUnits(final char prefix, final String text, final int[] bounds, final int from, final int to,
+    final Appendable target) throws IOException {
+    for (int i = from; i < to; i++) {
+      int start = offset(bounds, i);
+      int end = offset(bounds, i + 1);
+      target.append(prefix).append(text, start, end);
+      if (end == start || text.charAt(end - 1) != '\n') {
+        target.append('\n');
+        if (unit == StrmanDiffUnit.LINE) {
+          target.append("\\ No newline at end of file\n");
+        }
+      }
+    }
+  }
+
+  /**
+   * Represents the operations of an edit script.
+   *
+   * @since 0.4.0
+   */
+  public enum Operation {
+
+    /**
+     * Keeps units of both texts.
+     */
+    EQUAL,
+
+    /**
+     * Deletes units of the original text.
+     */
+    DELETE,
+
+    /**
+     * Inserts units of the changed text.
+     */
+    INSERT
+  }
+
+  /**
+   * Represents a run of units with the same operation.
+   * <p>
+   *   Positions count units of the respective text, the range of the text the edit doesn't apply to is empty.
+   * </p>
+   *
+   * @since 0.4.0
+   */
+  public final class Edit {
+
+    private final Operation operation;
+    private final int firstStart;
+    private final int firstEnd;
+    private final int secondStart;
+    private final int secondEnd;
+
+    Edit(final Operation operation, final int firstStart, final int firstEnd, final int secondStart,
+      final int secondEnd) {
+      this.operation = operation;
+      this.firstStart = firstStart;
+      this.firstEnd = firstEnd;
+      this.secondStart = secondStart;
+      this.secondEnd = secondEnd;
+    }
+
+    /**
+     * Returns the operation.
+     *
+     * @return the operation
+     */
+    public Operation operation() {
+      return operation;
+    }
+
+    /**
+     * Returns the position of the first unit in the original text.
+     *
+     * @return the inclusive start position
+     */
+    public int firstStart() {
+      return firstStart;
+    }
+
+    /**
+     * Returns the position after the last unit in the original text.
+     *
+     * @return the exclusive end position
+     */
+    public int firstEnd() {
+      return firstEnd;
+    }
+
+    /**
+     * Returns the position of the first unit in the changed text.
+     *
+     * @return the inclusive start position
+     */
+    public int secondStart() {
+      return secondStart;
+    }
+
+    /**
+     * Returns the position after the last unit in the changed text.
+     *
+     * @return the exclusive end position
+     */
+    public int secondEnd() {
+      return secondEnd;
+    }
+
+    /**
+     * Returns the number of units.
+     *
+     * @return the number of units
+     */
+    public int length() {
+      return operation == Operation.INSERT ? secondEnd - secondStart : firstEnd - firstStart;
+    }
+
+    /**
+     * Returns the text of the units, taken from the changed text for insertions and from the original text otherwise.
+     *
+     * @return the text of the units
+     */
+    public String text() {
+      if (operation == Operation.INSERT) {
+        return second.substring(offset(secondBounds, secondStart), offset(secondBounds, secondEnd));
+      }
+      return first.substring(offset(firstBounds, firstStart), offset(firstBounds, firstEnd));
+    }
+
+    @Override
+    public String toString() {
+      return operation + "[" + firstStart + ", " + firstEnd + ") [" + secondStart + ", " + secondEnd + ")";
+    }
+  }
+
+  /*
+   * Maps equal units of both texts to the same integer with an open addressing hash table over the ranges of the
+   * texts, so no substring is created per unit.
+   */
+  private static final class Symbols {
+
+    private final String first;
+    private final int[] firstBounds;
+    private final String second;
+    private final int[] secondBounds;
+    private final int[] slots;
+    private final int[] hashes;
+    private final int[] units;
+    private final int mask;
+    private int count;
+
+    Symbols(final String first, final int[] firstBounds, final String second, final int[] secondBounds) {
+      this.first = first;
+      this.firstBounds = firstBounds;
+      this.second = second;
+      this.secondBounds = secondBounds;
+      int capacity = Integer.highestOneBit(Math.max(2, (firstBounds.length + secondBounds.length) * 2 - 1)) << 1;
+      slots = new int[capacity];
+      hashes = new int[capacity];
+      units = new int[capacity];
+      mask = capacity - 1;
+    }
+
+    void map(final int[] a, final int[] b) {
+      for (int i = 0; i < a.length; i++) {
+        a[i] = symbol(i);
+      }
+      for (int i = 0; i < b.length; i++) {
+        b[i] = symbol(~i);
+      }
+    }
+
+    /*
+     * Units of the second text are referenced by their complement.
+     */
+    private int symbol(final int unit) {
+      int hash = hash(unit);
+      int slot = hash & mask;
+      while (slots[slot] != 0) {
+        if (hashes[slot] == hash && matches(units[slot], unit)) {
+          return slots[slot] - 1;
+        }
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = ++count;
+      hashes[slot] = hash;
+      units[slot] = unit;
+      return count - 1;
+    }
+
+    private int hash(final int unit) {
+      String text = unit < 0 ? second : first;
+      int[] bounds = unit < 0 ? secondBounds : firstBounds;
+      int index = unit < 0 ? ~unit : unit;
+      int hash = 0;
+      for (int i = bounds[index], end = bounds[index + 1]; i < end; i++) {
+        hash = 31 * hash + text.charAt(i);
+      }
+      return hash ^ (hash >>> 16);
+    }
+
+    private boolean matches(final int unit, final int other) {
+      String text = unit < 0 ? second : first;
+      int[] bounds = unit < 0 ? secondBounds : firstBounds;
+      int index = unit < 0 ? ~unit : unit;
+      String otherText = other < 0 ? second : first;
+      int[] otherBounds = other < 0 ? secondBounds : firstBounds;
+      int otherIndex = other < 0 ? ~other : other;
+      int length = bounds[index + 1] - bounds[index];
+      return length == otherBounds[otherIndex + 1] - otherBounds[otherIndex]
+        && text.regionMatches(bounds[index], otherText, otherBounds[otherIndex], length);
+    }
+  }
+
+  /*
+   * Computes the edit script of two texts mapped to sequences of integers.
+   */
+  private final class Myers {
+
+    private final int[] a;
+    private final int[] b;
+    private final List<Edit> edits = new ArrayList<>();
+    private final int[] snake = new int[4];
+    private final int[] forward;
+    private final int[] backward;
+    private final int vectorOffset;
+    private int distance;
+    private boolean minimal = true;
+    private int deleteStart;
+    private int deleteEnd;
+    private int insertStart;
+    private int insertEnd;
+
+    Myers(final int[] a, final int[] b, final int maxDistance) {
+      this.a = a;
+      this.b = b;
+      /* The middle snake of a path of D edits is found after at most ⌈D/2⌉ rounds from each end. */
+      int rounds = (int) Math.min((a.length + b.length + 1L) / 2, maxDistance / 2L + 1);
+      vectorOffset = rounds + 1;
+      forward = new int[2 * rounds + 3];
+      backward = new int[2 * rounds + 3];
+      compare(0, a.length, 0, b.length, maxDistance);
+      flush();
+    }
+
+    private void compare(int aLo, int aHi, int bLo, int bHi, final int maxDistance) {
+      int prefix = 0;
+      while (aLo + prefix < aHi && bLo + prefix < bHi && a[aLo + prefix] == b[bLo + prefix]) {
+        prefix++;
+      }
+      equal(aLo, bLo, prefix);
+      aLo += prefix;
+      bLo += prefix;
+      int suffix = 0;
+      while (aLo < aHi - suffix && bLo < bHi - suffix && a[aHi - suffix - 1] == b[bHi - suffix - 1]) {
+        suffix++;
+      }
+      aHi -= suffix;
+      bHi -= suffix;
+      if (aLo == aHi || bLo == bHi) {
+        change(aLo, aHi, bLo, bHi);
+      } else if (middleSnake(aLo, aHi, bLo, bHi, maxDistance) < 0) {
+        minimal = false;
+        change(aLo, aHi, bLo, bHi);
+      } else {
+        /* Both halves differ in fewer units than the whole, so they can't exceed the maximum distance. */
+        int x = aLo + snake[0];
+        int y = bLo + snake[1];
+        int u = aLo + snake[2];
+        int v = bLo + snake[3];
+        compare(aLo, x, bLo, y, Integer.MAX_VALUE);
+        equal(x, y, u - x);
+        compare(u, aHi, v, bHi, Integer.MAX_VALUE);
+      }
+      equal(aHi, bHi, suffix);
+    }
+
+    /*
+     * Searches the snake in the middle of a shortest edit path, stored as the relative start- and end point into the
+     * snake array. Returns the length of the path or -1 if it exceeds the maximum distance.
+     */
+    private int middleSnake(final int aLo, final int aHi, final int bLo, final int bHi, final int maxDistance) {
+      int n = aHi - aLo;
+      int m = bHi - bLo;
+      int delta = n - m;
+      boolean odd = (delta & 1) != 0;
+      int[] vf = forward;
+      int[] vb = backward;
+      int o = vectorOffset;
+      vf[o + 1] = 0;
+      vb[o + 1] = 0;
+      for (int d = 0, rounds = (n + m + 1) / 2; d <= rounds; d++) {
+        if (2L * d - 1 > maxDistance) {
+          return -1;
+        }
+        for (int k = -d; k <= d; k += 2) {
+          int x = k == -d || k != d && vf[o + k - 1] < vf[o + k + 1] ? vf[o + k + 1] : vf[o + k - 1] + 1;
+          int y = x - k;
+          int x0 = x;
+          int y0 = y;
+          while (x < n && y < m && a[aLo + x] == b[bLo + y]) {
+            x++;
+            y++;
+          }
+          vf[o + k] = x;
+          int reverse = delta - k;
+          if (odd && reverse >= 1 - d && reverse <= d - 1 && x + vb[o + reverse] >= n) {
+            setSnake(x0, y0, x, y);
+            return 2 * d - 1;
+          }
+        }
+        if (2L * d > maxDistance) {
+          return -1;
+        }
+        for (int k = -d; k <= d; k += 2) {
+          int x = k == -d || k != d && vb[o + k - 1] < vb[o + k + 1] ? vb[o + k + 1] : vb[o + k - 1] + 1;
+          int y = x - k;
+          int x0 = x;
+          int y0 = y;
+          while (x < n && y < m && a[aHi - x - 1] == b[bHi - y - 1]) {
+            x++;
+            y++;
+          }
+          vb[o + k] = x;
+          int straight = delta - k;
+          if (!odd && straight >= -d && straight <= d && x + vf[o + straight] >= n) {
+            setSnake(n - x, m - y, n - x0, m - y0);
+            return 2 * d;
+          }
+        }
+      }
+      throw new IllegalStateException("no middle snake");
+    }
+
+    private void setSnake(final int x, final int y, final int u, final int v) {
+      snake[0] = x;
+      snake[1] = y;
+      snake[2] = u;
+      snake[3] = v;
+    }
+
+    private void change(final int aLo, final int aHi, final int bLo, final int bHi) {
+      if (deleteStart == deleteEnd && insertStart == insertEnd) {
+        deleteStart = aLo;
+        insertStart = bLo;
+      }
+      deleteEnd = aHi;
+      insertEnd = bHi;
+    }
+
+    private void equal(final int aLo, final int bLo, final int length) {
+      if (length == 0) {
+        return;
+      }
+      flush();
+      int last = edits.size() - 1;
+      if (last >= 0 && edits.get(last).operation == Operation.EQUAL) {
+        Edit previous = edits.remove(last);
+        edits.add(new Edit(Operation.EQUAL, previous.firstStart, aLo + length, previous.secondStart, bLo + length));
+      } else {
+        edits.add(new Edit(Operation.EQUAL, aLo, aLo + length, bLo, bLo + length));
+      }
+      deleteStart = deleteEnd = aLo + length;
+      insertStart = insertEnd = bLo + length;
+    }
+
+    private void flush() {
+      if (deleteStart < deleteEnd) {
+        edits.add(new Edit(Operation.DELETE, deleteStart, deleteEnd, insertStart, insertStart));
+      }
+      if (insertStart < insertEnd) {
+        edits.add(new Edit(Operation.INSERT, deleteEnd, deleteEnd, insertStart, insertEnd));
+      }
+      distance += deleteEnd - deleteStart + insertEnd - insertStart;
+      deleteStart = deleteEnd;
+      insertStart = insertEnd;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Diff Unit                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Represents the units two texts are split into before they are compared.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#diff(String, String, StrmanDiffUnit)
+ * @since 0.4.0
+ */
+public enum StrmanDiffUnit {
+
+  /**
+   * Compares single UTF-16 characters.
+   */
+  CHARACTER,
+
+  /**
+   * Compares words, runs of whitespace and single other characters.
+   * <p>
+   *   Words consist of the same characters as of {@link Strman#words(String)}, letters, digits and {@code _}.
+   * </p>
+   */
+  WORD,
+
+  /**
+   * Compares lines including their terminating {@code \n}, the last line may be unterminated.
+   */
+  LINE
+}
@@ -0,0 +1,114 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Format                                     +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.function.ToIntFunction;
+
+/**
+ * Represents the formats strings can be validated against.
+ * <p>
+ *   Every format is verified by a hand-written scanner that reads each character at most once, never backtracks and
+ *   doesn't allocate, so the validation runs in linear time regardless of the input.
+ *   Values must match the whole format, surrounding whitespace is invalid.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#indexOfInvalid(CharSequence, StrmanFormat)
+ * @see Strman#isValid(CharSequence, StrmanFormat)
+ * @since 0.4.0
+ */
+public enum StrmanFormat {
+
+  /**
+   * A decimal floating-point number like {@code -12.5e3}, with an optional sign, fraction and exponent.
+   * <p>
+   *   Either the integer or the fractional digits may be omitted, like in {@code 1.} or {@code .5}.
+   *   Hexadecimal notation, {@code NaN}, {@code Infinity} and type suffixes are not supported.
+   * </p>
+   */
+  DECIMAL(Validators::decimal),
+
+  /**
+   * An email address like {@code john.doe@example.com}.
+   * <p>
+   *   The local part is a dot-atom of <a href="https://tools.ietf.org/html/rfc5322#section-3.2.3">RFC 5322</a> of at
+   *   most 64 characters, quoted local parts and comments are not supported.
+   *   The domain consists of one or more labels of letters, digits and hyphens, not starting or ending with a hyphen,
+   *   of at most 63 characters each.
+   *   The whole address must not be longer than 254 characters.
+   * </p>
+   */
+  EMAIL(Validators::email),
+
+  /**
+   * An integer of decimal digits with an optional sign like {@code -42}, regardless of its magnitude.
+   */
+  INTEGER(Validators::integer),
+
+  /**
+   * An IPv4 address in dotted-decimal notation like {@code 192.168.0.1}.
+   * <p>
+   *   Octets with leading zeros are invalid since they are interpreted as octal numbers by some parsers.
+   * </p>
+   */
+  IPV4(Validators::ipv4),
+
+  /**
+   * An IPv6 address in the text representation of <a href="https://tools.ietf.org/html/rfc4291#section-2.2">RFC 4291</a>
+   * like {@code 2001:db8::1} or {@code ::ffff:192.168.0.1}.
+   * <p>
+   *   Groups of up to four hexadecimal digits may be compressed by {@code ::} once and the last 32 bits may be written
+   *   as IPv4 address.
+   *   Zone IDs and prefix lengths are not supported.
+   * </p>
+   */
+  IPV6(Validators::ipv6),
+
+  /**
+   * A calendar date of the extended format of ISO 8601 like {@code 2016-02-29}, considering the number of days per
+   * month and leap years.
+   */
+  ISO_DATE(Validators::isoDate),
+
+  /**
+   * A date and time of <a href="https://tools.ietf.org/html/rfc3339#section-5.6">RFC 3339</a> like
+   * {@code 2016-02-29T13:37:00.042+01:00}.
+   * <p>
+   *   The fraction of a second and the offset are optional, a missing offset denotes a local date and time.
+   *   A leap second {@code 60} is valid.
+   * </p>
+   */
+  ISO_DATE_TIME(Validators::isoDateTime),
+
+  /**
+   * A UUID of 32 hexadecimal digits in the groups {@code 8-4-4-4-12} like
+   * {@code 123e4567-e89b-12d3-a456-426614174000}, regardless of its version and case.
+   */
+  UUID(Validators::uuid);
+
+  private final ToIntFunction<CharSequence> scanner;
+
+  StrmanFormat(final ToIntFunction<CharSequence> scanner) {
+    this.scanner = scanner;
+  }
+
+  /**
+   * Finds the index of the first character that violates the format.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, the length of the value if it ends prematurely or {@code -1}
+   *   if valid
+   */
+  int indexOfInvalid(final CharSequence value) {
+    return scanner.applyAsInt(value);
+  }
+}
@@ -0,0 +1,367 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Glob                                       +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a compiled glob pattern.
+ * <p>
+ *   The pattern syntax consists of
+ * </p>
+ * <ul>
+ *   <li>{@code *} matching any sequence of characters including the empty one and {@code /}</li>
+ *   <li>{@code ?} matching any single character</li>
+ *   <li>{@code [abc]}, {@code [a-z]} matching a single character of the class, {@code [!a-z]} and {@code [^a-z]}
+ *   matching a single character outside of it, a {@code ]} directly after the opening bracket is part of the
+ *   class</li>
+ *   <li>{@code \} matching the following character literally</li>
+ * </ul>
+ * <p>
+ *   The pattern is split at its stars into segments.
+ *   The first and the last segment are compared at the start and the end of the input, all segments in between are
+ *   searched from left to right at their leftmost occurrence with the bit-parallel Shift-And algorithm, so a match
+ *   reads every character at most once and never backtracks.
+ *   Matching takes {@code O(n·⌈k/64⌉)} time for a segment of length {@code k}, it doesn't allocate unless a segment
+ *   is longer than 64 characters and its Shift-And state no longer fits into a single {@code long}.
+ * </p>
+ * <p>
+ *   Instances are immutable and can be shared.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#compileGlob(String, boolean)
+ * @see StrmanGlobSet
+ * @since 0.4.0
+ */
+public final class StrmanGlob {
+
+  private final String pattern;
+  private final boolean caseSensitive;
+  private final Segment head;
+  private final Segment tail;
+  private final Segment[] middle;
+  private final int minLength;
+
+  private StrmanGlob(final String pattern, final boolean caseSensitive) {
+    this.pattern = pattern;
+    this.caseSensitive = caseSensitive;
+    List<Segment> segments = new ArrayList<>();
+    Token[] tokens = parse(pattern, caseSensitive);
+    int start = 0;
+    for (int i = 0; i <= tokens.length; i++) {
+      if (i == tokens.length || tokens[i].kind == Token.STAR) {
+        Token[] segment = new Token[i - start];
+        System.arraycopy(tokens, start, segment, 0, segment.length);
+        segments.add(new Segment(segment, caseSensitive));
+        start = i + 1;
+      }
+    }
+    head = segments.get(0);
+    tail = segments.size() > 1 ? segments.get(segments.size() - 1) : null;
+    middle = segments.size() > 2 ? segments.subList(1, segments.size() - 1).toArray(new Segment[0]) : new Segment[0];
+    int length = 0;
+    for (Segment segment : segments) {
+      length += segment.tokens.length;
+    }
+    minLength = length;
+  }
+
+  /**
+   * Compiles the glob pattern.
+   *
+   * @param pattern the pattern to compile
+   * @param caseSensitive the case sensitivity
+   * @return the compiled pattern
+   * @throws IllegalArgumentException if the pattern is {@code null}, has an unclosed character class or ends with an
+   *   unescaped {@code \}
+   */
+  static StrmanGlob compile(final String pattern, final boolean caseSensitive) throws IllegalArgumentException {
+    if (pattern == null) {
+      throw new IllegalArgumentException("pattern can't be null");
+    }
+    return new StrmanGlob(pattern, caseSensitive);
+  }
+
+  /**
+   * Returns the case sensitivity.
+   *
+   * @return {@code true} if case sensitive, {@code false} otherwise
+   */
+  public boolean isCaseSensitive() {
+    return caseSensitive;
+  }
+
+  /**
+   * Verifies that the pattern matches the whole value.
+   *
+   * @param value the value to match
+   * @return {@code true} if matched, {@code false} otherwise
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public boolean matches(final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    int length = value.length();
+    if (length < minLength) {
+      return false;
+    }
+    if (tail == null) {
+      return length == minLength && head.matchesAt(value, 0);
+    }
+    int end = length - tail.tokens.length;
+    if (!head.matchesAt(value, 0) || !tail.matchesAt(value, end)) {
+      return false;
+    }
+    int position = head.tokens.length;
+    for (Segment segment : middle) {
+      position = segment.find(value, position, end);
+      if (position < 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the pattern.
+   *
+   * @return the pattern
+   */
+  public String pattern() {
+    return pattern;
+  }
+
+  @Override
+  public String toString() {
+    return pattern;
+  }
+
+  static char fold(final char ch) {
+    return Character.toLowerCase(Character.toUpperCase(ch));
+  }
+
+  /**
+   * Parses the glob pattern into tokens, consecutive stars are collapsed into a single one.
+   *
+   * @param pattern the pattern to parse
+   * @param caseSensitive the case sensitivity
+   * @return the tokens
+   * @throws IllegalArgumentException if the pattern has an unclosed character class or ends with an unescaped
+   *   {@code \}
+   */
+  static Token[] parse(final String pattern, final boolean caseSensitive) throws IllegalArgumentException {
+    List<Token> tokens = new ArrayList<>();
+    int length = pattern.length();
+    int i = 0;
+    while (i < length) {
+      char ch = pattern.charAt(i);
+      if (ch == '*') {
+        if (tokens.isEmpty() || tokens.get(tokens.size() - 1).kind != Token.STAR) {
+          tokens.add(new Token(Token.STAR, '\0', null, false, caseSensitive));
+        }
+        i++;
+      } else if (ch == '?') {
+        tokens.add(new Token(Token.ANY, '\0', null, false, caseSensitive));
+        i++;
+      } else if (ch == '[') {
+        i = parseClass(pattern, i, tokens, caseSensitive);
+      } else {
+        if (ch == '\\') {
+          if (++i == length) {
+            throw new IllegalArgumentException("dangling escape at index " + (i - 1));
+          }
+          ch = pattern.charAt(i);
+        }
+        tokens.add(new Token(Token.LITERAL, caseSensitive ? ch : fold(ch), null, false, caseSensitive));
+        i++;
+      }
+    }
+    return tokens.toArray(new Token[0]);
+  }
+
+  private static int parseClass(final String pattern, final int start, final List<Token> tokens,
+    final boolean caseSensitive) {
+    int length = pattern.length();
+    int i = start + 1;
+    boolean negated = i < length && (pattern.charAt(i) == '!' || pattern.charAt(i) == '^');
+    if (negated) {
+      i++;
+    }
+    StringBuilder ranges = new StringBuilder();
+    boolean first = true;
+    while (i < length && (first || pattern.charAt(i) != ']')) {
+      first = false;
+      char low = pattern.charAt(i);
+      if (low == '\\' && i + 1 < length) {
+        low = pattern.charAt(++i);
+      }
+      i++;
+      char high = low;
+      if (i + 1 < length && pattern.charAt(i) == '-' && pattern.charAt(i + 1) != ']') {
+        high = pattern.charAt(i + 1);
+        i += 2;
+        if (high == '\\' && i < length) {
+          high = pattern.charAt(i++);
+        }
+      }
+      ranges.append(low).append(high);
+    }
+    if (i == length) {
+      throw new IllegalArgumentException("unclosed character class at index " + start);
+    }
+    tokens.add(new Token(Token.CLASS, '\0', ranges.toString().toCharArray(), negated, caseSensitive));
+    return i + 1;
+  }
+
+  /*
+   * Represents a single element of a glob pattern.
+   */
+  static final class Token {
+
+    static final int LITERAL = 0;
+    static final int ANY = 1;
+    static final int CLASS = 2;
+    static final int STAR = 3;
+
+    final int kind;
+    final char literal;
+    final char[] ranges;
+    final boolean negated;
+    final boolean caseSensitive;
+
+    Token(final int kind, final char literal, final char[] ranges, final boolean negated, final boolean caseSensitive) {
+      this.kind = kind;
+      this.literal = literal;
+      this.ranges = ranges;
+      this.negated = negated;
+      this.caseSensitive = caseSensitive;
+    }
+
+    /*
+     * Case insensitive tokens expect the character to be folded.
+     */
+    boolean matches(final char ch) {
+      switch (kind) {
+        case LITERAL:
+          return ch == literal;
+        case CLASS:
+          boolean contained = contains(ch)
+            || !caseSensitive && (contains(Character.toUpperCase(ch)) || contains(Character.toLowerCase(ch)));
+          return contained != negated;
+        default:
+          return true;
+      }
+    }
+
+    private boolean contains(final char ch) {
+      for (int i = 0; i < ranges.length; i += 2) {
+        if (ch >= ranges[i] && ch <= ranges[i + 1]) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  /*
+   * Represents a sequence of tokens between two stars with the Shift-And masks of all ASCII characters.
+   */
+  private static final class Segment {
+
+    private static final int ASCII = 128;
+
+    private final Token[] tokens;
+    private final boolean caseSensitive;
+    private final int words;
+    private final long[] masks;
+
+    Segment(final Token[] tokens, final boolean caseSensitive) {
+      this.tokens = tokens;
+      this.caseSensitive = caseSensitive;
+      this.words = Math.max(1, (tokens.length + 63) >>> 6);
+      this.masks = new long[ASCII * words];
+      for (char ch = 0; ch < ASCII; ch++) {
+        char folded = caseSensitive ? ch : fold(ch);
+        for (int i = 0; i < tokens.length; i++) {
+          if (tokens[i].matches(folded)) {
+            masks[ch * words + (i >>> 6)] |= 1L << i;
+          }
+        }
+      }
+    }
+
+    /*
+     * Returns the end of the leftmost occurrence in the range or -1 if not found.
+     */
+    int find(final CharSequence value, final int from, final int to) {
+      int length = tokens.length;
+      if (length == 0) {
+        return from;
+      }
+      if (words == 1) {
+        long accept = 1L << (length - 1);
+        long state = 0;
+        for (int i = from; i < to; i++) {
+          state = ((state << 1) | 1L) & mask(value.charAt(i), 0);
+          if ((state & accept) != 0) {
+            return i + 1;
+          }
+        }
+        return -1;
+      }
+      /* The state is allocated per call since instances are shared between threads. */
+      long[] state = new long[words];
+      int last = (length - 1) >>> 6;
+      long accept = 1L << (length - 1);
+      for (int i = from; i < to; i++) {
+        char ch = value.charAt(i);
+        long carry = 1L;
+        for (int word = 0; word < words; word++) {
+          long shifted = (state[word] << 1) | carry;
+          carry = state[word] >>> 63;
+          state[word] = shifted & mask(ch, word);
+        }
+        if ((state[last] & accept) != 0) {
+          return i + 1;
+        }
+      }
+      return -1;
+    }
+
+    boolean matchesAt(final CharSequence value, final int offset) {
+      for (int i = 0; i < tokens.length; i++) {
+        char ch = value.charAt(offset + i);
+        if (!tokens[i].matches(caseSensitive ? ch : fold(ch))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private long mask(final char ch, final int word) {
+      if (ch < ASCII) {
+        return masks[ch * words + word];
+      }
+      char folded = caseSensitive ? ch : fold(ch);
+      long mask = 0;
+      for (int i = word << 6, end = Math.min(tokens.length, i + 64); i < end; i++) {
+        if (tokens[i].matches(folded)) {
+          mask |= 1L << i;
+        }
+      }
+      return mask;
+    }
+  }
+}
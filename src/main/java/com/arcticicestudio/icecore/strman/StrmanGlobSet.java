@@ -0,0 +1,368 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Glob Set                                   +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches a value against many glob patterns in a single pass.
+ * <p>
+ *   All patterns are combined into one automaton whose states are the positions of the patterns, a state stands for
+ *   the next token to match.
+ *   The automaton is converted lazily into a DFA while values are matched: each distinct set of active positions
+ *   becomes a DFA state, each transition is computed once and cached, so matching reads every character of the value
+ *   once with a single array lookup no matter how many patterns the set contains.
+ *   ASCII characters which are matched by the same tokens share their transitions.
+ *   Non-ASCII characters that no literal or class of the patterns refers to are treated as one character, all others
+ *   are stepped through the automaton without caching.
+ * </p>
+ * <p>
+ *   The cache is bounded to {@value #MAX_STATES} states, transitions to further states are computed on every use
+ *   instead of being cached.
+ *   Instances are safe for concurrent use.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see StrmanGlob
+ * @see Strman#compileGlobs(Collection, boolean)
+ * @since 0.4.0
+ */
+public final class StrmanGlobSet {
+
+  private static final int MAX_STATES = 1 << 16;
+  private static final int ASCII = 128;
+
+  private final String[] patterns;
+  private final boolean caseSensitive;
+  private final StrmanGlob.Token[] tokens;
+  private final int[] patternOf;
+  private final boolean[] accepting;
+  private final int positions;
+  private final int[] asciiClasses;
+  private final int otherClass;
+  private final int classes;
+  private final char[] specialChars;
+  private final char[] specialRanges;
+  private final Map<State, State> states = new HashMap<>();
+  private final State start;
+
+  private StrmanGlobSet(final String[] patterns, final boolean caseSensitive) {
+    this.patterns = patterns;
+    this.caseSensitive = caseSensitive;
+    List<StrmanGlob.Token> all = new ArrayList<>();
+    List<Integer> owners = new ArrayList<>();
+    BitSet starts = new BitSet();
+    for (int pattern = 0; pattern < patterns.length; pattern++) {
+      if (patterns[pattern] == null) {
+        throw new IllegalArgumentException("patterns can't contain null");
+      }
+      starts.set(all.size());
+      for (StrmanGlob.Token token : StrmanGlob.parse(patterns[pattern], caseSensitive)) {
+        all.add(token);
+        owners.add(pattern);
+      }
+      /* The position after the last token accepts the pattern. */
+      all.add(null);
+      owners.add(pattern);
+    }
+    tokens = all.toArray(new StrmanGlob.Token[0]);
+    positions = tokens.length;
+    patternOf = new int[positions];
+    accepting = new boolean[positions];
+    for (int i = 0; i < positions; i++) {
+      patternOf[i] = owners.get(i);
+      accepting[i] = tokens[i] == null;
+    }
+
+    /* Characters are grouped into classes of characters that are matched by exactly the same tokens. */
+    Map<BitSet, Integer> signatures = new HashMap<>();
+    asciiClasses = new int[ASCII];
+    for (char ch = 0; ch < ASCII; ch++) {
+      asciiClasses[ch] = signatures.computeIfAbsent(signature(caseSensitive ? ch : StrmanGlob.fold(ch), false),
+        key -> signatures.size());
+    }
+    otherClass = signatures.computeIfAbsent(signature('\0', true), key -> signatures.size());
+    classes = signatures.size();
+    StringBuilder chars = new StringBuilder();
+    StringBuilder ranges = new StringBuilder();
+    for (StrmanGlob.Token token : tokens) {
+      if (token != null && token.kind == StrmanGlob.Token.LITERAL && token.literal >= ASCII) {
+        chars.append(token.literal);
+      } else if (token != null && token.kind == StrmanGlob.Token.CLASS) {
+        for (int i = 0; i < token.ranges.length; i += 2) {
+          if (token.ranges[i + 1] >= ASCII) {
+            ranges.append((char) Math.max(ASCII, token.ranges[i])).append(token.ranges[i + 1]);
+          }
+        }
+      }
+    }
+    specialChars = chars.toString().toCharArray();
+    Arrays.sort(specialChars);
+    specialRanges = ranges.toString().toCharArray();
+    BitSet initial = new BitSet(positions);
+    for (int position = starts.nextSetBit(0); position >= 0; position = starts.nextSetBit(position + 1)) {
+      close(initial, position);
+    }
+    start = intern(initial.stream().toArray());
+  }
+
+  /**
+   * Compiles the glob patterns into a set.
+   *
+   * @param patterns the patterns to compile
+   * @param caseSensitive the case sensitivity
+   * @return the compiled set
+   * @throws IllegalArgumentException if the patterns or one of them is {@code null} or a pattern is invalid
+   * @see StrmanGlob
+   */
+  static StrmanGlobSet compile(final Collection<String> patterns, final boolean caseSensitive)
+    throws IllegalArgumentException {
+    if (patterns == null) {
+      throw new IllegalArgumentException("patterns can't be null");
+    }
+    return new StrmanGlobSet(patterns.toArray(new String[0]), caseSensitive);
+  }
+
+  /**
+   * Finds the first pattern that matches the whole value.
+   *
+   * @param value the value to match
+   * @return the index of the first matching pattern, {@code -1} if none matches
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public int firstMatch(final CharSequence value) throws IllegalArgumentException {
+    int[] accepted = run(value).accepted;
+    return accepted.length == 0 ? -1 : accepted[0];
+  }
+
+  /**
+   * Verifies that any pattern matches the whole value.
+   *
+   * @param value the value to match
+   * @return {@code true} if matched, {@code false} otherwise
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public boolean matches(final CharSequence value) throws IllegalArgumentException {
+    return run(value).accepted.length > 0;
+  }
+
+  /**
+   * Finds all patterns that match the whole value.
+   *
+   * @param value the value to match
+   * @return the ascending indices of the matching patterns
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public int[] matching(final CharSequence value) throws IllegalArgumentException {
+    return run(value).accepted.clone();
+  }
+
+  /**
+   * Returns the pattern at the index.
+   *
+   * @param index the index of the pattern
+   * @return the pattern
+   * @throws IndexOutOfBoundsException if the index is out of range
+   */
+  public String pattern(final int index) {
+    return patterns[index];
+  }
+
+  /**
+   * Returns the number of patterns.
+   *
+   * @return the number of patterns
+   */
+  public int size() {
+    return patterns.length;
+  }
+
+  /*
+   * Adds the position and all positions reachable without reading a character, which are the ones after stars.
+   */
+  private void close(final BitSet set, int position) {
+    while (!set.get(position)) {
+      set.set(position);
+      if (tokens[position] == null || tokens[position].kind != StrmanGlob.Token.STAR) {
+        return;
+      }
+      position++;
+    }
+  }
+
+  /*
+   * Returns the cached state of the positions or an uncached one if the cache is full.
+   */
+  private State intern(final int[] active) {
+    int acceptedCount = 0;
+    for (int position : active) {
+      if (accepting[position]) {
+        acceptedCount++;
+      }
+    }
+    /* Patterns are numbered in the order of their positions, so the accepted patterns are ascending. */
+    int[] accepted = new int[acceptedCount];
+    acceptedCount = 0;
+    for (int position : active) {
+      if (accepting[position]) {
+        accepted[acceptedCount++] = patternOf[position];
+      }
+    }
+    State candidate = new State(active, accepted, classes);
+    synchronized (states) {
+      State existing = states.get(candidate);
+      if (existing != null) {
+        return existing;
+      }
+      if (states.size() < MAX_STATES) {
+        states.put(candidate, candidate);
+        candidate.cached = true;
+      }
+    }
+    return candidate;
+  }
+
+  private boolean isSpecial(final char ch) {
+    if (Arrays.binarySearch(specialChars, ch) >= 0) {
+      return true;
+    }
+    for (int i = 0; i < specialRanges.length; i += 2) {
+      if (inRange(ch, i) || !caseSensitive && (inRange(Character.toUpperCase(ch), i)
+        || inRange(Character.toLowerCase(ch), i))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean inRange(final char ch, final int range) {
+    return ch >= specialRanges[range] && ch <= specialRanges[range + 1];
+  }
+
+  private State run(final CharSequence value) {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    State state = start;
+    for (int i = 0, length = value.length(); i < length && state.positions.length > 0; i++) {
+      char ch = value.charAt(i);
+      if (ch >= ASCII && !caseSensitive) {
+        /* Some characters like the Kelvin sign fold into ASCII. */
+        ch = StrmanGlob.fold(ch);
+      }
+      int symbol;
+      if (ch < ASCII) {
+        symbol = asciiClasses[ch];
+      } else if (isSpecial(ch)) {
+        state = step(state, ch, false);
+        continue;
+      } else {
+        symbol = otherClass;
+      }
+      State next = state.next[symbol];
+      if (next == null) {
+        next = ch < ASCII ? step(state, caseSensitive ? ch : StrmanGlob.fold(ch), false) : step(state, ch, true);
+        /* Transitions to uncached states are not stored to keep the memory bounded. */
+        if (next.cached) {
+          state.next[symbol] = next;
+        }
+      }
+      state = next;
+    }
+    return state;
+  }
+
+  /*
+   * Computes the tokens a character is matched by, a generic character is any non-ASCII character no literal or
+   * class refers to.
+   */
+  private BitSet signature(final char ch, final boolean generic) {
+    BitSet signature = new BitSet(positions);
+    for (int i = 0; i < positions; i++) {
+      if (tokens[i] != null && tokens[i].kind != StrmanGlob.Token.STAR && matches(tokens[i], ch, generic)) {
+        signature.set(i);
+      }
+    }
+    return signature;
+  }
+
+  private static boolean matches(final StrmanGlob.Token token, final char ch, final boolean generic) {
+    if (!generic) {
+      return token.matches(ch);
+    }
+    return token.kind == StrmanGlob.Token.ANY || token.kind == StrmanGlob.Token.CLASS && token.negated;
+  }
+
+  private State step(final State state, final char ch, final boolean generic) {
+    /* Stars are collapsed, so the closure of a position adds at most one more position. */
+    int[] next = new int[state.positions.length * 2];
+    int count = 0;
+    for (int position : state.positions) {
+      StrmanGlob.Token token = tokens[position];
+      if (token == null) {
+        continue;
+      }
+      int target = token.kind == StrmanGlob.Token.STAR ? position : matches(token, ch, generic) ? position + 1 : -1;
+      if (target >= 0) {
+        next[count++] = target;
+        if (tokens[target] != null && tokens[target].kind == StrmanGlob.Token.STAR) {
+          next[count++] = target + 1;
+        }
+      }
+    }
+    Arrays.sort(next, 0, count);
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinct == 0 || next[distinct - 1] != next[i]) {
+        next[distinct++] = next[i];
+      }
+    }
+    return intern(Arrays.copyOf(next, distinct));
+  }
+
+  /*
+   * Represents the ascending active positions with the cached transitions.
+   * Transitions are published without synchronization, which is safe since they only reference cached states whose
+   * fields are final except of the flag that is only read while the state is interned.
+   */
+  private static final class State {
+
+    private final int[] positions;
+    private final int[] accepted;
+    private final State[] next;
+    private final int hash;
+    private boolean cached;
+
+    State(final int[] positions, final int[] accepted, final int classes) {
+      this.positions = positions;
+      this.accepted = accepted;
+      this.next = new State[classes];
+      this.hash = Arrays.hashCode(positions);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      return other instanceof State && Arrays.equals(positions, ((State) other).positions);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -0,0 +1,533 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Hasher                                     +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Computes non-cryptographic hashes of the UTF-8 encoding of characters that are appended in parts.
+ * <p>
+ *   The characters are encoded on the fly and packed into 64-bit words, so no byte array is allocated and the result
+ *   is identical to hashing the bytes of {@code getBytes(StandardCharsets.UTF_8)} of the concatenated parts.
+ *   Surrogate pairs may be split between two parts.
+ *   Case insensitive hashers fold every code point with {@code Character.toLowerCase(Character.toUpperCase(cp))}
+ *   before it's encoded, so strings that only differ in case have the same hash.
+ * </p>
+ * <p>
+ *   Hashers implement {@link Appendable}, so they can also be the target of the {@link Strman} methods that write to
+ *   an {@code Appendable}.
+ *   They are not thread-safe and can be reused after {@link #reset()}.
+ *   Only the {@link Murmur3} hashers also compute 128-bit hashes.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/Cyan4973/xxHash/blob/dev/doc/xxhash_spec.md">xxHash64 specification</a>
+ * @see <a href="https://github.com/aappleby/smhasher/blob/master/src/MurmurHash3.cpp">MurmurHash3</a>
+ * @since 0.4.0
+ */
+public abstract class StrmanHasher implements Appendable {
+
+  private final boolean caseSensitive;
+  private char highSurrogate;
+  private long chars;
+
+  /* The bytes of the current incomplete word in little-endian order. */
+  long word;
+  int wordBytes;
+  long length;
+
+  StrmanHasher(final boolean caseSensitive) {
+    this.caseSensitive = caseSensitive;
+  }
+
+  /**
+   * Creates a Murmur3 x64 128-bit hasher with a seed of {@code 0}.
+   *
+   * @return the new hasher
+   */
+  public static Murmur3 murmur3() {
+    return murmur3(0, true);
+  }
+
+  /**
+   * Creates a Murmur3 x64 128-bit hasher.
+   *
+   * @param seed the seed
+   * @return the new hasher
+   */
+  public static Murmur3 murmur3(final int seed) {
+    return murmur3(seed, true);
+  }
+
+  /**
+   * Creates a Murmur3 x64 128-bit hasher.
+   *
+   * @param seed the seed
+   * @param caseSensitive the case sensitivity
+   * @return the new hasher
+   */
+  public static Murmur3 murmur3(final int seed, final boolean caseSensitive) {
+    return new Murmur3(seed, caseSensitive);
+  }
+
+  /**
+   * Creates a xxHash64 hasher with a seed of {@code 0}.
+   *
+   * @return the new hasher
+   */
+  public static StrmanHasher xxHash64() {
+    return xxHash64(0, true);
+  }
+
+  /**
+   * Creates a xxHash64 hasher.
+   *
+   * @param seed the seed
+   * @return the new hasher
+   */
+  public static StrmanHasher xxHash64(final long seed) {
+    return xxHash64(seed, true);
+  }
+
+  /**
+   * Creates a xxHash64 hasher.
+   *
+   * @param seed the seed
+   * @param caseSensitive the case sensitivity
+   * @return the new hasher
+   */
+  public static StrmanHasher xxHash64(final long seed, final boolean caseSensitive) {
+    return new XxHash64(seed, caseSensitive);
+  }
+
+  /**
+   * Appends the UTF-8 encoding of the characters.
+   *
+   * @param csq the characters to append
+   * @return this hasher
+   * @throws IllegalArgumentException if the characters contain an unpaired surrogate
+   */
+  @Override
+  public StrmanHasher append(final CharSequence csq) throws IllegalArgumentException {
+    return append(csq, 0, csq.length());
+  }
+
+  /**
+   * Appends the UTF-8 encoding of a range of the characters.
+   *
+   * @param csq the characters to append
+   * @param start the index of the first character, inclusive
+   * @param end the index of the last character, exclusive
+   * @return this hasher
+   * @throws IllegalArgumentException if the range contains an unpaired surrogate
+   */
+  @Override
+  public StrmanHasher append(final CharSequence csq, final int start, final int end) throws IllegalArgumentException {
+    int i = start;
+    while (i < end) {
+      if (wordBytes == 0 && highSurrogate == 0 && i + 8 <= end) {
+        char c0 = csq.charAt(i);
+        char c1 = csq.charAt(i + 1);
+        char c2 = csq.charAt(i + 2);
+        char c3 = csq.charAt(i + 3);
+        char c4 = csq.charAt(i + 4);
+        char c5 = csq.charAt(i + 5);
+        char c6 = csq.charAt(i + 6);
+        char c7 = csq.charAt(i + 7);
+        if ((c0 | c1 | c2 | c3 | c4 | c5 | c6 | c7) < 0x80) {
+          if (!caseSensitive) {
+            c0 = foldAscii(c0);
+            c1 = foldAscii(c1);
+            c2 = foldAscii(c2);
+            c3 = foldAscii(c3);
+            c4 = foldAscii(c4);
+            c5 = foldAscii(c5);
+            c6 = foldAscii(c6);
+            c7 = foldAscii(c7);
+          }
+          update(c0 | c1 << 8 | c2 << 16 | (long) c3 << 24 | (long) c4 << 32 | (long) c5 << 40 | (long) c6 << 48
+            | (long) c7 << 56);
+          length += 8;
+          chars += 8;
+          i += 8;
+          continue;
+        }
+      }
+      append(csq.charAt(i++));
+    }
+    return this;
+  }
+
+  /**
+   * Appends the UTF-8 encoding of the character.
+   * <p>
+   *   A high surrogate is encoded together with the low surrogate of the next appended character.
+   * </p>
+   *
+   * @param c the character to append
+   * @return this hasher
+   * @throws IllegalArgumentException if the character is an unpaired surrogate
+   */
+  @Override
+  public StrmanHasher append(final char c) throws IllegalArgumentException {
+    if (highSurrogate != 0) {
+      if (!Character.isLowSurrogate(c)) {
+        throw malformed(chars - 1);
+      }
+      putCodePoint(fold(Character.toCodePoint(highSurrogate, c)));
+      highSurrogate = 0;
+    } else if (c < 0x80) {
+      putByte(caseSensitive ? c : foldAscii(c));
+    } else if (Character.isHighSurrogate(c)) {
+      highSurrogate = c;
+    } else if (Character.isLowSurrogate(c)) {
+      throw malformed(chars);
+    } else {
+      putCodePoint(fold(c));
+    }
+    chars++;
+    return this;
+  }
+
+  /**
+   * Computes the 64-bit hash of all appended characters.
+   * <p>
+   *   The hasher is not modified, so more characters can be appended afterwards.
+   *   Murmur3 hashers return the first 64 bits of the 128-bit hash.
+   * </p>
+   *
+   * @return the hash
+   * @throws IllegalArgumentException if the last appended character is a high surrogate
+   */
+  public abstract long hash64() throws IllegalArgumentException;
+
+  /**
+   * Resets the hasher to its initial state, discarding all appended characters.
+   *
+   * @return this hasher
+   */
+  public StrmanHasher reset() {
+    highSurrogate = 0;
+    chars = 0;
+    word = 0;
+    wordBytes = 0;
+    length = 0;
+    init();
+    return this;
+  }
+
+  /**
+   * Resets the algorithm specific state.
+   */
+  abstract void init();
+
+  /**
+   * Processes a complete word of eight bytes in little-endian order.
+   *
+   * @param lane the word to process
+   */
+  abstract void update(long lane);
+
+  /**
+   * Ensures that no high surrogate is waiting for its low surrogate before a hash is computed.
+   *
+   * @throws IllegalArgumentException if a high surrogate is waiting
+   */
+  void checkComplete() throws IllegalArgumentException {
+    if (highSurrogate != 0) {
+      throw malformed(chars - 1);
+    }
+  }
+
+  private int fold(final int codePoint) {
+    return caseSensitive ? codePoint : Character.toLowerCase(Character.toUpperCase(codePoint));
+  }
+
+  private static char foldAscii(final char c) {
+    return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+  }
+
+  private static IllegalArgumentException malformed(final long index) {
+    return new IllegalArgumentException("malformed input at index " + index);
+  }
+
+  private void putByte(final int b) {
+    word |= (b & 0xFFL) << (wordBytes << 3);
+    length++;
+    if (++wordBytes == 8) {
+      update(word);
+      word = 0;
+      wordBytes = 0;
+    }
+  }
+
+  private void putCodePoint(final int codePoint) {
+    if (codePoint < 0x80) {
+      putByte(codePoint);
+    } else if (codePoint < 0x800) {
+      putByte(0xC0 | (codePoint >>> 6));
+      putByte(0x80 | (codePoint & 0x3F));
+    } else if (codePoint < 0x10000) {
+      putByte(0xE0 | (codePoint >>> 12));
+      putByte(0x80 | ((codePoint >>> 6) & 0x3F));
+      putByte(0x80 | (codePoint & 0x3F));
+    } else {
+      putByte(0xF0 | (codePoint >>> 18));
+      putByte(0x80 | ((codePoint >>> 12) & 0x3F));
+      putByte(0x80 | ((codePoint >>> 6) & 0x3F));
+      putByte(0x80 | (codePoint & 0x3F));
+    }
+  }
+
+  /*
+   * Processes stripes of four words, buffering up to three words of the current stripe.
+   */
+  private static final class XxHash64 extends StrmanHasher {
+    private static final long PRIME1 = 0x9E3779B185EBCA87L;
+    private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+    private static final long PRIME3 = 0x165667B19E3779F9L;
+    private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+    private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+    private final long seed;
+    private long v1;
+    private long v2;
+    private long v3;
+    private long v4;
+    private long lane0;
+    private long lane1;
+    private long lane2;
+    private int lanes;
+
+    XxHash64(final long seed, final boolean caseSensitive) {
+      super(caseSensitive);
+      this.seed = seed;
+      init();
+    }
+
+    @Override
+    public long hash64() {
+      checkComplete();
+      long hash;
+      if (length >= 32) {
+        hash = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+        hash = merge(hash, v1);
+        hash = merge(hash, v2);
+        hash = merge(hash, v3);
+        hash = merge(hash, v4);
+      } else {
+        hash = seed + PRIME5;
+      }
+      hash += length;
+      if (lanes > 0) {
+        hash = mixLane(hash, lane0);
+      }
+      if (lanes > 1) {
+        hash = mixLane(hash, lane1);
+      }
+      if (lanes > 2) {
+        hash = mixLane(hash, lane2);
+      }
+      long tail = word;
+      int tailBytes = wordBytes;
+      if (tailBytes >= 4) {
+        hash ^= (tail & 0xFFFFFFFFL) * PRIME1;
+        hash = Long.rotateLeft(hash, 23) * PRIME2 + PRIME3;
+        tail >>>= 32;
+        tailBytes -= 4;
+      }
+      for (; tailBytes > 0; tailBytes--, tail >>>= 8) {
+        hash ^= (tail & 0xFF) * PRIME5;
+        hash = Long.rotateLeft(hash, 11) * PRIME1;
+      }
+      hash ^= hash >>> 33;
+      hash *= PRIME2;
+      hash ^= hash >>> 29;
+      hash *= PRIME3;
+      hash ^= hash >>> 32;
+      return hash;
+    }
+
+    @Override
+    void init() {
+      v1 = seed + PRIME1 + PRIME2;
+      v2 = seed + PRIME2;
+      v3 = seed;
+      v4 = seed - PRIME1;
+      lanes = 0;
+    }
+
+    @Override
+    void update(final long lane) {
+      switch (lanes) {
+        case 0:
+          lane0 = lane;
+          lanes = 1;
+          break;
+        case 1:
+          lane1 = lane;
+          lanes = 2;
+          break;
+        case 2:
+          lane2 = lane;
+          lanes = 3;
+          break;
+        default:
+          v1 = round(v1, lane0);
+          v2 = round(v2, lane1);
+          v3 = round(v3, lane2);
+          v4 = round(v4, lane);
+          lanes = 0;
+      }
+    }
+
+    private static long merge(final long hash, final long value) {
+      return (hash ^ round(0, value)) * PRIME1 + PRIME4;
+    }
+
+    private static long mixLane(final long hash, final long lane) {
+      return Long.rotateLeft(hash ^ round(0, lane), 27) * PRIME1 + PRIME4;
+    }
+
+    private static long round(final long accumulator, final long lane) {
+      return Long.rotateLeft(accumulator + lane * PRIME2, 31) * PRIME1;
+    }
+  }
+
+  /**
+   * Computes Murmur3 x64 128-bit hashes.
+   * <p>
+   *   The hasher processes blocks of two words, buffering the first word of the current block.
+   *   All methods return this type, so {@link #hash128()} can be chained after appending.
+   * </p>
+   *
+   * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+   * @see StrmanHasher#murmur3(int, boolean)
+   * @since 0.4.0
+   */
+  public static final class Murmur3 extends StrmanHasher {
+    private static final long C1 = 0x87C37B91114253D5L;
+    private static final long C2 = 0x4CF5AD432745937FL;
+
+    private final long seed;
+    private long h1;
+    private long h2;
+    private long lane0;
+    private boolean buffered;
+
+    Murmur3(final int seed, final boolean caseSensitive) {
+      super(caseSensitive);
+      this.seed = seed & 0xFFFFFFFFL;
+      init();
+    }
+
+    @Override
+    public Murmur3 append(final CharSequence csq) throws IllegalArgumentException {
+      super.append(csq);
+      return this;
+    }
+
+    @Override
+    public Murmur3 append(final CharSequence csq, final int start, final int end) throws IllegalArgumentException {
+      super.append(csq, start, end);
+      return this;
+    }
+
+    @Override
+    public Murmur3 append(final char c) throws IllegalArgumentException {
+      super.append(c);
+      return this;
+    }
+
+    @Override
+    public long hash64() throws IllegalArgumentException {
+      return hash128()[0];
+    }
+
+    /**
+     * Computes the 128-bit hash of all appended characters.
+     * <p>
+     *   The hasher is not modified, so more characters can be appended afterwards.
+     * </p>
+     *
+     * @return the hash as array of the first and second 64 bits
+     * @throws IllegalArgumentException if the last appended character is a high surrogate
+     */
+    public long[] hash128() throws IllegalArgumentException {
+      checkComplete();
+      long k1 = buffered ? lane0 : word;
+      long k2 = buffered ? word : 0;
+      int tailBytes = (buffered ? 8 : 0) + wordBytes;
+      long a = h1;
+      long b = h2;
+      if (tailBytes > 8) {
+        b ^= mixK2(k2);
+      }
+      if (tailBytes > 0) {
+        a ^= mixK1(k1);
+      }
+      a ^= length;
+      b ^= length;
+      a += b;
+      b += a;
+      a = fmix(a);
+      b = fmix(b);
+      a += b;
+      b += a;
+      return new long[]{a, b};
+    }
+
+    @Override
+    public Murmur3 reset() {
+      super.reset();
+      return this;
+    }
+
+    @Override
+    void init() {
+      h1 = seed;
+      h2 = seed;
+      buffered = false;
+    }
+
+    @Override
+    void update(final long lane) {
+      if (!buffered) {
+        lane0 = lane;
+        buffered = true;
+        return;
+      }
+      h1 ^= mixK1(lane0);
+      h1 = Long.rotateLeft(h1, 27) + h2;
+      h1 = h1 * 5 + 0x52DCE729;
+      h2 ^= mixK2(lane);
+      h2 = Long.rotateLeft(h2, 31) + h1;
+      h2 = h2 * 5 + 0x38495AB5;
+      buffered = false;
+    }
+
+    private static long fmix(long k) {
+      k ^= k >>> 33;
+      k *= 0xFF51AFD7ED558CCDL;
+      k ^= k >>> 33;
+      k *= 0xC4CEB9FE1A85EC53L;
+      k ^= k >>> 33;
+      return k;
+    }
+
+    private static long mixK1(final long k1) {
+      return Long.rotateLeft(k1 * C1, 31) * C2;
+    }
+
+    private static long mixK2(final long k2) {
+      return Long.rotateLeft(k2 * C2, 33) * C1;
+    }
+  }
+}
@@ -0,0 +1,543 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Index                                      +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Indexes a text for repeated substring queries.
+ * <p>
+ *   The index consists of the suffix array of the text, built with prefix doubling and radix sorting in
+ *   {@code O(n log n)}, and the LCP array holding the length of the longest common prefix of adjacent suffixes,
+ *   built with Kasai's algorithm in {@code O(n)}.
+ *   A query for a needle of length {@code m} binary searches the range of suffixes starting with the needle in
+ *   {@code O(m log n)}, independent of the number of occurrences.
+ *   The first occurrence within that range is found in constant time with a sparse table of the minimum positions of
+ *   blocks of suffixes.
+ * </p>
+ * <p>
+ *   Both arrays are plain {@code int[]}, so the index takes {@code 10n} bytes including the text itself plus less than
+ *   {@code 2n} bytes for the sparse table and can be {@link #save(Path) saved} and {@link #load(Path) loaded} without
+ *   rebuilding.
+ *   All queries are case sensitive and the index is immutable and safe for concurrent use.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#index(String)
+ * @since 0.4.0
+ */
+public final class StrmanIndex {
+
+  private static final int MAGIC = 0x53544958;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = 12;
+  private static final int BUFFER_BYTES = 1 << 16;
+
+  /*
+   * The number of suffixes summarized by one entry of the sparse table, the partial blocks at both ends of a range
+   * are scanned.
+   */
+  private static final int BLOCK_SIZE = 64;
+
+  private final char[] text;
+  private final int[] suffixes;
+  private final int[] lcp;
+  private final int[][] minima;
+
+  private StrmanIndex(final char[] text, final int[] suffixes, final int[] lcp) {
+    this.text = text;
+    this.suffixes = suffixes;
+    this.lcp = lcp;
+    this.minima = buildMinima(suffixes);
+  }
+
+  /**
+   * Builds the index of a text.
+   *
+   * @param text the text to index
+   * @return the new index
+   */
+  static StrmanIndex build(final String text) {
+    char[] chars = text.toCharArray();
+    int[] suffixes = buildSuffixArray(chars);
+    return new StrmanIndex(chars, suffixes, buildLcpArray(chars, suffixes));
+  }
+
+  /**
+   * Loads an index previously written with {@link #save(Path)}.
+   *
+   * @param file the file to read from
+   * @return the loaded index
+   * @throws IOException if the file can't be read, doesn't contain an index or is corrupt
+   */
+  public static StrmanIndex load(final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+      readFully(channel, buffer, HEADER_BYTES);
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+        throw new IOException("Not a Strman index file: " + file);
+      }
+      int length = buffer.getInt();
+      if (length < 0 || channel.size() != HEADER_BYTES + 10L * length) {
+        throw new IOException("Truncated Strman index file: " + file);
+      }
+      char[] text = new char[length];
+      int[] suffixes = new int[length];
+      int[] lcp = new int[length];
+      readChars(channel, buffer, text);
+      readInts(channel, buffer, suffixes);
+      readInts(channel, buffer, lcp);
+      if (!isConsistent(suffixes, lcp)) {
+        throw new IOException("Corrupt Strman index file: " + file);
+      }
+      return new StrmanIndex(text, suffixes, lcp);
+    }
+  }
+
+  /**
+   * Verifies that the needle is contained in the indexed text.
+   *
+   * @param needle the needle to find
+   * @return {@code true} if found, {@code false} otherwise
+   */
+  public boolean contains(final String needle) {
+    validateNeedle(needle);
+    return needle.isEmpty() || lowerBound(needle) < upperBound(needle);
+  }
+
+  /**
+   * Counts the number of times the needle appears in the indexed text without overlapping.
+   *
+   * @param needle the needle to find
+   * @return the count of times the needle exists
+   */
+  public long countSubstr(final String needle) {
+    return countSubstr(needle, false);
+  }
+
+  /**
+   * Counts the number of times the needle appears in the indexed text.
+   * <p>
+   *   Overlapping occurrences are counted in {@code O(m log n)}, so are non-overlapping occurrences of needles that
+   *   can't overlap themselves.
+   *   Non-overlapping occurrences of needles whose prefix is also their suffix, like {@code aa} or {@code abab},
+   *   additionally need to sort the positions of all occurrences.
+   * </p>
+   *
+   * @param needle the needle to find
+   * @param allowOverlapping the overlapping behavior
+   * @return the count of times the needle exists, {@code 0} for an empty needle
+   */
+  public long countSubstr(final String needle, final boolean allowOverlapping) {
+    validateNeedle(needle);
+    if (needle.isEmpty()) {
+      return 0L;
+    }
+    int from = lowerBound(needle);
+    int to = upperBound(needle);
+    if (allowOverlapping || to - from < 2 || !hasBorder(needle)) {
+      return to - from;
+    }
+    int[] positions = Arrays.copyOfRange(suffixes, from, to);
+    Arrays.sort(positions);
+    long count = 0L;
+    int next = 0;
+    for (int position : positions) {
+      if (position >= next) {
+        count++;
+        next = position + needle.length();
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns the index of the first occurrence of the needle.
+   *
+   * @param needle the needle to find
+   * @return the position of the first occurrence of the needle, {@code -1} if not found
+   */
+  public int indexOf(final String needle) {
+    validateNeedle(needle);
+    if (needle.isEmpty()) {
+      return 0;
+    }
+    int from = lowerBound(needle);
+    int to = upperBound(needle);
+    return from < to ? first(from, to) : -1;
+  }
+
+  /**
+   * Returns the length of the indexed text.
+   *
+   * @return the length of the text
+   */
+  public int length() {
+    return text.length;
+  }
+
+  /**
+   * Finds the longest substring that occurs at least twice in the indexed text.
+   *
+   * @return the longest repeated substring, an empty string if no character repeats
+   */
+  public String longestRepeatedSubstring() {
+    int longest = 0;
+    int position = 0;
+    for (int i = 1; i < lcp.length; i++) {
+      if (lcp[i] > longest) {
+        longest = lcp[i];
+        position = suffixes[i];
+      }
+    }
+    return new String(text, position, longest);
+  }
+
+  /**
+   * Returns the positions of all occurrences of the needle including overlapping ones.
+   *
+   * @param needle the needle to find
+   * @return the ascending positions of all occurrences, an empty array for an empty needle
+   */
+  public int[] occurrences(final String needle) {
+    validateNeedle(needle);
+    if (needle.isEmpty()) {
+      return new int[0];
+    }
+    int[] positions = Arrays.copyOfRange(suffixes, lowerBound(needle), upperBound(needle));
+    Arrays.sort(positions);
+    return positions;
+  }
+
+  /**
+   * Writes the index into a file, replacing any existing content.
+   *
+   * @param file the file to write to
+   * @throws IOException if the file can't be written
+   */
+  public void save(final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.BIG_ENDIAN);
+      buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(text.length).flip();
+      writeFully(channel, buffer);
+      for (int offset = 0; offset < text.length; offset += BUFFER_BYTES / 2) {
+        int size = Math.min(BUFFER_BYTES / 2, text.length - offset);
+        buffer.clear();
+        buffer.asCharBuffer().put(text, offset, size);
+        buffer.limit(2 * size);
+        writeFully(channel, buffer);
+      }
+      writeInts(channel, buffer, suffixes);
+      writeInts(channel, buffer, lcp);
+    }
+  }
+
+  /**
+   * Returns the indexed text.
+   *
+   * @return the text
+   */
+  public String text() {
+    return new String(text);
+  }
+
+  /*
+   * Sorts the suffixes by their first 2^k characters in each round, using the ranks of the previous round as radix
+   * sort keys, until all ranks are distinct.
+   */
+  private static int[] buildSuffixArray(final char[] text) {
+    int n = text.length;
+    int[] suffixes = new int[n];
+    if (n == 0) {
+      return suffixes;
+    }
+    int[] rank = new int[n];
+    int[] buffer = new int[n];
+    int[] counts = new int[Math.max(Character.MAX_VALUE + 1, n)];
+    for (char ch : text) {
+      counts[ch]++;
+    }
+    for (int ch = 0, offset = 0; ch <= Character.MAX_VALUE; ch++) {
+      int count = counts[ch];
+      counts[ch] = offset;
+      offset += count;
+    }
+    for (int i = 0; i < n; i++) {
+      suffixes[counts[text[i]]++] = i;
+    }
+    rank[suffixes[0]] = 0;
+    for (int i = 1; i < n; i++) {
+      rank[suffixes[i]] = rank[suffixes[i - 1]] + (text[suffixes[i]] != text[suffixes[i - 1]] ? 1 : 0);
+    }
+    int classes = rank[suffixes[n - 1]] + 1;
+    for (int k = 1; classes < n; k <<= 1) {
+      /* Order by the second key: suffixes without a second half first, then the others in their current order. */
+      int p = 0;
+      for (int i = n - k; i < n; i++) {
+        buffer[p++] = i;
+      }
+      for (int i = 0; i < n; i++) {
+        if (suffixes[i] >= k) {
+          buffer[p++] = suffixes[i] - k;
+        }
+      }
+      /* Stable counting sort by the first key. */
+      Arrays.fill(counts, 0, classes, 0);
+      for (int i = 0; i < n; i++) {
+        counts[rank[i]]++;
+      }
+      for (int r = 0, offset = 0; r < classes; r++) {
+        int count = counts[r];
+        counts[r] = offset;
+        offset += count;
+      }
+      for (int i = 0; i < n; i++) {
+        suffixes[counts[rank[buffer[i]]]++] = buffer[i];
+      }
+      buffer[suffixes[0]] = 0;
+      for (int i = 1; i < n; i++) {
+        int current = suffixes[i];
+        int previous = suffixes[i - 1];
+        boolean equal = rank[current] == rank[previous]
+          && (current + k < n ? rank[current + k] : -1) == (previous + k < n ? rank[previous + k] : -1);
+        buffer[current] = buffer[previous] + (equal ? 0 : 1);
+      }
+      int[] swap = rank;
+      rank = buffer;
+      buffer = swap;
+      classes = rank[suffixes[n - 1]] + 1;
+    }
+    return suffixes;
+  }
+
+  /*
+   * Kasai's algorithm: the LCP of a suffix and its predecessor in the suffix array drops by at most one when moving
+   * from position i to i + 1 in the text.
+   */
+  private static int[] buildLcpArray(final char[] text, final int[] suffixes) {
+    int n = text.length;
+    int[] lcp = new int[n];
+    int[] rank = new int[n];
+    for (int i = 0; i < n; i++) {
+      rank[suffixes[i]] = i;
+    }
+    int h = 0;
+    for (int i = 0; i < n; i++) {
+      if (rank[i] > 0) {
+        int j = suffixes[rank[i] - 1];
+        while (i + h < n && j + h < n && text[i + h] == text[j + h]) {
+          h++;
+        }
+        lcp[rank[i]] = h;
+        if (h > 0) {
+          h--;
+        }
+      } else {
+        h = 0;
+      }
+    }
+    return lcp;
+  }
+
+  /*
+   * Summarizes the suffix array in blocks, level k of the table holds the minimum position of 2^k consecutive blocks
+   * starting at each block.
+   */
+  private static int[][] buildMinima(final int[] suffixes) {
+    int blocks = suffixes.length == 0 ? 0 : (suffixes.length - 1) / BLOCK_SIZE + 1;
+    int[][] minima = new int[32 - Integer.numberOfLeadingZeros(blocks)][];
+    if (blocks == 0) {
+      return minima;
+    }
+    minima[0] = new int[blocks];
+    for (int block = 0; block < blocks; block++) {
+      int from = block * BLOCK_SIZE;
+      minima[0][block] = minimum(suffixes, from, Math.min(from + BLOCK_SIZE, suffixes.length));
+    }
+    for (int level = 1; level < minima.length; level++) {
+      int[] previous = minima[level - 1];
+      int half = 1 << (level - 1);
+      minima[level] = new int[blocks - 2 * half + 1];
+      for (int block = 0; block < minima[level].length; block++) {
+        minima[level][block] = Math.min(previous[block], previous[block + half]);
+      }
+    }
+    return minima;
+  }
+
+  /*
+   * Checks whether a proper prefix of the needle is also its suffix, only then two occurrences can overlap.
+   */
+  private static boolean hasBorder(final String needle) {
+    int length = needle.length();
+    int[] borders = new int[length];
+    for (int i = 1, border = 0; i < length; i++) {
+      while (border > 0 && needle.charAt(i) != needle.charAt(border)) {
+        border = borders[border - 1];
+      }
+      if (needle.charAt(i) == needle.charAt(border)) {
+        border++;
+      }
+      borders[i] = border;
+    }
+    return length > 0 && borders[length - 1] > 0;
+  }
+
+  /*
+   * Checks that the suffix array is a permutation of the positions and every LCP fits into both adjacent suffixes,
+   * which makes all queries stay within the bounds of the text.
+   */
+  private static boolean isConsistent(final int[] suffixes, final int[] lcp) {
+    int n = suffixes.length;
+    long[] seen = new long[(n >>> 6) + 1];
+    for (int i = 0; i < n; i++) {
+      int suffix = suffixes[i];
+      if (suffix < 0 || suffix >= n || (seen[suffix >>> 6] & 1L << suffix) != 0) {
+        return false;
+      }
+      seen[suffix >>> 6] |= 1L << suffix;
+      int maximum = i == 0 ? 0 : n - Math.max(suffix, suffixes[i - 1]);
+      if (lcp[i] < 0 || lcp[i] > maximum) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int minimum(final int[] values, final int from, final int to) {
+    int minimum = Integer.MAX_VALUE;
+    for (int i = from; i < to; i++) {
+      minimum = Math.min(minimum, values[i]);
+    }
+    return minimum;
+  }
+
+  private static void readChars(final FileChannel channel, final ByteBuffer buffer, final char[] target)
+    throws IOException {
+    for (int offset = 0; offset < target.length; offset += BUFFER_BYTES / 2) {
+      int size = Math.min(BUFFER_BYTES / 2, target.length - offset);
+      readFully(channel, buffer, 2 * size);
+      buffer.asCharBuffer().get(target, offset, size);
+    }
+  }
+
+  private static void readFully(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+    throws IOException {
+    buffer.clear();
+    buffer.limit(bytes);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Unexpected end of Strman index file");
+      }
+    }
+    buffer.flip();
+  }
+
+  private static void readInts(final FileChannel channel, final ByteBuffer buffer, final int[] target)
+    throws IOException {
+    for (int offset = 0; offset < target.length; offset += BUFFER_BYTES / 4) {
+      int size = Math.min(BUFFER_BYTES / 4, target.length - offset);
+      readFully(channel, buffer, 4 * size);
+      buffer.asIntBuffer().get(target, offset, size);
+    }
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  private static void writeInts(final FileChannel channel, final ByteBuffer buffer, final int[] source)
+    throws IOException {
+    for (int offset = 0; offset < source.length; offset += BUFFER_BYTES / 4) {
+      int size = Math.min(BUFFER_BYTES / 4, source.length - offset);
+      buffer.clear();
+      buffer.asIntBuffer().put(source, offset, size);
+      buffer.limit(4 * size);
+      writeFully(channel, buffer);
+    }
+  }
+
+  /*
+   * Compares the needle with the prefix of the suffix, a suffix shorter than the needle sorts before it.
+   */
+  private int compare(final String needle, final int suffix) {
+    int length = Math.min(needle.length(), text.length - suffix);
+    for (int i = 0; i < length; i++) {
+      int difference = needle.charAt(i) - text[suffix + i];
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return length < needle.length() ? 1 : 0;
+  }
+
+  /*
+   * Returns the minimum position of the suffixes in the range, the whole blocks in between are covered by two
+   * overlapping entries of the sparse table.
+   */
+  private int first(final int from, final int to) {
+    int fromBlock = from / BLOCK_SIZE;
+    int toBlock = (to - 1) / BLOCK_SIZE;
+    if (toBlock - fromBlock < 2) {
+      return minimum(suffixes, from, to);
+    }
+    int first = Math.min(minimum(suffixes, from, (fromBlock + 1) * BLOCK_SIZE),
+      minimum(suffixes, toBlock * BLOCK_SIZE, to));
+    int blocks = toBlock - fromBlock - 1;
+    int level = 31 - Integer.numberOfLeadingZeros(blocks);
+    first = Math.min(first, minima[level][fromBlock + 1]);
+    return Math.min(first, minima[level][toBlock - (1 << level)]);
+  }
+
+  private int lowerBound(final String needle) {
+    int low = 0;
+    int high = suffixes.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(needle, suffixes[middle]) > 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private int upperBound(final String needle) {
+    int low = 0;
+    int high = suffixes.length;
+    while (low < high) {
+      int middle = (low + high) >>> 1;
+      if (compare(needle, suffixes[middle]) >= 0) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static void validateNeedle(final String needle) {
+    if (needle == null) {
+      throw new IllegalArgumentException("needle can't be null");
+    }
+  }
+}
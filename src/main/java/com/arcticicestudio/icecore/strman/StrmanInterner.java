@@ -0,0 +1,384 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Interner                                   +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * Deduplicates equal strings by returning a single canonical instance for each distinct character sequence.
+ * <p>
+ *   The interner is thread-safe and split into independently locked segments.
+ *   Lookups of already interned values never take a lock and {@link #intern(CharSequence)} compares the characters
+ *   in-place, so a {@link String} is only created when a value is seen for the first time.
+ * </p>
+ * <p>
+ *   Interners are created in one of three modes:
+ * </p>
+ * <ul>
+ *   <li>{@link #strong()} keeps every interned value until {@link #clear()} is called</li>
+ *   <li>{@link #strong(int)} keeps at most the given number of values and evicts arbitrary entries when full</li>
+ *   <li>{@link #weak()} only keeps values that are still referenced elsewhere</li>
+ * </ul>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#toSnakeCase(String, StrmanInterner)
+ * @since 0.4.0
+ */
+public final class StrmanInterner {
+
+  private static final int MAXIMUM_SEGMENTS = 16;
+  private static final int INITIAL_SEGMENT_CAPACITY = 16;
+
+  private final Segment[] segments;
+  private final int segmentShift;
+
+  private StrmanInterner(final int segmentCount, final int maximumSegmentSize, final boolean weak) {
+    segments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      segments[i] = new Segment(maximumSegmentSize, weak);
+    }
+    segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+  }
+
+  /**
+   * Creates an unbounded interner which strongly references all interned values.
+   *
+   * @return the new interner
+   */
+  public static StrmanInterner strong() {
+    return new StrmanInterner(MAXIMUM_SEGMENTS, Integer.MAX_VALUE, false);
+  }
+
+  /**
+   * Creates a bounded interner which strongly references at most the given number of values.
+   * <p>
+   *   When the interner is full an arbitrary entry is evicted for each new value.
+   *   Evicted values stay valid strings, they are just no longer returned as the canonical instance.
+   * </p>
+   *
+   * @param maximumSize the maximum number of interned values
+   * @return the new interner
+   * @throws IllegalArgumentException if the maximum size is not positive
+   */
+  public static StrmanInterner strong(final int maximumSize) throws IllegalArgumentException {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    int segmentCount = Math.min(MAXIMUM_SEGMENTS, Integer.highestOneBit(maximumSize));
+    return new StrmanInterner(segmentCount, maximumSize / segmentCount, false);
+  }
+
+  /**
+   * Creates an unbounded interner which weakly references all interned values.
+   * <p>
+   *   Values are dropped by the interner as soon as they are no longer strongly referenced elsewhere.
+   * </p>
+   *
+   * @return the new interner
+   */
+  public static StrmanInterner weak() {
+    return new StrmanInterner(MAXIMUM_SEGMENTS, Integer.MAX_VALUE, true);
+  }
+
+  /**
+   * Returns the canonical instance of the string.
+   *
+   * @param value the string to intern
+   * @return the canonical instance equal to the given string
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public String intern(final String value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    int hash = value.hashCode();
+    Segment segment = segmentFor(hash);
+    String canonical = segment.get(value, hash);
+    return canonical != null ? canonical : segment.put(value, value, hash);
+  }
+
+  /**
+   * Returns the canonical instance of the character sequence.
+   * <p>
+   *   The characters are compared in-place, a new string is only created if no equal value has been interned yet.
+   * </p>
+   *
+   * @param value the character sequence to intern
+   * @return the canonical string instance equal to the given character sequence
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public String intern(final CharSequence value) throws IllegalArgumentException {
+    if (value instanceof String) {
+      return intern((String) value);
+    }
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    int hash = hash(value);
+    Segment segment = segmentFor(hash);
+    String canonical = segment.get(value, hash);
+    return canonical != null ? canonical : segment.put(value, null, hash);
+  }
+
+  /**
+   * Returns the number of interned values.
+   * <p>
+   *   For weak interners this might include values which have been garbage collected but not yet been cleaned up.
+   * </p>
+   *
+   * @return the number of interned values
+   */
+  public int size() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  /**
+   * Removes all interned values.
+   */
+  public void clear() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /*
+   * Computes the same hash code as String#hashCode() to be able to compare strings and other character sequences.
+   */
+  private static int hash(final CharSequence value) {
+    int hash = 0;
+    for (int i = 0; i < value.length(); i++) {
+      hash = 31 * hash + value.charAt(i);
+    }
+    return hash;
+  }
+
+  private Segment segmentFor(final int hash) {
+    int spread = (hash ^ (hash >>> 16)) * 0x9E3779B9;
+    return segments[segmentShift == 32 ? 0 : spread >>> segmentShift];
+  }
+
+  /*
+   * Entries are immutable, so a bucket chain can always be traversed safely without holding the lock.
+   * Readers that miss a concurrently added entry retry under the lock through put(...).
+   */
+  private interface Node {
+    int hash();
+
+    Node next();
+
+    String value();
+  }
+
+  private static final class StrongNode implements Node {
+    private final int hash;
+    private final Node next;
+    private final String value;
+
+    StrongNode(final String value, final int hash, final Node next) {
+      this.value = value;
+      this.hash = hash;
+      this.next = next;
+    }
+
+    @Override
+    public int hash() {
+      return hash;
+    }
+
+    @Override
+    public Node next() {
+      return next;
+    }
+
+    @Override
+    public String value() {
+      return value;
+    }
+  }
+
+  private static final class WeakNode extends WeakReference<String> implements Node {
+    private final int hash;
+    private final Node next;
+
+    WeakNode(final String value, final int hash, final Node next, final ReferenceQueue<String> queue) {
+      super(value, queue);
+      this.hash = hash;
+      this.next = next;
+    }
+
+    @Override
+    public int hash() {
+      return hash;
+    }
+
+    @Override
+    public Node next() {
+      return next;
+    }
+
+    @Override
+    public String value() {
+      return get();
+    }
+  }
+
+  private static final class Segment {
+    private final int maximumSize;
+    private final ReferenceQueue<String> queue;
+    private volatile Node[] table = new Node[INITIAL_SEGMENT_CAPACITY];
+    private int count;
+    private int evictionHand;
+
+    Segment(final int maximumSize, final boolean weak) {
+      this.maximumSize = maximumSize;
+      this.queue = weak ? new ReferenceQueue<>() : null;
+    }
+
+    String get(final CharSequence key, final int hash) {
+      Node[] tab = table;
+      for (Node node = tab[hash & (tab.length - 1)]; node != null; node = node.next()) {
+        if (node.hash() == hash) {
+          String value = node.value();
+          if (value != null && value.contentEquals(key)) {
+            return value;
+          }
+        }
+      }
+      return null;
+    }
+
+    synchronized String put(final CharSequence key, final String keyString, final int hash) {
+      String existing = get(key, hash);
+      if (existing != null) {
+        return existing;
+      }
+      expungeStaleNodes();
+      if (count >= maximumSize) {
+        evict();
+      } else if (count >= table.length - (table.length >>> 2)) {
+        resize();
+      }
+      String value = keyString != null ? keyString : key.toString();
+      Node[] tab = table;
+      int index = hash & (tab.length - 1);
+      tab[index] = newNode(value, hash, tab[index]);
+      count++;
+      table = tab;
+      return value;
+    }
+
+    synchronized int size() {
+      expungeStaleNodes();
+      return count;
+    }
+
+    synchronized void clear() {
+      if (queue != null) {
+        while (queue.poll() != null) {
+          /* Drop all pending references of the discarded table. */
+        }
+      }
+      table = new Node[INITIAL_SEGMENT_CAPACITY];
+      count = 0;
+      evictionHand = 0;
+    }
+
+    private Node newNode(final String value, final int hash, final Node next) {
+      return queue != null ? new WeakNode(value, hash, next, queue) : new StrongNode(value, hash, next);
+    }
+
+    /*
+     * Removes the head of the next non-empty bucket after the one of the previous eviction.
+     */
+    private void evict() {
+      Node[] tab = table;
+      for (int i = 0; i < tab.length; i++) {
+        int index = (evictionHand + i) & (tab.length - 1);
+        Node head = tab[index];
+        if (head != null) {
+          tab[index] = head.next();
+          count--;
+          evictionHand = index + 1;
+          table = tab;
+          return;
+        }
+      }
+    }
+
+    private void expungeStaleNodes() {
+      if (queue == null) {
+        return;
+      }
+      Reference<? extends String> reference;
+      while ((reference = queue.poll()) != null) {
+        remove((Node) reference);
+      }
+    }
+
+    /*
+     * Copies the nodes in front of the removed node since the chains are immutable.
+     * Stale nodes of the copied prefix are skipped along the way.
+     */
+    private void remove(final Node removed) {
+      Node[] tab = table;
+      int index = removed.hash() & (tab.length - 1);
+      Node head = tab[index];
+      boolean found = false;
+      for (Node node = head; node != null; node = node.next()) {
+        if (node == removed) {
+          found = true;
+          break;
+        }
+      }
+      if (!found) {
+        return;
+      }
+      Node newHead = removed.next();
+      for (Node node = head; node != removed; node = node.next()) {
+        String value = node.value();
+        if (value != null) {
+          newHead = newNode(value, node.hash(), newHead);
+        } else {
+          count--;
+        }
+      }
+      tab[index] = newHead;
+      count--;
+      table = tab;
+    }
+
+    private void resize() {
+      Node[] oldTable = table;
+      Node[] newTable = new Node[oldTable.length << 1];
+      int mask = newTable.length - 1;
+      int size = 0;
+      for (Node head : oldTable) {
+        for (Node node = head; node != null; node = node.next()) {
+          String value = node.value();
+          if (value != null) {
+            int index = node.hash() & mask;
+            newTable[index] = newNode(value, node.hash(), newTable[index]);
+            size++;
+          }
+        }
+      }
+      count = size;
+      table = newTable;
+    }
+  }
+}
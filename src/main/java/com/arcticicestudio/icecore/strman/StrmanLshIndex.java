@@ -0,0 +1,276 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman LSH Index                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Indexes MinHash signatures for sub-linear lookups of near-duplicate candidates with locality-sensitive hashing.
+ * <p>
+ *   Signatures are split into bands of consecutive rows.
+ *   Documents whose signatures are equal in at least one band are candidates, so documents with a Jaccard similarity
+ *   {@code s} are found with a probability of {@code 1 - (1 - s^rows)^bands}.
+ *   The candidates should be verified with {@link Strman#minHashSimilarity(long[], long[])}.
+ * </p>
+ * <p>
+ *   Every band is stored as a single sorted {@code long[]} whose entries combine the upper 32 bits of the band hash
+ *   with the 32-bit document ID, so the index takes {@code 8 * bands} bytes per document and a lookup binary searches
+ *   every band in {@code O(bands * log n)}.
+ *   Hash collisions of the 32-bit keys only add candidates, they never hide one.
+ *   Signatures of no shingles are counted as documents but not indexed, they are never candidates.
+ *   The index is immutable after its creation and can be searched concurrently.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#minHash(long[], int)
+ * @see <a href="http://infolab.stanford.edu/~ullman/mmds/ch3.pdf">Mining of Massive Datasets, Chapter 3</a>
+ * @since 0.4.0
+ */
+public final class StrmanLshIndex {
+
+  /*
+   * Marks the entries of signatures without shingles, valid entries never have the sign bit of the ID set.
+   */
+  private static final long EXCLUDED = -1L;
+
+  private final int bands;
+  private final int rows;
+  private final long[][] keys;
+  private final int size;
+
+  private StrmanLshIndex(final int bands, final int rows, final long[][] keys, final int size) {
+    this.bands = bands;
+    this.rows = rows;
+    this.keys = keys;
+    this.size = size;
+  }
+
+  /**
+   * Creates a builder of an index for signatures of {@code bands * rows} hashes.
+   *
+   * @param bands the number of bands
+   * @param rows the number of rows per band
+   * @return the new builder
+   * @throws IllegalArgumentException if the number of bands or rows is not positive
+   */
+  public static Builder builder(final int bands, final int rows) throws IllegalArgumentException {
+    if (bands < 1 || rows < 1) {
+      throw new IllegalArgumentException("bands and rows must be positive");
+    }
+    return new Builder(bands, rows);
+  }
+
+  /**
+   * Returns the number of bands.
+   *
+   * @return the number of bands
+   */
+  public int bands() {
+    return bands;
+  }
+
+  /**
+   * Finds the IDs of all documents whose signature is equal to the signature in at least one band.
+   *
+   * @param signature the signature to look up
+   * @return the IDs of the candidates in ascending order, none for a signature of no shingles
+   * @throws IllegalArgumentException if the signature is {@code null} or its length is not {@code bands * rows}
+   */
+  public int[] candidates(final long[] signature) throws IllegalArgumentException {
+    validateSignature(signature, bands, rows);
+    if (NearDuplicates.isEmpty(signature)) {
+      return new int[0];
+    }
+    int[] candidates = new int[16];
+    int count = 0;
+    for (int band = 0; band < bands; band++) {
+      long key = NearDuplicates.bandHash(signature, band * rows, (band + 1) * rows) & 0xFFFFFFFF00000000L;
+      long[] entries = keys[band];
+      int i = lowerBound(entries, key);
+      while (i < entries.length && (entries[i] & 0xFFFFFFFF00000000L) == key) {
+        if (count == candidates.length) {
+          candidates = Arrays.copyOf(candidates, count << 1);
+        }
+        candidates[count++] = (int) entries[i++];
+      }
+    }
+    Arrays.sort(candidates, 0, count);
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinct == 0 || candidates[distinct - 1] != candidates[i]) {
+        candidates[distinct++] = candidates[i];
+      }
+    }
+    return Arrays.copyOf(candidates, distinct);
+  }
+
+  /**
+   * Returns the number of rows per band.
+   *
+   * @return the number of rows
+   */
+  public int rows() {
+    return rows;
+  }
+
+  /**
+   * Returns the number of indexed documents.
+   *
+   * @return the number of documents
+   */
+  public int size() {
+    return size;
+  }
+
+  /*
+   * Finds the index of the first entry that is not less than the key.
+   */
+  private static int lowerBound(final long[] entries, final long key) {
+    int low = 0;
+    int high = entries.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (entries[mid] < key) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static long entry(final long[] signature, final int band, final int rows, final int id) {
+    return (NearDuplicates.bandHash(signature, band * rows, (band + 1) * rows) & 0xFFFFFFFF00000000L) | id;
+  }
+
+  private static void validateSignature(final long[] signature, final int bands, final int rows) {
+    if (signature == null) {
+      throw new IllegalArgumentException("signature can't be null");
+    }
+    if (signature.length != bands * rows) {
+      throw new IllegalArgumentException("signature must have " + bands * rows + " hashes");
+    }
+  }
+
+  /**
+   * Collects the signatures of a {@link StrmanLshIndex}.
+   * <p>
+   *   Only the band keys of a signature are kept, the signature itself can be discarded after it has been added.
+   *   Documents are numbered in the order they are added, starting with {@code 0}.
+   *   Builders are not thread-safe, use {@link #addAll(long[][])} to hash a batch of signatures in parallel.
+   * </p>
+   *
+   * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+   * @since 0.4.0
+   */
+  public static final class Builder {
+    private final int bands;
+    private final int rows;
+    private long[][] keys;
+    private int size;
+
+    private Builder(final int bands, final int rows) {
+      this.bands = bands;
+      this.rows = rows;
+      this.keys = new long[bands][16];
+    }
+
+    /**
+     * Adds the signature of a document.
+     *
+     * @param signature the MinHash signature of {@code bands * rows} hashes
+     * @return the ID of the document
+     * @throws IllegalArgumentException if the signature is {@code null} or its length is not {@code bands * rows}
+     */
+    public int add(final long[] signature) throws IllegalArgumentException {
+      validateSignature(signature, bands, rows);
+      ensureCapacity(size + 1);
+      boolean empty = NearDuplicates.isEmpty(signature);
+      for (int band = 0; band < bands; band++) {
+        keys[band][size] = empty ? EXCLUDED : entry(signature, band, rows, size);
+      }
+      return size++;
+    }
+
+    /**
+     * Adds the signatures of multiple documents, hashing them in parallel.
+     *
+     * @param signatures the MinHash signatures of {@code bands * rows} hashes
+     * @return the ID of the first document, the following documents have consecutive IDs
+     * @throws IllegalArgumentException if one of the signatures is {@code null} or its length is not
+     *   {@code bands * rows}
+     */
+    public int addAll(final long[][] signatures) throws IllegalArgumentException {
+      if (signatures == null) {
+        throw new IllegalArgumentException("signatures can't be null");
+      }
+      for (long[] signature : signatures) {
+        validateSignature(signature, bands, rows);
+      }
+      int first = size;
+      ensureCapacity(first + signatures.length);
+      IntStream.range(0, signatures.length).parallel().forEach(i -> {
+        boolean empty = NearDuplicates.isEmpty(signatures[i]);
+        for (int band = 0; band < bands; band++) {
+          keys[band][first + i] = empty ? EXCLUDED : entry(signatures[i], band, rows, first + i);
+        }
+      });
+      size += signatures.length;
+      return first;
+    }
+
+    /**
+     * Builds the index of all added signatures, sorting the bands in parallel.
+     * <p>
+     *   The builder can't be used anymore afterwards.
+     * </p>
+     *
+     * @return the new index
+     * @throws IllegalStateException if the index has already been built
+     */
+    public StrmanLshIndex build() throws IllegalStateException {
+      if (keys == null) {
+        throw new IllegalStateException("index has already been built");
+      }
+      long[][] sorted = keys;
+      keys = null;
+      IntStream.range(0, bands).parallel().forEach(band -> {
+        long[] entries = sorted[band];
+        int indexed = 0;
+        for (int i = 0; i < size; i++) {
+          if (entries[i] != EXCLUDED) {
+            entries[indexed++] = entries[i];
+          }
+        }
+        sorted[band] = Arrays.copyOf(entries, indexed);
+        Arrays.sort(sorted[band]);
+      });
+      return new StrmanLshIndex(bands, rows, sorted, size);
+    }
+
+    private void ensureCapacity(final int capacity) {
+      if (keys == null) {
+        throw new IllegalStateException("index has already been built");
+      }
+      if (capacity < 0) {
+        throw new IllegalStateException("index can't contain more than " + Integer.MAX_VALUE + " documents");
+      }
+      if (capacity > keys[0].length) {
+        int grown = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(capacity, keys[0].length * 3L / 2));
+        for (int band = 0; band < bands; band++) {
+          keys[band] = Arrays.copyOf(keys[band], grown);
+        }
+      }
+    }
+  }
+}
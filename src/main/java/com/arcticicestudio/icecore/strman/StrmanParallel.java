@@ -0,0 +1,473 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Parallel                                   +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Runs operations of {@link Strman} on large strings in parallel.
+ * <p>
+ *   Strings shorter than the threshold are processed by the sequential {@link Strman} methods.
+ *   Longer strings are split into chunks which are processed as tasks of a {@link ForkJoinPool} and stitched together
+ *   afterwards.
+ *   Chunks are never split between the characters of a surrogate pair, group of hexadecimal digits or an occurrence
+ *   of a searched substring, so the results are identical to the sequential methods.
+ *   Invalid input is passed to the sequential method to throw exactly the same exception.
+ * </p>
+ * <p>
+ *   Instances are immutable and can be shared.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#parallel()
+ * @since 0.4.0
+ */
+public final class StrmanParallel {
+
+  /**
+   * The default minimum length of strings that are processed in parallel.
+   */
+  public static final int DEFAULT_THRESHOLD = 1 << 20;
+
+  /*
+   * Strings are split into at least this many chunks per worker to balance uneven workloads.
+   */
+  private static final int CHUNKS_PER_WORKER = 4;
+
+  /*
+   * The minimum number of characters per chunk, smaller chunks don't pay off the scheduling overhead.
+   */
+  private static final int MIN_CHUNK_LENGTH = 1 << 14;
+
+  /*
+   * The minimum number of strings per chunk of an array.
+   */
+  private static final int MIN_CHUNK_SIZE = 1 << 10;
+
+  /*
+   * The number of positions a chunk boundary is moved at most to find a position that doesn't split a match.
+   */
+  private static final int MAX_BOUNDARY_SHIFT = 256;
+
+  static final StrmanParallel DEFAULT = new StrmanParallel(DEFAULT_THRESHOLD, null);
+
+  private final int threshold;
+  private final ForkJoinPool pool;
+
+  private StrmanParallel(final int threshold, final ForkJoinPool pool) {
+    this.threshold = threshold;
+    this.pool = pool;
+  }
+
+  /**
+   * Encodes a string with MIME base64 in parallel.
+   *
+   * @param value the string to encode
+   * @return the encoded string
+   * @see Strman#base64Encode(String)
+   */
+  public String base64Encode(final String value) {
+    if (value == null || value.length() < threshold) {
+      return Strman.base64Encode(value);
+    }
+    int[] chunks = chunks(value, 1);
+    int count = chunks.length - 1;
+    int[] offsets = new int[count + 1];
+    try {
+      forEach(count, chunk -> offsets[chunk + 1] = Utf8.encodedLength(value, chunks[chunk], chunks[chunk + 1]));
+    } catch (IllegalArgumentException e) {
+      return Strman.base64Encode(value);
+    }
+    for (int chunk = 0; chunk < count; chunk++) {
+      offsets[chunk + 1] += offsets[chunk];
+    }
+    byte[] bytes = new byte[offsets[count]];
+    forEach(count, chunk -> {
+      ByteBuffer target = ByteBuffer.wrap(bytes);
+      target.position(offsets[chunk]);
+      Utf8.encode(value, chunks[chunk], chunks[chunk + 1], target);
+    });
+    /* Blocks of three bytes are encoded into four characters independent of their neighbors. */
+    int blocks = (bytes.length + 2) / 3;
+    int blocksPerChunk = Math.max(MIN_CHUNK_LENGTH, blocks / (parallelism() * CHUNKS_PER_WORKER));
+    int byteChunks = (blocks + blocksPerChunk - 1) / blocksPerChunk;
+    byte[] encoded = new byte[blocks * 4];
+    Base64.Encoder encoder = Base64.getEncoder();
+    forEach(byteChunks, chunk -> {
+      int from = chunk * blocksPerChunk * 3;
+      int to = Math.min(bytes.length, from + blocksPerChunk * 3);
+      ByteBuffer result = encoder.encode(ByteBuffer.wrap(bytes, from, to - from));
+      result.get(encoded, chunk * blocksPerChunk * 4, result.remaining());
+    });
+    return new String(encoded, StandardCharsets.ISO_8859_1);
+  }
+
+  /**
+   * Counts the number of times a substring appears in the string in parallel.
+   *
+   * @param value the string to search
+   * @param subStr the substring to find
+   * @return the count of times the substring exists
+   * @see Strman#countSubstr(String, String)
+   */
+  public long countSubstr(final String value, final String subStr) {
+    return countSubstr(value, subStr, true, false);
+  }
+
+  /**
+   * Counts the number of times a substring appears in the string in parallel.
+   * <p>
+   *   Case insensitive searches convert the string to lower case sequentially before.
+   * </p>
+   *
+   * @param value the string to search
+   * @param subStr the substring to find
+   * @param caseSensitive the case sensitivity
+   * @param allowOverlapping the overlapping behavior
+   * @return the count of times the substring exists
+   * @see Strman#countSubstr(String, String, boolean, boolean)
+   */
+  public long countSubstr(final String value, final String subStr, final boolean caseSensitive, final boolean allowOverlapping) {
+    if (value == null || subStr == null || subStr.isEmpty() || value.length() < threshold) {
+      return Strman.countSubstr(value, subStr, caseSensitive, allowOverlapping);
+    }
+    String text = caseSensitive ? value : value.toLowerCase();
+    String needle = caseSensitive ? subStr : subStr.toLowerCase();
+    int[] chunks = allowOverlapping ? chunks(text, 1) : matchSafeChunks(text, needle);
+    int count = chunks.length - 1;
+    long[] counts = new long[count];
+    forEach(count, chunk -> {
+      /* Overlapping occurrences starting in the chunk may end in the next one. */
+      int end = allowOverlapping ? Math.min(text.length(), chunks[chunk + 1] + needle.length() - 1) : chunks[chunk + 1];
+      counts[chunk] = Kernels.countSubstr(text.substring(chunks[chunk], end), needle, allowOverlapping);
+    });
+    long total = 0;
+    for (long chunkCount : counts) {
+      total += chunkCount;
+    }
+    return total;
+  }
+
+  /**
+   * Decodes hexadecimal unicode (4 digits) encoded string in parallel.
+   *
+   * @param value the string to decode
+   * @return the decoded string
+   * @see Strman#decodeHex(String)
+   */
+  public String decodeHex(final String value) {
+    if (value == null || value.length() < threshold) {
+      return Strman.decodeHex(value);
+    }
+    int[] chunks = chunks(value, 4);
+    char[] decoded = new char[(value.length() + 3) / 4];
+    boolean[] valid = {true};
+    forEach(chunks.length - 1, chunk -> {
+      for (int i = chunks[chunk]; i < chunks[chunk + 1] && valid[0]; i += 4) {
+        int ch = 0;
+        int end = Math.min(i + 4, value.length());
+        for (int k = i; k < end && ch >= 0; k++) {
+          int digit = value.charAt(k) < 0x80 ? Character.digit(value.charAt(k), 16) : -1;
+          ch = digit < 0 ? -1 : (ch << 4) | digit;
+        }
+        if (ch < 0) {
+          valid[0] = false;
+        } else {
+          decoded[i >>> 2] = (char) ch;
+        }
+      }
+    });
+    return valid[0] ? new String(decoded) : Strman.decodeHex(value);
+  }
+
+  /**
+   * Encodes a string to hexadecimal unicode (4 digits) in parallel.
+   *
+   * @param value the string to encode
+   * @return the encoded string
+   * @see Strman#encodeHex(String)
+   */
+  public String encodeHex(final String value) {
+    if (value == null || value.length() < threshold) {
+      return Strman.encodeHex(value);
+    }
+    int[] chunks = chunks(value, 1);
+    char[] encoded = new char[value.length() * 4];
+    forEach(chunks.length - 1, chunk -> {
+      for (int i = chunks[chunk]; i < chunks[chunk + 1]; i++) {
+        ScalarKernels.encodeHex(value.charAt(i), encoded, i << 2);
+      }
+    });
+    return new String(encoded);
+  }
+
+  /**
+   * Encodes all strings into keys of how they sound in English in parallel.
+   * <p>
+   *   The threshold applies to the number of strings, smaller arrays are encoded sequentially.
+   *   The array is split into chunks whose strings are encoded by one task each, reusing the buffers of the task.
+   * </p>
+   *
+   * @param values the strings to encode
+   * @param algorithm the algorithm to encode with
+   * @return the keys at the indices of their strings
+   * @throws IllegalArgumentException if the values or the algorithm is {@code null}
+   * @see Strman#phoneticKeys(String[], StrmanPhonetic)
+   */
+  public String[] phoneticKeys(final String[] values, final StrmanPhonetic algorithm)
+    throws IllegalArgumentException {
+    if (values == null || algorithm == null || values.length < threshold) {
+      return Strman.phoneticKeys(values, algorithm);
+    }
+    int chunkSize = Math.max(MIN_CHUNK_SIZE, values.length / (parallelism() * CHUNKS_PER_WORKER));
+    int count = (values.length + chunkSize - 1) / chunkSize;
+    String[] keys = new String[values.length];
+    forEach(count, chunk -> {
+      int from = chunk * chunkSize;
+      new Phonetics().encode(values, keys, from, from + Math.min(chunkSize, values.length - from), algorithm);
+    });
+    return keys;
+  }
+
+  /**
+   * Removes all spaces from the string in parallel.
+   *
+   * @param value the initial string
+   * @return the string without spaces
+   * @see Strman#removeSpaces(String)
+   */
+  public String removeSpaces(final String value) {
+    if (value == null || value.length() < threshold) {
+      return Strman.removeSpaces(value);
+    }
+    int[] chunks = chunks(value, 1);
+    int count = chunks.length - 1;
+    int[] offsets = new int[count + 1];
+    forEach(count, chunk -> {
+      int kept = 0;
+      for (int i = chunks[chunk]; i < chunks[chunk + 1]; i++) {
+        if (!ScalarKernels.isWhitespace(value.charAt(i))) {
+          kept++;
+        }
+      }
+      offsets[chunk + 1] = kept;
+    });
+    for (int chunk = 0; chunk < count; chunk++) {
+      offsets[chunk + 1] += offsets[chunk];
+    }
+    if (offsets[count] == value.length()) {
+      return value;
+    }
+    char[] result = new char[offsets[count]];
+    forEach(count, chunk -> {
+      int position = offsets[chunk];
+      for (int i = chunks[chunk]; i < chunks[chunk + 1]; i++) {
+        char ch = value.charAt(i);
+        if (!ScalarKernels.isWhitespace(ch)) {
+          result[position++] = ch;
+        }
+      }
+    });
+    return new String(result);
+  }
+
+  /**
+   * Reverses the string in parallel.
+   *
+   * @param value the string to reverse
+   * @return the reversed string
+   * @see Strman#reverse(String)
+   */
+  public String reverse(final String value) {
+    if (value == null || value.length() < threshold) {
+      return Strman.reverse(value);
+    }
+    int length = value.length();
+    int[] chunks = chunks(value, 1);
+    char[] reversed = new char[length];
+    forEach(chunks.length - 1, chunk -> {
+      int from = length - chunks[chunk + 1];
+      int to = length - chunks[chunk];
+      for (int i = chunks[chunk]; i < chunks[chunk + 1]; i++) {
+        reversed[length - 1 - i] = value.charAt(i);
+      }
+      /* Restores the order of surrogate pairs like StringBuilder.reverse(). */
+      for (int i = from; i < to - 1; i++) {
+        if (Character.isLowSurrogate(reversed[i]) && Character.isHighSurrogate(reversed[i + 1])) {
+          char low = reversed[i];
+          reversed[i] = reversed[i + 1];
+          reversed[++i] = low;
+        }
+      }
+    });
+    return new String(reversed);
+  }
+
+  /**
+   * Sorts the strings in place into the order of {@link String#compareTo(String)} in parallel.
+   * <p>
+   *   The threshold applies to the number of strings, smaller arrays are sorted sequentially.
+   *   Each partitioning step of the multikey quicksort forks its three parts as independent tasks until they are small
+   *   enough to be sorted sequentially, so the result is the same as of the sequential sort.
+   * </p>
+   *
+   * @param values the strings to sort
+   * @throws IllegalArgumentException if the strings or one of them is {@code null}
+   * @see Strman#sort(String[])
+   */
+  public void sort(final String[] values) throws IllegalArgumentException {
+    if (values == null || values.length < threshold || Arrays.asList(values).contains(null)) {
+      Strman.sort(values);
+      return;
+    }
+    Sorting.sort(values, pool != null ? pool : ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Returns the minimum length of strings that are processed in parallel.
+   *
+   * @return the threshold
+   */
+  public int threshold() {
+    return threshold;
+  }
+
+  /**
+   * Creates a copy that runs the tasks on the specified pool instead of the common pool.
+   *
+   * @param pool the pool to run the tasks on
+   * @return the copy with the specified pool
+   * @throws IllegalArgumentException if the pool is {@code null}
+   */
+  public StrmanParallel withPool(final ForkJoinPool pool) throws IllegalArgumentException {
+    if (pool == null) {
+      throw new IllegalArgumentException("pool can't be null");
+    }
+    return new StrmanParallel(threshold, pool);
+  }
+
+  /**
+   * Creates a copy with the specified minimum length of strings that are processed in parallel.
+   *
+   * @param threshold the minimum length
+   * @return the copy with the specified threshold
+   * @throws IllegalArgumentException if the threshold is not positive
+   */
+  public StrmanParallel withThreshold(final int threshold) throws IllegalArgumentException {
+    if (threshold < 1) {
+      throw new IllegalArgumentException("threshold must be positive");
+    }
+    return new StrmanParallel(threshold, pool);
+  }
+
+  /*
+   * Splits the string into chunks whose boundaries are multiples of the alignment and never split a surrogate pair.
+   * Returns the boundaries including 0 and the length of the string.
+   */
+  private int[] chunks(final String value, final int alignment) {
+    int length = value.length();
+    int chunkLength = Math.max(MIN_CHUNK_LENGTH, length / (parallelism() * CHUNKS_PER_WORKER));
+    chunkLength -= chunkLength % alignment;
+    int count = (length + chunkLength - 1) / chunkLength;
+    int[] boundaries = new int[count + 1];
+    for (int chunk = 1; chunk < count; chunk++) {
+      int boundary = chunk * chunkLength;
+      if (alignment == 1 && Character.isHighSurrogate(value.charAt(boundary - 1))
+        && Character.isLowSurrogate(value.charAt(boundary))) {
+        boundary++;
+      }
+      boundaries[chunk] = boundary;
+    }
+    boundaries[count] = length;
+    return boundaries;
+  }
+
+  /*
+   * Splits the string into chunks whose boundaries are not covered by an occurrence of the needle, so a sequential
+   * non-overlapping search from the start of each chunk finds the same occurrences as a search over the whole string.
+   * Boundaries without such a position nearby are dropped.
+   */
+  private int[] matchSafeChunks(final String value, final String needle) {
+    int[] boundaries = chunks(value, 1);
+    int count = 0;
+    for (int chunk = 1; chunk < boundaries.length; chunk++) {
+      int boundary = boundaries[chunk];
+      if (chunk < boundaries.length - 1) {
+        int limit = Math.min(boundaries[chunk + 1], boundary + MAX_BOUNDARY_SHIFT);
+        while (boundary < limit && isCovered(value, needle, boundary)) {
+          boundary++;
+        }
+        if (boundary == limit) {
+          continue;
+        }
+      }
+      boundaries[++count] = boundary;
+    }
+    int[] result = new int[count + 1];
+    System.arraycopy(boundaries, 0, result, 0, count + 1);
+    return result;
+  }
+
+  private static boolean isCovered(final String value, final String needle, final int boundary) {
+    for (int start = Math.max(0, boundary - needle.length() + 1); start < boundary; start++) {
+      if (value.startsWith(needle, start)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private int parallelism() {
+    return pool != null ? pool.getParallelism() : ForkJoinPool.getCommonPoolParallelism();
+  }
+
+  private void forEach(final int count, final ChunkOperation operation) {
+    (pool != null ? pool : ForkJoinPool.commonPool()).invoke(new ChunkTask(operation, 0, count));
+  }
+
+  @FunctionalInterface
+  private interface ChunkOperation {
+    void apply(int chunk);
+  }
+
+  /*
+   * Processes a range of chunks by splitting it in halves until a single chunk remains.
+   */
+  private static final class ChunkTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient ChunkOperation operation;
+    private final int from;
+    private final int to;
+
+    ChunkTask(final ChunkOperation operation, final int from, final int to) {
+      this.operation = operation;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from == 1) {
+        operation.apply(from);
+      } else if (to - from > 1) {
+        int middle = (from + to) >>> 1;
+        invokeAll(new ChunkTask(operation, from, middle), new ChunkTask(operation, middle, to));
+      }
+    }
+  }
+}
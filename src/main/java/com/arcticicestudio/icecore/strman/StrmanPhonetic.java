@@ -0,0 +1,60 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Phonetic                                   +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Represents the algorithms names are encoded with into keys of how they sound in English.
+ * <p>
+ *   Characters with a known ASCII equivalent are folded before, all other characters than ASCII letters don't
+ *   contribute to the keys.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#phoneticKey(String, StrmanPhonetic)
+ * @see <a href="https://en.wikipedia.org/wiki/Soundex">Soundex</a>
+ * @see <a href="https://en.wikipedia.org/wiki/Metaphone">Metaphone</a>
+ * @since 0.4.0
+ */
+public enum StrmanPhonetic {
+
+  /**
+   * Encodes the first letter followed by three digits for the consonants like {@code R163} for {@code Robert}.
+   * <p>
+   *   Implements the American Soundex, consonants separated by {@code H} or {@code W} are coded once.
+   * </p>
+   */
+  SOUNDEX,
+
+  /**
+   * Encodes up to four consonant sounds like {@code TSTN} for {@code testing} with the original rules of Lawrence
+   * Philips.
+   */
+  METAPHONE,
+
+  /**
+   * Encodes up to four consonant sounds with the primary key of Double Metaphone like {@code SM0} for {@code Smith}.
+   * <p>
+   *   Double Metaphone accounts for spellings of many languages of origin, it agrees with {@link #METAPHONE} for most
+   *   English names.
+   * </p>
+   */
+  DOUBLE_METAPHONE,
+
+  /**
+   * Encodes up to four consonant sounds with the alternate key of Double Metaphone like {@code XMT} for
+   * {@code Smith}.
+   * <p>
+   *   The alternate key reflects a second pronunciation, it is the same as the primary key for most names.
+   * </p>
+   */
+  DOUBLE_METAPHONE_ALTERNATE
+}
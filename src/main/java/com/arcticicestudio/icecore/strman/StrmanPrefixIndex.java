@@ -0,0 +1,667 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Prefix Index                               +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.PriorityQueue;
+
+/**
+ * Indexes a vocabulary of weighted terms for prefix queries like autocompletion.
+ * <p>
+ *   The terms are sorted and packed into a single {@code char[]} with an {@code int[]} of their offsets, so all terms
+ *   starting with a prefix form a contiguous range that is found by binary search in {@code O(m log n)} for a prefix
+ *   of length {@code m}.
+ *   The weights are covered by a sparse table of the maxima of blocks of {@value #BLOCK_SIZE} terms, which finds the
+ *   heaviest term of any range in constant time, so the {@code k} heaviest completions of a prefix are found in
+ *   {@code O(m log n + k log k)} independent of the number of terms starting with it.
+ * </p>
+ * <p>
+ *   Case insensitive indexes order the terms by their characters folded with {@link Character#toUpperCase(char)} and
+ *   {@link Character#toLowerCase(char)} and compare queries the same way, the terms keep their original case.
+ *   An index can be {@link #save(Path) saved} and {@link #load(Path) loaded} without sorting the terms again.
+ *   The index is immutable and safe for concurrent use.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#prefixIndex(java.util.Map, boolean)
+ * @since 0.4.0
+ */
+public final class StrmanPrefixIndex {
+
+  private static final int MAGIC = 0x53545058;
+  private static final int FORMAT_VERSION = 1;
+  private static final int HEADER_BYTES = 20;
+  private static final int BUFFER_BYTES = 1 << 16;
+  private static final int MAX_LENGTH = Integer.MAX_VALUE - 8;
+  private static final int BLOCK_SHIFT = 5;
+  private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+  private static final int ASCII = 128;
+
+  private final boolean caseSensitive;
+  private final char[] chars;
+  private final int[] offsets;
+  private final long[] weights;
+  private final int size;
+
+  /*
+   * The index of the heaviest term of 2^level consecutive blocks starting at each block.
+   */
+  private final int[][] maxima;
+
+  private StrmanPrefixIndex(final boolean caseSensitive, final char[] chars, final int[] offsets,
+    final long[] weights) {
+    this.caseSensitive = caseSensitive;
+    this.chars = chars;
+    this.offsets = offsets;
+    this.weights = weights;
+    this.size = weights.length;
+    this.maxima = buildMaxima();
+  }
+
+  /**
+   * Creates a builder of an index.
+   *
+   * @param caseSensitive the case sensitivity of the queries
+   * @return the new builder
+   */
+  public static Builder builder(final boolean caseSensitive) {
+    return new Builder(caseSensitive);
+  }
+
+  /**
+   * Loads an index previously written with {@link #save(Path)}.
+   *
+   * @param file the file to read from
+   * @return the loaded index
+   * @throws IOException if the file can't be read, doesn't contain a prefix index or is corrupt
+   */
+  public static StrmanPrefixIndex load(final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+      readFully(channel, buffer, HEADER_BYTES);
+      if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+        throw new IOException("Not a Strman prefix index file: " + file);
+      }
+      boolean caseSensitive = buffer.getInt() != 0;
+      int size = buffer.getInt();
+      int length = buffer.getInt();
+      if (size < 0 || size >= MAX_LENGTH || length < 0 || length > MAX_LENGTH) {
+        throw new IOException("Corrupt Strman prefix index file: " + file);
+      }
+      if (channel.size() != HEADER_BYTES + 2L * length + 4L * size + 4L + 8L * size) {
+        throw new IOException("Truncated Strman prefix index file: " + file);
+      }
+      char[] chars = new char[length];
+      int[] offsets = new int[size + 1];
+      long[] weights = new long[size];
+      for (int offset = 0; offset < length; offset += BUFFER_BYTES / 2) {
+        int count = Math.min(BUFFER_BYTES / 2, length - offset);
+        readFully(channel, buffer, 2 * count);
+        buffer.asCharBuffer().get(chars, offset, count);
+      }
+      for (int offset = 0; offset < offsets.length; offset += BUFFER_BYTES / 4) {
+        int count = Math.min(BUFFER_BYTES / 4, offsets.length - offset);
+        readFully(channel, buffer, 4 * count);
+        buffer.asIntBuffer().get(offsets, offset, count);
+      }
+      for (int offset = 0; offset < size; offset += BUFFER_BYTES / 8) {
+        int count = Math.min(BUFFER_BYTES / 8, size - offset);
+        readFully(channel, buffer, 8 * count);
+        buffer.asLongBuffer().get(weights, offset, count);
+      }
+      if (!isConsistent(caseSensitive, chars, offsets)) {
+        throw new IOException("Corrupt Strman prefix index file: " + file);
+      }
+      return new StrmanPrefixIndex(caseSensitive, chars, offsets, weights);
+    }
+  }
+
+  /**
+   * Finds the heaviest terms starting with the prefix.
+   *
+   * @param prefix the prefix to complete
+   * @param limit the maximum number of completions
+   * @return the completions in descending order of their weight, terms of equal weight in the order of the index
+   * @throws IllegalArgumentException if the prefix is {@code null} or the limit is negative
+   */
+  public List<String> complete(final String prefix, final int limit) throws IllegalArgumentException {
+    validatePrefix(prefix);
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit can't be negative");
+    }
+    int from = lowerBound(prefix);
+    int to = upperBound(prefix, from);
+    if (from == to || limit == 0) {
+      return Collections.emptyList();
+    }
+    /* Each queued range holds its start, end and heaviest term, the heaviest of all ranges is taken next. */
+    PriorityQueue<int[]> ranges = new PriorityQueue<>(Math.min(2 * limit + 1, 64),
+      (first, second) -> heavier(first[2], second[2]) ? -1 : heavier(second[2], first[2]) ? 1 : 0);
+    ranges.add(new int[]{from, to, heaviest(from, to)});
+    List<String> completions = new ArrayList<>(Math.min(limit, to - from));
+    while (completions.size() < limit && !ranges.isEmpty()) {
+      int[] range = ranges.poll();
+      int heaviest = range[2];
+      completions.add(term(heaviest));
+      if (range[0] < heaviest) {
+        ranges.add(new int[]{range[0], heaviest, heaviest(range[0], heaviest)});
+      }
+      if (heaviest + 1 < range[1]) {
+        ranges.add(new int[]{heaviest + 1, range[1], heaviest(heaviest + 1, range[1])});
+      }
+    }
+    return completions;
+  }
+
+  /**
+   * Verifies that the term is indexed.
+   *
+   * @param term the term to find
+   * @return {@code true} if indexed, {@code false} otherwise
+   * @throws IllegalArgumentException if the term is {@code null}
+   */
+  public boolean contains(final String term) throws IllegalArgumentException {
+    validateTerm(term);
+    return find(term) >= 0;
+  }
+
+  /**
+   * Counts the terms starting with the prefix.
+   *
+   * @param prefix the prefix to search
+   * @return the number of terms
+   * @throws IllegalArgumentException if the prefix is {@code null}
+   */
+  public int count(final String prefix) throws IllegalArgumentException {
+    validatePrefix(prefix);
+    int from = lowerBound(prefix);
+    return upperBound(prefix, from) - from;
+  }
+
+  /**
+   * Verifies that the queries are case sensitive.
+   *
+   * @return {@code true} if case sensitive, {@code false} otherwise
+   */
+  public boolean isCaseSensitive() {
+    return caseSensitive;
+  }
+
+  /**
+   * Finds the longest term that is a prefix of the value.
+   * <p>
+   *   Of multiple terms only differing in case the first in the order of the index is found.
+   * </p>
+   *
+   * @param value the value to match
+   * @return the longest matching term, an empty {@link Optional} if no term is a prefix of the value
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public Optional<String> longestPrefixOf(final String value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    int from = 0;
+    int to = size;
+    int longest = from < to && length(from) == 0 ? from : -1;
+    for (int depth = 0; depth < value.length() && from < to; depth++) {
+      /* All terms of the range share the first depth characters of the value, the ones of that length come first. */
+      while (from < to && length(from) == depth) {
+        from++;
+      }
+      char key = key(value.charAt(depth));
+      from = boundAt(from, to, depth, key, false);
+      to = boundAt(from, to, depth, key, true);
+      if (from < to && length(from) == depth + 1) {
+        longest = from;
+      }
+    }
+    return longest < 0 ? Optional.empty() : Optional.of(term(longest));
+  }
+
+  /**
+   * Writes the index into a file, replacing any existing content.
+   *
+   * @param file the file to write to
+   * @throws IOException if the file can't be written
+   */
+  public void save(final Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+      StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES).order(ByteOrder.BIG_ENDIAN);
+      buffer.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(caseSensitive ? 1 : 0).putInt(size).putInt(chars.length);
+      buffer.flip();
+      writeFully(channel, buffer);
+      for (int offset = 0; offset < chars.length; offset += BUFFER_BYTES / 2) {
+        int count = Math.min(BUFFER_BYTES / 2, chars.length - offset);
+        buffer.clear();
+        buffer.asCharBuffer().put(chars, offset, count);
+        buffer.limit(2 * count);
+        writeFully(channel, buffer);
+      }
+      for (int offset = 0; offset < offsets.length; offset += BUFFER_BYTES / 4) {
+        int count = Math.min(BUFFER_BYTES / 4, offsets.length - offset);
+        buffer.clear();
+        buffer.asIntBuffer().put(offsets, offset, count);
+        buffer.limit(4 * count);
+        writeFully(channel, buffer);
+      }
+      for (int offset = 0; offset < size; offset += BUFFER_BYTES / 8) {
+        int count = Math.min(BUFFER_BYTES / 8, size - offset);
+        buffer.clear();
+        buffer.asLongBuffer().put(weights, offset, count);
+        buffer.limit(8 * count);
+        writeFully(channel, buffer);
+      }
+    }
+  }
+
+  /**
+   * Returns the number of indexed terms.
+   *
+   * @return the number of terms
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Finds the terms starting with the prefix in the order of the index.
+   *
+   * @param prefix the prefix to search
+   * @param limit the maximum number of terms
+   * @return the first terms starting with the prefix
+   * @throws IllegalArgumentException if the prefix is {@code null} or the limit is negative
+   */
+  public List<String> startingWith(final String prefix, final int limit) throws IllegalArgumentException {
+    validatePrefix(prefix);
+    if (limit < 0) {
+      throw new IllegalArgumentException("limit can't be negative");
+    }
+    int from = lowerBound(prefix);
+    int to = Math.min(upperBound(prefix, from), from + limit);
+    List<String> terms = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      terms.add(term(i));
+    }
+    return terms;
+  }
+
+  /**
+   * Returns the weight of the term.
+   * <p>
+   *   Of multiple terms only differing in case the weight of the first in the order of the index is returned.
+   * </p>
+   *
+   * @param term the term to find
+   * @return the weight, an empty {@link OptionalLong} if the term is not indexed
+   * @throws IllegalArgumentException if the term is {@code null}
+   */
+  public OptionalLong weight(final String term) throws IllegalArgumentException {
+    validateTerm(term);
+    int index = find(term);
+    return index < 0 ? OptionalLong.empty() : OptionalLong.of(weights[index]);
+  }
+
+  private static char fold(final char ch) {
+    if (ch < ASCII) {
+      return ch >= 'A' && ch <= 'Z' ? (char) (ch + ('a' - 'A')) : ch;
+    }
+    return Character.toLowerCase(Character.toUpperCase(ch));
+  }
+
+  /*
+   * Checks that the offsets delimit the packed characters and the terms are distinct and in the order of the builder,
+   * which makes all queries stay within the bounds of the arrays.
+   */
+  private static boolean isConsistent(final boolean caseSensitive, final char[] chars, final int[] offsets) {
+    if (offsets[0] != 0 || offsets[offsets.length - 1] != chars.length) {
+      return false;
+    }
+    for (int term = 0; term < offsets.length - 1; term++) {
+      if (offsets[term + 1] < offsets[term]) {
+        return false;
+      }
+    }
+    for (int term = 1; term < offsets.length - 1; term++) {
+      if (compareTerms(caseSensitive, chars, offsets, term - 1, term) >= 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /*
+   * Compares two packed terms, case insensitive indexes order terms only differing in case by their characters.
+   */
+  private static int compareTerms(final boolean caseSensitive, final char[] chars, final int[] offsets,
+    final int first, final int second) {
+    int firstLength = offsets[first + 1] - offsets[first];
+    int secondLength = offsets[second + 1] - offsets[second];
+    int length = Math.min(firstLength, secondLength);
+    if (!caseSensitive) {
+      for (int i = 0; i < length; i++) {
+        int difference = fold(chars[offsets[first] + i]) - fold(chars[offsets[second] + i]);
+        if (difference != 0) {
+          return difference;
+        }
+      }
+      if (firstLength != secondLength) {
+        return firstLength - secondLength;
+      }
+    }
+    for (int i = 0; i < length; i++) {
+      int difference = chars[offsets[first] + i] - chars[offsets[second] + i];
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return firstLength - secondLength;
+  }
+
+  private static void readFully(final FileChannel channel, final ByteBuffer buffer, final int bytes)
+    throws IOException {
+    buffer.clear();
+    buffer.limit(bytes);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer) < 0) {
+        throw new IOException("Unexpected end of Strman prefix index file");
+      }
+    }
+    buffer.flip();
+  }
+
+  private static void validatePrefix(final String prefix) {
+    if (prefix == null) {
+      throw new IllegalArgumentException("prefix can't be null");
+    }
+  }
+
+  private static void validateTerm(final String term) {
+    if (term == null) {
+      throw new IllegalArgumentException("term can't be null");
+    }
+  }
+
+  private static void writeFully(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+
+  /*
+   * Finds the first term of the range whose character at the depth is not less, or greater if upper, than the key.
+   */
+  private int boundAt(int from, int to, final int depth, final char key, final boolean upper) {
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      char ch = key(chars[offsets[middle] + depth]);
+      if (ch < key || upper && ch == key) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    return from;
+  }
+
+  private int[][] buildMaxima() {
+    int blocks = (size + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    int levels = blocks == 0 ? 0 : 32 - Integer.numberOfLeadingZeros(blocks);
+    int[][] table = new int[levels][];
+    if (levels == 0) {
+      return table;
+    }
+    table[0] = new int[blocks];
+    for (int block = 0; block < blocks; block++) {
+      int start = block << BLOCK_SHIFT;
+      table[0][block] = scan(start, Math.min(size, start + BLOCK_SIZE));
+    }
+    for (int level = 1; level < levels; level++) {
+      int span = 1 << (level - 1);
+      int count = blocks - (1 << level) + 1;
+      table[level] = new int[count];
+      for (int block = 0; block < count; block++) {
+        int first = table[level - 1][block];
+        int second = table[level - 1][block + span];
+        table[level][block] = heavier(second, first) ? second : first;
+      }
+    }
+    return table;
+  }
+
+  /*
+   * Compares the prefix with the start of the term, a term shorter than the prefix sorts before it.
+   */
+  private int compare(final String prefix, final int term) {
+    int start = offsets[term];
+    int termLength = offsets[term + 1] - start;
+    int length = Math.min(prefix.length(), termLength);
+    for (int i = 0; i < length; i++) {
+      int difference = key(prefix.charAt(i)) - key(chars[start + i]);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return termLength < prefix.length() ? 1 : 0;
+  }
+
+  /*
+   * Returns the index of the heaviest term of the range, the first one of equal weights.
+   */
+  private int heaviest(final int from, final int to) {
+    int firstBlock = (from + BLOCK_SIZE - 1) >>> BLOCK_SHIFT;
+    int lastBlock = to >>> BLOCK_SHIFT;
+    if (firstBlock >= lastBlock) {
+      return scan(from, to);
+    }
+    int heaviest = scan(from, firstBlock << BLOCK_SHIFT);
+    int level = 31 - Integer.numberOfLeadingZeros(lastBlock - firstBlock);
+    int first = maxima[level][firstBlock];
+    int second = maxima[level][lastBlock - (1 << level)];
+    heaviest = pick(heaviest, pick(first, second));
+    return pick(heaviest, scan(lastBlock << BLOCK_SHIFT, to));
+  }
+
+  /*
+   * Returns the index of the first term equal to the value, -1 if there is none.
+   */
+  private int find(final String value) {
+    int index = lowerBound(value);
+    return index < size && length(index) == value.length() && compare(value, index) == 0 ? index : -1;
+  }
+
+  private boolean heavier(final int first, final int second) {
+    return weights[first] > weights[second] || weights[first] == weights[second] && first < second;
+  }
+
+  private char key(final char ch) {
+    return caseSensitive ? ch : fold(ch);
+  }
+
+  private int length(final int term) {
+    return offsets[term + 1] - offsets[term];
+  }
+
+  private int lowerBound(final String prefix) {
+    int from = 0;
+    int to = size;
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      if (compare(prefix, middle) > 0) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    return from;
+  }
+
+  private int pick(final int first, final int second) {
+    if (first < 0) {
+      return second;
+    }
+    if (second < 0) {
+      return first;
+    }
+    return heavier(second, first) ? second : first;
+  }
+
+  /*
+   * Returns the index of the heaviest term of the range, -1 if the range is empty.
+   */
+  private int scan(final int from, final int to) {
+    int heaviest = -1;
+    for (int i = from; i < to; i++) {
+      if (heaviest < 0 || weights[i] > weights[heaviest]) {
+        heaviest = i;
+      }
+    }
+    return heaviest;
+  }
+
+  private String term(final int term) {
+    return new String(chars, offsets[term], length(term));
+  }
+
+  private int upperBound(final String prefix, int from) {
+    int to = size;
+    while (from < to) {
+      int middle = (from + to) >>> 1;
+      if (compare(prefix, middle) >= 0) {
+        from = middle + 1;
+      } else {
+        to = middle;
+      }
+    }
+    return from;
+  }
+
+  /**
+   * Collects the weighted terms of a {@link StrmanPrefixIndex}.
+   * <p>
+   *   A term added multiple times keeps its highest weight, in case insensitive indexes terms only differing in case
+   *   are kept as separate terms.
+   *   Builders are not thread-safe.
+   * </p>
+   *
+   * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+   * @since 0.4.0
+   */
+  public static final class Builder {
+    private final boolean caseSensitive;
+    private List<Entry> entries = new ArrayList<>();
+
+    private Builder(final boolean caseSensitive) {
+      this.caseSensitive = caseSensitive;
+    }
+
+    /**
+     * Adds a weighted term.
+     *
+     * @param term the term to add
+     * @param weight the weight of the term, heavier terms are completed first
+     * @return this builder
+     * @throws IllegalArgumentException if the term is {@code null}
+     * @throws IllegalStateException if the index has already been built
+     */
+    public Builder add(final String term, final long weight) throws IllegalArgumentException, IllegalStateException {
+      if (term == null) {
+        throw new IllegalArgumentException("term can't be null");
+      }
+      if (entries == null) {
+        throw new IllegalStateException("index has already been built");
+      }
+      entries.add(new Entry(term, weight));
+      return this;
+    }
+
+    /**
+     * Builds the index of all added terms, sorting them in parallel.
+     * <p>
+     *   The builder can't be used anymore afterwards.
+     * </p>
+     *
+     * @return the new index
+     * @throws IllegalStateException if the index has already been built or the terms exceed the maximum array size
+     */
+    public StrmanPrefixIndex build() throws IllegalStateException {
+      if (entries == null) {
+        throw new IllegalStateException("index has already been built");
+      }
+      Entry[] sorted = entries.toArray(new Entry[0]);
+      entries = null;
+      Comparator<Entry> order = caseSensitive ? (first, second) -> first.term.compareTo(second.term)
+        : (first, second) -> {
+          int difference = compareFolded(first.term, second.term);
+          return difference != 0 ? difference : first.term.compareTo(second.term);
+        };
+      Arrays.parallelSort(sorted, order);
+      int count = 0;
+      long length = 0;
+      for (int i = 0; i < sorted.length; i++) {
+        if (count > 0 && sorted[count - 1].term.equals(sorted[i].term)) {
+          sorted[count - 1].weight = Math.max(sorted[count - 1].weight, sorted[i].weight);
+        } else {
+          sorted[count++] = sorted[i];
+          length += sorted[i].term.length();
+        }
+      }
+      if (length > MAX_LENGTH || count >= MAX_LENGTH) {
+        throw new IllegalStateException("terms can't contain more than " + MAX_LENGTH + " characters");
+      }
+      char[] chars = new char[(int) length];
+      int[] offsets = new int[count + 1];
+      long[] weights = new long[count];
+      for (int i = 0; i < count; i++) {
+        String term = sorted[i].term;
+        term.getChars(0, term.length(), chars, offsets[i]);
+        offsets[i + 1] = offsets[i] + term.length();
+        weights[i] = sorted[i].weight;
+      }
+      return new StrmanPrefixIndex(caseSensitive, chars, offsets, weights);
+    }
+
+    private static int compareFolded(final String first, final String second) {
+      int length = Math.min(first.length(), second.length());
+      for (int i = 0; i < length; i++) {
+        int difference = fold(first.charAt(i)) - fold(second.charAt(i));
+        if (difference != 0) {
+          return difference;
+        }
+      }
+      return first.length() - second.length();
+    }
+  }
+
+  private static final class Entry {
+    private final String term;
+    private long weight;
+
+    Entry(final String term, final long weight) {
+      this.term = term;
+      this.weight = weight;
+    }
+  }
+}
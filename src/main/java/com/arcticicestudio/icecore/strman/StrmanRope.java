@@ -0,0 +1,435 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Rope                                       +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Represents an immutable character sequence optimized for incremental edits of large texts.
+ * <p>
+ *   The characters are stored in the leaves of a height-balanced binary tree, so {@link #insert(String, int)},
+ *   {@link #delete(int, int)}, {@link #concat(StrmanRope)} and {@link #subSequence(int, int)} take
+ *   {@code O(log n)} and share all untouched leaves with the original rope instead of copying the whole text.
+ *   Leaves are views of the strings they've been created from, adjacent short leaves are merged to keep the tree
+ *   small when many small edits are applied.
+ * </p>
+ * <p>
+ *   {@link #toString()} flattens the rope into a single string in {@code O(n)} and caches the result.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#rope(String)
+ * @since 0.4.0
+ */
+public final class StrmanRope implements CharSequence {
+
+  /*
+   * Strings are split into leaves of at most this length when a rope is created.
+   */
+  private static final int MAX_LEAF_LENGTH = 1024;
+
+  /*
+   * Adjacent leaves are merged into a new leaf when their combined length doesn't exceed this length.
+   */
+  private static final int MERGE_LEAF_LENGTH = 128;
+
+  private static final StrmanRope EMPTY = new StrmanRope("", 0, 0);
+
+  private final StrmanRope left;
+  private final StrmanRope right;
+  private final String leaf;
+  private final int offset;
+  private final int length;
+  private final int height;
+  private volatile String flattened;
+
+  private StrmanRope(final String leaf, final int offset, final int length) {
+    this.left = null;
+    this.right = null;
+    this.leaf = leaf;
+    this.offset = offset;
+    this.length = length;
+    this.height = 0;
+  }
+
+  private StrmanRope(final StrmanRope left, final StrmanRope right) {
+    this.left = left;
+    this.right = right;
+    this.leaf = null;
+    this.offset = 0;
+    this.length = left.length + right.length;
+    this.height = Math.max(left.height, right.height) + 1;
+  }
+
+  /**
+   * Creates a rope of the string.
+   *
+   * @param value the initial string
+   * @return the rope of the string
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public static StrmanRope of(final String value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return of(value, 0, value.length());
+  }
+
+  private static StrmanRope of(final String value, final int from, final int to) {
+    int size = to - from;
+    if (size == 0) {
+      return EMPTY;
+    }
+    if (size <= MAX_LEAF_LENGTH) {
+      return new StrmanRope(value, from, size);
+    }
+    /* Splitting at a multiple of the leaf length results in full leaves and a perfectly balanced tree. */
+    int leaves = (size + MAX_LEAF_LENGTH - 1) / MAX_LEAF_LENGTH;
+    int middle = from + (leaves / 2) * MAX_LEAF_LENGTH;
+    return new StrmanRope(of(value, from, middle), of(value, middle, to));
+  }
+
+  /**
+   * Appends strings to the rope.
+   *
+   * @param appends the strings to append
+   * @return the rope with the appended strings
+   */
+  public StrmanRope append(final String... appends) {
+    StrmanRope result = this;
+    if (appends != null) {
+      for (String append : appends) {
+        result = result.concat(of(append));
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public char charAt(final int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("index " + index + " is out of bounds for length " + length);
+    }
+    StrmanRope node = this;
+    int position = index;
+    while (node.leaf == null) {
+      if (position < node.left.length) {
+        node = node.left;
+      } else {
+        position -= node.left.length;
+        node = node.right;
+      }
+    }
+    return node.leaf.charAt(node.offset + position);
+  }
+
+  /**
+   * Concatenates the rope with another rope.
+   *
+   * @param other the rope to append
+   * @return the concatenated rope
+   */
+  public StrmanRope concat(final StrmanRope other) {
+    if (other == null) {
+      throw new IllegalArgumentException("other can't be null");
+    }
+    return join(this, other);
+  }
+
+  /**
+   * Removes the characters in the specified range.
+   *
+   * @param start the index of the first character to remove, inclusive
+   * @param end the index of the last character to remove, exclusive
+   * @return the rope without the specified range
+   */
+  public StrmanRope delete(final int start, final int end) {
+    checkRange(start, end);
+    return join(split(this, start)[0], split(this, end)[1]);
+  }
+
+  /**
+   * Inserts the specified substring at the provided index.
+   * <p>
+   *   Indexes beyond the length of the rope leave it unchanged, just like {@link Strman#insert(String, String, int)}.
+   * </p>
+   *
+   * @param substr the substring to insert
+   * @param index the index to insert the specified substring
+   * @return the rope with the inserted substring
+   */
+  public StrmanRope insert(final String substr, final int index) {
+    if (substr == null) {
+      throw new IllegalArgumentException("substr can't be null");
+    }
+    if (index > length) {
+      return this;
+    }
+    StrmanRope[] parts = split(this, index);
+    return join(join(parts[0], of(substr)), parts[1]);
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Prepends strings to the rope.
+   *
+   * @param prepends the strings to prepend
+   * @return the rope with the prepended strings
+   */
+  public StrmanRope prepend(final String... prepends) {
+    if (prepends == null || prepends.length == 0) {
+      return this;
+    }
+    StrmanRope prefix = EMPTY;
+    for (String prepend : prepends) {
+      prefix = prefix.concat(of(prepend));
+    }
+    return prefix.concat(this);
+  }
+
+  /**
+   * Removes the specified prefix from the rope.
+   * <p>
+   *   The search is case sensitive.
+   * </p>
+   *
+   * @param prefix the prefix to remove
+   * @return the rope without the specified prefix
+   */
+  public StrmanRope removeLeft(final String prefix) {
+    return removeLeft(prefix, true);
+  }
+
+  /**
+   * Removes the specified prefix from the rope.
+   * <p>
+   *   Case insensitive comparisons are done per character, like {@link String#regionMatches(boolean, int, String, int,
+   *   int)}.
+   * </p>
+   *
+   * @param prefix the prefix to remove
+   * @param caseSensitive the case sensitivity
+   * @return the rope without the specified prefix
+   */
+  public StrmanRope removeLeft(final String prefix, final boolean caseSensitive) {
+    if (prefix == null) {
+      throw new IllegalArgumentException("prefix can't be null");
+    }
+    return regionMatches(0, prefix, caseSensitive) ? delete(0, prefix.length()) : this;
+  }
+
+  /**
+   * Removes the specified suffix from the rope.
+   * <p>
+   *   The search is case sensitive.
+   * </p>
+   *
+   * @param suffix the suffix to remove
+   * @return the rope without the specified suffix
+   */
+  public StrmanRope removeRight(final String suffix) {
+    return removeRight(suffix, true);
+  }
+
+  /**
+   * Removes the specified suffix from the rope.
+   * <p>
+   *   Case insensitive comparisons are done per character, like {@link String#regionMatches(boolean, int, String, int,
+   *   int)}.
+   * </p>
+   *
+   * @param suffix the suffix to remove
+   * @param caseSensitive the case sensitivity
+   * @return the rope without the specified suffix
+   */
+  public StrmanRope removeRight(final String suffix, final boolean caseSensitive) {
+    if (suffix == null) {
+      throw new IllegalArgumentException("suffix can't be null");
+    }
+    int start = length - suffix.length();
+    return regionMatches(start, suffix, caseSensitive) ? delete(start, length) : this;
+  }
+
+  @Override
+  public StrmanRope subSequence(final int start, final int end) {
+    checkRange(start, end);
+    if (start == 0 && end == length) {
+      return this;
+    }
+    return split(split(this, end)[0], start)[1];
+  }
+
+  /**
+   * Surrounds the rope with a prefix and suffix.
+   * <p>
+   *   If the suffix is {@code null} the prefix will be used.
+   * </p>
+   *
+   * @param prefix the prefix string
+   * @param suffix the suffix string
+   * @return the rope surrounded with the prefix- and suffix strings
+   */
+  public StrmanRope surround(final String prefix, final String suffix) {
+    String optPrefix = prefix != null ? prefix : "";
+    return of(optPrefix).concat(this).concat(of(suffix != null ? suffix : optPrefix));
+  }
+
+  /**
+   * Compares the characters of the rope with another rope.
+   *
+   * @param other the object to compare with
+   * @return {@code true} if the other object is a rope with the same characters, {@code false} otherwise
+   */
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof StrmanRope)) {
+      return false;
+    }
+    StrmanRope rope = (StrmanRope) other;
+    return length == rope.length && toString().equals(rope.toString());
+  }
+
+  /**
+   * Returns the hash code of the characters, which equals the hash code of the flattened string.
+   *
+   * @return the hash code
+   */
+  @Override
+  public int hashCode() {
+    return toString().hashCode();
+  }
+
+  /**
+   * Flattens the rope into a string.
+   *
+   * @return the characters of the rope
+   */
+  @Override
+  public String toString() {
+    String result = flattened;
+    if (result == null) {
+      if (leaf != null) {
+        result = leaf.substring(offset, offset + length);
+      } else {
+        char[] chars = new char[length];
+        copyTo(chars, 0);
+        result = new String(chars);
+      }
+      flattened = result;
+    }
+    return result;
+  }
+
+  private void copyTo(final char[] target, final int position) {
+    if (leaf != null) {
+      leaf.getChars(offset, offset + length, target, position);
+    } else {
+      left.copyTo(target, position);
+      right.copyTo(target, position + left.length);
+    }
+  }
+
+  private void checkRange(final int start, final int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") is out of bounds for length " + length);
+    }
+  }
+
+  private boolean regionMatches(final int start, final String other, final boolean caseSensitive) {
+    if (start < 0 || start + other.length() > length) {
+      return false;
+    }
+    for (int i = 0; i < other.length(); i++) {
+      char ch = charAt(start + i);
+      char otherCh = other.charAt(i);
+      if (ch != otherCh && (caseSensitive || !equalsIgnoreCase(ch, otherCh))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean equalsIgnoreCase(final char first, final char second) {
+    char upperFirst = Character.toUpperCase(first);
+    char upperSecond = Character.toUpperCase(second);
+    return upperFirst == upperSecond || Character.toLowerCase(upperFirst) == Character.toLowerCase(upperSecond);
+  }
+
+  /*
+   * Joins two balanced trees by descending the spine of the higher tree to a subtree of the same height as the lower
+   * one and rebalancing on the way back up, which takes O(|height(left) - height(right)|).
+   */
+  private static StrmanRope join(final StrmanRope left, final StrmanRope right) {
+    if (left.length == 0) {
+      return right;
+    }
+    if (right.length == 0) {
+      return left;
+    }
+    if (left.leaf != null && right.leaf != null && left.length + right.length <= MERGE_LEAF_LENGTH) {
+      return new StrmanRope(left.toString() + right.toString(), 0, left.length + right.length);
+    }
+    if (left.height > right.height + 1) {
+      return balance(left.left, join(left.right, right));
+    }
+    if (right.height > left.height + 1) {
+      return balance(join(left, right.left), right.right);
+    }
+    return new StrmanRope(left, right);
+  }
+
+  private static StrmanRope balance(final StrmanRope left, final StrmanRope right) {
+    if (left.height > right.height + 1) {
+      if (left.left.height >= left.right.height) {
+        return new StrmanRope(left.left, new StrmanRope(left.right, right));
+      }
+      return new StrmanRope(new StrmanRope(left.left, left.right.left), new StrmanRope(left.right.right, right));
+    }
+    if (right.height > left.height + 1) {
+      if (right.right.height >= right.left.height) {
+        return new StrmanRope(new StrmanRope(left, right.left), right.right);
+      }
+      return new StrmanRope(new StrmanRope(left, right.left.left), new StrmanRope(right.left.right, right.right));
+    }
+    return new StrmanRope(left, right);
+  }
+
+  /*
+   * Splits the rope into the characters before and from the index, joining the subtrees left and right of the
+   * descent path in O(log n).
+   */
+  private static StrmanRope[] split(final StrmanRope rope, final int index) {
+    if (index <= 0) {
+      return new StrmanRope[]{EMPTY, rope};
+    }
+    if (index >= rope.length) {
+      return new StrmanRope[]{rope, EMPTY};
+    }
+    if (rope.leaf != null) {
+      return new StrmanRope[]{
+        new StrmanRope(rope.leaf, rope.offset, index),
+        new StrmanRope(rope.leaf, rope.offset + index, rope.length - index)
+      };
+    }
+    if (index < rope.left.length) {
+      StrmanRope[] parts = split(rope.left, index);
+      return new StrmanRope[]{parts[0], join(parts[1], rope.right)};
+    }
+    StrmanRope[] parts = split(rope.right, index - rope.left.length);
+    return new StrmanRope[]{join(rope.left, parts[0]), parts[1]};
+  }
+}
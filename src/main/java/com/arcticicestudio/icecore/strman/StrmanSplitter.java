@@ -0,0 +1,564 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Splitter                                   +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits text into fields at a literal delimiter.
+ * <p>
+ *   The delimiter is matched literally and never interpreted as a regular expression.
+ *   A value with {@code n} delimiters has {@code n + 1} fields, so empty fields at the start and the end are kept
+ *   unless empty fields are omitted.
+ * </p>
+ * <p>
+ *   When a quote character is set, fields starting with it are quoted in the style of
+ *   <a href="https://tools.ietf.org/html/rfc4180">RFC 4180</a>: delimiters and line breaks inside the quotes belong to
+ *   the field and a doubled quote stands for a single one.
+ *   Text following the closing quote up to the next delimiter is kept as is, a quote that is never closed extends the
+ *   field to the end of the value.
+ * </p>
+ * <p>
+ *   Nothing is copied while splitting, {@link #spans(CharSequence)} reports the offsets of the fields and
+ *   {@link #split(CharSequence)} creates the strings of the fields one at a time while iterating.
+ *   {@link #records(Reader)} reads the records of large files line by line keeping a single record in memory.
+ * </p>
+ * <p>
+ *   Instances are immutable and can be shared.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#splitter(String)
+ * @since 0.4.0
+ */
+public final class StrmanSplitter {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final int NO_QUOTE = -1;
+
+  private final String delimiter;
+  private final int quote;
+  private final boolean omitEmpty;
+
+  private StrmanSplitter(final String delimiter, final int quote, final boolean omitEmpty) {
+    this.delimiter = delimiter;
+    this.quote = quote;
+    this.omitEmpty = omitEmpty;
+  }
+
+  /**
+   * Creates a splitter of comma separated values with fields quoted by {@code "}.
+   *
+   * @return the new splitter
+   */
+  public static StrmanSplitter csv() {
+    return new StrmanSplitter(",", '"', false);
+  }
+
+  /**
+   * Creates a splitter of tab separated values with fields quoted by {@code "}.
+   *
+   * @return the new splitter
+   */
+  public static StrmanSplitter tsv() {
+    return new StrmanSplitter("\t", '"', false);
+  }
+
+  /**
+   * Creates a splitter at the literal delimiter without quoting that keeps empty fields.
+   *
+   * @param delimiter the delimiter to split at
+   * @return the new splitter
+   * @throws IllegalArgumentException if the delimiter is {@code null} or empty
+   */
+  static StrmanSplitter of(final String delimiter) throws IllegalArgumentException {
+    if (delimiter == null) {
+      throw new IllegalArgumentException("delimiter can't be null");
+    }
+    if (delimiter.isEmpty()) {
+      throw new IllegalArgumentException("delimiter can't be empty");
+    }
+    return new StrmanSplitter(delimiter, NO_QUOTE, false);
+  }
+
+  /**
+   * Returns the delimiter.
+   *
+   * @return the delimiter
+   */
+  public String delimiter() {
+    return delimiter;
+  }
+
+  /**
+   * Verifies that empty fields are omitted.
+   *
+   * @return {@code true} if omitted, {@code false} otherwise
+   */
+  public boolean isOmittingEmpty() {
+    return omitEmpty;
+  }
+
+  /**
+   * Creates a reader of the records of the source.
+   * <p>
+   *   Records are terminated by {@code \n} or {@code \r\n}, line breaks inside quoted fields don't terminate a record.
+   *   A line break at the end of the source doesn't start another record.
+   *   The source is closed when the reader is closed.
+   * </p>
+   *
+   * @param source the source to read from
+   * @return the reader of the records
+   * @throws IllegalArgumentException if the source is {@code null}
+   */
+  public Records records(final Reader source) throws IllegalArgumentException {
+    if (source == null) {
+      throw new IllegalArgumentException("source can't be null");
+    }
+    return new Records(source);
+  }
+
+  /**
+   * Creates a cursor over the offsets of the fields of the value.
+   *
+   * @param value the value to split
+   * @return the cursor positioned before the first field
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public Cursor spans(final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return new Cursor(value, value.length());
+  }
+
+  /**
+   * Splits the value lazily.
+   * <p>
+   *   Each iteration scans the value again, quoted fields are unquoted.
+   * </p>
+   *
+   * @param value the value to split
+   * @return the fields
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public Iterable<String> split(final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    return () -> new Iterator<String>() {
+      private final Cursor cursor = new Cursor(value, value.length());
+      private boolean advanced;
+      private boolean available;
+
+      @Override
+      public boolean hasNext() {
+        if (!advanced) {
+          available = cursor.next();
+          advanced = true;
+        }
+        return available;
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        advanced = false;
+        return cursor.value();
+      }
+    };
+  }
+
+  /**
+   * Creates a copy that omits or keeps empty fields.
+   * <p>
+   *   A field is empty when there is nothing between its delimiters, a quoted empty field is not omitted.
+   * </p>
+   *
+   * @param omitEmpty {@code true} to omit empty fields, {@code false} to keep them
+   * @return the copy with the specified handling of empty fields
+   */
+  public StrmanSplitter withOmitEmpty(final boolean omitEmpty) {
+    return new StrmanSplitter(delimiter, quote, omitEmpty);
+  }
+
+  /**
+   * Creates a copy that quotes fields with the character.
+   *
+   * @param quote the quote character
+   * @return the copy with the specified quote character
+   * @throws IllegalArgumentException if the delimiter starts with the quote character
+   */
+  public StrmanSplitter withQuote(final char quote) throws IllegalArgumentException {
+    if (delimiter.charAt(0) == quote) {
+      throw new IllegalArgumentException("quote can't start the delimiter");
+    }
+    return new StrmanSplitter(delimiter, quote, omitEmpty);
+  }
+
+  /**
+   * Creates a copy that doesn't quote fields.
+   *
+   * @return the copy without quote character
+   */
+  public StrmanSplitter withoutQuote() {
+    return new StrmanSplitter(delimiter, NO_QUOTE, omitEmpty);
+  }
+
+  private int indexOfDelimiter(final CharSequence value, final int from, final int to) {
+    int found;
+    if (value instanceof String) {
+      found = ((String) value).indexOf(delimiter, from);
+    } else if (value instanceof StringBuilder) {
+      found = ((StringBuilder) value).indexOf(delimiter, from);
+    } else {
+      found = -1;
+      char first = delimiter.charAt(0);
+      int length = delimiter.length();
+      for (int i = from, last = to - length; i <= last && found < 0; i++) {
+        if (value.charAt(i) == first) {
+          int matched = 1;
+          while (matched < length && value.charAt(i + matched) == delimiter.charAt(matched)) {
+            matched++;
+          }
+          if (matched == length) {
+            found = i;
+          }
+        }
+      }
+    }
+    return found < 0 || found + delimiter.length() > to ? -1 : found;
+  }
+
+  /*
+   * Returns the text of a field, quoted fields are unquoted.
+   */
+  private String text(final CharSequence value, final int start, final int end, final boolean quoted) {
+    if (!quoted) {
+      return value.subSequence(start, end).toString();
+    }
+    StringBuilder text = new StringBuilder(end - start);
+    boolean inside = true;
+    int i = start + 1;
+    while (i < end) {
+      char ch = value.charAt(i);
+      if (inside && ch == quote) {
+        if (i + 1 < end && value.charAt(i + 1) == quote) {
+          text.append(ch);
+          i++;
+        } else {
+          inside = false;
+        }
+      } else {
+        text.append(ch);
+      }
+      i++;
+    }
+    return text.toString();
+  }
+
+  /**
+   * Represents a position in the fields of a value.
+   * <p>
+   *   Offsets are relative to the split value, the span of a quoted field includes its quotes.
+   *   A cursor is not safe for concurrent use.
+   * </p>
+   *
+   * @since 0.4.0
+   */
+  public final class Cursor {
+
+    private final CharSequence value;
+    private final int length;
+    private int next;
+    private int start = -1;
+    private int end = -1;
+    private boolean quoted;
+    private boolean closed;
+
+    private Cursor(final CharSequence value, final int length) {
+      this.value = value;
+      this.length = length;
+    }
+
+    /**
+     * Returns the end index of the current field, exclusive.
+     *
+     * @return the end index
+     * @throws IllegalStateException if the cursor is not positioned at a field
+     */
+    public int end() {
+      checkPositioned();
+      return end;
+    }
+
+    /**
+     * Verifies that the current field is quoted.
+     *
+     * @return {@code true} if quoted, {@code false} otherwise
+     * @throws IllegalStateException if the cursor is not positioned at a field
+     */
+    public boolean isQuoted() {
+      checkPositioned();
+      return quoted;
+    }
+
+    /**
+     * Moves to the next field.
+     *
+     * @return {@code true} if moved, {@code false} if there are no more fields
+     */
+    public boolean next() {
+      while (next >= 0) {
+        scan();
+        if (!omitEmpty || end > start) {
+          return true;
+        }
+      }
+      start = -1;
+      return false;
+    }
+
+    /**
+     * Returns the start index of the current field, inclusive.
+     *
+     * @return the start index
+     * @throws IllegalStateException if the cursor is not positioned at a field
+     */
+    public int start() {
+      checkPositioned();
+      return start;
+    }
+
+    /**
+     * Returns the unquoted text of the current field.
+     *
+     * @return the text
+     * @throws IllegalStateException if the cursor is not positioned at a field
+     */
+    public String value() {
+      checkPositioned();
+      return text(value, start, end, quoted);
+    }
+
+    private void checkPositioned() {
+      if (start < 0) {
+        throw new IllegalStateException("cursor is not positioned at a field");
+      }
+    }
+
+    /*
+     * Verifies that the current field is a quoted field whose quote is not closed.
+     */
+    boolean isUnclosed() {
+      return quoted && !closed;
+    }
+
+    private void scan() {
+      start = next;
+      int i = start;
+      quoted = quote != NO_QUOTE && start < length && value.charAt(start) == quote;
+      closed = false;
+      if (quoted) {
+        i++;
+        while (i < length && !closed) {
+          if (value.charAt(i) == quote) {
+            if (i + 1 < length && value.charAt(i + 1) == quote) {
+              i++;
+            } else {
+              closed = true;
+            }
+          }
+          i++;
+        }
+      }
+      int found = i < length ? indexOfDelimiter(value, i, length) : -1;
+      end = found < 0 ? length : found;
+      next = found < 0 ? -1 : found + delimiter.length();
+    }
+  }
+
+  /**
+   * Reads the records of a source one at a time.
+   * <p>
+   *   The fields of the current record are valid until the next record is read.
+   *   A reader is not safe for concurrent use.
+   * </p>
+   *
+   * @since 0.4.0
+   */
+  public final class Records implements Closeable {
+
+    private final Reader source;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder record = new StringBuilder();
+    private int position;
+    private int limit;
+    private boolean exhausted;
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private boolean[] quoted = new boolean[16];
+    private String terminator = "";
+    private int size;
+    private long number;
+
+    private Records(final Reader source) {
+      this.source = source;
+    }
+
+    @Override
+    public void close() throws IOException {
+      source.close();
+    }
+
+    /**
+     * Returns the unquoted text of a field of the current record.
+     *
+     * @param index the index of the field
+     * @return the text of the field
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public String field(final int index) {
+      checkIndex(index);
+      return text(record, starts[index], ends[index], quoted[index]);
+    }
+
+    /**
+     * Returns the text of the current record without its line break.
+     *
+     * @return the record
+     */
+    public CharSequence line() {
+      return record;
+    }
+
+    /**
+     * Reads the next record.
+     *
+     * @return {@code true} if read, {@code false} if the end of the source has been reached
+     * @throws IOException if the source can't be read
+     */
+    public boolean next() throws IOException {
+      record.setLength(0);
+      size = 0;
+      if (!readLine()) {
+        return false;
+      }
+      number++;
+      Cursor cursor = new Cursor(record, record.length());
+      while (cursor.next()) {
+        if (cursor.isUnclosed() && !terminator.isEmpty()) {
+          /* The line break belongs to the quoted field, which is scanned again including the following line. */
+          int start = cursor.start;
+          record.append(terminator);
+          readLine();
+          cursor = new Cursor(record, record.length());
+          cursor.next = start;
+          continue;
+        }
+        add(cursor.start, cursor.end, cursor.quoted);
+      }
+      return true;
+    }
+
+    /**
+     * Returns the number of the current record, the first record has the number {@code 1}.
+     *
+     * @return the number of the record
+     */
+    public long number() {
+      return number;
+    }
+
+    /**
+     * Verifies that a field of the current record is quoted.
+     *
+     * @param index the index of the field
+     * @return {@code true} if quoted, {@code false} otherwise
+     * @throws IndexOutOfBoundsException if the index is out of range
+     */
+    public boolean isQuoted(final int index) {
+      checkIndex(index);
+      return quoted[index];
+    }
+
+    /**
+     * Returns the number of fields of the current record.
+     *
+     * @return the number of fields
+     */
+    public int size() {
+      return size;
+    }
+
+    private void add(final int start, final int end, final boolean isQuoted) {
+      if (size == starts.length) {
+        starts = Arrays.copyOf(starts, size * 2);
+        ends = Arrays.copyOf(ends, size * 2);
+        quoted = Arrays.copyOf(quoted, size * 2);
+      }
+      starts[size] = start;
+      ends[size] = end;
+      quoted[size] = isQuoted;
+      size++;
+    }
+
+    private void checkIndex(final int index) {
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("index " + index + " is out of range");
+      }
+    }
+
+    /*
+     * Appends the next line without its line break to the record and remembers the line break.
+     */
+    private boolean readLine() throws IOException {
+      int lineStart = record.length();
+      boolean read = false;
+      while (true) {
+        if (position == limit) {
+          limit = exhausted ? -1 : source.read(buffer);
+          position = 0;
+          if (limit < 0) {
+            exhausted = true;
+            limit = 0;
+            terminator = "";
+            return read;
+          }
+        }
+        read = true;
+        int from = position;
+        while (position < limit && buffer[position] != '\n') {
+          position++;
+        }
+        record.append(buffer, from, position - from);
+        if (position < limit) {
+          position++;
+          int length = record.length();
+          terminator = "\n";
+          if (length > lineStart && record.charAt(length - 1) == '\r') {
+            record.setLength(length - 1);
+            terminator = "\r\n";
+          }
+          return true;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,429 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Symbol Table                               +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compresses short strings independently with a trained table of up to 255 symbols in the style of FSST.
+ * <p>
+ *   A symbol is a sequence of one to eight bytes of the UTF-8 encoding of the strings that is replaced with a single
+ *   byte code, bytes that are not covered by a symbol are escaped with the code {@code 255}.
+ *   The table is trained on a sample in five generations, each compressing the sample with the current table and
+ *   keeping the 255 symbols and concatenations of adjacent symbols with the highest gain of frequency times length.
+ *   Strings with a recurring vocabulary like URLs, identifiers and log fields typically shrink to a third to half of
+ *   their UTF-8 size.
+ * </p>
+ * <p>
+ *   Every string is compressed without any context of other strings, so each one can be decompressed on its own.
+ *   The compression is deterministic, so the compressed forms of equal strings are identical and can be compared and
+ *   hashed directly.
+ *   Tables are immutable and can be used concurrently.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see StrmanCompressedStrings
+ * @see <a href="https://www.vldb.org/pvldb/vol13/p2649-boncz.pdf">FSST: Fast Random Access String Compression</a>
+ * @since 0.4.0
+ */
+public final class StrmanSymbolTable {
+
+  /**
+   * The code that marks the next byte of the compressed form as literal.
+   */
+  static final int ESCAPE = 255;
+
+  private static final int MAX_SYMBOLS = 255;
+  private static final int MAX_SYMBOL_LENGTH = 8;
+  private static final int GENERATIONS = 5;
+
+  /* The training sample is truncated to this many bytes to bound the training time. */
+  private static final int MAX_SAMPLE_BYTES = 1 << 18;
+
+  private static final long[] MASKS = new long[MAX_SYMBOL_LENGTH + 1];
+
+  static {
+    for (int length = 1; length <= MAX_SYMBOL_LENGTH; length++) {
+      MASKS[length] = length == 8 ? -1L : (1L << (length << 3)) - 1;
+    }
+  }
+
+  /* The bytes of the symbols in little-endian order and their lengths, indexed by code. */
+  private final long[] symbols;
+  private final byte[] lengths;
+
+  /* The codes of the symbols grouped by their first byte, longest first. */
+  private final int[][] byFirstByte;
+
+  private StrmanSymbolTable(final long[] symbols, final byte[] lengths) {
+    this.symbols = symbols;
+    this.lengths = lengths;
+    this.byFirstByte = groupByFirstByte(symbols, lengths);
+  }
+
+  /**
+   * Trains a table on a sample of the strings to compress.
+   *
+   * @param sample the sample strings
+   * @return the trained table
+   */
+  static StrmanSymbolTable train(final Collection<? extends CharSequence> sample) {
+    byte[][] strings = encodeSample(sample);
+    StrmanSymbolTable table = new StrmanSymbolTable(new long[0], new byte[0]);
+    for (int generation = 0; generation < GENERATIONS; generation++) {
+      table = table.nextGeneration(strings);
+    }
+    return table;
+  }
+
+  /**
+   * Compresses a string.
+   *
+   * @param value the string to compress
+   * @return the compressed form
+   * @throws IllegalArgumentException if the value is {@code null} or contains an unpaired surrogate
+   */
+  public byte[] compress(final CharSequence value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    ByteBuffer bytes = Utf8.encode(value);
+    byte[] target = new byte[bytes.remaining() << 1];
+    int length = compress(bytes.array(), 0, bytes.remaining(), target, 0);
+    return Arrays.copyOf(target, length);
+  }
+
+  /**
+   * Decompresses the compressed form of a string.
+   *
+   * @param compressed the compressed form
+   * @return the decompressed string
+   * @throws IllegalArgumentException if the compressed form is {@code null} or not created by this table
+   */
+  public String decompress(final byte[] compressed) throws IllegalArgumentException {
+    if (compressed == null) {
+      throw new IllegalArgumentException("compressed can't be null");
+    }
+    return decompress(compressed, 0, compressed.length);
+  }
+
+  /**
+   * Verifies that the compressed form is the compressed form of the string.
+   * <p>
+   *   The compressed form is decoded symbol by symbol and compared to the UTF-8 encoding of the string until the
+   *   first difference, without decompressing it into a string.
+   *   Use {@link Arrays#equals(byte[], byte[])} to compare two compressed forms.
+   * </p>
+   *
+   * @param compressed the compressed form
+   * @param value the string to compare to
+   * @return {@code true} if the compressed form represents the string, {@code false} otherwise
+   * @throws IllegalArgumentException if an argument is {@code null} or the value contains an unpaired surrogate
+   */
+  public boolean equals(final byte[] compressed, final CharSequence value) throws IllegalArgumentException {
+    if (compressed == null || value == null) {
+      throw new IllegalArgumentException("compressed and value can't be null");
+    }
+    return compare(compressed, 0, compressed.length, Utf8.encode(value), true);
+  }
+
+  /**
+   * Returns the number of symbols of the table.
+   *
+   * @return the number of symbols
+   */
+  public int size() {
+    return symbols.length;
+  }
+
+  /**
+   * Verifies that the string represented by the compressed form starts with the prefix.
+   * <p>
+   *   The compressed form is only decoded until the prefix is matched or the first difference.
+   *   Prefixes can't be compared in compressed form, since symbols may span the end of the prefix.
+   * </p>
+   *
+   * @param compressed the compressed form
+   * @param prefix the prefix to find
+   * @return {@code true} if the string starts with the prefix, {@code false} otherwise
+   * @throws IllegalArgumentException if an argument is {@code null} or the prefix contains an unpaired surrogate
+   */
+  public boolean startsWith(final byte[] compressed, final CharSequence prefix) throws IllegalArgumentException {
+    if (compressed == null || prefix == null) {
+      throw new IllegalArgumentException("compressed and prefix can't be null");
+    }
+    return compare(compressed, 0, compressed.length, Utf8.encode(prefix), false);
+  }
+
+  /**
+   * Compresses a range of bytes into the target that must provide space for twice the number of bytes.
+   *
+   * @param bytes the bytes to compress
+   * @param from the index of the first byte, inclusive
+   * @param to the index of the last byte, exclusive
+   * @param target the array to write the codes to
+   * @param offset the index of the first code in the target
+   * @return the number of written codes
+   */
+  int compress(final byte[] bytes, final int from, final int to, final byte[] target, final int offset) {
+    int j = offset;
+    int i = from;
+    while (i < to) {
+      int code = match(bytes, i, to);
+      if (code < 0) {
+        target[j++] = (byte) ESCAPE;
+        target[j++] = bytes[i++];
+      } else {
+        target[j++] = (byte) code;
+        i += lengths[code];
+      }
+    }
+    return j - offset;
+  }
+
+  /**
+   * Compares the bytes represented by a range of a compressed form with the expected bytes.
+   *
+   * @param compressed the compressed form
+   * @param from the index of the first code, inclusive
+   * @param to the index of the last code, exclusive
+   * @param expected the expected bytes from their position to their limit
+   * @param exact {@code true} if the represented bytes must end with the expected bytes, {@code false} if the
+   *   expected bytes are a prefix
+   * @return {@code true} if matched, {@code false} otherwise
+   */
+  boolean compare(final byte[] compressed, final int from, final int to, final ByteBuffer expected,
+                  final boolean exact) {
+    int position = expected.position();
+    int limit = expected.limit();
+    int i = from;
+    while (i < to) {
+      if (position == limit) {
+        return !exact;
+      }
+      int code = compressed[i++] & 0xFF;
+      if (code == ESCAPE) {
+        if (i == to || compressed[i++] != expected.get(position++)) {
+          return false;
+        }
+        continue;
+      }
+      long symbol = symbol(code);
+      int length = lengths[code];
+      int compared = Math.min(length, limit - position);
+      for (int k = 0; k < compared; k++) {
+        if ((byte) (symbol >>> (k << 3)) != expected.get(position++)) {
+          return false;
+        }
+      }
+      if (compared < length) {
+        return !exact;
+      }
+    }
+    return position == limit;
+  }
+
+  /**
+   * Decompresses a range of a compressed form.
+   *
+   * @param compressed the compressed form
+   * @param from the index of the first code, inclusive
+   * @param to the index of the last code, exclusive
+   * @return the decompressed string
+   * @throws IllegalArgumentException if the range is not created by this table
+   */
+  String decompress(final byte[] compressed, final int from, final int to) throws IllegalArgumentException {
+    int length = 0;
+    for (int i = from; i < to; i++) {
+      int code = compressed[i] & 0xFF;
+      if (code == ESCAPE) {
+        length++;
+        i++;
+      } else {
+        length += lengths[symbolCode(code)];
+      }
+    }
+    byte[] bytes = new byte[length + MAX_SYMBOL_LENGTH];
+    ByteBuffer target = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    int j = 0;
+    for (int i = from; i < to; i++) {
+      int code = compressed[i] & 0xFF;
+      if (code == ESCAPE) {
+        if (++i == to) {
+          throw new IllegalArgumentException("truncated escape at index " + (i - 1));
+        }
+        bytes[j++] = compressed[i];
+      } else {
+        /* Symbols are written as whole words, the padding is overwritten by the following symbols. */
+        target.putLong(j, symbols[code]);
+        j += lengths[code];
+      }
+    }
+    return Utf8.decode(ByteBuffer.wrap(bytes), 0, length);
+  }
+
+  private static byte[][] encodeSample(final Collection<? extends CharSequence> sample) {
+    List<byte[]> strings = new ArrayList<>();
+    int total = 0;
+    for (CharSequence value : sample) {
+      if (value == null) {
+        throw new IllegalArgumentException("sample can't contain null");
+      }
+      if (total >= MAX_SAMPLE_BYTES) {
+        break;
+      }
+      ByteBuffer bytes = Utf8.encode(value);
+      strings.add(Arrays.copyOf(bytes.array(), bytes.remaining()));
+      total += bytes.remaining();
+    }
+    return strings.toArray(new byte[0][]);
+  }
+
+  private static int[][] groupByFirstByte(final long[] symbols, final byte[] lengths) {
+    int[] counts = new int[256];
+    for (long symbol : symbols) {
+      counts[(int) symbol & 0xFF]++;
+    }
+    int[][] groups = new int[256][];
+    for (int b = 0; b < 256; b++) {
+      groups[b] = new int[counts[b]];
+      counts[b] = 0;
+    }
+    Integer[] codes = new Integer[symbols.length];
+    for (int code = 0; code < codes.length; code++) {
+      codes[code] = code;
+    }
+    Arrays.sort(codes, (a, b) -> lengths[b] - lengths[a]);
+    for (int code : codes) {
+      int first = (int) symbols[code] & 0xFF;
+      groups[first][counts[first]++] = code;
+    }
+    return groups;
+  }
+
+  private static long load(final byte[] bytes, final int from, final int to) {
+    long word = 0;
+    int end = Math.min(to, from + MAX_SYMBOL_LENGTH);
+    for (int i = end - 1; i >= from; i--) {
+      word = (word << 8) | (bytes[i] & 0xFF);
+    }
+    return word;
+  }
+
+  /*
+   * Finds the code of the longest symbol matching at the index, -1 if no symbol matches.
+   */
+  private int match(final byte[] bytes, final int index, final int to) {
+    int[] candidates = byFirstByte[bytes[index] & 0xFF];
+    if (candidates.length == 0) {
+      return -1;
+    }
+    long word = load(bytes, index, to);
+    int remaining = to - index;
+    for (int code : candidates) {
+      int length = lengths[code];
+      if (length <= remaining && (word & MASKS[length]) == symbols[code]) {
+        return code;
+      }
+    }
+    return -1;
+  }
+
+  /*
+   * Compresses the sample with this table, counting the codes and pairs of adjacent codes, and builds the table of
+   * the next generation from the symbols and concatenations with the highest gain.
+   * Literal bytes are counted as pseudo codes 256 to 511.
+   */
+  private StrmanSymbolTable nextGeneration(final byte[][] strings) {
+    int codes = 512;
+    int[] counts = new int[codes];
+    int[] pairs = new int[codes * codes];
+    for (byte[] string : strings) {
+      int previous = -1;
+      int i = 0;
+      while (i < string.length) {
+        int code = match(string, i, string.length);
+        if (code < 0) {
+          code = 256 + (string[i] & 0xFF);
+          i++;
+        } else {
+          i += lengths[code];
+        }
+        counts[code]++;
+        if (previous >= 0) {
+          pairs[previous * codes + code]++;
+        }
+        previous = code;
+      }
+    }
+    /* Candidates are keyed by their bytes per length, the values hold the bytes, length and accumulated gain. */
+    List<Map<Long, long[]>> candidates = new ArrayList<>();
+    for (int length = 0; length <= MAX_SYMBOL_LENGTH; length++) {
+      candidates.add(new HashMap<>());
+    }
+    for (int code = 0; code < codes; code++) {
+      if (counts[code] == 0) {
+        continue;
+      }
+      addCandidate(candidates, symbol(code), length(code), counts[code]);
+      for (int next = 0; next < codes; next++) {
+        int count = pairs[code * codes + next];
+        if (count == 0 || length(code) + length(next) > MAX_SYMBOL_LENGTH) {
+          continue;
+        }
+        addCandidate(candidates, symbol(code) | symbol(next) << (length(code) << 3), length(code) + length(next), count);
+      }
+    }
+    List<long[]> ranked = new ArrayList<>();
+    for (Map<Long, long[]> byLength : candidates) {
+      ranked.addAll(byLength.values());
+    }
+    /* Ties are broken by the symbol bytes so the training is deterministic. */
+    ranked.sort((a, b) -> a[2] != b[2] ? Long.compare(b[2], a[2])
+      : a[1] != b[1] ? Long.compare(a[1], b[1]) : Long.compare(a[0], b[0]));
+    int size = Math.min(MAX_SYMBOLS, ranked.size());
+    long[] nextSymbols = new long[size];
+    byte[] nextLengths = new byte[size];
+    for (int code = 0; code < size; code++) {
+      nextSymbols[code] = ranked.get(code)[0];
+      nextLengths[code] = (byte) ranked.get(code)[1];
+    }
+    return new StrmanSymbolTable(nextSymbols, nextLengths);
+  }
+
+  private static void addCandidate(final List<Map<Long, long[]>> candidates, final long symbol, final int length,
+                                   final long count) {
+    candidates.get(length).computeIfAbsent(symbol, k -> new long[]{symbol, length, 0})[2] += count * length;
+  }
+
+  private int length(final int code) {
+    return code < 256 ? lengths[code] : 1;
+  }
+
+  private long symbol(final int code) {
+    return code < 256 ? symbols[symbolCode(code)] : code - 256;
+  }
+
+  private int symbolCode(final int code) {
+    if (code >= symbols.length) {
+      throw new IllegalArgumentException("code " + code + " is not part of the symbol table");
+    }
+    return code;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman URL Component                              +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Represents the components of a URL with the characters they may contain without percent-encoding.
+ * <p>
+ *   The unreserved characters {@code A-Z a-z 0-9 - . _ ~} of <a href="https://tools.ietf.org/html/rfc3986">RFC 3986</a>
+ *   are safe in all components.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#urlEncode(String, StrmanUrlComponent)
+ * @since 0.4.0
+ */
+public enum StrmanUrlComponent {
+
+  /**
+   * A path, which keeps the sub-delimiters, {@code :}, {@code @} and the segment separator {@code /}.
+   */
+  PATH("!$&'()*+,;=:@/"),
+
+  /**
+   * A name or value of a query parameter, which keeps the sub-delimiters except of {@code &}, {@code =} and
+   * {@code +}, {@code :}, {@code @}, {@code /} and {@code ?}.
+   */
+  QUERY("!$'()*,;:@/?"),
+
+  /**
+   * A fragment, which keeps the sub-delimiters, {@code :}, {@code @}, {@code /} and {@code ?}.
+   */
+  FRAGMENT("!$&'()*+,;=:@/?"),
+
+  /**
+   * Keeps only the unreserved characters, like required for the canonical form of signed requests.
+   */
+  UNRESERVED("");
+
+  private static final int TABLE_SIZE = 128;
+
+  private final boolean[] safe = new boolean[TABLE_SIZE];
+
+  StrmanUrlComponent(final String safeDelimiters) {
+    for (char ch = 'A'; ch <= 'Z'; ch++) {
+      safe[ch] = true;
+      safe[ch | 0x20] = true;
+    }
+    for (char ch = '0'; ch <= '9'; ch++) {
+      safe[ch] = true;
+    }
+    safe['-'] = true;
+    safe['.'] = true;
+    safe['_'] = true;
+    safe['~'] = true;
+    for (int i = 0; i < safeDelimiters.length(); i++) {
+      safe[safeDelimiters.charAt(i)] = true;
+    }
+  }
+
+  /**
+   * Verifies that the character may be contained in the component without percent-encoding.
+   *
+   * @param ch the character to verify
+   * @return {@code true} if safe, {@code false} otherwise
+   */
+  boolean isSafe(final char ch) {
+    return ch < TABLE_SIZE && safe[ch];
+  }
+}
@@ -0,0 +1,432 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman UTF-8 Slice                                +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents a read-only view of UTF-8 encoded bytes in a {@link ByteBuffer} or {@code byte} array.
+ * <p>
+ *   The searches run directly on the encoded bytes without decoding them into a {@link String}.
+ *   Since UTF-8 is self-synchronizing, the encoding of a needle can only match at character boundaries, so the
+ *   results are the same as for the decoded string.
+ *   All indexes and lengths are byte offsets relative to the start of the slice.
+ * </p>
+ * <p>
+ *   The slice doesn't copy the bytes, changes of the underlying buffer or array are visible through it.
+ *   A string is only materialized by {@link #toString()}.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.4.0
+ */
+public final class StrmanUtf8Slice {
+
+  private static final byte[] EMPTY = new byte[0];
+
+  private final ByteBuffer buffer;
+  private final int offset;
+  private final int length;
+
+  private StrmanUtf8Slice(final ByteBuffer buffer, final int offset, final int length) {
+    this.buffer = buffer;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Creates a slice of the remaining bytes of the buffer.
+   * <p>
+   *   The position and limit of the buffer are not changed and later changes of them don't affect the slice.
+   * </p>
+   *
+   * @param buffer the buffer with UTF-8 encoded bytes
+   * @return the slice of the remaining bytes
+   * @throws IllegalArgumentException if the buffer is {@code null}
+   */
+  public static StrmanUtf8Slice of(final ByteBuffer buffer) throws IllegalArgumentException {
+    if (buffer == null) {
+      throw new IllegalArgumentException("buffer can't be null");
+    }
+    return new StrmanUtf8Slice(buffer.duplicate(), buffer.position(), buffer.remaining());
+  }
+
+  /**
+   * Creates a slice of the bytes.
+   *
+   * @param bytes the UTF-8 encoded bytes
+   * @return the slice of the bytes
+   * @throws IllegalArgumentException if the bytes are {@code null}
+   */
+  public static StrmanUtf8Slice of(final byte[] bytes) throws IllegalArgumentException {
+    if (bytes == null) {
+      throw new IllegalArgumentException("bytes can't be null");
+    }
+    return of(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Creates a slice of a range of the bytes.
+   *
+   * @param bytes the UTF-8 encoded bytes
+   * @param offset the index of the first byte
+   * @param length the number of bytes
+   * @return the slice of the range
+   * @throws IllegalArgumentException if the bytes are {@code null}
+   * @throws IndexOutOfBoundsException if the range is out of the bounds of the bytes
+   */
+  public static StrmanUtf8Slice of(final byte[] bytes, final int offset, final int length) {
+    if (bytes == null) {
+      throw new IllegalArgumentException("bytes can't be null");
+    }
+    if (offset < 0 || length < 0 || offset > bytes.length - length) {
+      throw new IndexOutOfBoundsException("range [" + offset + ", " + offset + " + " + length + ") is out of bounds for length " + bytes.length);
+    }
+    return new StrmanUtf8Slice(ByteBuffer.wrap(bytes), offset, length);
+  }
+
+  /**
+   * Verifies that the needle is contained in the slice.
+   * <p>
+   *   The search is case sensitive.
+   * </p>
+   *
+   * @param needle the string to search
+   * @return {@code true} if found, {@code false} otherwise
+   * @throws IllegalArgumentException if the needle is {@code null} or contains an unpaired surrogate
+   */
+  public boolean contains(final String needle) throws IllegalArgumentException {
+    return indexOf(needle) > -1;
+  }
+
+  /**
+   * Counts the number of times a substring appears in the slice without overlapping.
+   *
+   * @param subStr the substring to find
+   * @return the count of times the substring exists
+   * @throws IllegalArgumentException if the substring is {@code null} or contains an unpaired surrogate
+   */
+  public long countSubstr(final String subStr) throws IllegalArgumentException {
+    return countSubstr(subStr, false);
+  }
+
+  /**
+   * Counts the number of times a substring appears in the slice.
+   *
+   * @param subStr the substring to find
+   * @param allowOverlapping the overlapping behavior
+   * @return the count of times the substring exists, {@code 0} for an empty substring
+   * @throws IllegalArgumentException if the substring is {@code null} or contains an unpaired surrogate
+   */
+  public long countSubstr(final String subStr, final boolean allowOverlapping) throws IllegalArgumentException {
+    byte[] needle = encode(subStr, "subStr");
+    if (needle.length == 0) {
+      return 0;
+    }
+    long count = 0;
+    int index = indexOf(needle, 0);
+    while (index > -1) {
+      count++;
+      index = indexOf(needle, index + (allowOverlapping ? 1 : needle.length));
+    }
+    return count;
+  }
+
+  /**
+   * Tests if the slice ends with the specified string.
+   *
+   * @param search the string to find
+   * @return {@code true} if the slice ends with the string, {@code false} otherwise
+   * @throws IllegalArgumentException if the string is {@code null} or contains an unpaired surrogate
+   */
+  public boolean endsWith(final String search) throws IllegalArgumentException {
+    byte[] needle = encode(search, "search");
+    return needle.length <= length && regionMatches(length - needle.length, needle);
+  }
+
+  /**
+   * Returns the byte offset of the first occurrence of the needle.
+   *
+   * @param needle the string to search
+   * @return the byte offset if found, {@code -1} otherwise
+   * @throws IllegalArgumentException if the needle is {@code null} or contains an unpaired surrogate
+   */
+  public int indexOf(final String needle) throws IllegalArgumentException {
+    return indexOf(needle, 0);
+  }
+
+  /**
+   * Returns the byte offset of the first occurrence of the needle starting at the specified offset.
+   *
+   * @param needle the string to search
+   * @param fromIndex the byte offset to start the search from
+   * @return the byte offset if found, {@code -1} otherwise
+   * @throws IllegalArgumentException if the needle is {@code null} or contains an unpaired surrogate
+   */
+  public int indexOf(final String needle, final int fromIndex) throws IllegalArgumentException {
+    return indexOf(encode(needle, "needle"), Math.max(0, fromIndex));
+  }
+
+  /**
+   * Verifies that the slice contains no upper case characters.
+   * <p>
+   *   ASCII bytes are tested directly, only multi-byte sequences are decoded into code points.
+   *   Malformed sequences are skipped.
+   * </p>
+   *
+   * @return {@code true} if no upper case character is found, {@code false} otherwise
+   */
+  public boolean isLowerCase() {
+    int end = offset + length;
+    int i = offset;
+    while (i < end) {
+      int b = buffer.get(i);
+      if (b >= 0) {
+        if (b >= 'A' && b <= 'Z') {
+          return false;
+        }
+        i++;
+        continue;
+      }
+      int size = sequenceLength(b);
+      if (size == 0 || i + size > end) {
+        i++;
+        continue;
+      }
+      int codePoint = b & (0xFF >>> (size + 1));
+      boolean valid = true;
+      for (int k = 1; k < size; k++) {
+        int continuation = buffer.get(i + k);
+        if ((continuation & 0xC0) != 0x80) {
+          valid = false;
+          break;
+        }
+        codePoint = (codePoint << 6) | (continuation & 0x3F);
+      }
+      if (valid && Character.isUpperCase(codePoint)) {
+        return false;
+      }
+      i += valid ? size : 1;
+    }
+    return true;
+  }
+
+  /**
+   * Removes all spaces on the left of the slice.
+   *
+   * @return the slice without left border spaces
+   */
+  public StrmanUtf8Slice leftTrim() {
+    int start = 0;
+    while (start < length && isWhitespace(buffer.get(offset + start))) {
+      start++;
+    }
+    return slice(start, length);
+  }
+
+  /**
+   * Returns the number of bytes of the slice.
+   *
+   * @return the number of bytes
+   */
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Removes all spaces on the right of the slice.
+   *
+   * @return the slice without right border spaces
+   */
+  public StrmanUtf8Slice rightTrim() {
+    int end = length;
+    while (end > 0 && isWhitespace(buffer.get(offset + end - 1))) {
+      end--;
+    }
+    return slice(0, end);
+  }
+
+  /**
+   * Returns a view of a range of the slice.
+   *
+   * @param start the byte offset of the first byte, inclusive
+   * @param end the byte offset of the last byte, exclusive
+   * @return the slice of the range
+   * @throws IndexOutOfBoundsException if the range is out of the bounds of the slice
+   */
+  public StrmanUtf8Slice slice(final int start, final int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException("range [" + start + ", " + end + ") is out of bounds for length " + length);
+    }
+    return start == 0 && end == length ? this : new StrmanUtf8Slice(buffer, offset + start, end - start);
+  }
+
+  /**
+   * Tests if the slice starts with the specified string.
+   *
+   * @param search the string to find
+   * @return {@code true} if the slice starts with the string, {@code false} otherwise
+   * @throws IllegalArgumentException if the string is {@code null} or contains an unpaired surrogate
+   */
+  public boolean startsWith(final String search) throws IllegalArgumentException {
+    byte[] needle = encode(search, "search");
+    return needle.length <= length && regionMatches(0, needle);
+  }
+
+  /**
+   * Removes all spaces on the left and right of the slice.
+   *
+   * @return the slice without border spaces
+   */
+  public StrmanUtf8Slice trim() {
+    return leftTrim().rightTrim();
+  }
+
+  /**
+   * Splits the slice into words.
+   * <p>
+   *   Words are the non-empty runs of the characters {@code [a-zA-Z0-9_]}, all other characters are separators like
+   *   for {@link Strman#words(String)}.
+   * </p>
+   *
+   * @return the slices of all words
+   */
+  public List<StrmanUtf8Slice> words() {
+    List<StrmanUtf8Slice> words = new ArrayList<>();
+    int start = -1;
+    for (int i = 0; i < length; i++) {
+      boolean word = isWordByte(buffer.get(offset + i));
+      if (word && start < 0) {
+        start = i;
+      } else if (!word && start >= 0) {
+        words.add(new StrmanUtf8Slice(buffer, offset + start, i - start));
+        start = -1;
+      }
+    }
+    if (start >= 0) {
+      words.add(new StrmanUtf8Slice(buffer, offset + start, length - start));
+    }
+    return words;
+  }
+
+  /**
+   * Compares the bytes of the slice with another slice.
+   *
+   * @param other the object to compare with
+   * @return {@code true} if the other object is a slice with the same bytes, {@code false} otherwise
+   */
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof StrmanUtf8Slice)) {
+      return false;
+    }
+    StrmanUtf8Slice slice = (StrmanUtf8Slice) other;
+    if (length != slice.length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (buffer.get(offset + i) != slice.buffer.get(slice.offset + i)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = 1;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + buffer.get(offset + i);
+    }
+    return hash;
+  }
+
+  /**
+   * Decodes the slice into a string.
+   * <p>
+   *   Malformed sequences are replaced with the Unicode replacement character.
+   * </p>
+   *
+   * @return the decoded string
+   */
+  @Override
+  public String toString() {
+    if (buffer.hasArray()) {
+      return new String(buffer.array(), buffer.arrayOffset() + offset, length, StandardCharsets.UTF_8);
+    }
+    byte[] bytes = new byte[length];
+    for (int i = 0; i < length; i++) {
+      bytes[i] = buffer.get(offset + i);
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private int indexOf(final byte[] needle, final int fromIndex) {
+    if (needle.length == 0) {
+      return fromIndex <= length ? fromIndex : -1;
+    }
+    byte first = needle[0];
+    int last = length - needle.length;
+    for (int i = fromIndex; i <= last; i++) {
+      if (buffer.get(offset + i) == first && regionMatches(i, needle)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private boolean regionMatches(final int start, final byte[] needle) {
+    for (int k = 0; k < needle.length; k++) {
+      if (buffer.get(offset + start + k) != needle[k]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static byte[] encode(final String value, final String name) {
+    if (value == null) {
+      throw new IllegalArgumentException(name + " can't be null");
+    }
+    return value.isEmpty() ? EMPTY : Utf8.encode(value).array();
+  }
+
+  private static boolean isWhitespace(final byte b) {
+    return b == ' ' || (b >= '\t' && b <= '\r');
+  }
+
+  private static boolean isWordByte(final byte b) {
+    return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9') || b == '_';
+  }
+
+  /*
+   * Returns the number of bytes of the sequence started by the lead byte, 0 for continuation- and invalid bytes.
+   */
+  private static int sequenceLength(final int lead) {
+    if ((lead & 0xE0) == 0xC0) {
+      return 2;
+    }
+    if ((lead & 0xF0) == 0xE0) {
+      return 3;
+    }
+    if ((lead & 0xF8) == 0xF0) {
+      return 4;
+    }
+    return 0;
+  }
+}
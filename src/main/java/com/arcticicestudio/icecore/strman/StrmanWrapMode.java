@@ -0,0 +1,32 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Wrap Mode                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Represents the strategies to choose the line breaks of a paragraph.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see StrmanWrapper#withMode(StrmanWrapMode)
+ * @since 0.4.0
+ */
+public enum StrmanWrapMode {
+
+  /**
+   * Fills each line with as many words as fit before starting the next one.
+   */
+  GREEDY,
+
+  /**
+   * Minimizes the sum of the squared free space at the end of all lines except the last one of a paragraph.
+   */
+  MINIMUM_RAGGEDNESS
+}
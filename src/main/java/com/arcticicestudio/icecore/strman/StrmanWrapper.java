@@ -0,0 +1,414 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Wrapper                                    +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Reflows text into lines of a maximum width.
+ * <p>
+ *   Words are separated by the whitespace characters of {@code \s}, lines consisting only of whitespace separate
+ *   paragraphs and are written as empty lines.
+ *   All other line breaks are replaced, every written line is terminated by {@code \n}.
+ *   The width counts UTF-16 characters including the indentation, words that are longer than a line are written on a
+ *   line of their own without being split.
+ * </p>
+ * <p>
+ *   Text is read in chunks and written as soon as the breaks of a line are fixed.
+ *   {@link StrmanWrapMode#GREEDY} keeps a single line in memory.
+ *   {@link StrmanWrapMode#MINIMUM_RAGGEDNESS} runs the dynamic program of Knuth and Plass over the words of a
+ *   paragraph and writes all lines that are shared by every possible continuation, which typically keeps a few lines
+ *   in memory. Paragraphs whose continuations still diverge after {@value #MAX_WINDOW_WORDS} words are broken at the
+ *   best breaks found so far.
+ * </p>
+ * <p>
+ *   Instances are immutable and can be shared.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Strman#wrapper(int)
+ * @see <a href="https://doi.org/10.1002/spe.4380111102">Knuth and Plass, Breaking paragraphs into lines</a>
+ * @since 0.4.0
+ */
+public final class StrmanWrapper {
+
+  /*
+   * The number of words after which the lines shared by all continuations of a paragraph are written.
+   */
+  private static final int COMMIT_INTERVAL = 256;
+
+  /*
+   * The maximum number of words of a paragraph kept in memory.
+   */
+  private static final int MAX_WINDOW_WORDS = 1 << 16;
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final int width;
+  private final String firstIndent;
+  private final String indent;
+  private final StrmanWrapMode mode;
+  private final boolean justified;
+
+  private StrmanWrapper(final int width, final String firstIndent, final String indent, final StrmanWrapMode mode,
+    final boolean justified) {
+    this.width = width;
+    this.firstIndent = firstIndent;
+    this.indent = indent;
+    this.mode = mode;
+    this.justified = justified;
+  }
+
+  /**
+   * Creates a greedy wrapper of unjustified, unindented lines.
+   *
+   * @param width the maximum number of characters per line
+   * @return the new wrapper
+   * @throws IllegalArgumentException if the width is not positive
+   */
+  static StrmanWrapper of(final int width) throws IllegalArgumentException {
+    if (width < 1) {
+      throw new IllegalArgumentException("width must be positive");
+    }
+    return new StrmanWrapper(width, "", "", StrmanWrapMode.GREEDY, false);
+  }
+
+  /**
+   * Returns the mode to choose the line breaks.
+   *
+   * @return the mode
+   */
+  public StrmanWrapMode mode() {
+    return mode;
+  }
+
+  /**
+   * Returns the maximum number of characters per line.
+   *
+   * @return the width
+   */
+  public int width() {
+    return width;
+  }
+
+  /**
+   * Creates a copy that indents the lines.
+   *
+   * @param firstIndent the indentation of the first line of each paragraph
+   * @param indent the indentation of all other lines
+   * @return the copy with the specified indentation
+   * @throws IllegalArgumentException if an indentation is {@code null}
+   */
+  public StrmanWrapper withIndent(final String firstIndent, final String indent) throws IllegalArgumentException {
+    if (firstIndent == null || indent == null) {
+      throw new IllegalArgumentException("indent can't be null");
+    }
+    return new StrmanWrapper(width, firstIndent, indent, mode, justified);
+  }
+
+  /**
+   * Creates a copy that pads the lines with spaces between the words to fill the width.
+   * <p>
+   *   The last line of each paragraph and lines of a single word are not justified.
+   *   Additional spaces are distributed evenly, leftmost gaps receive one more than the others if necessary.
+   * </p>
+   *
+   * @param justified {@code true} to justify the lines, {@code false} to align them to the left
+   * @return the copy with the specified justification
+   */
+  public StrmanWrapper withJustification(final boolean justified) {
+    return new StrmanWrapper(width, firstIndent, indent, mode, justified);
+  }
+
+  /**
+   * Creates a copy that chooses the line breaks with the specified mode.
+   *
+   * @param mode the mode to choose the line breaks
+   * @return the copy with the specified mode
+   * @throws IllegalArgumentException if the mode is {@code null}
+   */
+  public StrmanWrapper withMode(final StrmanWrapMode mode) throws IllegalArgumentException {
+    if (mode == null) {
+      throw new IllegalArgumentException("mode can't be null");
+    }
+    return new StrmanWrapper(width, firstIndent, indent, mode, justified);
+  }
+
+  /**
+   * Reflows the string.
+   * <p>
+   *   The result ends with a line break only if the string does.
+   * </p>
+   *
+   * @param value the string to reflow
+   * @return the reflowed string
+   * @throws IllegalArgumentException if the value is {@code null}
+   */
+  public String wrap(final String value) throws IllegalArgumentException {
+    if (value == null) {
+      throw new IllegalArgumentException("value can't be null");
+    }
+    StringWriter target = new StringWriter(value.length() + value.length() / 8);
+    try {
+      wrap(new StringReader(value), target);
+    } catch (IOException e) {
+      /* Reading a string and writing to a StringWriter can't fail. */
+      throw new IllegalStateException(e);
+    }
+    StringBuffer result = target.getBuffer();
+    if (!value.endsWith("\n") && result.length() > 0) {
+      result.setLength(result.length() - 1);
+    }
+    return result.toString();
+  }
+
+  /**
+   * Reflows the text of the source into the target.
+   * <p>
+   *   Neither the source nor the target are closed.
+   * </p>
+   *
+   * @param source the source to read from
+   * @param target the target to write to
+   * @throws IllegalArgumentException if the source or the target is {@code null}
+   * @throws IOException if the source can't be read or the target can't be written
+   */
+  public void wrap(final Reader source, final Writer target) throws IOException {
+    if (source == null) {
+      throw new IllegalArgumentException("source can't be null");
+    }
+    if (target == null) {
+      throw new IllegalArgumentException("target can't be null");
+    }
+    Engine engine = new Engine(target);
+    char[] buffer = new char[BUFFER_SIZE];
+    for (int read = source.read(buffer); read >= 0; read = source.read(buffer)) {
+      engine.accept(buffer, read);
+    }
+    engine.finish();
+  }
+
+  /*
+   * Collects the words of the current paragraph and writes lines as soon as their breaks are fixed.
+   * Word k consists of the characters in [wordStart[k], wordStart[k + 1]), the characters of a word that is read
+   * follow the last complete word.
+   */
+  private final class Engine {
+
+    private final Writer target;
+    private char[] chars = new char[256];
+    private int charCount;
+    private int[] wordStart = new int[64];
+    private long[] cost = new long[64];
+    private int[] previous = new int[64];
+    private int wordCount;
+    private boolean inWord;
+    private boolean lineHasWords;
+    private boolean paragraphStart = true;
+    private int nextCommit = COMMIT_INTERVAL;
+
+    Engine(final Writer target) {
+      this.target = target;
+    }
+
+    void accept(final char[] buffer, final int length) throws IOException {
+      for (int i = 0; i < length; i++) {
+        char ch = buffer[i];
+        if (ch == '\n') {
+          endWord();
+          if (!lineHasWords) {
+            endParagraph();
+            target.write('\n');
+          }
+          lineHasWords = false;
+        } else if (ScalarKernels.isWhitespace(ch)) {
+          endWord();
+        } else {
+          if (charCount == chars.length) {
+            chars = Arrays.copyOf(chars, chars.length << 1);
+          }
+          chars[charCount++] = ch;
+          inWord = true;
+          lineHasWords = true;
+        }
+      }
+    }
+
+    void finish() throws IOException {
+      endWord();
+      endParagraph();
+    }
+
+    private int available(final int start) {
+      return width - (start == 0 && paragraphStart ? firstIndent.length() : indent.length());
+    }
+
+    private void endParagraph() throws IOException {
+      if (wordCount == 0) {
+        return;
+      }
+      int last = wordCount - 1;
+      int start = last;
+      if (mode == StrmanWrapMode.MINIMUM_RAGGEDNESS) {
+        /* The last line is free, so it starts after the cheapest breaks it can follow. */
+        for (int i = last - 1; i >= 0 && length(i, last) <= available(i); i--) {
+          if (cost[i] < cost[start]) {
+            start = i;
+          }
+        }
+      } else {
+        start = 0;
+      }
+      writeLines(start);
+      writeLine(start, wordCount, true);
+      reset(wordCount);
+      paragraphStart = true;
+      nextCommit = COMMIT_INTERVAL;
+    }
+
+    private void endWord() throws IOException {
+      if (!inWord) {
+        return;
+      }
+      inWord = false;
+      int word = wordCount++;
+      if (wordCount + 1 > wordStart.length) {
+        wordStart = Arrays.copyOf(wordStart, wordStart.length << 1);
+        cost = Arrays.copyOf(cost, cost.length << 1);
+        previous = Arrays.copyOf(previous, previous.length << 1);
+      }
+      wordStart[wordCount] = charCount;
+      if (mode == StrmanWrapMode.GREEDY) {
+        if (word > 0 && length(0, word) > available(0)) {
+          writeLine(0, word, false);
+          reset(word);
+          paragraphStart = false;
+        }
+        return;
+      }
+      long best = Long.MAX_VALUE;
+      int bestStart = word;
+      for (int i = word; i >= 0; i--) {
+        int length = length(i, word);
+        int available = available(i);
+        if (length > available && i < word) {
+          break;
+        }
+        long slack = Math.max(0, available - length);
+        long candidate = cost[i] + slack * slack;
+        if (candidate < best) {
+          best = candidate;
+          bestStart = i;
+        }
+      }
+      cost[wordCount] = best;
+      previous[wordCount] = bestStart;
+      if (wordCount >= nextCommit) {
+        commit();
+      }
+    }
+
+    /*
+     * Writes the lines before the latest break all possible continuations of the paragraph share.
+     */
+    private void commit() throws IOException {
+      int live = wordCount;
+      while (live > 0 && (live - 1 == wordCount - 1 || length(live - 1, wordCount - 1) <= available(live - 1))) {
+        live--;
+      }
+      int shared = wordCount;
+      for (int i = live; i < wordCount; i++) {
+        int other = i;
+        while (shared != other) {
+          if (shared > other) {
+            shared = previous[shared];
+          } else {
+            other = previous[other];
+          }
+        }
+      }
+      if (shared == 0 && wordCount >= MAX_WINDOW_WORDS) {
+        shared = wordCount;
+        for (int i = live; i < wordCount; i++) {
+          if (cost[i] < cost[shared]) {
+            shared = i;
+          }
+        }
+      }
+      if (shared > 0) {
+        writeLines(shared);
+        reset(shared);
+        paragraphStart = false;
+      }
+      nextCommit = wordCount + COMMIT_INTERVAL;
+    }
+
+    private int length(final int from, final int to) {
+      return wordStart[to + 1] - wordStart[from] + to - from;
+    }
+
+    /*
+     * Drops the words before the specified one.
+     */
+    private void reset(final int word) {
+      int base = wordStart[word];
+      long baseCost = cost[word];
+      charCount -= base;
+      System.arraycopy(chars, base, chars, 0, charCount);
+      wordCount -= word;
+      for (int i = 0; i <= wordCount; i++) {
+        wordStart[i] = wordStart[i + word] - base;
+        cost[i] = cost[i + word] - baseCost;
+        previous[i] = previous[i + word] - word;
+      }
+    }
+
+    private void writeLine(final int from, final int to, final boolean last) throws IOException {
+      boolean first = from == 0 && paragraphStart;
+      target.write(first ? firstIndent : indent);
+      int gaps = to - from - 1;
+      int extra = justified && !last && gaps > 0 ? Math.max(0, available(from) - length(from, to - 1)) : 0;
+      for (int i = from; i < to; i++) {
+        if (i > from) {
+          int gap = i - from - 1;
+          for (int spaces = 1 + extra / gaps + (gap < extra % gaps ? 1 : 0); spaces > 0; spaces--) {
+            target.write(' ');
+          }
+        }
+        target.write(chars, wordStart[i], wordStart[i + 1] - wordStart[i]);
+      }
+      target.write('\n');
+    }
+
+    /*
+     * Writes the lines of the best breaks up to the line that starts with the specified word.
+     */
+    private void writeLines(final int end) throws IOException {
+      int count = 0;
+      for (int start = end; start > 0; start = previous[start]) {
+        count++;
+      }
+      int[] breaks = new int[count + 1];
+      for (int start = end, i = count; i > 0; start = previous[start], i--) {
+        breaks[i] = start;
+      }
+      for (int i = 0; i < count; i++) {
+        writeLine(breaks[i], breaks[i + 1], false);
+      }
+    }
+  }
+}
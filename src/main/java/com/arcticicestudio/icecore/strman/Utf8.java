@@ -0,0 +1,271 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      UTF-8                                             +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Validates and transcodes UTF-8 without the JDK charset machinery.
+ * <p>
+ *   Every conversion first computes the exact output length, so the result is allocated once and never resized.
+ *   Runs of ASCII bytes are validated and counted eight bytes at a time by testing the high bits of a {@code long}.
+ * </p>
+ * <p>
+ *   Overlong encodings, encoded surrogates, code points beyond {@code U+10FFFF}, truncated sequences and unpaired
+ *   surrogates are rejected with an {@link IllegalArgumentException} naming the index of the malformed input.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://tools.ietf.org/html/rfc3629">RFC 3629</a>
+ * @since 0.4.0
+ */
+final class Utf8 {
+
+  private static final long ASCII_MASK = 0x8080808080808080L;
+
+  /*
+   * Avoid class instantiation.
+   */
+  private Utf8() {}
+
+  /**
+   * Decodes the bytes of the range into a string.
+   *
+   * @param bytes the buffer with the bytes to decode
+   * @param from the index of the first byte, inclusive
+   * @param to the index of the last byte, exclusive
+   * @return the decoded string
+   * @throws IllegalArgumentException if the bytes are malformed
+   */
+  static String decode(final ByteBuffer bytes, final int from, final int to) throws IllegalArgumentException {
+    int scanned = scan(bytes, from, to);
+    if (scanned < 0) {
+      throw malformed(-scanned - 1 - from);
+    }
+    char[] chars = new char[scanned];
+    int i = from;
+    int j = 0;
+    while (i < to) {
+      int b = bytes.get(i);
+      if (b >= 0) {
+        chars[j++] = (char) b;
+        i++;
+      } else if ((b & 0xE0) == 0xC0) {
+        chars[j++] = (char) (((b & 0x1F) << 6) | (bytes.get(i + 1) & 0x3F));
+        i += 2;
+      } else if ((b & 0xF0) == 0xE0) {
+        chars[j++] = (char) (((b & 0x0F) << 12) | ((bytes.get(i + 1) & 0x3F) << 6) | (bytes.get(i + 2) & 0x3F));
+        i += 3;
+      } else {
+        int codePoint = ((b & 0x07) << 18) | ((bytes.get(i + 1) & 0x3F) << 12) | ((bytes.get(i + 2) & 0x3F) << 6)
+          | (bytes.get(i + 3) & 0x3F);
+        chars[j++] = Character.highSurrogate(codePoint);
+        chars[j++] = Character.lowSurrogate(codePoint);
+        i += 4;
+      }
+    }
+    return new String(chars);
+  }
+
+  /**
+   * Encodes the characters into a new buffer of the exact encoded length.
+   *
+   * @param chars the characters to encode
+   * @return the flipped buffer with the encoded bytes
+   * @throws IllegalArgumentException if the characters contain an unpaired surrogate
+   */
+  static ByteBuffer encode(final CharSequence chars) throws IllegalArgumentException {
+    ByteBuffer target = ByteBuffer.allocate(encodedLength(chars));
+    encode(chars, target);
+    target.flip();
+    return target;
+  }
+
+  /**
+   * Encodes the characters into the target buffer starting at its position.
+   *
+   * @param chars the characters to encode
+   * @param target the buffer to write to
+   * @return the number of written bytes
+   * @throws IllegalArgumentException if the characters contain an unpaired surrogate
+   * @throws java.nio.BufferOverflowException if the remaining space of the target is insufficient
+   */
+  static int encode(final CharSequence chars, final ByteBuffer target) throws IllegalArgumentException {
+    return encode(chars, 0, chars.length(), target);
+  }
+
+  /**
+   * Encodes a range of the characters into the target buffer starting at its position.
+   *
+   * @param chars the characters to encode
+   * @param from the index of the first character, inclusive
+   * @param to the index of the last character, exclusive
+   * @param target the buffer to write to
+   * @return the number of written bytes
+   * @throws IllegalArgumentException if the range contains an unpaired surrogate
+   * @throws java.nio.BufferOverflowException if the remaining space of the target is insufficient
+   */
+  static int encode(final CharSequence chars, final int from, final int to, final ByteBuffer target)
+    throws IllegalArgumentException {
+    int start = target.position();
+    for (int i = from; i < to; i++) {
+      char ch = chars.charAt(i);
+      if (ch < 0x80) {
+        target.put((byte) ch);
+      } else if (ch < 0x800) {
+        target.put((byte) (0xC0 | (ch >>> 6)));
+        target.put((byte) (0x80 | (ch & 0x3F)));
+      } else if (!Character.isSurrogate(ch)) {
+        target.put((byte) (0xE0 | (ch >>> 12)));
+        target.put((byte) (0x80 | ((ch >>> 6) & 0x3F)));
+        target.put((byte) (0x80 | (ch & 0x3F)));
+      } else {
+        int codePoint = codePointAt(chars, i, to);
+        target.put((byte) (0xF0 | (codePoint >>> 18)));
+        target.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+        target.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+        target.put((byte) (0x80 | (codePoint & 0x3F)));
+        i++;
+      }
+    }
+    return target.position() - start;
+  }
+
+  /**
+   * Computes the number of bytes of the UTF-8 encoding of the characters.
+   *
+   * @param chars the characters to measure
+   * @return the number of bytes
+   * @throws IllegalArgumentException if the characters contain an unpaired surrogate
+   */
+  static int encodedLength(final CharSequence chars) throws IllegalArgumentException {
+    return encodedLength(chars, 0, chars.length());
+  }
+
+  /**
+   * Computes the number of bytes of the UTF-8 encoding of a range of the characters.
+   *
+   * @param chars the characters to measure
+   * @param from the index of the first character, inclusive
+   * @param to the index of the last character, exclusive
+   * @return the number of bytes
+   * @throws IllegalArgumentException if the range contains an unpaired surrogate
+   */
+  static int encodedLength(final CharSequence chars, final int from, final int to) throws IllegalArgumentException {
+    long bytes = to - from;
+    for (int i = from; i < to; i++) {
+      char ch = chars.charAt(i);
+      if (ch >= 0x80) {
+        if (ch < 0x800) {
+          bytes++;
+        } else if (!Character.isSurrogate(ch)) {
+          bytes += 2;
+        } else {
+          codePointAt(chars, i, to);
+          bytes += 2;
+          i++;
+        }
+      }
+    }
+    if (bytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("encoded length exceeds " + Integer.MAX_VALUE + " bytes");
+    }
+    return (int) bytes;
+  }
+
+  /**
+   * Finds the first malformed byte sequence of the range.
+   *
+   * @param bytes the buffer with the bytes to validate
+   * @param from the index of the first byte, inclusive
+   * @param to the index of the last byte, exclusive
+   * @return the index relative to {@code from} where the first malformed sequence starts, {@code -1} if valid
+   */
+  static int indexOfMalformed(final ByteBuffer bytes, final int from, final int to) {
+    int scanned = scan(bytes, from, to);
+    return scanned < 0 ? -scanned - 1 - from : -1;
+  }
+
+  private static int codePointAt(final CharSequence chars, final int index, final int to) {
+    char high = chars.charAt(index);
+    if (Character.isHighSurrogate(high) && index + 1 < to) {
+      char low = chars.charAt(index + 1);
+      if (Character.isLowSurrogate(low)) {
+        return Character.toCodePoint(high, low);
+      }
+    }
+    throw malformed(index);
+  }
+
+  private static IllegalArgumentException malformed(final int index) {
+    return new IllegalArgumentException("malformed input at index " + index);
+  }
+
+  /*
+   * Validates the range and counts the UTF-16 chars of the decoded string.
+   * Returns the number of chars if valid, otherwise -(index + 1) of the first malformed sequence.
+   */
+  private static int scan(final ByteBuffer bytes, final int from, final int to) {
+    int chars = 0;
+    int i = from;
+    while (i < to) {
+      if (i + 8 <= to && (bytes.getLong(i) & ASCII_MASK) == 0) {
+        i += 8;
+        chars += 8;
+        continue;
+      }
+      int b = bytes.get(i) & 0xFF;
+      if (b < 0x80) {
+        i++;
+        chars++;
+        continue;
+      }
+      int size;
+      int min = 0x80;
+      int max = 0xBF;
+      if (b >= 0xC2 && b <= 0xDF) {
+        size = 2;
+      } else if (b >= 0xE0 && b <= 0xEF) {
+        size = 3;
+        if (b == 0xE0) {
+          min = 0xA0;
+        } else if (b == 0xED) {
+          max = 0x9F;
+        }
+      } else if (b >= 0xF0 && b <= 0xF4) {
+        size = 4;
+        if (b == 0xF0) {
+          min = 0x90;
+        } else if (b == 0xF4) {
+          max = 0x8F;
+        }
+      } else {
+        return -i - 1;
+      }
+      if (i + size > to) {
+        return -i - 1;
+      }
+      int second = bytes.get(i + 1) & 0xFF;
+      if (second < min || second > max) {
+        return -i - 1;
+      }
+      for (int k = 2; k < size; k++) {
+        if ((bytes.get(i + k) & 0xC0) != 0x80) {
+          return -i - 1;
+        }
+      }
+      i += size;
+      chars += size == 4 ? 2 : 1;
+    }
+    return chars;
+  }
+}
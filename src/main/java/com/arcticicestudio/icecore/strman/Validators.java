@@ -0,0 +1,461 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Validators                                        +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Validates strings against the {@link StrmanFormat}s with single-pass scanners.
+ * <p>
+ *   Every scanner is a hand-written automaton that reads the characters from left to right, never backtracks and
+ *   doesn't allocate.
+ *   The scanners return the index of the first character that can't be part of a valid value, the length of the value
+ *   if it ends prematurely or {@code -1} if the value is valid.
+ *   Characters beyond a length limit are reported at the index of the first character exceeding the limit.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @since 0.4.0
+ */
+final class Validators {
+
+  private static final int MAX_EMAIL_LENGTH = 254;
+  private static final int MAX_LOCAL_PART_LENGTH = 64;
+  private static final int MAX_LABEL_LENGTH = 63;
+  private static final int UUID_LENGTH = 36;
+  private static final int[] DAYS_OF_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+  private static final boolean[] ATEXT = new boolean[128];
+
+  static {
+    for (char ch = 'A'; ch <= 'Z'; ch++) {
+      ATEXT[ch] = true;
+      ATEXT[ch | 0x20] = true;
+    }
+    for (char ch = '0'; ch <= '9'; ch++) {
+      ATEXT[ch] = true;
+    }
+    for (char ch : "!#$%&'*+-/=?^_`{|}~".toCharArray()) {
+      ATEXT[ch] = true;
+    }
+  }
+
+  /*
+   * Avoid class instantiation.
+   */
+  private Validators() {}
+
+  /**
+   * Validates a decimal floating-point number.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#DECIMAL
+   */
+  static int decimal(final CharSequence value) {
+    int length = value.length();
+    int i = skipSign(value, 0);
+    int start = i;
+    i = skipDigits(value, i);
+    boolean integerDigits = i > start;
+    if (i < length && value.charAt(i) == '.') {
+      int fraction = ++i;
+      i = skipDigits(value, i);
+      if (!integerDigits && i == fraction) {
+        return i;
+      }
+    } else if (!integerDigits) {
+      return i;
+    }
+    if (i < length && (value.charAt(i) == 'e' || value.charAt(i) == 'E')) {
+      int exponent = skipSign(value, i + 1);
+      i = skipDigits(value, exponent);
+      if (i == exponent) {
+        return i;
+      }
+    }
+    return i == length ? -1 : i;
+  }
+
+  /**
+   * Validates an email address.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#EMAIL
+   */
+  static int email(final CharSequence value) {
+    int length = value.length();
+    int i = 0;
+    while (true) {
+      int atom = i;
+      while (i < length && isAtext(value.charAt(i))) {
+        i++;
+      }
+      if (i == atom) {
+        return i;
+      }
+      if (i > MAX_LOCAL_PART_LENGTH) {
+        return MAX_LOCAL_PART_LENGTH;
+      }
+      if (i == length) {
+        return i;
+      }
+      char ch = value.charAt(i);
+      if (ch == '@') {
+        break;
+      }
+      if (ch != '.') {
+        return i;
+      }
+      i++;
+    }
+    i++;
+    while (true) {
+      int label = i;
+      while (i < length && (isAlphanumeric(value.charAt(i)) || value.charAt(i) == '-')) {
+        i++;
+      }
+      if (i == label) {
+        return i;
+      }
+      if (value.charAt(label) == '-') {
+        return label;
+      }
+      if (i - label > MAX_LABEL_LENGTH) {
+        return label + MAX_LABEL_LENGTH;
+      }
+      if (i > MAX_EMAIL_LENGTH) {
+        return MAX_EMAIL_LENGTH;
+      }
+      if (value.charAt(i - 1) == '-') {
+        return i - 1;
+      }
+      if (i == length) {
+        return -1;
+      }
+      if (value.charAt(i) != '.') {
+        return i;
+      }
+      i++;
+    }
+  }
+
+  /**
+   * Validates a decimal integer.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#INTEGER
+   */
+  static int integer(final CharSequence value) {
+    int start = skipSign(value, 0);
+    int i = skipDigits(value, start);
+    if (i == start) {
+      return i;
+    }
+    return i == value.length() ? -1 : i;
+  }
+
+  /**
+   * Validates an IPv4 address.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#IPV4
+   */
+  static int ipv4(final CharSequence value) {
+    return ipv4(value, 0);
+  }
+
+  /**
+   * Validates an IPv6 address.
+   * <p>
+   *   The groups are counted while scanning, so a compression is valid as long as it replaces at least one group.
+   * </p>
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#IPV6
+   */
+  static int ipv6(final CharSequence value) {
+    int length = value.length();
+    int groups = 0;
+    boolean compressed = false;
+    int i = 0;
+    if (length > 0 && value.charAt(0) == ':') {
+      if (length == 1 || value.charAt(1) != ':') {
+        return 1;
+      }
+      compressed = true;
+      i = 2;
+      if (i == length) {
+        return -1;
+      }
+    }
+    while (true) {
+      int group = i;
+      while (i < length && i - group < 4 && isHexDigit(value.charAt(i))) {
+        i++;
+      }
+      if (i == group) {
+        return i;
+      }
+      if (i < length && value.charAt(i) == '.') {
+        if (compressed ? groups > 5 : groups != 6) {
+          return group;
+        }
+        return ipv4(value, group);
+      }
+      groups++;
+      if (i == length) {
+        return compressed || groups == 8 ? -1 : i;
+      }
+      if (value.charAt(i) != ':' || groups == (compressed ? 7 : 8)) {
+        return i;
+      }
+      i++;
+      if (i < length && value.charAt(i) == ':') {
+        if (compressed) {
+          return i;
+        }
+        compressed = true;
+        i++;
+        if (i == length) {
+          return -1;
+        }
+        if (groups == 7) {
+          return i;
+        }
+      }
+    }
+  }
+
+  /**
+   * Validates an ISO 8601 calendar date.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#ISO_DATE
+   */
+  static int isoDate(final CharSequence value) {
+    int invalid = date(value, 0);
+    if (invalid >= 0) {
+      return invalid;
+    }
+    return value.length() == 10 ? -1 : 10;
+  }
+
+  /**
+   * Validates an RFC 3339 date and time with an optional offset.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#ISO_DATE_TIME
+   */
+  static int isoDateTime(final CharSequence value) {
+    int length = value.length();
+    int invalid = date(value, 0);
+    if (invalid >= 0) {
+      return invalid;
+    }
+    if (!isAt(value, 10, 'T') && !isAt(value, 10, 't')) {
+      return Math.min(10, length);
+    }
+    invalid = time(value, 11);
+    if (invalid >= 0) {
+      return invalid;
+    }
+    if (!isAt(value, 16, ':')) {
+      return Math.min(16, length);
+    }
+    invalid = number(value, 17, 2, 60);
+    if (invalid >= 0) {
+      return invalid;
+    }
+    int i = 19;
+    if (isAt(value, i, '.')) {
+      int fraction = ++i;
+      i = skipDigits(value, i);
+      if (i == fraction) {
+        return i;
+      }
+    }
+    if (i == length) {
+      return -1;
+    }
+    char ch = value.charAt(i);
+    if (ch == 'Z' || ch == 'z') {
+      i++;
+    } else if (ch == '+' || ch == '-') {
+      invalid = time(value, i + 1);
+      if (invalid >= 0) {
+        return invalid;
+      }
+      i += 6;
+    } else {
+      return i;
+    }
+    return i == length ? -1 : i;
+  }
+
+  /**
+   * Validates a UUID.
+   *
+   * @param value the characters to validate
+   * @return the index of the first invalid character, {@code -1} if valid
+   * @see StrmanFormat#UUID
+   */
+  static int uuid(final CharSequence value) {
+    int length = value.length();
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      if (i == length) {
+        return i;
+      }
+      char ch = value.charAt(i);
+      if (i == 8 || i == 13 || i == 18 || i == 23 ? ch != '-' : !isHexDigit(ch)) {
+        return i;
+      }
+    }
+    return length == UUID_LENGTH ? -1 : UUID_LENGTH;
+  }
+
+  /*
+   * Validates the date in the format YYYY-MM-DD starting at the index, ignoring any following characters.
+   */
+  private static int date(final CharSequence value, final int from) {
+    int invalid = number(value, from, 4, 9999);
+    if (invalid >= 0) {
+      return invalid;
+    }
+    int year = digits(value, from, 4);
+    if (!isAt(value, from + 4, '-')) {
+      return Math.min(from + 4, value.length());
+    }
+    invalid = number(value, from + 5, 2, 12);
+    if (invalid >= 0) {
+      return invalid;
+    }
+    int month = digits(value, from + 5, 2);
+    if (month == 0) {
+      return from + 5;
+    }
+    if (!isAt(value, from + 7, '-')) {
+      return Math.min(from + 7, value.length());
+    }
+    boolean leapYear = year % 4 == 0 && (year % 100 != 0 || year % 400 == 0);
+    invalid = number(value, from + 8, 2, DAYS_OF_MONTH[month - 1] + (month == 2 && leapYear ? 1 : 0));
+    if (invalid >= 0) {
+      return invalid;
+    }
+    return digits(value, from + 8, 2) == 0 ? from + 8 : -1;
+  }
+
+  /*
+   * Returns the value of the digits, which must have been validated before.
+   */
+  private static int digits(final CharSequence value, final int from, final int count) {
+    int number = 0;
+    for (int i = from; i < from + count; i++) {
+      number = number * 10 + value.charAt(i) - '0';
+    }
+    return number;
+  }
+
+  private static boolean isAlphanumeric(final char ch) {
+    return (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z') || (ch >= '0' && ch <= '9');
+  }
+
+  private static boolean isAt(final CharSequence value, final int index, final char ch) {
+    return index < value.length() && value.charAt(index) == ch;
+  }
+
+  private static boolean isAtext(final char ch) {
+    return ch < ATEXT.length && ATEXT[ch];
+  }
+
+  private static boolean isDigit(final char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+
+  private static boolean isHexDigit(final char ch) {
+    return (ch >= '0' && ch <= '9') || ((ch | 0x20) >= 'a' && (ch | 0x20) <= 'f');
+  }
+
+  /*
+   * Validates the four dotted-decimal octets starting at the index up to the end of the value.
+   */
+  private static int ipv4(final CharSequence value, final int from) {
+    int length = value.length();
+    int i = from;
+    for (int octet = 0; octet < 4; octet++) {
+      if (octet > 0) {
+        if (i == length || value.charAt(i) != '.') {
+          return i;
+        }
+        i++;
+      }
+      int start = i;
+      int number = 0;
+      while (i < length && isDigit(value.charAt(i))) {
+        if (i > start && number == 0) {
+          return start;
+        }
+        number = number * 10 + value.charAt(i) - '0';
+        if (number > 255) {
+          return start;
+        }
+        i++;
+      }
+      if (i == start) {
+        return i;
+      }
+    }
+    return i == length ? -1 : i;
+  }
+
+  /*
+   * Validates the fixed-width number starting at the index.
+   * A number exceeding the maximum is reported at its first digit.
+   */
+  private static int number(final CharSequence value, final int from, final int width, final int max) {
+    int length = value.length();
+    for (int i = from; i < from + width; i++) {
+      if (i == length || !isDigit(value.charAt(i))) {
+        return i;
+      }
+    }
+    return digits(value, from, width) > max ? from : -1;
+  }
+
+  private static int skipDigits(final CharSequence value, int index) {
+    while (index < value.length() && isDigit(value.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
+  private static int skipSign(final CharSequence value, final int index) {
+    return index < value.length() && (value.charAt(index) == '+' || value.charAt(index) == '-') ? index + 1 : index;
+  }
+
+  /*
+   * Validates the time in the format hh:mm starting at the index, ignoring any following characters.
+   */
+  private static int time(final CharSequence value, final int from) {
+    int invalid = number(value, from, 2, 23);
+    if (invalid >= 0) {
+      return invalid;
+    }
+    if (!isAt(value, from + 2, ':')) {
+      return Math.min(from + 2, value.length());
+    }
+    return number(value, from + 3, 2, 59);
+  }
+}
@@ -0,0 +1,102 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Kernels                                           +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+/**
+ * Dispatches the scan-heavy operations of {@link Strman} to the best implementation available at runtime.
+ * <p>
+ *   This is the JDK 17 variant of the multi-release JAR.
+ *   The {@link VectorKernels} are used when the {@code jdk.incubator.vector} module has been resolved
+ *   (e.g. {@code --add-modules jdk.incubator.vector}), the hardware provides vectors of at least 128 bits and the
+ *   {@code icecore.strman.vector} system property is not set to {@code false}.
+ *   All other cases fall back to the {@link ScalarKernels}.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see ScalarKernels
+ * @see VectorKernels
+ * @since 0.4.0
+ */
+final class Kernels {
+
+  private static final boolean VECTORIZED = detectVectorSupport();
+
+  /*
+   * Avoid class instantiation.
+   */
+  private Kernels() {}
+
+  /**
+   * Checks whether the vectorized kernels are in use.
+   *
+   * @return {@code true} if the vectorized kernels are used, {@code false} otherwise
+   */
+  static boolean isVectorized() {
+    return VECTORIZED;
+  }
+
+  static long countSubstr(final String value, final String subStr, final boolean allowOverlapping) {
+    if (VECTORIZED) {
+      return VectorKernels.countSubstr(value, subStr, allowOverlapping);
+    }
+    return ScalarKernels.countSubstr(value, subStr, allowOverlapping);
+  }
+
+  static String encodeHex(final String value) {
+    if (VECTORIZED) {
+      return VectorKernels.encodeHex(value);
+    }
+    return ScalarKernels.encodeHex(value);
+  }
+
+  static int indexOf(final String value, final String needle, final int fromIndex) {
+    if (VECTORIZED) {
+      return VectorKernels.indexOf(value, needle, fromIndex);
+    }
+    return ScalarKernels.indexOf(value, needle, fromIndex);
+  }
+
+  static boolean isLowerCase(final String value) {
+    if (VECTORIZED) {
+      return VectorKernels.isLowerCase(value);
+    }
+    return ScalarKernels.isLowerCase(value);
+  }
+
+  static boolean isUpperCase(final String value) {
+    if (VECTORIZED) {
+      return VectorKernels.isUpperCase(value);
+    }
+    return ScalarKernels.isUpperCase(value);
+  }
+
+  static String removeWhitespace(final String value) {
+    if (VECTORIZED) {
+      return VectorKernels.removeWhitespace(value);
+    }
+    return ScalarKernels.removeWhitespace(value);
+  }
+
+  private static boolean detectVectorSupport() {
+    try {
+      if (!Boolean.parseBoolean(System.getProperty("icecore.strman.vector", "true"))) {
+        return false;
+      }
+      if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+        return false;
+      }
+      return VectorKernels.isSupported();
+    } catch (SecurityException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,232 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Vector Kernels                                    +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import static jdk.incubator.vector.VectorOperators.AND;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.LSHL;
+import static jdk.incubator.vector.VectorOperators.LSHR;
+import static jdk.incubator.vector.VectorOperators.S2L;
+import static jdk.incubator.vector.VectorOperators.UNSIGNED_GT;
+import static jdk.incubator.vector.VectorOperators.UNSIGNED_LE;
+import static jdk.incubator.vector.VectorOperators.UNSIGNED_LT;
+
+/**
+ * Implements the scan-heavy operations of {@link Strman} with the incubating Vector API.
+ * <p>
+ *   The UTF-16 characters are processed as lanes of the preferred {@link ShortVector} species of the platform.
+ *   Inputs shorter than {@link #THRESHOLD} characters and blocks containing non-ASCII characters where the result
+ *   depends on Unicode properties are delegated to the {@link ScalarKernels}, so every result is identical to the
+ *   scalar variant.
+ * </p>
+ * <p>
+ *   Substring searches with needles longer than one character always use {@link String#indexOf(String, int)} which
+ *   is already a vectorized intrinsic of HotSpot and outperformed every Vector API variant in the
+ *   {@code KernelsBenchmark}.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see Kernels
+ * @since 0.4.0
+ */
+final class VectorKernels {
+
+  /**
+   * The minimum input length for which the vectorized kernels are used.
+   */
+  static final int THRESHOLD = 64;
+
+  /*
+   * Strings are read in chunks of this many characters, so the working set stays in the L1 cache instead of inflating
+   * the whole input into a temporary array first.
+   */
+  private static final int CHUNK = 2048;
+
+  private static final VectorSpecies<Short> SPECIES = ShortVector.SPECIES_PREFERRED;
+  private static final VectorSpecies<Long> LONG_SPECIES = VectorSpecies.of(long.class, SPECIES.vectorShape());
+  private static final int LANES = SPECIES.length();
+
+  /*
+   * Avoid class instantiation.
+   */
+  private VectorKernels() {}
+
+  /**
+   * Checks whether the hardware provides vectors wide enough to gain anything over the scalar kernels.
+   *
+   * @return {@code true} if at least eight characters can be processed at once, {@code false} otherwise
+   */
+  static boolean isSupported() {
+    return LANES >= 8;
+  }
+
+  static long countSubstr(final String value, final String subStr, final boolean allowOverlapping) {
+    int length = value.length();
+    if (subStr.length() != 1 || length < THRESHOLD) {
+      return ScalarKernels.countSubstr(value, subStr, allowOverlapping);
+    }
+    char ch = subStr.charAt(0);
+    ShortVector needle = ShortVector.broadcast(SPECIES, (short) ch);
+    char[] chunk = new char[Math.min(length, CHUNK)];
+    long count = 0L;
+    for (int start = 0; start < length; start += CHUNK) {
+      int size = Math.min(CHUNK, length - start);
+      value.getChars(start, start + size, chunk, 0);
+      int i = 0;
+      for (; i + LANES <= size; i += LANES) {
+        count += ShortVector.fromCharArray(SPECIES, chunk, i).eq(needle).trueCount();
+      }
+      for (; i < size; i++) {
+        if (chunk[i] == ch) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  static String encodeHex(final String value) {
+    int length = value.length();
+    if (length < THRESHOLD) {
+      return ScalarKernels.encodeHex(value);
+    }
+    char[] encoded = new char[length * 4];
+    char[] chunk = new char[Math.min(length, CHUNK)];
+    int longLanes = LONG_SPECIES.length();
+    for (int start = 0; start < length; start += CHUNK) {
+      int size = Math.min(CHUNK, length - start);
+      value.getChars(start, start + size, chunk, 0);
+      int i = 0;
+      for (; i + LANES <= size; i += LANES) {
+        ShortVector vector = ShortVector.fromCharArray(SPECIES, chunk, i);
+        for (int part = 0; part * longLanes < LANES; part++) {
+          LongVector widened = (LongVector) vector.convertShape(S2L, LONG_SPECIES, part);
+          /* The reinterpretation is little-endian, so the most significant digit goes into the lowest 16 bits. */
+          hexDigit(widened, 12)
+            .or(hexDigit(widened, 8).lanewise(LSHL, 16))
+            .or(hexDigit(widened, 4).lanewise(LSHL, 32))
+            .or(hexDigit(widened, 0).lanewise(LSHL, 48))
+            .reinterpretAsShorts()
+            .intoCharArray(encoded, (start + i + part * longLanes) * 4);
+        }
+      }
+      for (; i < size; i++) {
+        ScalarKernels.encodeHex(chunk[i], encoded, (start + i) * 4);
+      }
+    }
+    return new String(encoded);
+  }
+
+  static int indexOf(final String value, final String needle, final int fromIndex) {
+    return ScalarKernels.indexOf(value, needle, fromIndex);
+  }
+
+  static boolean isLowerCase(final String value) {
+    int length = value.length();
+    if (length < THRESHOLD) {
+      return ScalarKernels.isLowerCase(value);
+    }
+    char[] chunk = new char[Math.min(length, CHUNK)];
+    for (int start = 0; start < length; start += CHUNK) {
+      int size = Math.min(CHUNK, length - start);
+      value.getChars(start, start + size, chunk, 0);
+      int i = 0;
+      for (; i + LANES <= size; i += LANES) {
+        ShortVector vector = ShortVector.fromCharArray(SPECIES, chunk, i);
+        if (vector.compare(UNSIGNED_GT, (short) 0x7F).anyTrue()) {
+          if (!ScalarKernels.isLowerCase(chunk, i, i + LANES)) {
+            return false;
+          }
+        } else if (vector.sub((short) 'A').compare(UNSIGNED_LT, (short) 26).anyTrue()) {
+          return false;
+        }
+      }
+      if (!ScalarKernels.isLowerCase(chunk, i, size)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static boolean isUpperCase(final String value) {
+    int length = value.length();
+    if (length < THRESHOLD) {
+      return ScalarKernels.isUpperCase(value);
+    }
+    char[] chunk = new char[Math.min(length, CHUNK)];
+    for (int start = 0; start < length; start += CHUNK) {
+      int size = Math.min(CHUNK, length - start);
+      value.getChars(start, start + size, chunk, 0);
+      int i = 0;
+      for (; i + LANES <= size; i += LANES) {
+        ShortVector vector = ShortVector.fromCharArray(SPECIES, chunk, i);
+        if (vector.compare(UNSIGNED_GT, (short) 0x7F).anyTrue()) {
+          if (!ScalarKernels.isUpperCase(chunk, i, i + LANES)) {
+            return false;
+          }
+        } else if (vector.sub((short) 'a').compare(UNSIGNED_LT, (short) 26).anyTrue()) {
+          return false;
+        }
+      }
+      if (!ScalarKernels.isUpperCase(chunk, i, size)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static String removeWhitespace(final String value) {
+    int length = value.length();
+    if (length < THRESHOLD) {
+      return ScalarKernels.removeWhitespace(value);
+    }
+    char[] result = new char[length];
+    char[] chunk = new char[Math.min(length, CHUNK)];
+    int resultSize = 0;
+    for (int start = 0; start < length; start += CHUNK) {
+      int size = Math.min(CHUNK, length - start);
+      value.getChars(start, start + size, chunk, 0);
+      int i = 0;
+      for (; i + LANES <= size; i += LANES) {
+        ShortVector vector = ShortVector.fromCharArray(SPECIES, chunk, i);
+        VectorMask<Short> whitespace = vector.sub((short) '\t').compare(UNSIGNED_LE, (short) ('\r' - '\t'))
+          .or(vector.eq((short) ' '));
+        if (!whitespace.anyTrue()) {
+          vector.intoCharArray(result, resultSize);
+          resultSize += LANES;
+        } else {
+          for (int j = i; j < i + LANES; j++) {
+            if (!ScalarKernels.isWhitespace(chunk[j])) {
+              result[resultSize++] = chunk[j];
+            }
+          }
+        }
+      }
+      for (; i < size; i++) {
+        if (!ScalarKernels.isWhitespace(chunk[i])) {
+          result[resultSize++] = chunk[i];
+        }
+      }
+    }
+    return resultSize == length ? value : new String(result, 0, resultSize);
+  }
+
+  private static LongVector hexDigit(final LongVector chars, final int shift) {
+    LongVector nibble = chars.lanewise(LSHR, shift).lanewise(AND, 0xFL);
+    return nibble.add('0').blend(nibble.add('a' - 10), nibble.compare(GT, 9L));
+  }
+}
@@ -0,0 +1,100 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman BK-Tree Test                               +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanBkTree}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanBkTreeTest {
+
+  private static final List<String> DICTIONARY = Arrays.asList(
+    "yogurt", "yoghurt", "coconut", "chocolate", "yogi", "cocoa", "yogurt"
+  );
+
+  @Test
+  public void search_shouldFindAllEntriesWithinMaxDistanceOrderedByDistance() throws Exception {
+    StrmanBkTree tree = StrmanBkTree.of(DICTIONARY);
+    assertThat(tree.size(), equalTo(6));
+    assertThat(tree.search("yogurt", 0), equalTo(Collections.singletonList("yogurt")));
+    assertThat(tree.search("yogurt", 1), equalTo(Arrays.asList("yogurt", "yoghurt")));
+    assertThat(tree.search("yogurts", 3), equalTo(Arrays.asList("yogurt", "yoghurt")));
+    assertThat(tree.search("cocoa", 2), equalTo(Collections.singletonList("cocoa")));
+    assertThat(tree.search("banana", 1), is(empty()));
+  }
+
+  @Test
+  public void nearest_shouldFindClosestEntry() throws Exception {
+    StrmanBkTree tree = StrmanBkTree.of(DICTIONARY);
+    assertThat(tree.nearest("chocolat", 2), equalTo(Optional.of("chocolate")));
+    assertThat(tree.nearest("yoghurts", 2), equalTo(Optional.of("yoghurt")));
+    assertThat(tree.nearest("banana", 2), equalTo(Optional.empty()));
+    assertThat(StrmanBkTree.of(Collections.emptyList()).nearest("yogurt", 2), equalTo(Optional.empty()));
+  }
+
+  @Test
+  public void search_shouldMatchLinearScan() throws Exception {
+    Random random = new Random(42);
+    List<String> dictionary = new ArrayList<>();
+    for (int i = 0; i < 2000; i++) {
+      dictionary.add(randomWord(random));
+    }
+    StrmanBkTree tree = StrmanBkTree.of(dictionary);
+    for (int i = 0; i < 100; i++) {
+      String query = randomWord(random);
+      List<String> expected = new ArrayList<>();
+      for (int distance = 0; distance <= 2; distance++) {
+        for (String entry : dictionary) {
+          if (Strman.levenshteinDistance(entry, query) == distance && !expected.contains(entry)) {
+            expected.add(entry);
+          }
+        }
+      }
+      assertThat(tree.search(query, 2), equalTo(expected));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_shouldThrowIllegalArgumentExceptionWhenDictionaryContainsNull() throws Exception {
+    StrmanBkTree.of(Arrays.asList("yogurt", null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void search_shouldThrowIllegalArgumentExceptionWhenMaxDistanceIsNegative() throws Exception {
+    StrmanBkTree.of(DICTIONARY).search("yogurt", -1);
+  }
+
+  private static String randomWord(final Random random) {
+    char[] chars = new char[3 + random.nextInt(5)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = (char) ('a' + random.nextInt(4));
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,92 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Compressed Strings Test                    +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import static com.arcticicestudio.icecore.strman.StrmanSymbolTableTest.TABLE;
+import static com.arcticicestudio.icecore.strman.StrmanSymbolTableTest.URLS;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanCompressedStrings}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanCompressedStringsTest {
+
+  @Test
+  public void get_shouldReturnStringsByIndex() throws Exception {
+    StrmanCompressedStrings.Builder builder = StrmanCompressedStrings.builder(TABLE);
+    int added = 0;
+    for (int i = 0; i < URLS.size(); i++) {
+      assertThat(builder.add(URLS.get(i)), is(added++));
+      if (i % 100 == 0) {
+        assertThat(builder.add(""), is(added++));
+      }
+    }
+    StrmanCompressedStrings strings = builder.build();
+    int index = 0;
+    for (int i = 0; i < URLS.size(); i++) {
+      assertThat(strings.get(index++), equalTo(URLS.get(i)));
+      if (i % 100 == 0) {
+        assertThat(strings.get(index++), equalTo(""));
+      }
+    }
+    assertThat(strings.size(), is(index));
+  }
+
+  @Test
+  public void equals_shouldCompareStringAtIndex() throws Exception {
+    StrmanCompressedStrings.Builder builder = StrmanCompressedStrings.builder(TABLE);
+    builder.add("yogurt");
+    builder.add(URLS.get(0));
+    StrmanCompressedStrings strings = builder.build();
+    assertTrue(strings.equals(0, "yogurt"));
+    assertFalse(strings.equals(0, "yogur"));
+    assertTrue(strings.equals(1, URLS.get(0)));
+    assertTrue(strings.startsWith(1, "https://"));
+    assertFalse(strings.startsWith(0, "https://"));
+    assertTrue(strings.compressedBytes() < "yogurt".length() + URLS.get(0).length());
+  }
+
+  @Test
+  public void builder_shouldSpreadLargeStoresOverPages() throws Exception {
+    StrmanCompressedStrings.Builder builder = StrmanCompressedStrings.builder(TABLE);
+    String large = Strman.repeat("yogurt", 2000000);
+    builder.add("first");
+    builder.add(large);
+    builder.add("last");
+    StrmanCompressedStrings strings = builder.build();
+    assertThat(strings.get(0), equalTo("first"));
+    assertThat(strings.get(1), equalTo(large));
+    assertThat(strings.get(2), equalTo("last"));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_shouldThrowIndexOutOfBoundsExceptionForInvalidIndex() throws Exception {
+    StrmanCompressedStrings.builder(TABLE).build().get(0);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void add_shouldThrowIllegalStateExceptionWhenBuilt() throws Exception {
+    StrmanCompressedStrings.Builder builder = StrmanCompressedStrings.builder(TABLE);
+    builder.build();
+    builder.add("yogurt");
+  }
+}
@@ -0,0 +1,135 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Diff Test                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanDiff}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanDiffTest {
+
+  @Test
+  public void edits_shouldAlternateEqualRunsAndChanges() throws Exception {
+    List<StrmanDiff.Edit> edits = Strman.diff("yogurt", "yoghurt!", StrmanDiffUnit.CHARACTER).edits();
+    assertThat(edits.size(), equalTo(4));
+    assertThat(edits.get(0).operation(), equalTo(StrmanDiff.Operation.EQUAL));
+    assertThat(edits.get(0).text(), equalTo("yog"));
+    assertThat(edits.get(1).operation(), equalTo(StrmanDiff.Operation.INSERT));
+    assertThat(edits.get(1).text(), equalTo("h"));
+    assertThat(edits.get(1).firstStart(), equalTo(3));
+    assertThat(edits.get(1).secondStart(), equalTo(3));
+    assertThat(edits.get(2).text(), equalTo("urt"));
+    assertThat(edits.get(3).text(), equalTo("!"));
+  }
+
+  @Test
+  public void edits_shouldPutDeletionsBeforeInsertions() throws Exception {
+    List<StrmanDiff.Edit> edits = Strman.diff("yogurt and cocoa", "yogurt or cocoa", StrmanDiffUnit.WORD).edits();
+    assertThat(edits.size(), equalTo(4));
+    assertThat(edits.get(1).operation(), equalTo(StrmanDiff.Operation.DELETE));
+    assertThat(edits.get(1).text(), equalTo("and"));
+    assertThat(edits.get(1).firstStart(), equalTo(2));
+    assertThat(edits.get(2).operation(), equalTo(StrmanDiff.Operation.INSERT));
+    assertThat(edits.get(2).text(), equalTo("or"));
+    assertThat(edits.get(2).secondStart(), equalTo(2));
+  }
+
+  @Test
+  public void edits_shouldReproduceBothTextsAndMatchLongestCommonSubsequence() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 2000; i++) {
+      String first = randomText(random);
+      String second = randomText(random);
+      StrmanDiff diff = Strman.diff(first, second, StrmanDiffUnit.CHARACTER);
+      StringBuilder original = new StringBuilder();
+      StringBuilder changed = new StringBuilder();
+      for (StrmanDiff.Edit edit : diff.edits()) {
+        if (edit.operation() != StrmanDiff.Operation.INSERT) {
+          original.append(edit.text());
+        }
+        if (edit.operation() != StrmanDiff.Operation.DELETE) {
+          changed.append(edit.text());
+        }
+      }
+      assertThat(original.toString(), equalTo(first));
+      assertThat(changed.toString(), equalTo(second));
+      int lcs = Strman.longestCommonSubsequenceLength(first, second);
+      assertThat(diff.distance(), equalTo(first.length() + second.length() - 2 * lcs));
+    }
+  }
+
+  @Test
+  public void isMinimal_shouldBeFalseOnlyWhenMaxDistanceIsExceeded() throws Exception {
+    StrmanDiff diff = Strman.diff("a\nb\nc\nd\n", "a\nx\ny\nd\n", StrmanDiffUnit.LINE, 3);
+    assertThat(diff.isMinimal(), is(false));
+    assertThat(diff.edits().size(), equalTo(4));
+    assertThat(diff.edits().get(1).text(), equalTo("b\nc\n"));
+    assertThat(Strman.diff("a\nb\nc\nd\n", "a\nx\ny\nd\n", StrmanDiffUnit.LINE, 4).isMinimal(), is(true));
+    assertThat(Strman.diff("", "yogurt", StrmanDiffUnit.CHARACTER, 0).isMinimal(), is(true));
+  }
+
+  @Test
+  public void unified_shouldRenderHunksLikeDiff() throws Exception {
+    String first = "a\nb\nc\nd\ne\nf\ng\nh\n";
+    String second = "a\nB\nc\nd\ne\nf\ng\nh";
+    String expected = "--- first\n"
+      + "+++ second\n"
+      + "@@ -1,3 +1,3 @@\n"
+      + " a\n"
+      + "-b\n"
+      + "+B\n"
+      + " c\n"
+      + "@@ -7,2 +7,2 @@\n"
+      + " g\n"
+      + "-h\n"
+      + "+h\n"
+      + "\\ No newline at end of file\n";
+    assertThat(Strman.diff(first, second, StrmanDiffUnit.LINE).unified("first", "second", 1), equalTo(expected));
+  }
+
+  @Test
+  public void unified_shouldMergeCloseChangesAndNumberEmptyRangesByPreviousLine() throws Exception {
+    String expected = "--- first\n"
+      + "+++ second\n"
+      + "@@ -1,3 +1,4 @@\n"
+      + "+x\n"
+      + " a\n"
+      + " b\n"
+      + "-c\n"
+      + "+y\n";
+    assertThat(Strman.diff("a\nb\nc\n", "x\na\nb\ny\n", StrmanDiffUnit.LINE).unified("first", "second", 1),
+      equalTo(expected));
+    assertThat(Strman.diff("a\nb\n", "a\nb\nc\n", StrmanDiffUnit.LINE).unified("first", "second", 0),
+      equalTo("--- first\n+++ second\n@@ -2,0 +3 @@\n+c\n"));
+    assertThat(Strman.diff("a\n", "a\n", StrmanDiffUnit.LINE).unified("first", "second", 3), equalTo(""));
+  }
+
+  private static String randomText(final Random random) {
+    StringBuilder text = new StringBuilder();
+    for (int i = random.nextInt(16); i > 0; i--) {
+      text.append("abc ".charAt(random.nextInt(4)));
+    }
+    return text.toString();
+  }
+}
@@ -0,0 +1,217 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Format Test                                +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static com.arcticicestudio.icecore.strman.Strman.indexOfInvalid;
+import static com.arcticicestudio.icecore.strman.Strman.isValid;
+import static com.arcticicestudio.icecore.strman.Strman.repeat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanFormat}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanFormatTest {
+
+  @Test
+  public void decimal_shouldReportIndexOfInvalidCharacter() throws Exception {
+    for (String value : new String[]{"0", "-12.5e3", "+1.", ".5", "1E-7", "007"}) {
+      assertThat(value, indexOfInvalid(value, StrmanFormat.DECIMAL), is(-1));
+    }
+    assertThat(indexOfInvalid("", StrmanFormat.DECIMAL), is(0));
+    assertThat(indexOfInvalid("-.", StrmanFormat.DECIMAL), is(2));
+    assertThat(indexOfInvalid("1.2.3", StrmanFormat.DECIMAL), is(3));
+    assertThat(indexOfInvalid("1e", StrmanFormat.DECIMAL), is(2));
+    assertThat(indexOfInvalid("1e+x", StrmanFormat.DECIMAL), is(3));
+    assertThat(indexOfInvalid("NaN", StrmanFormat.DECIMAL), is(0));
+    assertThat(indexOfInvalid("1.5f", StrmanFormat.DECIMAL), is(3));
+  }
+
+  @Test
+  public void email_shouldReportIndexOfInvalidCharacter() throws Exception {
+    for (String value : new String[]{"john.doe@example.com", "a+tag@sub.example.co", "x@localhost", "o'neil!#@a-b.c"}) {
+      assertThat(value, indexOfInvalid(value, StrmanFormat.EMAIL), is(-1));
+    }
+    assertThat(indexOfInvalid("", StrmanFormat.EMAIL), is(0));
+    assertThat(indexOfInvalid(".john@example.com", StrmanFormat.EMAIL), is(0));
+    assertThat(indexOfInvalid("john..doe@example.com", StrmanFormat.EMAIL), is(5));
+    assertThat(indexOfInvalid("john.@example.com", StrmanFormat.EMAIL), is(5));
+    assertThat(indexOfInvalid("john doe@example.com", StrmanFormat.EMAIL), is(4));
+    assertThat(indexOfInvalid("john", StrmanFormat.EMAIL), is(4));
+    assertThat(indexOfInvalid("john@", StrmanFormat.EMAIL), is(5));
+    assertThat(indexOfInvalid("john@example.", StrmanFormat.EMAIL), is(13));
+    assertThat(indexOfInvalid("john@-example.com", StrmanFormat.EMAIL), is(5));
+    assertThat(indexOfInvalid("john@example-.com", StrmanFormat.EMAIL), is(12));
+    assertThat(indexOfInvalid("john@exa_mple.com", StrmanFormat.EMAIL), is(8));
+    assertThat(indexOfInvalid("john@example.com@", StrmanFormat.EMAIL), is(16));
+    assertThat(indexOfInvalid(repeat("a", 65) + "@example.com", StrmanFormat.EMAIL), is(64));
+    assertThat(indexOfInvalid("a@" + repeat("b", 64) + ".com", StrmanFormat.EMAIL), is(65));
+    assertThat(indexOfInvalid("a@" + repeat(repeat("b", 63) + ".", 4) + "com", StrmanFormat.EMAIL), is(254));
+  }
+
+  @Test
+  public void integer_shouldReportIndexOfInvalidCharacter() throws Exception {
+    assertThat(indexOfInvalid("-42", StrmanFormat.INTEGER), is(-1));
+    assertThat(indexOfInvalid("123456789012345678901234567890", StrmanFormat.INTEGER), is(-1));
+    assertThat(indexOfInvalid("", StrmanFormat.INTEGER), is(0));
+    assertThat(indexOfInvalid("+", StrmanFormat.INTEGER), is(1));
+    assertThat(indexOfInvalid("12a", StrmanFormat.INTEGER), is(2));
+    assertThat(indexOfInvalid(" 1", StrmanFormat.INTEGER), is(0));
+    assertThat(indexOfInvalid("١٢", StrmanFormat.INTEGER), is(0));
+  }
+
+  @Test
+  public void ipv4_shouldReportIndexOfInvalidCharacter() throws Exception {
+    for (String value : new String[]{"0.0.0.0", "192.168.0.1", "255.255.255.255"}) {
+      assertThat(value, indexOfInvalid(value, StrmanFormat.IPV4), is(-1));
+    }
+    assertThat(indexOfInvalid("256.0.0.1", StrmanFormat.IPV4), is(0));
+    assertThat(indexOfInvalid("10.01.0.1", StrmanFormat.IPV4), is(3));
+    assertThat(indexOfInvalid("10.0.0", StrmanFormat.IPV4), is(6));
+    assertThat(indexOfInvalid("10.0.0.", StrmanFormat.IPV4), is(7));
+    assertThat(indexOfInvalid("10.0.0.1.", StrmanFormat.IPV4), is(8));
+    assertThat(indexOfInvalid("10..0.1", StrmanFormat.IPV4), is(3));
+  }
+
+  @Test
+  public void ipv4_shouldMatchRegularExpression() throws Exception {
+    Pattern pattern = Pattern.compile("((25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])\\.){3}"
+      + "(25[0-5]|2[0-4][0-9]|1[0-9][0-9]|[1-9]?[0-9])");
+    Random random = new Random(42);
+    String alphabet = "001122555789....";
+    for (int i = 0; i < 100000; i++) {
+      StringBuilder value = new StringBuilder();
+      for (int j = random.nextInt(16); j > 0; j--) {
+        value.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      assertThat(value.toString(), isValid(value, StrmanFormat.IPV4), is(pattern.matcher(value).matches()));
+    }
+  }
+
+  @Test
+  public void ipv6_shouldReportIndexOfInvalidCharacter() throws Exception {
+    for (String value : new String[]{"::", "::1", "1::", "2001:db8::1", "2001:0DB8:0:0:0:0:0:1", "1:2:3:4:5:6:7::",
+      "::2:3:4:5:6:7:8", "::ffff:192.168.0.1", "1:2:3:4:5:6:1.2.3.4", "fe80::1:2:3:4:5"}) {
+      assertThat(value, indexOfInvalid(value, StrmanFormat.IPV6), is(-1));
+    }
+    assertThat(indexOfInvalid("", StrmanFormat.IPV6), is(0));
+    assertThat(indexOfInvalid(":", StrmanFormat.IPV6), is(1));
+    assertThat(indexOfInvalid(":1::", StrmanFormat.IPV6), is(1));
+    assertThat(indexOfInvalid("1::2::3", StrmanFormat.IPV6), is(5));
+    assertThat(indexOfInvalid(":::", StrmanFormat.IPV6), is(2));
+    assertThat(indexOfInvalid("1:2:3:4:5:6:7", StrmanFormat.IPV6), is(13));
+    assertThat(indexOfInvalid("1:2:3:4:5:6:7:8:9", StrmanFormat.IPV6), is(15));
+    assertThat(indexOfInvalid("1::3:4:5:6:7:8:9", StrmanFormat.IPV6), is(14));
+    assertThat(indexOfInvalid("1:2:3:4:5:6:7::8", StrmanFormat.IPV6), is(15));
+    assertThat(indexOfInvalid("1:2:3:4:5:6:7::1.2.3.4", StrmanFormat.IPV6), is(15));
+    assertThat(indexOfInvalid("1:2:3:4:5:6:7:8::", StrmanFormat.IPV6), is(15));
+    assertThat(indexOfInvalid("1:2:3:4:5:6::7:8", StrmanFormat.IPV6), is(14));
+    assertThat(indexOfInvalid("12345::", StrmanFormat.IPV6), is(4));
+    assertThat(indexOfInvalid("1:g::", StrmanFormat.IPV6), is(2));
+    assertThat(indexOfInvalid("1:", StrmanFormat.IPV6), is(2));
+    assertThat(indexOfInvalid("1:2:3:4:5:1.2.3.4", StrmanFormat.IPV6), is(10));
+    assertThat(indexOfInvalid("::ffff:1.2.3.256", StrmanFormat.IPV6), is(13));
+    assertThat(indexOfInvalid("fe80::1%eth0", StrmanFormat.IPV6), is(7));
+  }
+
+  @Test
+  public void isoDate_shouldReportIndexOfInvalidCharacter() throws Exception {
+    assertThat(indexOfInvalid("2016-02-29", StrmanFormat.ISO_DATE), is(-1));
+    assertThat(indexOfInvalid("2000-02-29", StrmanFormat.ISO_DATE), is(-1));
+    assertThat(indexOfInvalid("1900-02-29", StrmanFormat.ISO_DATE), is(8));
+    assertThat(indexOfInvalid("2017-02-29", StrmanFormat.ISO_DATE), is(8));
+    assertThat(indexOfInvalid("2016-04-31", StrmanFormat.ISO_DATE), is(8));
+    assertThat(indexOfInvalid("2016-13-01", StrmanFormat.ISO_DATE), is(5));
+    assertThat(indexOfInvalid("2016-00-01", StrmanFormat.ISO_DATE), is(5));
+    assertThat(indexOfInvalid("2016-01-00", StrmanFormat.ISO_DATE), is(8));
+    assertThat(indexOfInvalid("2016-1-01", StrmanFormat.ISO_DATE), is(6));
+    assertThat(indexOfInvalid("16-01-01", StrmanFormat.ISO_DATE), is(2));
+    assertThat(indexOfInvalid("2016-01", StrmanFormat.ISO_DATE), is(7));
+    assertThat(indexOfInvalid("2016-01-01T", StrmanFormat.ISO_DATE), is(10));
+  }
+
+  @Test
+  public void isoDate_shouldMatchLocalDate() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      String value = String.format("%04d-%02d-%02d", random.nextInt(10000), random.nextInt(14), random.nextInt(33));
+      boolean parsable;
+      try {
+        LocalDate.parse(value);
+        parsable = true;
+      } catch (DateTimeParseException e) {
+        parsable = false;
+      }
+      assertThat(value, isValid(value, StrmanFormat.ISO_DATE), is(parsable));
+    }
+  }
+
+  @Test
+  public void isoDateTime_shouldReportIndexOfInvalidCharacter() throws Exception {
+    for (String value : new String[]{"2016-02-29T13:37:00", "2016-02-29t13:37:00.042z", "2016-12-31T23:59:60Z",
+      "2016-02-29T13:37:00.123456789+01:00", "2016-02-29T00:00:00-23:59"}) {
+      assertThat(value, indexOfInvalid(value, StrmanFormat.ISO_DATE_TIME), is(-1));
+    }
+    assertThat(indexOfInvalid("2016-02-29", StrmanFormat.ISO_DATE_TIME), is(10));
+    assertThat(indexOfInvalid("2016-02-29 13:37:00", StrmanFormat.ISO_DATE_TIME), is(10));
+    assertThat(indexOfInvalid("2016-02-29T24:00:00", StrmanFormat.ISO_DATE_TIME), is(11));
+    assertThat(indexOfInvalid("2016-02-29T13:60:00", StrmanFormat.ISO_DATE_TIME), is(14));
+    assertThat(indexOfInvalid("2016-02-29T13:37:61", StrmanFormat.ISO_DATE_TIME), is(17));
+    assertThat(indexOfInvalid("2016-02-29T13:37", StrmanFormat.ISO_DATE_TIME), is(16));
+    assertThat(indexOfInvalid("2016-02-29T13:37:00.", StrmanFormat.ISO_DATE_TIME), is(20));
+    assertThat(indexOfInvalid("2016-02-29T13:37:00+1:00", StrmanFormat.ISO_DATE_TIME), is(21));
+    assertThat(indexOfInvalid("2016-02-29T13:37:00+01:00Z", StrmanFormat.ISO_DATE_TIME), is(25));
+    assertThat(indexOfInvalid("2016-02-29T13:37:00 ", StrmanFormat.ISO_DATE_TIME), is(19));
+  }
+
+  @Test
+  public void isoDateTime_shouldMatchOffsetDateTime() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      String value = String.format("%04d-%02d-%02dT%02d:%02d:%02d.%03d%+03d:%02d", 1 + random.nextInt(9999),
+        1 + random.nextInt(12), 1 + random.nextInt(31), random.nextInt(25), random.nextInt(61), random.nextInt(60),
+        random.nextInt(1000), random.nextInt(35) - 17, random.nextInt(60));
+      boolean parsable;
+      try {
+        OffsetDateTime.parse(value);
+        parsable = true;
+      } catch (DateTimeParseException e) {
+        parsable = false;
+      }
+      assertThat(value, isValid(value, StrmanFormat.ISO_DATE_TIME), is(parsable));
+    }
+  }
+
+  @Test
+  public void uuid_shouldReportIndexOfInvalidCharacter() throws Exception {
+    assertThat(indexOfInvalid("123e4567-e89b-12d3-a456-426614174000", StrmanFormat.UUID), is(-1));
+    assertThat(indexOfInvalid("123E4567-E89B-12D3-A456-426614174000", StrmanFormat.UUID), is(-1));
+    assertThat(indexOfInvalid(java.util.UUID.randomUUID().toString(), StrmanFormat.UUID), is(-1));
+    assertThat(indexOfInvalid("123e4567e89b-12d3-a456-426614174000", StrmanFormat.UUID), is(8));
+    assertThat(indexOfInvalid("123e4567-e89b-12d3-a456-42661417400g", StrmanFormat.UUID), is(35));
+    assertThat(indexOfInvalid("123e4567-e89b-12d3-a456-42661417400", StrmanFormat.UUID), is(35));
+    assertThat(indexOfInvalid("123e4567-e89b-12d3-a456-4266141740000", StrmanFormat.UUID), is(36));
+    assertThat(indexOfInvalid("{123e4567-e89b-12d3-a456-426614174000}", StrmanFormat.UUID), is(0));
+  }
+}
@@ -0,0 +1,93 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Glob Set Test                              +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanGlobSet}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanGlobSetTest {
+
+  private static final List<String> PATTERNS = Arrays.asList("*.log", "app-??-*", "app-eu-*.log", "[!a]*", "*");
+
+  @Test
+  public void matching_shouldFindAllMatchingPatterns() throws Exception {
+    StrmanGlobSet set = Strman.compileGlobs(PATTERNS, true);
+    assertThat(set.size(), equalTo(5));
+    assertThat(set.matching("app-eu-yogurt.log"), equalTo(new int[]{0, 1, 2, 4}));
+    assertThat(set.matching("app-e-yogurt"), equalTo(new int[]{4}));
+    assertThat(set.matching("yogurt.log"), equalTo(new int[]{0, 3, 4}));
+    assertThat(set.matching(""), equalTo(new int[]{4}));
+    assertThat(set.firstMatch("app-us-cocoa"), equalTo(1));
+    assertThat(set.pattern(1), equalTo("app-??-*"));
+  }
+
+  @Test
+  public void matches_shouldRespectCaseSensitivity() throws Exception {
+    List<String> patterns = Arrays.asList("*.LOG", "bár-[A-C]");
+    assertThat(Strman.compileGlobs(patterns, true).matches("yogurt.log"), is(false));
+    assertThat(Strman.compileGlobs(patterns, false).matches("yogurt.log"), is(true));
+    assertThat(Strman.compileGlobs(patterns, false).firstMatch("BÁR-b"), equalTo(1));
+    assertThat(Strman.compileGlobs(patterns, true).firstMatch("BÁR-b"), equalTo(-1));
+  }
+
+  @Test
+  public void matching_shouldAgreeWithSingleGlobs() throws Exception {
+    Random random = new Random(42);
+    String alphabet = "ab-.é*?";
+    List<String> patterns = new ArrayList<>();
+    for (int i = 0; i < 300; i++) {
+      StringBuilder pattern = new StringBuilder();
+      for (int j = random.nextInt(6); j > 0; j--) {
+        pattern.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+      patterns.add(pattern.toString());
+    }
+    StrmanGlobSet set = Strman.compileGlobs(patterns, false);
+    for (int i = 0; i < 2000; i++) {
+      StringBuilder value = new StringBuilder();
+      for (int j = random.nextInt(8); j > 0; j--) {
+        value.append("aAbB-.éÉ中".charAt(random.nextInt(9)));
+      }
+      List<Integer> expected = new ArrayList<>();
+      for (int pattern = 0; pattern < patterns.size(); pattern++) {
+        if (Strman.compileGlob(patterns.get(pattern), false).matches(value)) {
+          expected.add(pattern);
+        }
+      }
+      List<Integer> actual = new ArrayList<>();
+      for (int pattern : set.matching(value)) {
+        actual.add(pattern);
+      }
+      assertThat(actual, equalTo(expected));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compileGlobs_shouldThrowIllegalArgumentExceptionWhenPatternIsNull() throws Exception {
+    Strman.compileGlobs(Arrays.asList("*.log", null), true);
+  }
+}
@@ -0,0 +1,120 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Glob Test                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanGlob}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanGlobTest {
+
+  @Test
+  public void matches_shouldMatchWildcards() throws Exception {
+    StrmanGlob glob = Strman.compileGlob("app-??-*.log", true);
+    assertThat(glob.matches("app-eu-yogurt.log"), is(true));
+    assertThat(glob.matches("app-eu-.log"), is(true));
+    assertThat(glob.matches("app-eu1-yogurt.log"), is(false));
+    assertThat(glob.matches("app-eu-yogurt.log.gz"), is(false));
+    assertThat(Strman.compileGlob("*", true).matches(""), is(true));
+    assertThat(Strman.compileGlob("", true).matches(""), is(true));
+    assertThat(Strman.compileGlob("", true).matches("a"), is(false));
+    assertThat(Strman.compileGlob("*yo*gurt*", true).matches("frozen yo and gurt"), is(true));
+    assertThat(Strman.compileGlob("*yo*gurt*", true).matches("frozen gurt and yo"), is(false));
+  }
+
+  @Test
+  public void matches_shouldMatchClassesAndEscapes() throws Exception {
+    assertThat(Strman.compileGlob("[a-c]x[!0-9]", true).matches("bxz"), is(true));
+    assertThat(Strman.compileGlob("[a-c]x[!0-9]", true).matches("bx7"), is(false));
+    assertThat(Strman.compileGlob("[^a-c]", true).matches("d"), is(true));
+    assertThat(Strman.compileGlob("[]]", true).matches("]"), is(true));
+    assertThat(Strman.compileGlob("[a-]", true).matches("-"), is(true));
+    assertThat(Strman.compileGlob("\\*\\?", true).matches("*?"), is(true));
+    assertThat(Strman.compileGlob("\\*\\?", true).matches("ab"), is(false));
+  }
+
+  @Test
+  public void matches_shouldRespectCaseSensitivity() throws Exception {
+    assertThat(Strman.compileGlob("*.LOG", true).matches("yogurt.log"), is(false));
+    assertThat(Strman.compileGlob("*.LOG", false).matches("yogurt.log"), is(true));
+    assertThat(Strman.compileGlob("[A-Z]*", false).matches("yogurt"), is(true));
+    assertThat(Strman.compileGlob("bár*", false).matches("BÁRS"), is(true));
+  }
+
+  @Test
+  public void matches_shouldAgreeWithRegularExpressions() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      StringBuilder glob = new StringBuilder();
+      StringBuilder regex = new StringBuilder();
+      for (int j = random.nextInt(8); j > 0; j--) {
+        int kind = random.nextInt(6);
+        if (kind == 0) {
+          glob.append('*');
+          regex.append(".*");
+        } else if (kind == 1) {
+          glob.append('?');
+          regex.append('.');
+        } else {
+          char ch = "abc".charAt(random.nextInt(3));
+          glob.append(ch);
+          regex.append(ch);
+        }
+      }
+      StrmanGlob compiled = Strman.compileGlob(glob.toString(), true);
+      Pattern pattern = Pattern.compile(regex.toString());
+      for (int j = 0; j < 50; j++) {
+        StringBuilder value = new StringBuilder();
+        for (int k = random.nextInt(10); k > 0; k--) {
+          value.append("abc".charAt(random.nextInt(3)));
+        }
+        assertThat(compiled.matches(value), equalTo(pattern.matcher(value).matches()));
+      }
+    }
+  }
+
+  @Test
+  public void matches_shouldSupportSegmentsLongerThanMachineWord() throws Exception {
+    String segment = Strman.repeat("ab?", 30);
+    StrmanGlob glob = Strman.compileGlob("*" + segment + "*", true);
+    assertThat(glob.matches("xx" + Strman.repeat("abc", 30) + "yy"), is(true));
+    assertThat(glob.matches("xx" + Strman.repeat("abc", 29) + "ac" + "yy"), is(false));
+  }
+
+  @Test
+  public void matches_shouldNotBacktrack() throws Exception {
+    StrmanGlob glob = Strman.compileGlob("*a*a*a*a*a*a*a*a*b", true);
+    assertThat(glob.matches(Strman.repeat("a", 100000)), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compileGlob_shouldThrowIllegalArgumentExceptionWhenClassIsUnclosed() throws Exception {
+    Strman.compileGlob("app-[a-z", true);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void compileGlob_shouldThrowIllegalArgumentExceptionWhenEscapeIsDangling() throws Exception {
+    Strman.compileGlob("app\\", true);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Hasher Test                                +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanHasher}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanHasherTest {
+
+  private static final String TEXT = "Yogurt über 漢字 🍦 Nobody inspects the spammish repetition";
+
+  @Test
+  public void append_shouldHashPartsLikeWhole() throws Exception {
+    Random random = new Random(42);
+    for (int run = 0; run < 200; run++) {
+      StrmanHasher xxHash64 = StrmanHasher.xxHash64(run);
+      StrmanHasher.Murmur3 murmur3 = StrmanHasher.murmur3(run);
+      int start = 0;
+      while (start < TEXT.length()) {
+        int end = Math.min(TEXT.length(), start + random.nextInt(12));
+        xxHash64.append(TEXT, start, end);
+        murmur3.append(TEXT.subSequence(start, end));
+        start = end;
+      }
+      assertThat(xxHash64.hash64(), equalTo(StrmanHasher.xxHash64(run).append(TEXT).hash64()));
+      assertThat(murmur3.hash128(), equalTo(StrmanHasher.murmur3(run).append(TEXT).hash128()));
+    }
+  }
+
+  @Test
+  public void append_shouldBeUsableAsAppendableTarget() throws Exception {
+    StrmanHasher hasher = StrmanHasher.xxHash64();
+    Strman.escapeHtml("<yogurt & ice>", hasher);
+    assertThat(hasher.hash64(), equalTo(Strman.hash64("&lt;yogurt &amp; ice&gt;")));
+  }
+
+  @Test
+  public void hash64_shouldDependOnSeed() throws Exception {
+    assertThat(StrmanHasher.xxHash64(0).append(TEXT).hash64(), equalTo(Strman.hash64(TEXT)));
+    assertThat(StrmanHasher.xxHash64(1).append(TEXT).hash64(), not(equalTo(Strman.hash64(TEXT))));
+    assertThat(StrmanHasher.murmur3(0).append(TEXT).hash64(), equalTo(Strman.hash128(TEXT)[0]));
+    assertThat(StrmanHasher.murmur3(1).append(TEXT).hash64(), not(equalTo(Strman.hash128(TEXT)[0])));
+  }
+
+  @Test
+  public void hash64_shouldIgnoreCase() throws Exception {
+    StrmanHasher hasher = StrmanHasher.xxHash64(7, false).append("YOGURT ").append("ÜBER");
+    assertThat(hasher.hash64(), equalTo(StrmanHasher.xxHash64(7).append("yogurt über").hash64()));
+  }
+
+  @Test
+  public void reset_shouldDiscardAppendedCharacters() throws Exception {
+    StrmanHasher.Murmur3 hasher = StrmanHasher.murmur3(3).append("gurt");
+    assertThat(hasher.reset().append(TEXT).hash128(), equalTo(StrmanHasher.murmur3(3).append(TEXT).hash128()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void hash64_shouldThrowIllegalArgumentExceptionForDanglingHighSurrogate() throws Exception {
+    StrmanHasher.xxHash64().append("yogurt\uD83C").hash64();
+  }
+
+  @Test
+  public void hash128_shouldStartWithHash64OfMurmur3() throws Exception {
+    StrmanHasher.Murmur3 hasher = StrmanHasher.murmur3(5).append("yo").append('g').append(TEXT, 0, 6).reset();
+    long[] hash = hasher.append(TEXT).hash128();
+    assertThat(hash[0], equalTo(hasher.hash64()));
+    assertThat(hash, equalTo(StrmanHasher.murmur3(5).append(TEXT).hash128()));
+  }
+}
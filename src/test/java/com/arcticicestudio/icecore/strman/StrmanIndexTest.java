@@ -0,0 +1,180 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Index Test                                 +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static com.arcticicestudio.icecore.strman.Strman.index;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanIndex}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanIndexTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void contains_shouldFindSubstrings() throws Exception {
+    StrmanIndex index = index("yogurt and coconut yogurt");
+    assertThat(index.contains("yogurt"), is(true));
+    assertThat(index.contains("nut yo"), is(true));
+    assertThat(index.contains(""), is(true));
+    assertThat(index.contains("Yogurt"), is(false));
+    assertThat(index.contains("yogurts"), is(false));
+    assertThat(index("").contains("yogurt"), is(false));
+  }
+
+  @Test
+  public void countSubstr_shouldCountLikeStrman() throws Exception {
+    StrmanIndex index = index("aaaAAAaaa");
+    assertThat(index.countSubstr("aaa"), equalTo(Strman.countSubstr("aaaAAAaaa", "aaa")));
+    assertThat(index.countSubstr("aa", true), equalTo(4L));
+    assertThat(index.countSubstr("aa", false), equalTo(2L));
+    assertThat(index.countSubstr(""), equalTo(0L));
+  }
+
+  @Test
+  public void queries_shouldMatchLinearScan() throws Exception {
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 20000; i++) {
+      builder.append("abcé".charAt(random.nextInt(4)));
+    }
+    String text = builder.toString();
+    StrmanIndex index = index(text);
+    for (int i = 0; i < 200; i++) {
+      int start = random.nextInt(text.length() - 8);
+      String needle = i % 2 == 0 ? text.substring(start, start + 1 + random.nextInt(8)) : "abcabcé".substring(random.nextInt(6));
+      assertThat(index.indexOf(needle), equalTo(text.indexOf(needle)));
+      assertThat(index.countSubstr(needle, true), equalTo(Strman.countSubstr(text, needle, true, true)));
+      assertThat(index.countSubstr(needle, false), equalTo(Strman.countSubstr(text, needle, true, false)));
+      int[] occurrences = index.occurrences(needle);
+      int previous = -1;
+      for (int occurrence : occurrences) {
+        assertThat(text.indexOf(needle, previous + 1), equalTo(occurrence));
+        previous = occurrence;
+      }
+      assertThat(text.indexOf(needle, previous + 1), equalTo(-1));
+    }
+  }
+
+  @Test
+  public void indexOf_shouldFindFirstOccurrenceOfFrequentNeedles() throws Exception {
+    Random random = new Random(42);
+    for (int length : new int[]{1, 63, 64, 65, 127, 128, 129, 1000, 100000}) {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < length; i++) {
+        builder.append("ab".charAt(random.nextInt(2)));
+      }
+      String text = builder.toString();
+      StrmanIndex index = index(text);
+      for (String needle : new String[]{"a", "b", "ab", "ba", "aab", "abba", "bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb"}) {
+        assertThat(length + ":" + needle, index.indexOf(needle), equalTo(text.indexOf(needle)));
+        assertThat(length + ":" + needle, index.countSubstr(needle),
+          equalTo(Strman.countSubstr(text, needle, true, false)));
+      }
+    }
+  }
+
+  @Test
+  public void longestRepeatedSubstring_shouldUseLcpArray() throws Exception {
+    assertThat(index("banana").longestRepeatedSubstring(), equalTo("ana"));
+    assertThat(index("yogurt").longestRepeatedSubstring(), equalTo(""));
+    assertThat(index("aaaaaaaa").longestRepeatedSubstring(), equalTo("aaaaaaa"));
+  }
+
+  @Test
+  public void load_shouldRestoreSavedIndex() throws Exception {
+    Path file = folder.newFile().toPath();
+    StrmanIndex original = index("yogurt and coconut yogurt 漢字");
+    original.save(file);
+    StrmanIndex loaded = StrmanIndex.load(file);
+    assertThat(loaded.text(), equalTo(original.text()));
+    assertThat(loaded.occurrences("yogurt"), equalTo(new int[]{0, 19}));
+    assertThat(loaded.indexOf("漢字"), equalTo(26));
+    assertThat(loaded.longestRepeatedSubstring(), equalTo("yogurt "));
+  }
+
+  @Test
+  public void load_shouldRestoreIndexLargerThanBuffer() throws Exception {
+    Path file = folder.newFile().toPath();
+    Random random = new Random(42);
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      builder.append("abcé".charAt(random.nextInt(4)));
+    }
+    String text = builder.toString();
+    index(text).save(file);
+    StrmanIndex loaded = StrmanIndex.load(file);
+    assertThat(loaded.text(), equalTo(text));
+    assertThat(loaded.indexOf(text.substring(99990)), equalTo(text.indexOf(text.substring(99990))));
+    assertThat(loaded.longestRepeatedSubstring(), equalTo(index(text).longestRepeatedSubstring()));
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForDuplicateSuffix() throws Exception {
+    Path file = folder.newFile().toPath();
+    index("yogurt").save(file);
+    byte[] bytes = Files.readAllBytes(file);
+    ByteBuffer.wrap(bytes).putInt(12 + 2 * 6 + 4, ByteBuffer.wrap(bytes).getInt(12 + 2 * 6));
+    Files.write(file, bytes);
+    StrmanIndex.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForSuffixOutOfRange() throws Exception {
+    Path file = folder.newFile().toPath();
+    index("yogurt").save(file);
+    byte[] bytes = Files.readAllBytes(file);
+    ByteBuffer.wrap(bytes).putInt(12 + 2 * 6, 6);
+    Files.write(file, bytes);
+    StrmanIndex.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForLcpOutOfRange() throws Exception {
+    Path file = folder.newFile().toPath();
+    index("yogurt").save(file);
+    byte[] bytes = Files.readAllBytes(file);
+    ByteBuffer.wrap(bytes).putInt(12 + 6 * 6 + 4, 7);
+    Files.write(file, bytes);
+    StrmanIndex.load(file);
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForOtherFiles() throws Exception {
+    Path file = folder.newFile().toPath();
+    Files.write(file, "yogurt and coconut".getBytes("UTF-8"));
+    StrmanIndex.load(file);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void index_shouldThrowIllegalArgumentExceptionWhenTextIsNull() throws Exception {
+    index(null);
+  }
+}
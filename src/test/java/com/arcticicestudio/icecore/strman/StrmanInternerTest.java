@@ -0,0 +1,130 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Interner Test                              +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanInterner}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanInternerTest {
+
+  @Test
+  public void intern_shouldReturnCanonicalInstance() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong();
+    String first = new String("yogurt");
+    String second = new String("yogurt");
+    assertThat(interner.intern(first), sameInstance(first));
+    assertThat(interner.intern(second), sameInstance(first));
+    assertThat(interner.size(), equalTo(1));
+  }
+
+  @Test
+  public void intern_shouldLookUpCharSequenceWithoutNewInstance() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong();
+    String canonical = interner.intern("yogurt");
+    assertThat(interner.intern(new StringBuilder("yog").append("urt")), sameInstance(canonical));
+    assertThat(interner.intern(new StringBuilder("coconut")), equalTo("coconut"));
+    assertThat(interner.size(), equalTo(2));
+  }
+
+  @Test
+  public void intern_shouldKeepAllValuesAcrossResizes() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong();
+    List<String> canonicals = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      canonicals.add(interner.intern("yogurt" + i));
+    }
+    for (int i = 0; i < 10000; i++) {
+      assertThat(interner.intern(new StringBuilder("yogurt").append(i)), sameInstance(canonicals.get(i)));
+    }
+    assertThat(interner.size(), equalTo(10000));
+  }
+
+  @Test
+  public void intern_shouldNotExceedMaximumSize() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong(100);
+    for (int i = 0; i < 10000; i++) {
+      assertThat(interner.intern("yogurt" + i), equalTo("yogurt" + i));
+    }
+    assertThat(interner.size(), lessThanOrEqualTo(100));
+  }
+
+  @Test
+  public void intern_shouldReturnCanonicalInstanceInWeakMode() throws Exception {
+    StrmanInterner interner = StrmanInterner.weak();
+    String first = new String("yogurt");
+    assertThat(interner.intern(first), sameInstance(first));
+    assertThat(interner.intern(new StringBuilder("yogurt")), sameInstance(first));
+  }
+
+  @Test
+  public void intern_shouldReturnSameInstanceForConcurrentCallers() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<String[]>> results = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        results.add(executor.submit(() -> {
+          String[] values = new String[1000];
+          for (int i = 0; i < values.length; i++) {
+            values[i] = interner.intern(new StringBuilder("yogurt").append(i));
+          }
+          return values;
+        }));
+      }
+      String[] expected = results.get(0).get();
+      for (Future<String[]> result : results) {
+        String[] values = result.get();
+        for (int i = 0; i < values.length; i++) {
+          assertThat(values[i], sameInstance(expected[i]));
+        }
+      }
+      assertThat(interner.size(), equalTo(1000));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void clear_shouldRemoveAllValues() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong();
+    interner.intern("yogurt");
+    interner.clear();
+    assertThat(interner.size(), equalTo(0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void intern_shouldThrowIllegalArgumentExceptionWhenValueIsNull() throws Exception {
+    StrmanInterner.strong().intern((String) null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void strong_shouldThrowIllegalArgumentExceptionWhenMaximumSizeIsNotPositive() throws Exception {
+    StrmanInterner.strong(0);
+  }
+}
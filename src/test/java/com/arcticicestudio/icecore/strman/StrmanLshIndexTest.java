@@ -0,0 +1,116 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman LSH Index Test                             +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanLshIndex}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanLshIndexTest {
+
+  private static final String[] WORDS = {"yogurt", "ice", "cream", "strman", "arctic", "snow", "frost", "polar",
+    "glacier", "winter", "cold", "north", "aurora", "floe", "berg", "tundra"};
+
+  @Test
+  public void candidates_shouldFindNearDuplicates() throws Exception {
+    Random random = new Random(42);
+    String[] documents = new String[2000];
+    for (int i = 0; i < documents.length; i++) {
+      documents[i] = document(random, 60);
+    }
+    StrmanLshIndex.Builder builder = StrmanLshIndex.builder(16, 4);
+    for (String document : documents) {
+      builder.add(Strman.minHash(Strman.shingles(document, 3), 64));
+    }
+    StrmanLshIndex index = builder.build();
+    assertThat(index.size(), is(documents.length));
+    int found = 0;
+    for (int i = 0; i < 100; i++) {
+      String nearDuplicate = documents[i].replaceFirst(" \\w+ ", " yogurt ");
+      long[] signature = Strman.minHash(Strman.shingles(nearDuplicate, 3), 64);
+      int[] candidates = index.candidates(signature);
+      if (Arrays.binarySearch(candidates, i) >= 0) {
+        found++;
+      }
+      assertTrue(candidates.length < 20);
+    }
+    assertTrue(found >= 95);
+  }
+
+  @Test
+  public void addAll_shouldProduceSameIndexAsAdd() throws Exception {
+    Random random = new Random(7);
+    long[][] signatures = new long[500][];
+    for (int i = 0; i < signatures.length; i++) {
+      signatures[i] = Strman.minHash(Strman.shingles(document(random, 20), 2), 32);
+    }
+    StrmanLshIndex.Builder sequential = StrmanLshIndex.builder(8, 4);
+    for (long[] signature : signatures) {
+      sequential.add(signature);
+    }
+    StrmanLshIndex.Builder parallel = StrmanLshIndex.builder(8, 4);
+    assertThat(parallel.add(signatures[0]), is(0));
+    assertThat(parallel.addAll(Arrays.copyOfRange(signatures, 1, signatures.length)), is(1));
+    StrmanLshIndex first = sequential.build();
+    StrmanLshIndex second = parallel.build();
+    for (long[] signature : signatures) {
+      assertThat(second.candidates(signature), equalTo(first.candidates(signature)));
+    }
+    assertThat(first.candidates(signatures[3])[0] <= 3, is(true));
+  }
+
+  @Test
+  public void candidates_shouldExcludeSignaturesOfNoShingles() throws Exception {
+    StrmanLshIndex.Builder builder = StrmanLshIndex.builder(4, 4);
+    long[] empty = Strman.minHash(Strman.shingles("", 3), 16);
+    long[] yogurt = Strman.minHash(Strman.shingles("yogurt and ice cream", 3), 16);
+    assertThat(builder.add(empty), is(0));
+    assertThat(builder.addAll(new long[][]{empty, yogurt}), is(1));
+    StrmanLshIndex index = builder.build();
+    assertThat(index.size(), is(3));
+    assertThat(index.candidates(empty), equalTo(new int[0]));
+    assertThat(index.candidates(yogurt), equalTo(new int[]{2}));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void add_shouldThrowIllegalArgumentExceptionForWrongSignatureLength() throws Exception {
+    StrmanLshIndex.builder(4, 4).add(new long[15]);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void build_shouldThrowIllegalStateExceptionWhenBuiltTwice() throws Exception {
+    StrmanLshIndex.Builder builder = StrmanLshIndex.builder(4, 4);
+    builder.build();
+    builder.build();
+  }
+
+  private static String document(final Random random, final int words) {
+    StringBuilder document = new StringBuilder();
+    for (int i = 0; i < words; i++) {
+      document.append(WORDS[random.nextInt(WORDS.length)]).append(i % 7 == 0 ? ", " : " ");
+    }
+    return document.toString();
+  }
+}
@@ -0,0 +1,149 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Parallel Test                              +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.arcticicestudio.icecore.strman.Strman.parallel;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanParallel}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanParallelTest {
+
+  private static final StrmanParallel PARALLEL = parallel().withThreshold(1);
+  private static final String TEXT = text(new Random(42), 300000);
+
+  @Test
+  public void reverse_shouldMatchSequential() throws Exception {
+    assertThat(PARALLEL.reverse(TEXT), equalTo(Strman.reverse(TEXT)));
+    String pairs = Strman.repeat("y🍦", 100000);
+    assertThat(PARALLEL.reverse(pairs), equalTo(Strman.reverse(pairs)));
+  }
+
+  @Test
+  public void encodeHex_shouldMatchSequential() throws Exception {
+    String encoded = PARALLEL.encodeHex(TEXT);
+    assertThat(encoded, equalTo(Strman.encodeHex(TEXT)));
+    assertThat(PARALLEL.decodeHex(encoded), equalTo(TEXT));
+  }
+
+  @Test
+  public void decodeHex_shouldFallBackToSequentialForInvalidInput() throws Exception {
+    String encoded = Strman.encodeHex(Strman.repeat("yogurt", 20000)) + "+041";
+    assertThat(PARALLEL.decodeHex(encoded), equalTo(Strman.decodeHex(encoded)));
+  }
+
+  @Test
+  public void base64Encode_shouldMatchSequential() throws Exception {
+    assertThat(PARALLEL.base64Encode(TEXT), equalTo(Strman.base64Encode(TEXT)));
+    String odd = TEXT.substring(1);
+    assertThat(PARALLEL.base64Encode(odd), equalTo(Strman.base64Encode(odd)));
+  }
+
+  @Test
+  public void base64Encode_shouldReplaceUnpairedSurrogateLikeSequential() throws Exception {
+    String unpaired = TEXT + "\uD83C" + TEXT;
+    assertThat(PARALLEL.base64Encode(unpaired), equalTo(Strman.base64Encode(unpaired)));
+  }
+
+  @Test
+  public void countSubstr_shouldMatchSequential() throws Exception {
+    String periodic = Strman.repeat("aab", 100000) + Strman.repeat("a", 70001);
+    for (String subStr : new String[]{"a", "aa", "aab", "ba", "yo", "Yo", "\uDF66"}) {
+      for (String value : new String[]{TEXT, periodic}) {
+        assertThat(PARALLEL.countSubstr(value, subStr), equalTo(Strman.countSubstr(value, subStr)));
+        assertThat(PARALLEL.countSubstr(value, subStr, true, true), equalTo(Strman.countSubstr(value, subStr, true, true)));
+        assertThat(PARALLEL.countSubstr(value, subStr, false, false), equalTo(Strman.countSubstr(value, subStr, false, false)));
+      }
+    }
+  }
+
+  @Test
+  public void sort_shouldMatchSequential() throws Exception {
+    Random random = new Random(42);
+    String[] values = new String[100000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(4) == 0 ? "https://arcticicestudio.com/" + random.nextInt(1000)
+        : Long.toString(random.nextLong(), 36);
+    }
+    String[] expected = values.clone();
+    Arrays.sort(expected);
+    PARALLEL.sort(values);
+    assertThat(values, equalTo(expected));
+  }
+
+  @Test
+  public void phoneticKeys_shouldMatchSequential() throws Exception {
+    Random random = new Random(42);
+    String[] values = new String[20000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = random.nextInt(100) == 0 ? null : text(random, 1 + random.nextInt(12));
+    }
+    for (StrmanPhonetic algorithm : StrmanPhonetic.values()) {
+      assertThat(PARALLEL.phoneticKeys(values, algorithm), equalTo(Strman.phoneticKeys(values, algorithm)));
+    }
+  }
+
+  @Test
+  public void removeSpaces_shouldMatchSequential() throws Exception {
+    assertThat(PARALLEL.removeSpaces(TEXT), equalTo(Strman.removeSpaces(TEXT)));
+    String value = Strman.removeSpaces(TEXT);
+    assertThat(PARALLEL.removeSpaces(value), sameInstance(value));
+  }
+
+  @Test
+  public void withPool_shouldRunOnSpecifiedPool() throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(3);
+    try {
+      assertThat(PARALLEL.withPool(pool).encodeHex(TEXT), equalTo(Strman.encodeHex(TEXT)));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parallel_shouldUseDefaultThreshold() throws Exception {
+    assertThat(parallel().threshold(), equalTo(StrmanParallel.DEFAULT_THRESHOLD));
+    assertThat(parallel().reverse("yogurt"), equalTo("trugoy"));
+  }
+
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withThreshold_shouldThrowIllegalArgumentExceptionWhenNotPositive() throws Exception {
+    parallel().withThreshold(0);
+  }
+
+  private static String text(final Random random, final int length) {
+    String alphabet = "yogurt YOGURT\t\nüé漢";
+    StringBuilder text = new StringBuilder(length);
+    while (text.length() < length) {
+      if (random.nextInt(50) == 0) {
+        text.append("🍦");
+      } else {
+        text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+      }
+    }
+    return text.toString();
+  }
+}
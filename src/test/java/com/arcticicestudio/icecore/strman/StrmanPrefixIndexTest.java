@@ -0,0 +1,213 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Prefix Index Test                          +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static com.arcticicestudio.icecore.strman.Strman.prefixIndex;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanPrefixIndex}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanPrefixIndexTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static Map<String, Long> terms() {
+    Map<String, Long> terms = new HashMap<>();
+    terms.put("yogurt", 50L);
+    terms.put("yoga", 80L);
+    terms.put("yoghurt", 20L);
+    terms.put("York", 70L);
+    terms.put("yo", 10L);
+    terms.put("cocoa", 90L);
+    terms.put("coconut", 40L);
+    return terms;
+  }
+
+  @Test
+  public void complete_shouldFindHeaviestCompletions() throws Exception {
+    StrmanPrefixIndex index = prefixIndex(terms(), true);
+    assertThat(index.size(), equalTo(7));
+    assertThat(index.complete("yo", 3), equalTo(Arrays.asList("yoga", "yogurt", "yoghurt")));
+    assertThat(index.complete("yog", 10), equalTo(Arrays.asList("yoga", "yogurt", "yoghurt")));
+    assertThat(index.complete("", 2), equalTo(Arrays.asList("cocoa", "yoga")));
+    assertThat(index.complete("vanilla", 2), equalTo(Collections.<String>emptyList()));
+    assertThat(index.complete("yo", 0), equalTo(Collections.<String>emptyList()));
+  }
+
+  @Test
+  public void complete_shouldAgreeWithBruteForce() throws Exception {
+    Random random = new Random(42);
+    StrmanPrefixIndex.Builder builder = StrmanPrefixIndex.builder(true);
+    Map<String, Long> terms = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      String term = Long.toString(random.nextInt(1 << 20), 7);
+      long weight = random.nextInt(1000);
+      builder.add(term, weight);
+      terms.merge(term, weight, Math::max);
+    }
+    StrmanPrefixIndex index = builder.build();
+    for (int i = 0; i < 200; i++) {
+      String prefix = Long.toString(random.nextInt(400), 7);
+      List<Long> expected = new ArrayList<>();
+      terms.forEach((term, weight) -> {
+        if (term.startsWith(prefix)) {
+          expected.add(weight);
+        }
+      });
+      expected.sort(Collections.reverseOrder());
+      List<Long> actual = new ArrayList<>();
+      for (String term : index.complete(prefix, 25)) {
+        actual.add(terms.get(term));
+      }
+      assertThat(index.count(prefix), equalTo(expected.size()));
+      assertThat(actual, equalTo(expected.subList(0, Math.min(25, expected.size()))));
+    }
+  }
+
+  @Test
+  public void complete_shouldIgnoreCase() throws Exception {
+    StrmanPrefixIndex index = prefixIndex(terms(), false);
+    assertThat(index.isCaseSensitive(), is(false));
+    assertThat(index.complete("YO", 2), equalTo(Arrays.asList("yoga", "York")));
+    assertThat(index.startingWith("yOr", 5), equalTo(Arrays.asList("York")));
+    assertThat(prefixIndex(terms(), true).count("yOr"), equalTo(0));
+    assertThat(index.contains("COCOA"), is(true));
+    assertThat(index.weight("YOGA"), equalTo(OptionalLong.of(80L)));
+  }
+
+  @Test
+  public void startingWith_shouldListTermsInOrder() throws Exception {
+    StrmanPrefixIndex index = prefixIndex(terms(), true);
+    assertThat(index.startingWith("yo", 10), equalTo(Arrays.asList("yo", "yoga", "yoghurt", "yogurt")));
+    assertThat(index.startingWith("yo", 2), equalTo(Arrays.asList("yo", "yoga")));
+    assertThat(index.count("coco"), equalTo(2));
+  }
+
+  @Test
+  public void longestPrefixOf_shouldFindLongestTermPrefixingValue() throws Exception {
+    StrmanPrefixIndex index = prefixIndex(terms(), true);
+    assertThat(index.longestPrefixOf("yogurts"), equalTo(Optional.of("yogurt")));
+    assertThat(index.longestPrefixOf("yogi"), equalTo(Optional.of("yo")));
+    assertThat(index.longestPrefixOf("y"), equalTo(Optional.<String>empty()));
+    assertThat(prefixIndex(terms(), false).longestPrefixOf("YORKSHIRE"), equalTo(Optional.of("York")));
+  }
+
+  @Test
+  public void weight_shouldKeepHighestWeightOfDuplicates() throws Exception {
+    StrmanPrefixIndex index = StrmanPrefixIndex.builder(true).add("yogurt", 5).add("yogurt", 7).add("yogurt", 3).build();
+    assertThat(index.size(), equalTo(1));
+    assertThat(index.weight("yogurt"), equalTo(OptionalLong.of(7L)));
+    assertThat(index.weight("yogur"), equalTo(OptionalLong.empty()));
+    assertThat(index.contains("yogur"), is(false));
+  }
+
+  @Test
+  public void load_shouldRestoreSavedIndex() throws Exception {
+    Path file = folder.newFile().toPath();
+    StrmanPrefixIndex original = prefixIndex(terms(), false);
+    original.save(file);
+    StrmanPrefixIndex loaded = StrmanPrefixIndex.load(file);
+    assertThat(loaded.isCaseSensitive(), is(false));
+    assertThat(loaded.size(), equalTo(original.size()));
+    assertThat(loaded.complete("yo", 10), equalTo(original.complete("yo", 10)));
+    assertThat(loaded.longestPrefixOf("cocoabean"), equalTo(Optional.of("cocoa")));
+  }
+
+  @Test
+  public void load_shouldRestoreIndexLargerThanBuffer() throws Exception {
+    Path file = folder.newFile().toPath();
+    Random random = new Random(42);
+    Map<String, Long> terms = new HashMap<>();
+    for (int i = 0; i < 20000; i++) {
+      terms.put("yo" + Integer.toString(random.nextInt(1 << 20), 36), (long) random.nextInt(1000));
+    }
+    StrmanPrefixIndex original = prefixIndex(terms, true);
+    original.save(file);
+    StrmanPrefixIndex loaded = StrmanPrefixIndex.load(file);
+    assertThat(loaded.size(), equalTo(original.size()));
+    assertThat(loaded.complete("yo1", 20), equalTo(original.complete("yo1", 20)));
+    assertThat(loaded.startingWith("yoz", 50), equalTo(original.startingWith("yoz", 50)));
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForOffsetOutOfRange() throws Exception {
+    load(file -> ByteBuffer.wrap(file).putInt(20 + 2 * 35 + 4 * 3, 1000));
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForUnorderedTerms() throws Exception {
+    load(file -> ByteBuffer.wrap(file).putChar(20, 'z'));
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForOversizeLength() throws Exception {
+    load(file -> ByteBuffer.wrap(file).putInt(16, Integer.MAX_VALUE));
+  }
+
+  @Test(expected = IOException.class)
+  public void load_shouldThrowIOExceptionForOtherFiles() throws Exception {
+    Path file = folder.newFile().toPath();
+    Files.write(file, "yogurt and coconut".getBytes("UTF-8"));
+    StrmanPrefixIndex.load(file);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void build_shouldThrowIllegalStateExceptionWhenAlreadyBuilt() throws Exception {
+    StrmanPrefixIndex.Builder builder = StrmanPrefixIndex.builder(true).add("yogurt", 1);
+    builder.build();
+    builder.build();
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void prefixIndex_shouldThrowIllegalArgumentExceptionWhenTermsAreNull() throws Exception {
+    prefixIndex(null, true);
+  }
+
+  /*
+   * Loads the saved index of the case insensitive terms with 35 characters after the bytes have been modified.
+   */
+  private void load(final Consumer<byte[]> corruption) throws IOException {
+    Path file = folder.newFile().toPath();
+    prefixIndex(terms(), false).save(file);
+    byte[] bytes = Files.readAllBytes(file);
+    corruption.accept(bytes);
+    Files.write(file, bytes);
+    StrmanPrefixIndex.load(file);
+  }
+}
@@ -0,0 +1,145 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Rope Test                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static com.arcticicestudio.icecore.strman.Strman.rope;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanRope}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanRopeTest {
+
+  @Test
+  public void append_shouldAppendStrings() throws Exception {
+    assertThat(rope("y").append("o", "g", "u", "r", "t").toString(), equalTo("yogurt"));
+    assertThat(rope("").append().toString(), equalTo(""));
+  }
+
+  @Test
+  public void prepend_shouldPrependStrings() throws Exception {
+    assertThat(rope("r").prepend("y", "o", "g", "u").toString(), equalTo("yogur"));
+    assertThat(rope("yogurt").prepend().toString(), equalTo("yogurt"));
+  }
+
+  @Test
+  public void insert_shouldInsertSubstringAtIndex() throws Exception {
+    assertThat(rope("yogurt").insert("coconut ", 0).toString(), equalTo("coconut yogurt"));
+    assertThat(rope("yogurt").insert("-", 3).toString(), equalTo("yog-urt"));
+    assertThat(rope("yogurt").insert("!", 6).toString(), equalTo("yogurt!"));
+    assertThat(rope("yogurt").insert("!", 7).toString(), equalTo("yogurt"));
+  }
+
+  @Test
+  public void delete_shouldRemoveRange() throws Exception {
+    assertThat(rope("coconut yogurt").delete(0, 8).toString(), equalTo("yogurt"));
+    assertThat(rope("coconut yogurt").delete(7, 14).toString(), equalTo("coconut"));
+    assertThat(rope("yogurt").delete(3, 3).toString(), equalTo("yogurt"));
+  }
+
+  @Test
+  public void removeLeft_shouldRemovePrefix() throws Exception {
+    assertThat(rope("yogurt").removeLeft("yo").toString(), equalTo("gurt"));
+    assertThat(rope("yogurt").removeLeft("YO").toString(), equalTo("yogurt"));
+    assertThat(rope("yogurt").removeLeft("YO", false).toString(), equalTo("gurt"));
+    assertThat(rope("yo").removeLeft("yogurt").toString(), equalTo("yo"));
+  }
+
+  @Test
+  public void removeRight_shouldRemoveSuffix() throws Exception {
+    assertThat(rope("yogurt").removeRight("rt").toString(), equalTo("yogu"));
+    assertThat(rope("yogurt").removeRight("RT").toString(), equalTo("yogurt"));
+    assertThat(rope("yogurt").removeRight("RT", false).toString(), equalTo("yogu"));
+  }
+
+  @Test
+  public void surround_shouldSurroundWithPrefixAndSuffix() throws Exception {
+    assertThat(rope("div").surround("<", ">").toString(), equalTo("<div>"));
+    assertThat(rope("div").surround("*", null).toString(), equalTo("*div*"));
+  }
+
+  @Test
+  public void subSequence_shouldReturnRangeAsRope() throws Exception {
+    StrmanRope rope = rope("coconut yogurt");
+    assertThat(rope.subSequence(8, 14).toString(), equalTo("yogurt"));
+    assertThat(rope.subSequence(0, 14), sameInstance(rope));
+    assertThat(rope.subSequence(3, 3).length(), equalTo(0));
+  }
+
+  @Test
+  public void equals_shouldCompareCharacters() throws Exception {
+    StrmanRope first = rope("yo").append("gurt");
+    StrmanRope second = rope("yog").append("urt");
+    assertThat(first, equalTo(second));
+    assertThat(first.hashCode(), equalTo("yogurt".hashCode()));
+  }
+
+  @Test
+  public void edits_shouldMatchStringBuilderForRandomEdits() throws Exception {
+    Random random = new Random(42);
+    StringBuilder expected = new StringBuilder(Strman.repeat("yogurt coconut ", 20000));
+    StrmanRope rope = rope(expected.toString());
+    for (int i = 0; i < 5000; i++) {
+      int start = random.nextInt(expected.length() + 1);
+      switch (random.nextInt(3)) {
+        case 0:
+          String insert = "edit" + i;
+          expected.insert(start, insert);
+          rope = rope.insert(insert, start);
+          break;
+        case 1:
+          int end = Math.min(expected.length(), start + random.nextInt(16));
+          expected.delete(start, end);
+          rope = rope.delete(start, end);
+          break;
+        default:
+          int index = random.nextInt(Math.max(1, expected.length()));
+          assertThat(rope.charAt(index), equalTo(expected.charAt(index)));
+      }
+      assertThat(rope.length(), equalTo(expected.length()));
+    }
+    assertThat(rope.toString(), equalTo(expected.toString()));
+    assertThat(rope.subSequence(1000, 2000).toString(), equalTo(expected.substring(1000, 2000)));
+  }
+
+  @Test
+  public void append_shouldStayBalancedForManySmallAppends() throws Exception {
+    StrmanRope rope = rope("");
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 100000; i++) {
+      rope = rope.append("y", String.valueOf(i % 10));
+      expected.append('y').append(i % 10);
+    }
+    assertThat(rope.toString(), equalTo(expected.toString()));
+    assertThat(rope.charAt(123457), equalTo(expected.charAt(123457)));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void charAt_shouldThrowIndexOutOfBoundsExceptionWhenIndexIsOutOfBounds() throws Exception {
+    rope("yogurt").charAt(6);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void rope_shouldThrowIllegalArgumentExceptionWhenValueIsNull() throws Exception {
+    rope(null);
+  }
+}
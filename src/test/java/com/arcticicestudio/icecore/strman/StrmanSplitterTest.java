@@ -0,0 +1,148 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Splitter Test                              +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanSplitter}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanSplitterTest {
+
+  @Test
+  public void split_shouldSplitAtLiteralDelimiter() throws Exception {
+    assertThat(fields(Strman.splitter(".").split("a.b..c.")), equalTo(Arrays.asList("a", "b", "", "c", "")));
+    assertThat(fields(Strman.splitter("::").split("::a:b::c")), equalTo(Arrays.asList("", "a:b", "c")));
+    assertThat(fields(Strman.splitter(",").split("")), equalTo(Arrays.asList("")));
+    assertThat(fields(Strman.splitter(",").split(new StringBuilder("a,b"))), equalTo(Arrays.asList("a", "b")));
+  }
+
+  @Test
+  public void split_shouldOmitEmptyFields() throws Exception {
+    StrmanSplitter splitter = Strman.splitter(",").withOmitEmpty(true);
+    assertThat(splitter.isOmittingEmpty(), is(true));
+    assertThat(fields(splitter.split(",a,,b,")), equalTo(Arrays.asList("a", "b")));
+    assertThat(fields(splitter.split("")), equalTo(new ArrayList<String>()));
+    assertThat(fields(StrmanSplitter.csv().withOmitEmpty(true).split("a,\"\",,b")), equalTo(Arrays.asList("a", "", "b")));
+  }
+
+  @Test
+  public void split_shouldUnquoteQuotedFields() throws Exception {
+    StrmanSplitter csv = StrmanSplitter.csv();
+    assertThat(fields(csv.split("a,\"b,c\",\"say \"\"yo\"\"\",d\"e\"")),
+      equalTo(Arrays.asList("a", "b,c", "say \"yo\"", "d\"e\"")));
+    assertThat(fields(csv.split("\"a\"b,\"unclosed,c")), equalTo(Arrays.asList("ab", "unclosed,c")));
+    assertThat(fields(StrmanSplitter.tsv().split("a\t'b\tc'")), equalTo(Arrays.asList("a", "'b", "c'")));
+    assertThat(fields(StrmanSplitter.tsv().withQuote('\'').split("a\t'b\tc'")), equalTo(Arrays.asList("a", "b\tc")));
+    assertThat(fields(csv.withoutQuote().split("\"a,b\"")), equalTo(Arrays.asList("\"a", "b\"")));
+  }
+
+  @Test
+  public void spans_shouldReportOffsets() throws Exception {
+    StrmanSplitter.Cursor cursor = StrmanSplitter.csv().spans("ab,\"c,d\",");
+    assertThat(cursor.next(), is(true));
+    assertThat(cursor.start(), equalTo(0));
+    assertThat(cursor.end(), equalTo(2));
+    assertThat(cursor.next(), is(true));
+    assertThat(cursor.start(), equalTo(3));
+    assertThat(cursor.end(), equalTo(8));
+    assertThat(cursor.isQuoted(), is(true));
+    assertThat(cursor.value(), equalTo("c,d"));
+    assertThat(cursor.next(), is(true));
+    assertThat(cursor.start(), equalTo(9));
+    assertThat(cursor.end(), equalTo(9));
+    assertThat(cursor.next(), is(false));
+  }
+
+  @Test
+  public void records_shouldReadRecordsWithQuotedLineBreaks() throws Exception {
+    String text = "id,name\r\n1,\"yogurt\r\nand cocoa\"\n\n2,\"\"\"quoted\"\"\"\n3,\"unclosed";
+    List<List<String>> expected = Arrays.asList(
+      Arrays.asList("id", "name"),
+      Arrays.asList("1", "yogurt\r\nand cocoa"),
+      Arrays.asList(""),
+      Arrays.asList("2", "\"quoted\""),
+      Arrays.asList("3", "unclosed"));
+    assertThat(records(StrmanSplitter.csv().records(new StringReader(text))), equalTo(expected));
+    /* Reading a single character at a time splits line breaks and quotes across buffers. */
+    Reader slow = new FilterReader(new StringReader(text)) {
+      @Override
+      public int read(final char[] buffer, final int offset, final int length) throws IOException {
+        return super.read(buffer, offset, Math.min(1, length));
+      }
+    };
+    assertThat(records(StrmanSplitter.csv().records(slow)), equalTo(expected));
+    assertThat(records(StrmanSplitter.csv().records(new StringReader("a\n"))), equalTo(Arrays.asList(Arrays.asList("a"))));
+    assertThat(records(StrmanSplitter.csv().records(new StringReader(""))), equalTo(new ArrayList<List<String>>()));
+  }
+
+  @Test
+  public void records_shouldCountRecords() throws Exception {
+    StrmanSplitter.Records records = Strman.splitter(";").records(new StringReader("a;b\nc\n"));
+    assertThat(records.next(), is(true));
+    assertThat(records.number(), equalTo(1L));
+    assertThat(records.size(), equalTo(2));
+    assertThat(records.line().toString(), equalTo("a;b"));
+    assertThat(records.next(), is(true));
+    assertThat(records.number(), equalTo(2L));
+    assertThat(records.field(0), equalTo("c"));
+    assertThat(records.next(), is(false));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void splitter_shouldThrowIllegalArgumentExceptionWhenDelimiterIsEmpty() throws Exception {
+    Strman.splitter("");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withQuote_shouldThrowIllegalArgumentExceptionWhenQuoteStartsDelimiter() throws Exception {
+    Strman.splitter("'").withQuote('\'');
+  }
+
+  private static List<String> fields(final Iterable<String> fields) {
+    List<String> list = new ArrayList<>();
+    for (String field : fields) {
+      list.add(field);
+    }
+    return list;
+  }
+
+  private static List<List<String>> records(final StrmanSplitter.Records records) throws IOException {
+    List<List<String>> list = new ArrayList<>();
+    try (StrmanSplitter.Records source = records) {
+      while (source.next()) {
+        List<String> fields = new ArrayList<>();
+        for (int i = 0; i < source.size(); i++) {
+          fields.add(source.field(i));
+        }
+        list.add(fields);
+      }
+    }
+    return list;
+  }
+}
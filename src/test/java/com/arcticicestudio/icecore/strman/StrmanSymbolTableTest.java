@@ -0,0 +1,118 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Symbol Table Test                          +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static com.arcticicestudio.icecore.strman.Strman.symbolTable;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanSymbolTable}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanSymbolTableTest {
+
+  static final List<String> URLS = urls(new Random(42), 5000);
+  static final StrmanSymbolTable TABLE = symbolTable(URLS.subList(0, 1000));
+
+  @Test
+  public void compress_shouldRoundTrip() throws Exception {
+    for (String url : URLS) {
+      assertThat(TABLE.decompress(TABLE.compress(url)), equalTo(url));
+    }
+    for (String value : new String[]{"", "yogurt", "Crème brûlée 🍦", "\u0000ÿ"}) {
+      assertThat(TABLE.decompress(TABLE.compress(value)), equalTo(value));
+    }
+  }
+
+  @Test
+  public void compress_shouldShrinkStringsWithRecurringVocabulary() throws Exception {
+    long raw = 0;
+    long compressed = 0;
+    for (String url : URLS) {
+      raw += url.length();
+      compressed += TABLE.compress(url).length;
+    }
+    assertTrue(compressed * 2 < raw);
+  }
+
+  @Test
+  public void compress_shouldBeDeterministic() throws Exception {
+    StrmanSymbolTable table = symbolTable(URLS.subList(0, 1000));
+    for (String url : URLS.subList(0, 100)) {
+      assertThat(table.compress(url), equalTo(TABLE.compress(url)));
+    }
+  }
+
+  @Test
+  public void equals_shouldCompareWithoutDecompressing() throws Exception {
+    byte[] compressed = TABLE.compress(URLS.get(0));
+    assertTrue(TABLE.equals(compressed, URLS.get(0)));
+    assertFalse(TABLE.equals(compressed, URLS.get(0) + "/"));
+    assertFalse(TABLE.equals(compressed, URLS.get(0).substring(1)));
+    assertTrue(TABLE.equals(TABLE.compress(""), ""));
+  }
+
+  @Test
+  public void startsWith_shouldMatchPrefixesSpanningSymbols() throws Exception {
+    String url = URLS.get(1);
+    byte[] compressed = TABLE.compress(url);
+    for (int length = 0; length <= url.length(); length++) {
+      assertTrue(TABLE.startsWith(compressed, url.substring(0, length)));
+    }
+    assertFalse(TABLE.startsWith(compressed, url + "/"));
+    assertFalse(TABLE.startsWith(compressed, "http://"));
+  }
+
+  @Test
+  public void symbolTable_shouldHandleEmptySample() throws Exception {
+    StrmanSymbolTable table = symbolTable(Collections.emptyList());
+    assertThat(table.size(), is(0));
+    assertThat(table.decompress(table.compress("yogurt")), equalTo("yogurt"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void decompress_shouldThrowIllegalArgumentExceptionForUnknownCode() throws Exception {
+    symbolTable(Collections.emptyList()).decompress(new byte[]{3});
+  }
+
+  static List<String> urls(final Random random, final int count) {
+    String[] hosts = {"www.example.com", "api.arcticicestudio.com", "github.com", "cdn.jsdelivr.net"};
+    String[] segments = {"users", "repos", "issues", "pulls", "v1", "v2", "search", "items", "icecore", "strman"};
+    List<String> urls = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      StringBuilder url = new StringBuilder("https://").append(hosts[random.nextInt(hosts.length)]);
+      for (int j = random.nextInt(4); j >= 0; j--) {
+        url.append('/').append(segments[random.nextInt(segments.length)]);
+      }
+      if (random.nextBoolean()) {
+        url.append("?id=").append(random.nextInt(100000));
+      }
+      urls.add(url.toString());
+    }
+    return urls;
+  }
+}
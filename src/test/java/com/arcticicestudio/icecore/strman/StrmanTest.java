@@ -13,14 +13,22 @@ package com.arcticicestudio.icecore.strman;
 
 import org.junit.Test;
 
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.Random;
 
 import static com.arcticicestudio.icecore.strman.Strman.*;
 import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.closeTo;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.collection.IsArrayContainingInOrder.arrayContaining;
 import static org.hamcrest.collection.IsArrayWithSize.emptyArray;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
@@ -61,6 +69,29 @@ public class StrmanTest {
     appendArray(null, new String[]{});
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void asciiFold_shouldFoldLatinCharactersToAscii() throws Exception {
+    assertThat(asciiFold("Crème Brûlée"), equalTo("Creme Brulee"));
+    assertThat(asciiFold("Cre\u0300me Bru\u0302le\u0301e"), equalTo("Creme Brulee"));
+    assertThat(asciiFold("Straße"), equalTo("Strasse"));
+    assertThat(asciiFold("Œuvre Ærø Łódź"), equalTo("OEuvre AEro Lodz"));
+    assertThat(asciiFold("ﬁnal ǽ"), equalTo("final ae"));
+    assertThat(asciiFold("“quoted” – dash…"), equalTo("\"quoted\" - dash..."));
+    assertThat(asciiFold("漢 × ÷"), equalTo("漢 × ÷"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void asciiFold_shouldReturnSameInstanceForAscii() throws Exception {
+    String value = "yogurt & coconut";
+    assertThat(asciiFold(value), sameInstance(value));
+  }
+
   @Test
   public void at_shouldFindCharacterAtIndex() throws Exception {
     assertThat(at("yogurt", 0), equalTo(Optional.of("y")));
@@ -84,6 +115,60 @@ public class StrmanTest {
     assertThat(between("", "{", "}"), arrayContaining(""));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void byteSize_shouldFormatHumanReadableSize() throws Exception {
+    assertThat(byteSize(0, false), equalTo("0 B"));
+    assertThat(byteSize(999, false), equalTo("999 B"));
+    assertThat(byteSize(1000, false), equalTo("1.0 kB"));
+    assertThat(byteSize(1000, true), equalTo("1000 B"));
+    assertThat(byteSize(1536, true), equalTo("1.5 KiB"));
+    assertThat(byteSize(1_234_567, false), equalTo("1.2 MB"));
+    assertThat(byteSize(999_950, false), equalTo("1.0 MB"));
+    assertThat(byteSize(1024 * 1024 - 1, true), equalTo("1.0 MiB"));
+    assertThat(byteSize(Long.MAX_VALUE, false), equalTo("9.2 EB"));
+    assertThat(byteSize(Long.MAX_VALUE, true), equalTo("8.0 EiB"));
+    StringBuilder target = new StringBuilder("size: ");
+    byteSize(5L << 30, true, target);
+    assertThat(target.toString(), equalTo("size: 5.0 GiB"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void byteSize_shouldThrowIllegalArgumentExceptionWhenNegative() throws Exception {
+    byteSize(-1, false);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void caseInsensitiveOrder_shouldMatchStringCaseInsensitiveOrder() throws Exception {
+    String[] values = {"Yogurt", "yogurt", "YOGURTS", "cocoa", "Éclair", "éclair", "ß", "", "Z"};
+    for (String first : values) {
+      for (String second : values) {
+        assertThat(Integer.signum(caseInsensitiveOrder().compare(first, second)),
+          equalTo(Integer.signum(String.CASE_INSENSITIVE_ORDER.compare(first, second))));
+      }
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void caseInsensitiveOrder_shouldFoldSupplementaryCodePoints() throws Exception {
+    assertThat(caseInsensitiveOrder().compare("yogurt \uD801\uDC28", "YOGURT \uD801\uDC00"), is(0));
+    assertThat(caseInsensitiveOrder().compare("\uD801\uDC28a", "\uD801\uDC00b") < 0, is(true));
+    assertThat(caseInsensitiveOrder().compare("\uD801\uDC28", "\uD801\uDC01") < 0, is(true));
+    assertThat(caseInsensitiveOrder().compare("\uD801", "\uD801\uDC00") < 0, is(true));
+    assertThat(naturalOrder(false).compare("file10 \uD801\uDC28", "FILE10 \uD801\uDC00"), is(0));
+  }
+
   /**
    * @since 0.3.0
    */
@@ -121,6 +206,32 @@ public class StrmanTest {
     assertThat(collapseWhitespace(input), equalTo("yo gurt coco nut"));
   }
 
+  @Test
+  public void collapseWhitespace_shouldKeepSingleWhitespaceCharacters() throws Exception {
+    assertThat(collapseWhitespace("\tyo\tgurt \t coco\n\nnut\n"), equalTo("yo\tgurt coco nut"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void collapseWhitespace_shouldReturnInternedString() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong();
+    String first = collapseWhitespace("  yo   gurt ", interner);
+    assertThat(first, equalTo("yo gurt"));
+    assertThat(collapseWhitespace("yo    gurt", interner), sameInstance(first));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void compileGlob_shouldMatchWildcardPatterns() throws Exception {
+    assertThat(compileGlob("*.log", true).matches("yogurt.log"), is(true));
+    assertThat(compileGlob("app-??-*", false).matches("APP-EU-yogurt"), is(true));
+    assertThat(compileGlobs(Arrays.asList("*.txt", "*.log"), true).firstMatch("yogurt.log"), equalTo(1));
+  }
+
   @Test
   public void containsWithCaseSensitiveFalse_shouldReturnTrueWhenStringContainsNeedle() throws Exception {
     String[] fixture = {
@@ -233,6 +344,19 @@ public class StrmanTest {
     assertThat(countSubstr("aaa", "aa", true, true), equalTo(2L));
   }
 
+  @Test
+  public void countSubstr_shouldCountSubStrInLargeString() throws Exception {
+    final String value = repeat("yogurt ", 100000);
+    assertThat(countSubstr(value, "gu"), equalTo(100000L));
+    assertThat(countSubstr(value, " "), equalTo(100000L));
+    assertThat(countSubstr(value, "YOGURT", false, false), equalTo(100000L));
+  }
+
+  @Test
+  public void countSubstr_shouldBeZeroForEmptySubStr() throws Exception {
+    assertThat(countSubstr("yogurt", ""), equalTo(0L));
+  }
+
   @Test
   public void endsWith_caseSensitive_ShouldBeTrueWhenStringEndsWithSearchString() throws Exception {
     String[] fixture = {
@@ -292,6 +416,7 @@ public class StrmanTest {
     assertThat(base64Decode("Z3VydA=="), equalTo("gurt"));
     assertThat(base64Decode("YsOhciE="), equalTo("bár!"));
     assertThat(base64Decode("5ryi"), equalTo("漢"));
+    assertThat(base64Decode("eW//"), equalTo("yo\uFFFD"));
   }
 
   @Test
@@ -301,6 +426,7 @@ public class StrmanTest {
     assertThat(base64Encode("gurt"), equalTo("Z3VydA=="));
     assertThat(base64Encode("bár!"), equalTo("YsOhciE="));
     assertThat(base64Encode("漢"), equalTo("5ryi"));
+    assertThat(base64Encode("y\uD800"), equalTo(base64Encode("y?")));
   }
 
   @Test
@@ -323,6 +449,20 @@ public class StrmanTest {
     assertThat(encodeBin("AA"), equalTo("00000000010000010000000001000001"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void damerauLevenshteinDistance_shouldCountTranspositionsAsSingleEdit() throws Exception {
+    assertThat(damerauLevenshteinDistance("", ""), equalTo(0));
+    assertThat(damerauLevenshteinDistance("yogurt", ""), equalTo(6));
+    assertThat(damerauLevenshteinDistance("yogurt", "yogrut"), equalTo(1));
+    assertThat(damerauLevenshteinDistance("ca", "abc"), equalTo(2));
+    assertThat(damerauLevenshteinDistance("漢字", "字漢"), equalTo(1));
+    assertThat(damerauLevenshteinDistance("γα", "αβγ"), equalTo(2));
+    assertThat(damerauLevenshteinDistance("yogurt", "coconut"), equalTo(levenshteinDistance("yogurt", "coconut")));
+  }
+
   @Test
   public void decDecode_shouldDecodeDecimalStringToString() throws Exception {
     assertThat(decodeDec("28450"), equalTo("漢"));
@@ -339,6 +479,48 @@ public class StrmanTest {
     assertThat(encodeDec("AA"), equalTo("0006500065"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void diff_shouldComputeShortestEditScript() throws Exception {
+    assertThat(diff("yogurt", "yogurt", StrmanDiffUnit.CHARACTER).isEqual(), is(true));
+    assertThat(diff("yogurt", "yoghurts", StrmanDiffUnit.CHARACTER).distance(), equalTo(2));
+    assertThat(diff("abcabba", "cbabac", StrmanDiffUnit.CHARACTER).distance(), equalTo(5));
+    assertThat(diff("yogurt and cocoa", "yoghurt and cocoa", StrmanDiffUnit.WORD).distance(), equalTo(2));
+    assertThat(diff("a\nb\nc\n", "a\nc\n", StrmanDiffUnit.LINE).distance(), equalTo(1));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void diff_shouldGiveUpBeyondMaxDistance() throws Exception {
+    StrmanDiff bounded = diff("xabcabbay", "xcbabacy", StrmanDiffUnit.CHARACTER, 4);
+    assertThat(bounded.isMinimal(), is(false));
+    assertThat(bounded.distance(), equalTo(13));
+    assertThat(diff("xabcabbay", "xcbabacy", StrmanDiffUnit.CHARACTER, 5).distance(), equalTo(5));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void diff_shouldThrowIllegalArgumentExceptionWhenMaxDistanceIsNegative() throws Exception {
+    diff("yogurt", "yoghurt", StrmanDiffUnit.CHARACTER, -1);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void displayWidth_shouldCountTerminalColumns() throws Exception {
+    assertThat(displayWidth(""), equalTo(0));
+    assertThat(displayWidth("yogurt"), equalTo(6));
+    assertThat(displayWidth("漢字"), equalTo(4));
+    assertThat(displayWidth("ｙｏ"), equalTo(4));
+    assertThat(displayWidth("\uD83C\uDF66"), equalTo(2));
+    assertThat(displayWidth("Cre\u0300me"), equalTo(5));
+    assertThat(displayWidth("yo\u200Bgurt\t"), equalTo(6));
+  }
+
   @Test
   public void ensureRight_shouldEnsureStringEndsWithString() throws Exception {
     final String[] fixture = {
@@ -350,6 +532,28 @@ public class StrmanTest {
       ensureRight(el, "gurt")).collect(toList()), hasItems("yogurt", "yogurt", "yoGURTgurt"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void escapeHtml_shouldEscapeSpecialCharacters() throws Exception {
+    assertThat(escapeHtml("<a href=\"yo\">Tom & Jerry's</a>"), equalTo("&lt;a href=&quot;yo&quot;&gt;Tom &amp; Jerry&#39;s&lt;/a&gt;"));
+    assertThat(escapeXml("<yo a='b'/>"), equalTo("&lt;yo a=&apos;b&apos;/&gt;"));
+    String value = "yogurt ünd coconut";
+    assertThat(escapeHtml(value), sameInstance(value));
+    assertThat(escapeXml(value), sameInstance(value));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void escapeHtml_shouldWriteToAppendable() throws Exception {
+    StringBuilder target = new StringBuilder("<p>");
+    escapeHtml(new StringBuilder("1 < 2 & 3"), target);
+    assertThat(target.toString(), equalTo("<p>1 &lt; 2 &amp; 3"));
+  }
+
   @Test
   public void first_shouldReturnFirstTwoCharsOfString() throws Exception {
     final String[] fixture = {
@@ -358,6 +562,55 @@ public class StrmanTest {
     Arrays.stream(fixture).forEach(el -> assertThat(first(el, 2), equalTo(Optional.of("yo"))));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void hash128_shouldComputeMurmur3OfUtf8() throws Exception {
+    assertThat(hash128(""), equalTo(new long[]{0L, 0L}));
+    assertThat(hash128("The quick brown fox jumps over the lazy dog"),
+      equalTo(new long[]{0xE34BBC7BBC071B6CL, 0x7A433CA9C49A9347L}));
+    assertThat(hash128("Hello \uD83C\uDF66 Strman"), equalTo(new long[]{0xFADA1D210D78205EL, 0x6DB36A3C28059B90L}));
+    assertThat(hash128(new StringBuilder("yogurt")), equalTo(new long[]{0x3A499E055BA24EF6L, 0xE60EBCE5F0F3BAAFL}));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void hash128_shouldIgnoreCase() throws Exception {
+    assertThat(hash128("YOGURT \u00DCBER", false), equalTo(hash128("yogurt \u00FCber")));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void hash64_shouldComputeXxHash64OfUtf8() throws Exception {
+    assertThat(hash64(""), equalTo(0xEF46DB3751D8E999L));
+    assertThat(hash64("abc"), equalTo(0x44BC2CF5AD770999L));
+    assertThat(hash64("Nobody inspects the spammish repetition"), equalTo(0xFBCEA83C8A378BF1L));
+    assertThat(hash64("Hello \uD83C\uDF66 Strman"), equalTo(0x00ED25FD5D342BD3L));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void hash64_shouldIgnoreCase() throws Exception {
+    String value = "Nobody Inspects The Spammish Repetition \u00C4\u00D6\u00DC";
+    assertThat(hash64(value, false), equalTo(hash64(value.toLowerCase())));
+    assertThat(hash64(value, false), not(equalTo(hash64(value))));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void hash64_shouldThrowIllegalArgumentExceptionForUnpairedSurrogate() throws Exception {
+    hash64("yogurt\uDF66");
+  }
+
   @Test
   public void head_shouldReturnFirstCharOfString() throws Exception {
     final String[] fixture = {
@@ -381,6 +634,23 @@ public class StrmanTest {
     assertThat(format("{1} {0}"), equalTo("{1} {0}"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void groupDigits_shouldSeparateGroupsOfThreeDigits() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 10000; i++) {
+      long value = random.nextLong() >> random.nextInt(64);
+      assertThat(groupDigits(value, ','), equalTo(String.format(Locale.ROOT, "%,d", value)));
+    }
+    assertThat(groupDigits(Long.MIN_VALUE, '_'), equalTo("-9_223_372_036_854_775_808"));
+    assertThat(groupDigits(0, ','), equalTo("0"));
+    StringBuilder target = new StringBuilder();
+    groupDigits(-1234, '.', target);
+    assertThat(target.toString(), equalTo("-1.234"));
+  }
+
   @Test
   public void hexDecode_shouldDecodeHexCodeToString() throws Exception {
     assertThat(decodeHex("6f22"), equalTo("漢"));
@@ -395,6 +665,7 @@ public class StrmanTest {
     assertThat(encodeHex("A"), equalTo("0041"));
     assertThat(encodeHex("Á"), equalTo("00c1"));
     assertThat(encodeHex("AA"), equalTo("00410041"));
+    assertThat(encodeHex(repeat("A漢", 100)), equalTo(repeat("00416f22", 100)));
   }
 
   @Test
@@ -419,6 +690,21 @@ public class StrmanTest {
     assertThat(indexOf(value, "F", 0, false), equalTo(-1));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void indexOfInvalid_shouldReturnIndexOfFirstInvalidCharacter() throws Exception {
+    assertThat(indexOfInvalid("john.doe@example.com", StrmanFormat.EMAIL), equalTo(-1));
+    assertThat(indexOfInvalid("john doe@example.com", StrmanFormat.EMAIL), equalTo(4));
+    assertThat(indexOfInvalid("192.168.0", StrmanFormat.IPV4), equalTo(9));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void indexOfInvalid_shouldThrowIllegalArgumentExceptionWhenFormatIsNull() throws Exception {
+    indexOfInvalid("yogurt", null);
+  }
+
   @Test
   public void insert_shouldInsertStringAtIndex() throws Exception {
     assertThat(insert("yurt", "og", 1), equalTo("yogurt"));
@@ -476,6 +762,20 @@ public class StrmanTest {
   /**
    * @since 0.3.0
    */
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void jaroWinklerSimilarity_shouldComputeSimilarity() throws Exception {
+    assertThat(jaroWinklerSimilarity("", ""), equalTo(1.0));
+    assertThat(jaroWinklerSimilarity("yogurt", ""), equalTo(0.0));
+    assertThat(jaroWinklerSimilarity("yogurt", "yogurt"), equalTo(1.0));
+    assertThat(jaroWinklerSimilarity("abc", "xyz"), equalTo(0.0));
+    assertThat(jaroWinklerSimilarity("MARTHA", "MARHTA"), closeTo(0.9611, 0.0001));
+    assertThat(jaroWinklerSimilarity("DWAYNE", "DUANE"), closeTo(0.84, 0.0001));
+    assertThat(jaroWinklerSimilarity("DIXON", "DICKSONX"), closeTo(0.8133, 0.0001));
+  }
+
   @Test
   public void join_shouldJoinStringArrayIntoASingleString() throws Exception {
     String[] strings = {
@@ -525,6 +825,25 @@ public class StrmanTest {
     assertThat(leftPad("00001", "0", 5), equalTo("00001"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void leftPadDisplay_shouldPadToDisplayWidth() throws Exception {
+    assertThat(leftPadDisplay("漢字", " ", 6), equalTo("  漢字"));
+    assertThat(leftPadDisplay("1", "漢", 5), equalTo("漢漢1"));
+    assertThat(leftPadDisplay("1", "漢", 4), equalTo("漢 1"));
+    assertThat(leftPadDisplay("漢字漢", " ", 4), equalTo("漢字漢"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void leftPadDisplay_shouldThrowIllegalArgumentExceptionWhenPadHasNoWidth() throws Exception {
+    leftPadDisplay("yogurt", "\u0301", 10);
+  }
+
   @Test
   public void isString_shouldBeFalseWhenStringIsNotString() throws Exception {
     assertFalse(isString(1));
@@ -539,6 +858,17 @@ public class StrmanTest {
     assertTrue(isString(""));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void isValid_shouldVerifyFormat() throws Exception {
+    assertTrue(isValid("2001:db8::1", StrmanFormat.IPV6));
+    assertTrue(isValid(new StringBuilder("2016-02-29"), StrmanFormat.ISO_DATE));
+    assertFalse(isValid("2017-02-29", StrmanFormat.ISO_DATE));
+    assertFalse(isValid("", StrmanFormat.UUID));
+  }
+
   @Test
   public void lastIndexOf_shouldFindIndexOfNeedle() throws Exception {
     final String value = "yogurtyogurt";
@@ -570,6 +900,77 @@ public class StrmanTest {
   /**
    * @since 0.3.0
    */
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void levenshteinDistance_shouldComputeDistance() throws Exception {
+    assertThat(levenshteinDistance("", ""), equalTo(0));
+    assertThat(levenshteinDistance("yogurt", ""), equalTo(6));
+    assertThat(levenshteinDistance("", "yogurt"), equalTo(6));
+    assertThat(levenshteinDistance("kitten", "sitting"), equalTo(3));
+    assertThat(levenshteinDistance("yogurt", "yoghurt"), equalTo(1));
+    assertThat(levenshteinDistance("漢字", "漢子"), equalTo(1));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void levenshteinDistance_shouldMatchDynamicProgrammingForLongStrings() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      String first = randomString(random, random.nextInt(200), "abcé漢");
+      String second = randomString(random, random.nextInt(200), "abcé漢");
+      assertThat(levenshteinDistance(first, second), equalTo(naiveLevenshtein(first, second)));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void levenshteinDistance_shouldStopWhenMaxDistanceIsExceeded() throws Exception {
+    assertThat(levenshteinDistance("kitten", "sitting", 3), equalTo(3));
+    assertThat(levenshteinDistance("kitten", "sitting", 2), equalTo(-1));
+    assertThat(levenshteinDistance("yogurt", "yogurt coconut", 3), equalTo(-1));
+    assertThat(levenshteinDistance(repeat("a", 1000), repeat("b", 1000), 5), equalTo(-1));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void levenshteinDistance_shouldThrowIllegalArgumentExceptionWhenMaxDistanceIsNegative() throws Exception {
+    levenshteinDistance("yogurt", "yogurt", -1);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void longestCommonSubsequenceLength_shouldMatchDynamicProgramming() throws Exception {
+    assertThat(longestCommonSubsequenceLength("", "yogurt"), equalTo(0));
+    assertThat(longestCommonSubsequenceLength("yogurt", "yoghurt"), equalTo(6));
+    Random random = new Random(42);
+    for (int i = 0; i < 500; i++) {
+      String first = randomString(random, random.nextInt(200), "abcé漢");
+      String second = randomString(random, random.nextInt(200), "abcé漢");
+      assertThat(longestCommonSubsequenceLength(first, second), equalTo(naiveLongestCommonSubsequence(first, second)));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void longestCommonSubsequenceSimilarity_shouldComputeSimilarity() throws Exception {
+    assertThat(longestCommonSubsequenceSimilarity("", ""), equalTo(1.0));
+    assertThat(longestCommonSubsequenceSimilarity("yogurt", "yogurt"), equalTo(1.0));
+    assertThat(longestCommonSubsequenceSimilarity("yogurt", "yoghurt"), closeTo(6.0 / 7.0, 0.0001));
+    assertThat(longestCommonSubsequenceSimilarity("abc", "xyz"), equalTo(0.0));
+  }
+
   @Test
   public void lowerFirst_shouldLowercasedFirstCharacterOfString() throws Exception {
     assertThat(lowerFirst("YOGURT"), is(equalTo("yOGURT")));
@@ -577,6 +978,234 @@ public class StrmanTest {
     assertThat(lowerFirst("Yogurt"), is(equalTo("yogurt")));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void minHash_shouldEstimateJaccardSimilarity() throws Exception {
+    long[] first = new long[100];
+    long[] second = new long[100];
+    for (int i = 0; i < 100; i++) {
+      first[i] = i;
+      second[i] = i + 50;
+    }
+    long[] firstSignature = minHash(first, 256);
+    long[] secondSignature = minHash(second, 256);
+    assertThat(minHash(first, 256), equalTo(firstSignature));
+    assertThat(minHashSimilarity(firstSignature, firstSignature), is(1.0));
+    assertThat(minHashSimilarity(firstSignature, secondSignature), closeTo(50.0 / 150.0, 0.1));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void minHashSimilarity_shouldBeZeroForSignaturesOfNoShingles() throws Exception {
+    long[] empty = minHash(shingles(" - ", 2), 16);
+    assertThat(minHashSimilarity(empty, empty), is(0.0));
+    assertThat(minHashSimilarity(empty, minHash(shingles("yogurt", 2), 16)), is(0.0));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void minHashSimilarity_shouldThrowIllegalArgumentExceptionForDifferentLengths() throws Exception {
+    minHashSimilarity(new long[2], new long[3]);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void naturalOrder_shouldOrderEmbeddedNumbersByValue() throws Exception {
+    String[] values = {"file10", "file2", "File3", "file1", "file02", "file2a", "file18446744073709551616", ""};
+    Arrays.sort(values, naturalOrder(true));
+    assertThat(values, arrayContaining("", "File3", "file1", "file2", "file02", "file2a", "file10",
+      "file18446744073709551616"));
+    Arrays.sort(values, naturalOrder(false));
+    assertThat(values, arrayContaining("", "file1", "file2", "file02", "file2a", "File3", "file10",
+      "file18446744073709551616"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void parseDouble_shouldMatchDoubleParseDouble() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      String value = randomDecimal(random);
+      String padded = "[" + value + "]";
+      assertThat(value, parseDouble(padded, 1, padded.length() - 1), equalTo(Double.parseDouble(value)));
+    }
+    for (String value : new String[]{"0", "-0.0", ".5", "1.", "+1e-3", "1e22", "1e23", "9007199254740993",
+      "4.9e-324", "1e-400", "1.7976931348623157e308", "1e309", "123456789012345678901234567890e-30", "1e99999999999"}) {
+      assertThat(value, parseDouble(value, 0, value.length()), equalTo(Double.parseDouble(value)));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void parseDouble_shouldReportIndexOfInvalidCharacter() throws Exception {
+    for (String value : new String[]{"", "-", ".", "1e", "1.2.3", "NaN", "1f", " 1"}) {
+      try {
+        parseDouble("x" + value, 1, value.length() + 1);
+        throw new AssertionError(value);
+      } catch (NumberFormatException e) {
+        assertTrue(e.getMessage(), e.getMessage().endsWith("at index " + (indexOfInvalid(value, StrmanFormat.DECIMAL) + 1)));
+      }
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void parseInt_shouldParseRangeWithoutSubstring() throws Exception {
+    assertThat(parseInt("id=-42;", 3, 6), equalTo(-42));
+    assertThat(parseInt("+7", 0, 2), equalTo(7));
+    assertThat(parseInt("2147483647", 0, 10), equalTo(Integer.MAX_VALUE));
+    assertThat(parseInt("-2147483648", 0, 11), equalTo(Integer.MIN_VALUE));
+    assertThat(parseInt("000000000000042", 0, 15), equalTo(42));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void parseInt_shouldThrowNumberFormatExceptionOnOverflow() throws Exception {
+    for (String value : new String[]{"2147483648", "-2147483649", "99999999999"}) {
+      try {
+        parseInt(value, 0, value.length());
+        throw new AssertionError(value);
+      } catch (NumberFormatException e) {
+        assertThat(e.getMessage(), containsString("overflows int"));
+      }
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = NumberFormatException.class)
+  public void parseInt_shouldThrowNumberFormatExceptionForEmptyRange() throws Exception {
+    parseInt("yogurt", 2, 2);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void parseInt_shouldThrowIndexOutOfBoundsExceptionForInvalidRange() throws Exception {
+    parseInt("42", 1, 3);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void parseLong_shouldMatchLongParseLong() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 100000; i++) {
+      String value = Long.toString(random.nextLong() >> random.nextInt(64));
+      assertThat(parseLong(value, 0, value.length()), equalTo(Long.parseLong(value)));
+    }
+    assertThat(parseLong("-9223372036854775808", 0, 20), equalTo(Long.MIN_VALUE));
+    assertThat(parseLong("9223372036854775807", 0, 19), equalTo(Long.MAX_VALUE));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void parseLong_shouldThrowNumberFormatExceptionWithIndex() throws Exception {
+    try {
+      parseLong("12a4", 0, 4);
+      throw new AssertionError();
+    } catch (NumberFormatException e) {
+      assertTrue(e.getMessage(), e.getMessage().endsWith("invalid character at index 2"));
+    }
+    try {
+      parseLong("9223372036854775808", 0, 19);
+      throw new AssertionError();
+    } catch (NumberFormatException e) {
+      assertTrue(e.getMessage(), e.getMessage().endsWith("overflows long at index 18"));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void phoneticKey_shouldEncodeWithDoubleMetaphone() throws Exception {
+    assertThat(phoneticKey("Smith", StrmanPhonetic.DOUBLE_METAPHONE), equalTo("SM0"));
+    assertThat(phoneticKey("Smith", StrmanPhonetic.DOUBLE_METAPHONE_ALTERNATE), equalTo("XMT"));
+    assertThat(phoneticKey("Schmidt", StrmanPhonetic.DOUBLE_METAPHONE), equalTo("XMT"));
+    assertThat(phoneticKey("Schmidt", StrmanPhonetic.DOUBLE_METAPHONE_ALTERNATE), equalTo("SMT"));
+    assertThat(phoneticKey("Michael", StrmanPhonetic.DOUBLE_METAPHONE), equalTo("MKL"));
+    assertThat(phoneticKey("Michael", StrmanPhonetic.DOUBLE_METAPHONE_ALTERNATE), equalTo("MXL"));
+    assertThat(phoneticKey("Wasserman", StrmanPhonetic.DOUBLE_METAPHONE_ALTERNATE), equalTo("FSRM"));
+    assertThat(phoneticKey("Cabrillo", StrmanPhonetic.DOUBLE_METAPHONE_ALTERNATE), equalTo("KPR"));
+    assertThat(phoneticKey("Jose", StrmanPhonetic.DOUBLE_METAPHONE), equalTo("HS"));
+    assertThat(phoneticKey("Xavier", StrmanPhonetic.DOUBLE_METAPHONE), equalTo("SF"));
+    assertThat(phoneticKey("Xavier", StrmanPhonetic.DOUBLE_METAPHONE_ALTERNATE), equalTo("SFR"));
+    assertThat(phoneticKey(" Müller ", StrmanPhonetic.DOUBLE_METAPHONE), equalTo("MLR"));
+    assertThat(phoneticKey("", StrmanPhonetic.DOUBLE_METAPHONE), equalTo(""));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void phoneticKey_shouldEncodeWithMetaphone() throws Exception {
+    assertThat(phoneticKey("testing", StrmanPhonetic.METAPHONE), equalTo("TSTN"));
+    assertThat(phoneticKey("The", StrmanPhonetic.METAPHONE), equalTo("0"));
+    assertThat(phoneticKey("quick", StrmanPhonetic.METAPHONE), equalTo("KK"));
+    assertThat(phoneticKey("fox", StrmanPhonetic.METAPHONE), equalTo("FKS"));
+    assertThat(phoneticKey("jumped", StrmanPhonetic.METAPHONE), equalTo("JMPT"));
+    assertThat(phoneticKey("knight", StrmanPhonetic.METAPHONE), equalTo("NT"));
+    assertThat(phoneticKey("White", StrmanPhonetic.METAPHONE), equalTo("WT"));
+    assertThat(phoneticKey("science", StrmanPhonetic.METAPHONE), equalTo("SNS"));
+    assertThat(phoneticKey("Charles", StrmanPhonetic.METAPHONE), equalTo("KRLS"));
+    assertThat(phoneticKey("Christ", StrmanPhonetic.METAPHONE), equalTo("XRST"));
+    assertThat(phoneticKey("Church", StrmanPhonetic.METAPHONE), equalTo("KRX"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void phoneticKey_shouldEncodeWithSoundex() throws Exception {
+    assertThat(phoneticKey("Robert", StrmanPhonetic.SOUNDEX), equalTo("R163"));
+    assertThat(phoneticKey("Rupert", StrmanPhonetic.SOUNDEX), equalTo("R163"));
+    assertThat(phoneticKey("Ashcraft", StrmanPhonetic.SOUNDEX), equalTo("A261"));
+    assertThat(phoneticKey("Tymczak", StrmanPhonetic.SOUNDEX), equalTo("T522"));
+    assertThat(phoneticKey("Pfister", StrmanPhonetic.SOUNDEX), equalTo("P236"));
+    assertThat(phoneticKey("Lee", StrmanPhonetic.SOUNDEX), equalTo("L000"));
+    assertThat(phoneticKey("123", StrmanPhonetic.SOUNDEX), equalTo(""));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void phoneticKey_shouldThrowIllegalArgumentExceptionWhenAlgorithmIsNull() throws Exception {
+    phoneticKey("yogurt", null);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void phoneticKeys_shouldEncodeAllValues() throws Exception {
+    assertThat(phoneticKeys(new String[]{"Robert", null, "Rupert", "Rubin"}, StrmanPhonetic.SOUNDEX),
+      equalTo(new String[]{"R163", null, "R163", "R150"}));
+    assertThat(phoneticKeys(new String[0], StrmanPhonetic.METAPHONE), equalTo(new String[0]));
+  }
+
   @Test
   public void prepend_shouldPrependStrings() throws Exception {
     assertThat(prepend("t", "y", "o", "g", "u", "r"), equalTo("yogurt"));
@@ -686,6 +1315,13 @@ public class StrmanTest {
     Arrays.stream(fixture).forEach(el -> assertThat(removeSpaces(el), equalTo("yogurt")));
   }
 
+  @Test
+  public void removeSpaces_shouldRemoveAllWhitespaceCharacters() throws Exception {
+    assertThat(removeSpaces(" y\to\ng\u000Bu\fr\rt "), equalTo("yogurt"));
+    assertThat(removeSpaces(repeat("yo gurt\t", 100)), equalTo(repeat("yogurt", 100)));
+    assertThat(removeSpaces("yogurt\u00A0"), equalTo("yogurt\u00A0"));
+  }
+
   @Test
   public void repeat_shouldRepeatAStringNTimes() throws Exception {
     assertThat(repeat("1", 1), equalTo("1"));
@@ -737,6 +1373,16 @@ public class StrmanTest {
     assertThat(rightPad("10000000", "0", 5), equalTo("10000000"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void rightPadDisplay_shouldPadToDisplayWidth() throws Exception {
+    assertThat(rightPadDisplay("漢", "-", 5), equalTo("漢---"));
+    assertThat(rightPadDisplay("a", "漢", 4), equalTo("a漢 "));
+    assertThat(rightPadDisplay("yogurt", "-", 3), equalTo("yogurt"));
+  }
+
   @Test
   public void rightTrim_shouldRemoveSpacesFromTheRight() throws Exception {
     assertThat(rightTrim("yogurt   "), equalTo("yogurt"));
@@ -780,6 +1426,18 @@ public class StrmanTest {
     assertThat(truncateSafe("A lightweight module library.", 12, "..."), equalTo("A..."));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void truncateSafeDisplay_shouldTruncateWordsToDisplayWidth() throws Exception {
+    assertThat(truncateSafeDisplay("yo gurt", 0, "."), equalTo(""));
+    assertThat(truncateSafeDisplay("yo gurt", 3, "."), equalTo("yo."));
+    assertThat(truncateSafeDisplay("yo gurt", 7, "."), equalTo("yo gurt"));
+    assertThat(truncateSafeDisplay("漢字 yogurt", 8, "…"), equalTo("漢字…"));
+    assertThat(truncateSafeDisplay("漢字 yogurt", 4, "…"), equalTo("…"));
+  }
+
   @Test
   public void truncate_shouldTruncateString() throws Exception {
     assertThat(truncate("yo gurt", 0, "."), equalTo(""));
@@ -793,6 +1451,58 @@ public class StrmanTest {
     assertThat(truncate("A lightweight module library.", 15, "..."), equalTo("A lightweigh..."));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void truncateDisplay_shouldTruncateToDisplayWidth() throws Exception {
+    assertThat(truncateDisplay("yogurt", 0, "."), equalTo(""));
+    assertThat(truncateDisplay("yogurt", 4, "."), equalTo("yog."));
+    assertThat(truncateDisplay("漢字漢字", 8, "…"), equalTo("漢字漢字"));
+    assertThat(truncateDisplay("漢字漢字", 5, "…"), equalTo("漢字…"));
+    assertThat(truncateDisplay("\uD83C\uDF66\uD83C\uDF66\uD83C\uDF66", 5, "."), equalTo("\uD83C\uDF66\uD83C\uDF66."));
+    assertThat(truncateDisplay("e\u0301e\u0301", 1, ""), equalTo("e\u0301"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void truncateDisplay_shouldThrowIllegalArgumentExceptionWhenFillerIsWiderThanWidth() throws Exception {
+    truncateDisplay("yogurt", 2, "...");
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void shingles_shouldHashRunsOfWords() throws Exception {
+    long[] shingles = shingles("yo gurt, yo-gurt!", 2);
+    assertThat(shingles.length, is(3));
+    assertThat(shingles[0], equalTo(shingles[2]));
+    assertThat(shingles[0], not(equalTo(shingles[1])));
+    assertThat(shingles("  ", 2).length, is(0));
+    assertThat(shingles("yogurt", 3), equalTo(shingles("-yogurt-", 3)));
+    assertThat(shingles("Yo GURT", 1, false), equalTo(shingles("yo gurt", 1)));
+    assertThat(shingles(new StringBuilder("yo gurt"), 1), equalTo(shingles("yo gurt", 1)));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void shingles_shouldHashWordsOfAllScripts() throws Exception {
+    assertThat(shingles("йогурт и мороженое", 1).length, is(3));
+    assertThat(shingles("γιαούρτι, παγωτό!", 1).length, is(2));
+    assertThat(shingles("酸奶。冰淇淋", 1).length, is(2));
+    assertThat(shingles("दही 𝔶𝔬𝔤𝔲𝔯𝔱", 1).length, is(2));
+    assertThat(shingles("йогурт", 1), not(equalTo(shingles("мороженое", 1))));
+    assertThat(shingles("ЙОГУРТ", 1, false), equalTo(shingles("йогурт", 1)));
+    long[] first = minHash(shingles("酸奶和冰淇淋", 1), 16);
+    long[] second = minHash(shingles("Гренландия", 1), 16);
+    assertThat(minHashSimilarity(first, second), is(0.0));
+  }
+
   @Test
   public void shuffle_shouldShuffleAString() throws Exception {
     assertThat(shuffle("yogurt"), not(equalTo("yogurt")));
@@ -801,6 +1511,79 @@ public class StrmanTest {
     assertThat(shuffle("s"), equalTo("s"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void simHash_shouldProduceCloseFingerprintsForSimilarText() throws Exception {
+    String text = "the quick brown fox jumps over the lazy dog while the yogurt melts in the summer sun again and again";
+    long original = simHash(shingles(text, 2));
+    long similar = simHash(shingles(text.replace("lazy", "sleepy"), 2));
+    long different = simHash(shingles("strings are manipulated by a library written in java for the ice core", 2));
+    assertThat(simHash(shingles(text, 2)), equalTo(original));
+    assertTrue(simHashDistance(original, similar) < simHashDistance(original, different));
+    assertThat(simHashDistance(0L, -1L), is(64));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void sort_shouldSortLikeArraysSort() throws Exception {
+    Random random = new Random(42);
+    String[] values = new String[5000];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = "key/" + Integer.toString(random.nextInt(100000), random.nextInt(8) == 0 ? 10 : 36)
+        + (random.nextBoolean() ? "" : "/é🍦");
+    }
+    String[] expected = values.clone();
+    Arrays.sort(expected);
+    sort(values);
+    assertThat(values, equalTo(expected));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void sort_shouldThrowIllegalArgumentExceptionWhenValueIsNull() throws Exception {
+    sort(new String[]{"yogurt", null});
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void split_shouldSplitAtLiteralDelimiter() throws Exception {
+    assertThat(String.join("|", split("a.b..c", ".", false)), equalTo("a|b||c"));
+    assertThat(String.join("|", split(",a,,b,", ",", true)), equalTo("a|b"));
+    assertThat(String.join("|", splitter(",").withQuote('"').split("a,\"b,c\"")), equalTo("a|b,c"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void split_shouldThrowIllegalArgumentExceptionWhenValueIsNull() throws Exception {
+    split(null, ",", false);
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void slugify_shouldTransformToUrlSlug() throws Exception {
+    assertThat(slugify("Crème Brûlée – 250 g"), equalTo("creme-brulee-250-g"));
+    assertThat(slugify("Cre\u0300me Bru\u0302le\u0301e"), equalTo("creme-brulee"));
+    assertThat(slugify("O\u0308lmu\u0308hle \u0301"), equalTo("olmuhle"));
+    assertThat(slugify("  Yogurt & Coconut!  "), equalTo("yogurt-coconut"));
+    assertThat(slugify("Die Straße der Ölmühle"), equalTo("die-strasse-der-olmuhle"));
+    assertThat(slugify("yogurt"), equalTo("yogurt"));
+    assertThat(slugify("漢字 ﬂavor"), equalTo("flavor"));
+    assertThat(slugify("--"), equalTo(""));
+    assertThat(slugify(""), equalTo(""));
+  }
+
   @Test
   public void surround_shouldSurroundStringWithPrefixAndSuffix() throws Exception {
     assertThat(surround("yo", "gurt", null), equalTo("gurtyogurt"));
@@ -811,6 +1594,24 @@ public class StrmanTest {
     assertThat(surround("div", "<", ">"), equalTo("<div>"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void symbolTable_shouldCompressStringsOfSampleDomain() throws Exception {
+    StrmanSymbolTable table = symbolTable(Arrays.asList("frozen yogurt", "vanilla yogurt", "strawberry yogurt"));
+    byte[] compressed = table.compress("vanilla frozen yogurt");
+    assertTrue(compressed.length < "vanilla frozen yogurt".length());
+    assertThat(table.decompress(compressed), equalTo("vanilla frozen yogurt"));
+    assertTrue(table.equals(compressed, "vanilla frozen yogurt"));
+    assertThat(table.decompress(table.compress("coconut")), equalTo("coconut"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void symbolTable_shouldThrowIllegalArgumentExceptionWhenSampleIsNull() throws Exception {
+    symbolTable(null);
+  }
+
   @Test
   public void toCamelCase_shouldConvertStringToCamelCase() throws Exception {
     String[] fixture = {
@@ -888,6 +1689,18 @@ public class StrmanTest {
       assertThat(String.format("toSnakeCase(%s) should be de_camelize", el), toSnakeCase(el), equalTo("de_camelize")));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void toSnakeCase_shouldReturnInternedString() throws Exception {
+    StrmanInterner interner = StrmanInterner.strong();
+    String first = toSnakeCase("deCamelize", interner);
+    assertThat(first, equalTo("de_camelize"));
+    assertThat(toSnakeCase("de camelize", interner), sameInstance(first));
+    assertThat(toCamelCase("de_camelize", interner), sameInstance(toCamelCase("de-camelize", interner)));
+  }
+
   /**
    * @since 0.4.0
    */
@@ -910,6 +1723,34 @@ public class StrmanTest {
     assertThat(trimStart("-_-#yogurt-_-", "_", "-", "!", "#"), is(Optional.of("yogurt-_-")));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void unescapeHtml_shouldResolveCharacterReferences() throws Exception {
+    assertThat(unescapeHtml("&lt;a&gt; Tom &amp; Jerry&#39;s &quot;yo&quot;"), equalTo("<a> Tom & Jerry's \"yo\""));
+    assertThat(unescapeHtml("caf&eacute; &euro;5 &hellip; &NotNestedGreaterGreater; &fjlig;"), equalTo("café €5 … \u2AA2\u0338 fj"));
+    assertThat(unescapeHtml("&#169; &#xA9; &#XA9 &#128512; &#x80; &#0; &#xD800; &#99999999999;"), equalTo("© © © \uD83D\uDE00 € \uFFFD \uFFFD \uFFFD"));
+    assertThat(unescapeHtml("&notit; &amp &yogurt; & &#; &#x;"), equalTo("¬it; & &yogurt; & &#; &#x;"));
+    String value = "yogurt";
+    assertThat(unescapeHtml(value), sameInstance(value));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void unescapeHtml_shouldRevertEscapeHtml() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      String value = randomString(random, random.nextInt(32), "<>&\"'a;#xé");
+      assertThat(unescapeHtml(escapeHtml(value)), equalTo(value));
+      StringBuilder target = new StringBuilder();
+      unescapeHtml(escapeXml(value), target);
+      assertThat(target.toString(), equalTo(value));
+    }
+  }
+
   /**
    * @since 0.4.0
    */
@@ -926,6 +1767,154 @@ public class StrmanTest {
     assertThat(upperFirst("YOGURT"), is("YOGURT"));
   }
 
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void urlEncode_shouldEncodeUnsafeCharactersOfComponent() throws Exception {
+    assertThat(urlEncode("/yogurt cup/ü&co.", StrmanUrlComponent.PATH), equalTo("/yogurt%20cup/%C3%BC&co."));
+    assertThat(urlEncode("a=b&c+d/?", StrmanUrlComponent.QUERY), equalTo("a%3Db%26c%2Bd/?"));
+    assertThat(urlEncode("top?a=b#c", StrmanUrlComponent.FRAGMENT), equalTo("top?a=b%23c"));
+    assertThat(urlEncode("a/b:c~d", StrmanUrlComponent.UNRESERVED), equalTo("a%2Fb%3Ac~d"));
+    assertThat(urlEncode("漢\uD83C\uDF66", StrmanUrlComponent.UNRESERVED), equalTo("%E6%BC%A2%F0%9F%8D%A6"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void urlEncode_shouldReturnSameInstanceWhenSafe() throws Exception {
+    String value = "yogurt-cup_1.0~";
+    for (StrmanUrlComponent component : StrmanUrlComponent.values()) {
+      assertThat(urlEncode(value, component), sameInstance(value));
+    }
+    assertThat(urlDecode(value), sameInstance(value));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void urlEncode_shouldMatchUrlEncoderForUnreservedComponent() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      String value = randomString(random, random.nextInt(32), "ab Z09-._~!*'()&=+/?#%:@ßé漢");
+      String expected = URLEncoder.encode(value, "UTF-8").replace("+", "%20").replace("*", "%2A").replace("%7E", "~");
+      assertThat(urlEncode(value, StrmanUrlComponent.UNRESERVED), equalTo(expected));
+      StringBuilder target = new StringBuilder();
+      urlDecode(urlEncode(value, StrmanUrlComponent.PATH), target);
+      assertThat(target.toString(), equalTo(value));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void urlDecode_shouldDecodePercentEncodedSequences() throws Exception {
+    assertThat(urlDecode("yogurt%20cup+%C3%BC%e6%bc%a2"), equalTo("yogurt cup+ü漢"));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void urlDecode_shouldThrowIllegalArgumentExceptionWhenIncomplete() throws Exception {
+    urlDecode("yogurt%2");
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void urlDecode_shouldThrowIllegalArgumentExceptionWhenNotUtf8() throws Exception {
+    urlDecode("yogurt%C3");
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void utf8Encode_shouldEncodeIntoBufferOfExactLength() throws Exception {
+    for (String value : Arrays.asList("", "yogurt", "bár!", "漢字", "\uD83C\uDF66 ice", repeat("abcdefghé", 100))) {
+      ByteBuffer encoded = utf8Encode(value);
+      byte[] expected = value.getBytes(StandardCharsets.UTF_8);
+      assertThat(utf8Length(value), equalTo(expected.length));
+      assertThat(encoded.capacity(), equalTo(expected.length));
+      assertThat(encoded.remaining(), equalTo(expected.length));
+      assertThat(encoded.array(), equalTo(expected));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void utf8Encode_shouldWriteIntoDirectBuffer() throws Exception {
+    ByteBuffer target = ByteBuffer.allocateDirect(16);
+    target.put((byte) '>');
+    assertThat(utf8Encode(new StringBuilder("bár!"), target), equalTo(5));
+    assertThat(target.position(), equalTo(6));
+    target.flip().position(1);
+    assertThat(utf8Decode(target), equalTo("bár!"));
+    assertThat(target.position(), equalTo(1));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void utf8Encode_shouldThrowIllegalArgumentExceptionWithIndexOfUnpairedSurrogate() throws Exception {
+    try {
+      utf8Length("yo\uD83Cgurt");
+      throw new AssertionError("expected an IllegalArgumentException");
+    } catch (IllegalArgumentException e) {
+      assertThat(e.getMessage(), equalTo("malformed input at index 2"));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void utf8Decode_shouldMatchJdkDecoderForRandomText() throws Exception {
+    Random random = new Random(42);
+    for (int i = 0; i < 1000; i++) {
+      StringBuilder value = new StringBuilder();
+      for (int j = random.nextInt(64); j > 0; j--) {
+        int kind = random.nextInt(4);
+        value.appendCodePoint(kind == 0 ? random.nextInt(0x80) : kind == 1 ? 0x80 + random.nextInt(0x780)
+          : kind == 2 ? 0xE000 + random.nextInt(0x2000) : 0x10000 + random.nextInt(0x100000));
+      }
+      byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+      assertThat(utf8Decode(ByteBuffer.wrap(bytes)), equalTo(value.toString()));
+      assertThat(utf8Encode(value).array(), equalTo(bytes));
+    }
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void utf8IndexOfMalformed_shouldReturnIndexOfFirstMalformedSequence() throws Exception {
+    assertThat(utf8IndexOfMalformed(ByteBuffer.wrap("yogurt and bár".getBytes(StandardCharsets.UTF_8))), equalTo(-1));
+    assertThat(utf8IndexOfMalformed(ByteBuffer.wrap(new byte[]{'y', 'o', 'g', 'u', 'r', 't', '!', '!', (byte) 0xC3})), equalTo(8));
+    assertThat(utf8IndexOfMalformed(ByteBuffer.wrap(new byte[]{'y', (byte) 0xC0, (byte) 0xAF})), equalTo(1));
+    assertThat(utf8IndexOfMalformed(ByteBuffer.wrap(new byte[]{(byte) 0xED, (byte) 0xA0, (byte) 0x80})), equalTo(0));
+    assertThat(utf8IndexOfMalformed(ByteBuffer.wrap(new byte[]{'a', (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80})), equalTo(1));
+    assertThat(utf8IndexOfMalformed(ByteBuffer.wrap(new byte[]{'a', 'b', (byte) 0xE2, (byte) 0x82, 'c'})), equalTo(2));
+    assertThat(isUtf8(ByteBuffer.wrap(new byte[]{(byte) 0xE2, (byte) 0x82, (byte) 0xAC})), is(true));
+    assertThat(isUtf8(ByteBuffer.wrap(new byte[]{(byte) 0x80})), is(false));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test(expected = IllegalArgumentException.class)
+  public void utf8Decode_shouldThrowIllegalArgumentExceptionWhenMalformed() throws Exception {
+    utf8Decode(ByteBuffer.wrap(new byte[]{'y', (byte) 0xFF}));
+  }
+
   /**
    * @since 0.4.0
    */
@@ -934,4 +1923,77 @@ public class StrmanTest {
     final String line = "This is a string, with words!";
     assertThat(words(line), is(new String[]{"This", "is", "a", "string", "with", "words"}));
   }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void wrap_shouldReflowTextToWidth() throws Exception {
+    assertThat(wrap("This is a string, with words!", 12), equalTo("This is a\nstring, with\nwords!"));
+    assertThat(wrap("This is\na string\n", 80), equalTo("This is a string\n"));
+    assertThat(wrapper(12).width(), equalTo(12));
+  }
+
+  /**
+   * @since 0.4.0
+   */
+  @Test
+  public void zeroPad_shouldPadWithLeadingZeros() throws Exception {
+    assertThat(zeroPad(7, 3), equalTo("007"));
+    assertThat(zeroPad(-7, 4), equalTo("-007"));
+    assertThat(zeroPad(1234, 2), equalTo("1234"));
+    assertThat(zeroPad(0, 0), equalTo("0"));
+    assertThat(zeroPad(Long.MIN_VALUE, 21), equalTo(String.format("%021d", Long.MIN_VALUE)));
+    StringBuilder target = new StringBuilder("#");
+    zeroPad(42, 6, target);
+    assertThat(target.toString(), equalTo("#000042"));
+  }
+
+  private static int naiveLevenshtein(final String first, final String second) {
+    int[][] d = new int[first.length() + 1][second.length() + 1];
+    for (int i = 0; i <= first.length(); i++) {
+      for (int j = 0; j <= second.length(); j++) {
+        if (i == 0 || j == 0) {
+          d[i][j] = i + j;
+        } else {
+          int cost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+          d[i][j] = Math.min(d[i - 1][j - 1] + cost, Math.min(d[i - 1][j], d[i][j - 1]) + 1);
+        }
+      }
+    }
+    return d[first.length()][second.length()];
+  }
+
+  private static int naiveLongestCommonSubsequence(final String first, final String second) {
+    int[][] d = new int[first.length() + 1][second.length() + 1];
+    for (int i = 1; i <= first.length(); i++) {
+      for (int j = 1; j <= second.length(); j++) {
+        d[i][j] = first.charAt(i - 1) == second.charAt(j - 1)
+          ? d[i - 1][j - 1] + 1
+          : Math.max(d[i - 1][j], d[i][j - 1]);
+      }
+    }
+    return d[first.length()][second.length()];
+  }
+
+  private static String randomDecimal(final Random random) {
+    switch (random.nextInt(4)) {
+      case 0:
+        return Double.toString(Double.longBitsToDouble(random.nextLong() & 0xFFEFFFFFFFFFFFFFL));
+      case 1:
+        return Integer.toString(random.nextInt()) + "." + random.nextInt(1000) + "e" + (random.nextInt(60) - 30);
+      case 2:
+        return "0." + randomString(random, 1 + random.nextInt(25), "0123456789");
+      default:
+        return Long.toString(random.nextLong() >> random.nextInt(64)) + "e-" + random.nextInt(25);
+    }
+  }
+
+  private static String randomString(final Random random, final int length, final String alphabet) {
+    StringBuilder builder = new StringBuilder(length);
+    for (int i = 0; i < length; i++) {
+      builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+    }
+    return builder.toString();
+  }
 }
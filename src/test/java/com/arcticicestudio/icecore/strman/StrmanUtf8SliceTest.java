@@ -0,0 +1,157 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman UTF-8 Slice Test                           +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanUtf8Slice}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanUtf8SliceTest {
+
+  @Test
+  public void of_shouldViewRemainingBytesOfDirectBuffer() throws Exception {
+    ByteBuffer buffer = direct("coconut yogurt");
+    buffer.position(8);
+    StrmanUtf8Slice slice = StrmanUtf8Slice.of(buffer);
+    buffer.position(0);
+    assertThat(slice.toString(), equalTo("yogurt"));
+    assertThat(slice.length(), equalTo(6));
+  }
+
+  @Test
+  public void of_shouldViewRangeOfBytes() throws Exception {
+    byte[] bytes = "coconut yogurt".getBytes(StandardCharsets.UTF_8);
+    assertThat(StrmanUtf8Slice.of(bytes, 8, 6).toString(), equalTo("yogurt"));
+  }
+
+  @Test
+  public void contains_shouldFindNeedle() throws Exception {
+    StrmanUtf8Slice slice = slice("Grüße aus Köln");
+    assertThat(slice.contains("Köln"), is(true));
+    assertThat(slice.contains("Koln"), is(false));
+    assertThat(slice.contains(""), is(true));
+  }
+
+  @Test
+  public void indexOf_shouldReturnByteOffset() throws Exception {
+    StrmanUtf8Slice slice = StrmanUtf8Slice.of(direct("Grüße aus Köln"));
+    assertThat(slice.indexOf("aus"), equalTo(8));
+    assertThat(slice.indexOf("ö"), equalTo(13));
+    assertThat(slice.indexOf("s", 8), equalTo(10));
+    assertThat(slice.indexOf("yogurt"), equalTo(-1));
+  }
+
+  @Test
+  public void startsWith_shouldTestPrefix() throws Exception {
+    assertThat(slice("éclair").startsWith("é"), is(true));
+    assertThat(slice("éclair").startsWith("e"), is(false));
+    assertThat(slice("y").startsWith("yogurt"), is(false));
+  }
+
+  @Test
+  public void endsWith_shouldTestSuffix() throws Exception {
+    assertThat(slice("café").endsWith("fé"), is(true));
+    assertThat(slice("café").endsWith("fe"), is(false));
+  }
+
+  @Test
+  public void countSubstr_shouldCountOccurrences() throws Exception {
+    assertThat(slice("äääää").countSubstr("ää"), equalTo(2L));
+    assertThat(slice("äääää").countSubstr("ää", true), equalTo(4L));
+    assertThat(slice("yogurt").countSubstr(""), equalTo(0L));
+  }
+
+  @Test
+  public void countSubstr_shouldMatchStrmanForSameText() throws Exception {
+    String value = Strman.repeat("Soße und Ölbrötchen, ", 500);
+    StrmanUtf8Slice slice = StrmanUtf8Slice.of(direct(value));
+    for (String subStr : asList("ö", "Öl", "e", "n, S", "ße und")) {
+      assertThat(slice.countSubstr(subStr), equalTo(Strman.countSubstr(value, subStr)));
+      assertThat(slice.countSubstr(subStr, true), equalTo(Strman.countSubstr(value, subStr, true, true)));
+    }
+  }
+
+  @Test
+  public void isLowerCase_shouldTestMultiByteCharacters() throws Exception {
+    assertThat(slice("grüße").isLowerCase(), is(true));
+    assertThat(slice("grÜße").isLowerCase(), is(false));
+    assertThat(slice("Yogurt").isLowerCase(), is(false));
+    assertThat(slice("ΣΊΣΥΦΟΣ").isLowerCase(), is(false));
+    assertThat(StrmanUtf8Slice.of(new byte[]{'a', (byte) 0xC3}).isLowerCase(), is(true));
+  }
+
+  @Test
+  public void trim_shouldReturnSliceWithoutBorderSpaces() throws Exception {
+    assertThat(slice(" \t yogurt  \n").trim().toString(), equalTo("yogurt"));
+    assertThat(slice("  yogurt ").leftTrim().toString(), equalTo("yogurt "));
+    assertThat(slice("  yogurt ").rightTrim().toString(), equalTo("  yogurt"));
+    assertThat(slice("   ").trim().length(), equalTo(0));
+  }
+
+  @Test
+  public void words_shouldReturnWordSlices() throws Exception {
+    List<String> words = slice("This is  a—yogurt_cup").words().stream().map(StrmanUtf8Slice::toString).collect(Collectors.toList());
+    assertThat(words, equalTo(asList("This", "is", "a", "yogurt_cup")));
+  }
+
+  @Test
+  public void equals_shouldCompareBytes() throws Exception {
+    assertThat(slice("coconut yogurt").slice(8, 14), equalTo(StrmanUtf8Slice.of(direct("yogurt"))));
+    assertThat(slice("yogurt").hashCode(), equalTo(StrmanUtf8Slice.of(direct("yogurt")).hashCode()));
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void of_shouldThrowIndexOutOfBoundsExceptionWhenRangeIsOutOfBounds() throws Exception {
+    StrmanUtf8Slice.of(new byte[4], 2, 3);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void indexOf_shouldThrowIllegalArgumentExceptionWhenNeedleIsNull() throws Exception {
+    slice("yogurt").indexOf(null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void contains_shouldThrowIllegalArgumentExceptionWhenNeedleHasUnpairedSurrogate() throws Exception {
+    slice("a?b").contains("\uD800");
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void indexOf_shouldThrowIllegalArgumentExceptionWhenNeedleHasUnpairedLowSurrogate() throws Exception {
+    slice("a?b").indexOf("\uDC00");
+  }
+
+  private static StrmanUtf8Slice slice(final String value) {
+    return StrmanUtf8Slice.of(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static ByteBuffer direct(final String value) {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    return buffer;
+  }
+}
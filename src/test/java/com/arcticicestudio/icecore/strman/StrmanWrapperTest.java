@@ -0,0 +1,90 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Wrapper Test                               +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanWrapper}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanWrapperTest {
+
+  private static final String TEXT = "The quick brown fox jumps over the lazy dog and keeps running.";
+
+  @Test
+  public void wrap_shouldFillLinesGreedily() throws Exception {
+    assertThat(Strman.wrapper(20).wrap(TEXT), equalTo("The quick brown fox\njumps over the lazy\ndog and keeps\nrunning."));
+    assertThat(Strman.wrapper(4).wrap("yogurt is tasty"), equalTo("yogurt\nis\ntasty"));
+  }
+
+  @Test
+  public void wrap_shouldMinimizeRaggedness() throws Exception {
+    StrmanWrapper wrapper = Strman.wrapper(6).withMode(StrmanWrapMode.MINIMUM_RAGGEDNESS);
+    assertThat(wrapper.wrap("aaa bb cc ddddd"), equalTo("aaa\nbb cc\nddddd"));
+    assertThat(Strman.wrapper(6).wrap("aaa bb cc ddddd"), equalTo("aaa bb\ncc\nddddd"));
+  }
+
+  @Test
+  public void wrap_shouldIndentAndJustify() throws Exception {
+    String expected = "  * The  quick brown\n"
+      + "    fox  jumps  over\n"
+      + "    the lazy dog and\n"
+      + "    keeps running.\n";
+    assertThat(Strman.wrapper(20).withIndent("  * ", "    ").withJustification(true).wrap(TEXT + "\n"),
+      equalTo(expected));
+  }
+
+  @Test
+  public void wrap_shouldKeepParagraphs() throws Exception {
+    assertThat(Strman.wrapper(12).wrap("yogurt and\ncocoa\n\n  \nchocolate\r\nand coconut"),
+      equalTo("yogurt and\ncocoa\n\n\nchocolate\nand coconut"));
+    assertThat(Strman.wrapper(12).wrap(""), equalTo(""));
+  }
+
+  @Test
+  public void wrap_shouldStreamLongParagraphsWithinWidth() throws Exception {
+    Random random = new Random(42);
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < 5000; i++) {
+      for (int j = 1 + random.nextInt(9); j > 0; j--) {
+        text.append((char) ('a' + random.nextInt(26)));
+      }
+      text.append(random.nextInt(10) == 0 ? '\n' : ' ');
+    }
+    for (StrmanWrapMode mode : StrmanWrapMode.values()) {
+      StringWriter target = new StringWriter();
+      Strman.wrapper(30).withMode(mode).wrap(new StringReader(text.toString()), target);
+      String wrapped = target.toString();
+      for (String line : wrapped.split("\n")) {
+        assertThat(line.length(), lessThanOrEqualTo(30));
+      }
+      assertThat(wrapped.replace('\n', ' '), equalTo(text.toString().replace('\n', ' ')));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void wrapper_shouldThrowIllegalArgumentExceptionWhenWidthIsNotPositive() throws Exception {
+    Strman.wrapper(0);
+  }
+}
@@ -0,0 +1,256 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Strman Flow Test                                  +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ * public API class {@link StrmanFlow}.
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class StrmanFlowTest {
+
+  private static final List<String> ITEMS = IntStream.range(0, 10000)
+    .mapToObj(i -> "Yogurt " + i)
+    .collect(Collectors.toList());
+
+  @Test
+  public void map_shouldDeliverTransformedItemsInOrder() throws Exception {
+    Collector collector = run(StrmanFlow.map(Strman::slugify).withBatchSize(8).withConcurrency(4), ITEMS);
+    assertThat(collector.error, nullValue());
+    assertThat(collector.items, equalTo(ITEMS.stream().map(Strman::slugify).collect(Collectors.toList())));
+  }
+
+  @Test
+  public void map_shouldDeliverAllItemsWhenUnordered() throws Exception {
+    Collector collector = run(StrmanFlow.map(Strman::reverse).withOrdered(false).withBatchSize(16), ITEMS);
+    List<String> items = new ArrayList<>(collector.items);
+    List<String> expected = ITEMS.stream().map(Strman::reverse).collect(Collectors.toList());
+    Collections.sort(items);
+    Collections.sort(expected);
+    assertThat(items, equalTo(expected));
+  }
+
+  @Test
+  public void filter_shouldDeliverMatchingItems() throws Exception {
+    Collector collector = run(StrmanFlow.filter(value -> Strman.endsWith(value, "7")), ITEMS);
+    assertThat(collector.items, equalTo(ITEMS.stream().filter(value -> value.endsWith("7")).collect(Collectors.toList())));
+  }
+
+  @Test
+  public void processor_shouldNotRequestMoreThanBufferSize() throws Exception {
+    Publisher publisher = new Publisher(ITEMS);
+    Flow.Processor<String, String> processor = StrmanFlow.map(Strman::toKebabCase).withBatchSize(4).withBufferSize(32)
+      .processor();
+    Collector collector = new Collector(0);
+    processor.subscribe(collector);
+    publisher.subscribe(processor);
+    Thread.sleep(100);
+    assertThat(publisher.requested(), is(32L));
+    collector.request(5);
+    Thread.sleep(100);
+    assertThat(publisher.requested(), is(37L));
+    assertThat(collector.items.size(), is(5));
+    collector.request(Long.MAX_VALUE);
+    collector.await();
+    assertThat(collector.items.size(), is(ITEMS.size()));
+  }
+
+  @Test
+  public void processor_shouldCancelUpstreamWhenTransformFails() throws Exception {
+    Publisher publisher = new Publisher(ITEMS);
+    Flow.Processor<String, String> processor = StrmanFlow.map(value -> {
+      if (value.endsWith("42")) {
+        throw new IllegalStateException(value);
+      }
+      return value;
+    }).processor();
+    Collector collector = new Collector(Long.MAX_VALUE);
+    processor.subscribe(collector);
+    publisher.subscribe(processor);
+    collector.await();
+    assertThat(collector.error, instanceOf(IllegalStateException.class));
+    assertTrue(publisher.cancelled);
+  }
+
+  @Test
+  public void processor_shouldFailWhenTransformReturnsNull() throws Exception {
+    Collector collector = run(StrmanFlow.map(value -> null), ITEMS);
+    assertThat(collector.error, instanceOf(NullPointerException.class));
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void processor_shouldThrowNullPointerExceptionForNullItem() throws Exception {
+    Flow.Processor<String, String> processor = StrmanFlow.map(Strman::reverse).processor();
+    processor.subscribe(new Collector(Long.MAX_VALUE));
+    new Publisher(ITEMS).subscribe(processor);
+    processor.onNext(null);
+  }
+
+  @Test
+  public void processor_shouldRejectSecondSubscriber() throws Exception {
+    Flow.Processor<String, String> processor = StrmanFlow.map(Strman::reverse).processor();
+    processor.subscribe(new Collector(1));
+    Collector collector = new Collector(1);
+    processor.subscribe(collector);
+    collector.await();
+    assertThat(collector.error, instanceOf(IllegalStateException.class));
+  }
+
+  @Test
+  public void withExecutor_shouldRunOnSpecifiedExecutor() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Collector collector = run(StrmanFlow.map(Strman::reverse).withExecutor(executor), ITEMS);
+      assertThat(collector.items, equalTo(ITEMS.stream().map(Strman::reverse).collect(Collectors.toList())));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  public void withVirtualThreads_shouldDeliverTransformedItems() throws Exception {
+    StrmanFlow flow = StrmanFlow.map(Strman::reverse);
+    if (!StrmanFlow.isVirtualThreadsAvailable()) {
+      assertTrue(flow.withVirtualThreads() == flow);
+    }
+    Collector collector = run(flow.withVirtualThreads(), ITEMS);
+    assertThat(collector.items, equalTo(ITEMS.stream().map(Strman::reverse).collect(Collectors.toList())));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withBatchSize_shouldThrowIllegalArgumentExceptionWhenGreaterThanBufferSize() throws Exception {
+    StrmanFlow.map(Strman::reverse).withBufferSize(16).withBatchSize(17);
+  }
+
+  private static Collector run(final StrmanFlow flow, final List<String> items) throws InterruptedException {
+    Flow.Processor<String, String> processor = flow.processor();
+    Collector collector = new Collector(Long.MAX_VALUE);
+    processor.subscribe(collector);
+    new Publisher(items).subscribe(processor);
+    collector.await();
+    return collector;
+  }
+
+  private static final class Collector implements Flow.Subscriber<String> {
+    private final List<String> items = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch done = new CountDownLatch(1);
+    private final long initialRequest;
+    private volatile Flow.Subscription subscription;
+    private volatile Throwable error;
+
+    Collector(final long initialRequest) {
+      this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onSubscribe(final Flow.Subscription subscription) {
+      this.subscription = subscription;
+      if (initialRequest > 0) {
+        subscription.request(initialRequest);
+      }
+    }
+
+    @Override
+    public void onNext(final String item) {
+      items.add(item);
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      error = throwable;
+      done.countDown();
+    }
+
+    @Override
+    public void onComplete() {
+      done.countDown();
+    }
+
+    void await() throws InterruptedException {
+      assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    void request(final long n) {
+      subscription.request(n);
+    }
+  }
+
+  /*
+   * Emits the items synchronously on request and records the total number of requested items.
+   */
+  private static final class Publisher implements Flow.Publisher<String>, Flow.Subscription {
+    private final List<String> items;
+    private Flow.Subscriber<? super String> subscriber;
+    private long requested;
+    private int index;
+    private boolean emitting;
+    private volatile boolean cancelled;
+
+    Publisher(final List<String> items) {
+      this.items = items;
+    }
+
+    @Override
+    public void subscribe(final Flow.Subscriber<? super String> subscriber) {
+      this.subscriber = subscriber;
+      subscriber.onSubscribe(this);
+    }
+
+    @Override
+    public synchronized void request(final long n) {
+      requested += n;
+      if (emitting) {
+        return;
+      }
+      emitting = true;
+      while (!cancelled && index < items.size() && index < requested) {
+        subscriber.onNext(items.get(index++));
+      }
+      if (!cancelled && index == items.size()) {
+        index++;
+        subscriber.onComplete();
+      }
+      emitting = false;
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+    }
+
+    synchronized long requested() {
+      return requested;
+    }
+  }
+}
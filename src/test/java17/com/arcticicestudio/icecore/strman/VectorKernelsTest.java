@@ -0,0 +1,150 @@
+/*
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+title      Vector Kernels Test                               +
+project    icecore-strman                                    +
+version    0.3.0                                             +
+repository https://github.com/arcticicestudio/icecore-strman +
+author     Arctic Ice Studio                                 +
+email      development@arcticicestudio.com                   +
+copyright  Copyright (C) 2016                                +
+++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+*/
+package com.arcticicestudio.icecore.strman;
+
+import jdk.incubator.vector.ShortVector;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+/**
+ * Tests that the {@link VectorKernels} return the same results as the {@link ScalarKernels}.
+ * <p>
+ *   The inputs are random strings of every length up to a few vectors above the {@link VectorKernels#THRESHOLD} and
+ *   of the lengths around the boundaries of the chunks the kernels read the strings in.
+ *   This test requires the {@code jdk.incubator.vector} module to be resolved and runs in a separate execution of the
+ *   {@code multi-release} profile.
+ * </p>
+ *
+ * @author Arctic Ice Studio &lt;development@arcticicestudio.com&gt;
+ * @see <a href="https://github.com/arcticicestudio/icecore-strman">IceCore Strman</a>
+ */
+public class VectorKernelsTest {
+
+  private static final int LANES = ShortVector.SPECIES_PREFERRED.length();
+  private static final String LOWER = "abcdefghijklmnopqrstuvwxyz0123456789 -_.ßéøσж";
+  private static final String UPPER = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 -_.ÉØΣЖ";
+  private static final String MIXED = LOWER + UPPER + "\t\n\u000B\f\r\u001C  　😀";
+
+  private final Random random = new Random(42);
+
+  @Test
+  public void kernels_shouldBeVectorizedWhenSupported() throws Exception {
+    assertThat(Kernels.isVectorized(), is(VectorKernels.isSupported()));
+  }
+
+  @Test
+  public void countSubstr_shouldMatchScalarKernels() throws Exception {
+    for (int length : lengths()) {
+      String value = randomString(length, "abc ");
+      for (String subStr : new String[]{"a", " ", "ab", "aa", "x"}) {
+        assertThat(length + ":" + subStr, VectorKernels.countSubstr(value, subStr, true),
+          is(ScalarKernels.countSubstr(value, subStr, true)));
+        assertThat(length + ":" + subStr, VectorKernels.countSubstr(value, subStr, false),
+          is(ScalarKernels.countSubstr(value, subStr, false)));
+      }
+    }
+  }
+
+  @Test
+  public void encodeHex_shouldMatchScalarKernels() throws Exception {
+    for (int length : lengths()) {
+      String value = randomString(length, MIXED);
+      assertThat(String.valueOf(length), VectorKernels.encodeHex(value), is(ScalarKernels.encodeHex(value)));
+    }
+  }
+
+  @Test
+  public void indexOf_shouldMatchScalarKernels() throws Exception {
+    for (int length : lengths()) {
+      String value = randomString(length, "abc");
+      for (String needle : new String[]{"a", "abc", "cab", "x"}) {
+        int fromIndex = length == 0 ? 0 : random.nextInt(length);
+        assertThat(length + ":" + needle, VectorKernels.indexOf(value, needle, fromIndex),
+          is(ScalarKernels.indexOf(value, needle, fromIndex)));
+      }
+    }
+  }
+
+  @Test
+  public void isLowerCase_shouldMatchScalarKernels() throws Exception {
+    for (int length : lengths()) {
+      String value = randomString(length, LOWER);
+      assertThat(String.valueOf(length), VectorKernels.isLowerCase(value), is(ScalarKernels.isLowerCase(value)));
+      for (char ch : "AΣЖ".toCharArray()) {
+        String violated = replaceRandomChar(value, ch);
+        assertThat(length + ":" + violated, VectorKernels.isLowerCase(violated),
+          is(ScalarKernels.isLowerCase(violated)));
+      }
+    }
+  }
+
+  @Test
+  public void isUpperCase_shouldMatchScalarKernels() throws Exception {
+    for (int length : lengths()) {
+      String value = randomString(length, UPPER);
+      assertThat(String.valueOf(length), VectorKernels.isUpperCase(value), is(ScalarKernels.isUpperCase(value)));
+      for (char ch : "aσж".toCharArray()) {
+        String violated = replaceRandomChar(value, ch);
+        assertThat(length + ":" + violated, VectorKernels.isUpperCase(violated),
+          is(ScalarKernels.isUpperCase(violated)));
+      }
+    }
+  }
+
+  @Test
+  public void removeWhitespace_shouldMatchScalarKernels() throws Exception {
+    for (int length : lengths()) {
+      String value = randomString(length, MIXED);
+      assertThat(String.valueOf(length), VectorKernels.removeWhitespace(value),
+        is(ScalarKernels.removeWhitespace(value)));
+      String blank = randomString(length, LOWER.replace(" ", ""));
+      assertThat(String.valueOf(length), VectorKernels.removeWhitespace(blank),
+        is(ScalarKernels.removeWhitespace(blank)));
+    }
+  }
+
+  private List<Integer> lengths() {
+    List<Integer> lengths = new ArrayList<>();
+    for (int length = 0; length <= VectorKernels.THRESHOLD + 4 * LANES + 1; length++) {
+      lengths.add(length);
+    }
+    for (int chunks = 1; chunks <= 2; chunks++) {
+      for (int length = 2048 * chunks - LANES - 1; length <= 2048 * chunks + LANES + 1; length++) {
+        lengths.add(length);
+      }
+    }
+    return lengths;
+  }
+
+  private String randomString(final int length, final String alphabet) {
+    char[] chars = new char[length];
+    for (int i = 0; i < length; i++) {
+      chars[i] = alphabet.charAt(random.nextInt(alphabet.length()));
+    }
+    return new String(chars);
+  }
+
+  private String replaceRandomChar(final String value, final char ch) {
+    if (value.isEmpty()) {
+      return String.valueOf(ch);
+    }
+    char[] chars = value.toCharArray();
+    chars[random.nextInt(chars.length)] = ch;
+    return new String(chars);
+  }
+}